@@ -0,0 +1,101 @@
+package sicxesimulator.hardware.cpu.control;
+
+import org.openjdk.jmh.annotations.*;
+import sicxesimulator.hardware.cpu.exec.InstructionExecutor;
+import sicxesimulator.hardware.cpu.exec.arith.ADD;
+import sicxesimulator.hardware.cpu.exec.jump.JLT;
+import sicxesimulator.hardware.cpu.exec.load.LDA;
+import sicxesimulator.hardware.cpu.exec.logic.COMP;
+import sicxesimulator.hardware.cpu.exec.logic.TIXR;
+import sicxesimulator.hardware.cpu.exec.store.STA;
+import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.memory.Memory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara as estratégias de despacho do {@link ExecutionDispatcher} com o
+ * antigo {@code HashMap<Integer, InstructionExecutor>}, sobre a mistura de
+ * opcodes de um laço típico (LDA, ADD, STA, COMP, TIXR, JLT).
+ *
+ * <p>Execução: {@code ./gradlew jmh}.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    private static final int[] OPCODES = {0x00, 0x18, 0x0C, 0x28, 0xB8, 0x38};
+
+    private final RegisterSet regs = new RegisterSet();
+    private final Memory memory = new Memory(48);
+    private final ExecutionContext[] contexts = new ExecutionContext[OPCODES.length];
+
+    private ExecutionDispatcher table;
+    private ExecutionDispatcher switched;
+    private Map<Integer, InstructionExecutor> hashMap;
+
+    @Setup
+    public void setup() {
+        table = new ExecutionDispatcher();
+        switched = new ExecutionDispatcher();
+        switched.setStrategy(DispatchStrategy.SWITCH);
+
+        hashMap = new HashMap<>();
+        hashMap.put(0x00, new LDA());
+        hashMap.put(0x18, new ADD());
+        hashMap.put(0x0C, new STA());
+        hashMap.put(0x28, new COMP());
+        hashMap.put(0xB8, new TIXR());
+        hashMap.put(0x38, new JLT());
+
+        int[] immediate = {0, 0, 0, 0, 0, 0, 1};
+        int[] direct    = {0, 0, 0, 0, 0, 1, 1};
+        int[] register  = {4, 0, 0, 0, 0, 0, 0};
+        contexts[0] = new ExecutionContext(0x00, immediate, false, 7,  regs, memory);
+        contexts[1] = new ExecutionContext(0x18, immediate, false, 1,  regs, memory);
+        contexts[2] = new ExecutionContext(0x0C, direct,    false, 30, regs, memory);
+        contexts[3] = new ExecutionContext(0x28, immediate, false, 100, regs, memory);
+        contexts[4] = new ExecutionContext(0xB8, register,  false, 0,  regs, memory);
+        contexts[5] = new ExecutionContext(0x38, direct,    false, 0,  regs, memory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public int hashMap() {
+        int acc = 0;
+        for (int k = 0; k < OPCODES.length; k++) {
+            acc += hashMap.get(OPCODES[k]).execute(contexts[k]).after();
+        }
+        return acc;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public int table() {
+        int acc = 0;
+        for (int k = 0; k < OPCODES.length; k++) {
+            acc += table.dispatch(OPCODES[k], contexts[k]).after();
+        }
+        return acc;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public int switchDispatch() {
+        int acc = 0;
+        for (int k = 0; k < OPCODES.length; k++) {
+            acc += switched.dispatch(OPCODES[k], contexts[k]).after();
+        }
+        return acc;
+    }
+}
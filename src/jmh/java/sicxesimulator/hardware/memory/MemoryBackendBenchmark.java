@@ -0,0 +1,62 @@
+package sicxesimulator.hardware.memory;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a memória no heap ({@link MemoryFactory#HEAP}), fora do heap
+ * ({@link MemoryFactory#OFF_HEAP}), esparsa ({@link MemoryFactory#SPARSE},
+ * com todas as páginas já alocadas) e com reset O(1)
+ * ({@link MemoryFactory#GENERATIONAL}) no espaço de endereçamento inteiro
+ * do SIC/XE (1 MB): leitura e gravação de palavras em sequência e reset.
+ *
+ * <p>Execução: {@code ./gradlew jmh}.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryBackendBenchmark {
+
+    private static final int SIZE = 1 << 20;
+
+    @Param({"HEAP", "OFF_HEAP", "SPARSE", "GENERATIONAL"})
+    public String backend;
+
+    private Memory memory;
+
+    @Setup
+    public void setup() {
+        MemoryFactory factory = switch (backend) {
+            case "OFF_HEAP"     -> MemoryFactory.OFF_HEAP;
+            case "SPARSE"       -> MemoryFactory.SPARSE;
+            case "GENERATIONAL" -> MemoryFactory.GENERATIONAL;
+            default             -> MemoryFactory.HEAP;
+        };
+        memory = factory.create(SIZE);
+        for (int a = 0; a + 3 <= SIZE; a += 3) memory.writeWord24(a, a);
+    }
+
+    @Benchmark
+    public int load() {
+        int acc = 0;
+        for (int a = 0; a + 3 <= SIZE; a += 3) acc += memory.readWord24(a);
+        return acc;
+    }
+
+    @Benchmark
+    public void store() {
+        for (int a = 0; a + 3 <= SIZE; a += 3) memory.writeWord24(a, a);
+    }
+
+    @Benchmark
+    public void reset() {
+        memory.reset();
+    }
+}
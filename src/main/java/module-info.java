@@ -14,17 +14,22 @@ module sicxesimulator {
     exports sicxesimulator.hardware.cpu.exec.sys;
     exports sicxesimulator.hardware.cpu.model;
     exports sicxesimulator.hardware.cpu.register;
+    exports sicxesimulator.hardware.device;
     exports sicxesimulator.hardware.memory;
     exports sicxesimulator.hardware.system;
 
     // Software
     exports sicxesimulator.software.assembler;
+    exports sicxesimulator.software.batch;
     exports sicxesimulator.software.macroprocessor;
     exports sicxesimulator.software.linker;
     exports sicxesimulator.software.loader;
     exports sicxesimulator.software.data;
     exports sicxesimulator.software.util;
 
+    // Server
+    exports sicxesimulator.server;
+
     // UI
     exports sicxesimulator.ui.components.buttons;
     exports sicxesimulator.ui.components.panels;
@@ -41,6 +46,7 @@ module sicxesimulator {
 
     // Dependencies
     requires java.logging;
+    requires jdk.httpserver;
     requires javafx.base;
     requires javafx.controls;
     requires javafx.graphics;
@@ -21,7 +21,7 @@ import java.util.logging.*;
  * <ul>
  *   <li>{@link #info(String)} mensagens informativas rápidas;</li>
  *   <li>{@link #error(String, Throwable)} erros/exceções;</li>
- *   <li>{@link #logMachineState(Memory, RegisterSet, String, Map, String, List, String)}
+ *   <li>{@link #logMachineState(Memory, MemoryDump, RegisterSet, String, Map, String, List, String)}
  *        captura completa do estado da máquina (para depuração “post-mortem”).</li>
  * </ul>
  *
@@ -94,6 +94,8 @@ public final class Logger {
      * tabela de símbolos, fonte original e histórico de execução.</p>
      *
      * @param memory          instância da memória
+     * @param dump            cache de páginas do chamador; só as páginas escritas
+     *                        desde o último dump com ele são refeitas
      * @param registers       conjunto de registradores
      * @param objectCodeText  texto do ficheiro <code>.obj</code> carregado
      * @param symbolTable     mapa símbolo&nbsp;→&nbsp; endereço (já realocado)
@@ -102,6 +104,7 @@ public final class Logger {
      * @param context         rótulo livre indicando o momento da captura
      */
     public static void logMachineState(Memory memory,
+                                       MemoryDump dump,
                                        RegisterSet registers,
                                        String objectCodeText,
                                        Map<String, Integer> symbolTable,
@@ -124,10 +127,7 @@ public final class Logger {
                 .append(String.format("%-8s | %-8s%n", "End.", "Valor"))
                 .append("-------------------------------\n");
 
-        for (int word = 0; word < memory.getSize() / 3; word++) {
-            int val = Convert.bytesToInt(memory.readWord(word));
-            if (val != 0) sb.append(String.format("%06X   | %06X%n", word * 3, val));
-        }
+        for (String page : dump.pages(memory)) sb.append(page);
         sb.append('\n');
 
         /* -------------------------------------------------- */
@@ -179,4 +179,72 @@ public final class Logger {
 
         LOG.severe(sb.toString());
     }
+
+    /**
+     * Como {@link #logMachineState(Memory, MemoryDump, RegisterSet, String, Map, String, List, String)},
+     * lendo a memória inteira (sem cache entre chamadas).
+     */
+    public static void logMachineState(Memory memory,
+                                       RegisterSet registers,
+                                       String objectCodeText,
+                                       Map<String, Integer> symbolTable,
+                                       String sourceCode,
+                                       List<String> executionOutput,
+                                       String context) {
+        try (MemoryDump dump = new MemoryDump()) {
+            logMachineState(memory, dump, registers, objectCodeText, symbolTable,
+                    sourceCode, executionOutput, context);
+        }
+    }
+
+    /**
+     * Linhas "endereço | valor" das palavras não nulas, agrupadas pela
+     * página onde cada palavra começa, guardadas por quem faz os dumps (cada
+     * consumidor tem a sua). Entre dois dumps da mesma memória, só as páginas
+     * escritas (e as anteriores, cujas palavras podem terminar nelas) são
+     * lidas e formatadas de novo.
+     */
+    public static final class MemoryDump implements AutoCloseable {
+
+        private Memory.Epoch epoch;
+        private String[] pages;
+
+        /**
+         * @param memory memória a listar; trocar de memória refaz todas as páginas
+         * @return linhas de cada página, em ordem de endereço
+         */
+        public synchronized String[] pages(Memory memory) {
+            if (epoch == null || epoch.memory() != memory) {
+                if (epoch != null) epoch.close();
+                epoch = memory.newEpoch();
+                pages = new String[memory.getPageCount()];
+            }
+            int[] changed = epoch.advance();
+            for (int k = changed.length - 1; k >= 0; k--) {
+                int page = changed[k];
+                pages[page] = formatPage(memory, page);
+                if (page > 0 && (k == 0 || changed[k - 1] != page - 1))
+                    pages[page - 1] = formatPage(memory, page - 1);
+            }
+            return pages.clone();
+        }
+
+        /** Solta a época da memória atual. */
+        @Override
+        public synchronized void close() {
+            if (epoch != null) epoch.close();
+            epoch = null;
+            pages = null;
+        }
+    }
+
+    private static String formatPage(Memory memory, int page) {
+        StringBuilder sb = new StringBuilder();
+        int end = Math.min(memory.getSize(), (page + 1) * Memory.PAGE_SIZE);
+        for (int address = (page * Memory.PAGE_SIZE + 2) / 3 * 3; address < end && address + 3 <= memory.getSize(); address += 3) {
+            int val = memory.peekWord24(address) & 0xFFFFFF;
+            if (val != 0) sb.append(String.format("%06X   | %06X%n", address, val));
+        }
+        return sb.toString();
+    }
 }
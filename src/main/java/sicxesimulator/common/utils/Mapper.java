@@ -37,18 +37,22 @@ public final class Mapper {
         };
     }
 
-    public static Register getRegisterByNumber(int num, RegisterSet set) {
+    public static String registerNumberToName(int num) {
         return switch (num) {
-            case 0  -> set.getRegister("A");
-            case 1  -> set.getRegister("X");
-            case 2  -> set.getRegister("L");
-            case 3  -> set.getRegister("B");
-            case 4  -> set.getRegister("S");
-            case 5  -> set.getRegister("T");
-            case 6  -> set.getRegister("F");
-            case 8  -> set.getRegister("PC");
-            case 9  -> set.getRegister("SW");
+            case 0  -> "A";
+            case 1  -> "X";
+            case 2  -> "L";
+            case 3  -> "B";
+            case 4  -> "S";
+            case 5  -> "T";
+            case 6  -> "F";
+            case 8  -> "PC";
+            case 9  -> "SW";
             default -> throw new IllegalArgumentException("Número de registrador inválido: " + num);
         };
     }
+
+    public static Register getRegisterByNumber(int num, RegisterSet set) {
+        return set.getRegister(num);
+    }
 }
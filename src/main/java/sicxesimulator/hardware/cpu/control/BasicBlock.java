@@ -0,0 +1,73 @@
+package sicxesimulator.hardware.cpu.control;
+
+import sicxesimulator.hardware.cpu.model.DecodedInstruction;
+
+/**
+ * Bloco básico traduzido: sequência linear de instruções que termina num
+ * desvio ({@code J, JEQ, JGT, JLT, JSUB, RSUB}), numa instrução que pode
+ * parar a CPU ou alterar o PC, ou no limite de tamanho do tradutor.
+ *
+ * <p>Cada instrução vira um {@link Op} com registradores, endereços estáticos
+ * e operandos imediatos já ligados. O PC não é atualizado entre as operações:
+ * {@link #nextPc} guarda, para cada uma, o valor que o PC teria após o seu
+ * incremento, usado na saída do bloco e em caso de exceção.</p>
+ *
+ * <p>Com o JIT ligado, {@link #hits} conta as execuções do bloco; ao atingir
+ * o limiar, {@link #compiled} recebe a versão em bytecode.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+final class BasicBlock {
+
+    /** Operação traduzida de uma instrução. */
+    @FunctionalInterface
+    interface Op {
+        /** @return {@link #CONTINUE}, {@link #STOP} ou {@link #HALT} */
+        int run();
+    }
+
+    /** Segue para a próxima operação do bloco. */
+    static final int CONTINUE = 0;
+    /** Código foi sobrescrito: sair do bloco logo após esta operação. */
+    static final int STOP     = 1;
+    /** A instrução parou a CPU. */
+    static final int HALT     = 2;
+
+    /** Endereço da primeira instrução. */
+    final int start;
+    /** Primeiro byte após a última instrução (intervalo {@code [start, end)}). */
+    final int end;
+    final Op[] ops;
+    final int[] nextPc;
+    /** Cópias das instruções pré-decodificadas (entrada do {@link JitCompiler}). */
+    final DecodedInstruction[] instructions;
+
+    /** Execuções desde a tradução (perfil do JIT); negativo = não compilável. */
+    int hits;
+    /** Versão compilada, ou {@code null} enquanto o bloco não estiver quente. */
+    CompiledBlock compiled;
+
+    BasicBlock(int start, Op[] ops, int[] nextPc, DecodedInstruction[] instructions) {
+        this.start        = start;
+        this.end          = nextPc[nextPc.length - 1];
+        this.ops          = ops;
+        this.nextPc       = nextPc;
+        this.instructions = instructions;
+    }
+
+    /** @return quantidade de instruções do bloco */
+    int length() {
+        return ops.length;
+    }
+
+    /** @return endereço da {@code i}-ésima instrução */
+    int pc(int i) {
+        return i == 0 ? start : nextPc[i - 1];
+    }
+
+    /** @return <b>true</b> se o byte {@code address} pertence a alguma instrução do bloco */
+    boolean covers(int address) {
+        return address >= start && address < end;
+    }
+}
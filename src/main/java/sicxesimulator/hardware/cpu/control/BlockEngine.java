@@ -0,0 +1,261 @@
+package sicxesimulator.hardware.cpu.control;
+
+import sicxesimulator.hardware.cpu.control.BasicBlock.Op;
+import sicxesimulator.hardware.cpu.decoder.InstructionDecoder;
+import sicxesimulator.hardware.cpu.model.DecodedInstruction;
+import sicxesimulator.hardware.cpu.register.Register;
+import sicxesimulator.hardware.memory.CodeWriteListener;
+import sicxesimulator.hardware.memory.Memory;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static sicxesimulator.hardware.cpu.control.BasicBlock.*;
+
+/**
+ * Motor de blocos básicos do modo turbo ({@link TurboEngine#BASIC_BLOCKS}).
+ *
+ * <p>Busca o bloco que começa no PC atual (traduzindo-o na primeira vez via
+ * {@link BlockTranslator}) e o executa numa só chamada, gravando o PC apenas
+ * na saída. Os bytes de cada bloco ficam marcados como código na
+ * {@link Memory}: uma escrita sobre eles descarta os blocos afetados e, se
+ * ocorrer no meio de um bloco, encerra-o logo após a instrução que escreveu.</p>
+ *
+ * <p>Com o JIT ligado ({@link #enableJit(int)}), cada bloco conta suas
+ * execuções; ao atingir o limiar é compilado pelo {@link JitCompiler}.
+ * Descartar o bloco (escrita sobre o código) descarta junto a versão
+ * compilada, e blocos não compiláveis seguem com as closures.</p>
+ *
+ * <p>O estado observável (registradores, memória, PC em caso de exceção e
+ * contagem de instruções) é idêntico ao do {@link TurboInterpreter}.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+final class BlockEngine implements CodeWriteListener {
+
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    /** Falha ao resolver o endereço efetivo: o interpretador nem incrementaria o PC. */
+    static final class DecodeFault extends RuntimeException {
+        @Serial private static final long serialVersionUID = 1L;
+
+        DecodeFault(RuntimeException cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+    }
+
+    private final Memory memory;
+    private final InstructionDecoder decoder;
+    private final TurboInterpreter turbo;
+    private final ExecutionDispatcher dispatcher;
+    private final BlockTranslator translator;
+    private final Register PC;
+    private final DecodedInstruction single = new DecodedInstruction();
+
+    /** Blocos por endereço inicial, em páginas alocadas sob demanda. */
+    private final BasicBlock[][] pages;
+    private final List<BasicBlock> live = new ArrayList<>();
+
+    private JitCompiler jit;
+    private JitRuntime jitRuntime;
+    private int compileThreshold;
+
+    private boolean codeDirty;
+    private long retired;
+    /** Endereço da instrução que lançou a última exceção. */
+    private int faultPc;
+    /** {@link ExecutionDispatcher#getRegistrationCount()} quando os blocos foram traduzidos. */
+    private int seenRegistrations;
+
+    BlockEngine(Memory memory, InstructionDecoder decoder, TurboInterpreter turbo, ExecutionDispatcher dispatcher) {
+        this.memory     = memory;
+        this.decoder    = decoder;
+        this.turbo      = turbo;
+        this.dispatcher = dispatcher;
+        this.translator = new BlockTranslator(decoder, turbo, dispatcher, memory, this);
+        this.PC         = turbo.PC;
+        this.pages      = new BasicBlock[(memory.getSize() + PAGE_SIZE - 1) >>> PAGE_BITS][];
+        this.seenRegistrations = dispatcher.getRegistrationCount();
+        memory.addCodeWriteListener(this);
+    }
+
+    /**
+     * Liga a compilação de blocos quentes.
+     *
+     * @param threshold execuções de um bloco antes de compilá-lo (mínimo 1)
+     */
+    void enableJit(int threshold) {
+        if (jit == null) {
+            jit        = new JitCompiler(dispatcher);
+            jitRuntime = new JitRuntime(turbo, decoder, memory, this);
+        }
+        compileThreshold = Math.max(1, threshold);
+    }
+
+    /** @return endereço da instrução que lançou a última exceção em {@link #run} */
+    int faultPc() {
+        return faultPc;
+    }
+
+    /** @return total de instruções concluídas por este motor */
+    long retired() {
+        return retired;
+    }
+
+    /**
+     * Executa até {@code maxInstructions} instruções ou até HALT. Quando o
+     * próximo bloco não cabe no orçamento restante, segue instrução a
+     * instrução para parar exatamente no limite.
+     *
+     * @return <b>true</b> se a CPU parou (HALT)
+     */
+    boolean run(long maxInstructions) {
+        if (dispatcher.getRegistrationCount() != seenRegistrations) {
+            clear();                                        // executor novo: retraduzir tudo
+            seenRegistrations = dispatcher.getRegistrationCount();
+        }
+        long executed = 0;
+        while (executed < maxInstructions) {
+            int pc = PC.getIntValue();
+            faultPc = pc;                                   // refinado pelo bloco em caso de falha
+            BasicBlock block = lookup(pc);
+            if (block == null) block = translate(pc);
+
+            if (block.length() > maxInstructions - executed) {
+                decoder.decodeInto(single);
+                PC.setValue(pc + single.size());
+                boolean halted = turbo.execute(single);
+                executed++;
+                retired++;
+                if (halted) return true;
+                continue;
+            }
+
+            long before = retired;
+            boolean halted = runBlock(block);
+            executed += retired - before;
+            if (halted) return true;
+        }
+        return false;
+    }
+
+    /** Descarta todos os blocos e deixa de observar a memória. */
+    void detach() {
+        memory.removeCodeWriteListener(this);
+        clear();
+    }
+
+    /** @return {@link BasicBlock#STOP} se houve escrita sobre código desde o início do bloco */
+    int status() {
+        return codeDirty ? STOP : CONTINUE;
+    }
+
+    @Override
+    public void onCodeWrite(int address) {
+        codeDirty = true;
+        for (int k = live.size() - 1; k >= 0; k--) {
+            BasicBlock b = live.get(k);
+            if (!b.covers(address)) continue;
+            pages[b.start >>> PAGE_BITS][b.start & PAGE_MASK] = null;
+            live.set(k, live.get(live.size() - 1));
+            live.remove(live.size() - 1);
+        }
+    }
+
+    @Override
+    public void onCodeReset() {
+        codeDirty = true;
+        clear();
+    }
+
+    // private
+
+    private boolean runBlock(BasicBlock block) {
+        if (block.compiled != null) return runCompiled(block);
+        if (jit != null && block.hits >= 0 && ++block.hits >= compileThreshold) {
+            block.compiled = jit.compile(block);
+            if (block.compiled != null) return runCompiled(block);
+            block.hits = -1;                                    // não compilável: fica nas closures
+        }
+
+        Op[] ops = block.ops;
+        int last = ops.length - 1;
+        int i = 0;
+        codeDirty = false;
+        try {
+            for (; i < last; i++) {
+                if (ops[i].run() != CONTINUE) {
+                    PC.setValue(block.nextPc[i]);
+                    retired += i + 1;
+                    return false;
+                }
+            }
+            PC.setValue(block.nextPc[last]);      // desvios enxergam o PC já incrementado
+            int status = ops[last].run();
+            retired += ops.length;
+            return status == HALT;
+        } catch (DecodeFault f) {
+            PC.setValue(block.pc(i));
+            faultPc = block.pc(i);
+            retired += i;
+            throw (RuntimeException) f.getCause();
+        } catch (RuntimeException e) {
+            if (i < last) PC.setValue(block.nextPc[i]);
+            faultPc = block.pc(i);
+            retired += i;
+            throw e;
+        }
+    }
+
+    private boolean runCompiled(BasicBlock block) {
+        int last = block.length() - 1;
+        codeDirty = false;
+        PC.setValue(block.nextPc[last]);
+        int result;
+        try {
+            result = block.compiled.run(jitRuntime);
+        } catch (DecodeFault f) {
+            int i = jitRuntime.faultIndex;
+            PC.setValue(block.pc(i));
+            faultPc = block.pc(i);
+            retired += i;
+            throw (RuntimeException) f.getCause();
+        } catch (RuntimeException e) {
+            int i = jitRuntime.faultIndex;
+            if (i < last) PC.setValue(block.nextPc[i]);
+            faultPc = block.pc(i);
+            retired += i;
+            throw e;
+        }
+        int count = result >>> 2;
+        if ((result & 3) == STOP) PC.setValue(block.nextPc[count - 1]);
+        retired += count;
+        return (result & 3) == HALT;
+    }
+
+    private BasicBlock lookup(int pc) {
+        if (pc < 0 || pc >= memory.getSize()) return null;
+        BasicBlock[] page = pages[pc >>> PAGE_BITS];
+        return page == null ? null : page[pc & PAGE_MASK];
+    }
+
+    private BasicBlock translate(int pc) {
+        BasicBlock block = translator.translate(pc);
+        int p = pc >>> PAGE_BITS;
+        if (pages[p] == null) pages[p] = new BasicBlock[PAGE_SIZE];
+        pages[p][pc & PAGE_MASK] = block;
+        live.add(block);
+        memory.markCode(block.start, block.end - block.start);
+        return block;
+    }
+
+    private void clear() {
+        for (BasicBlock[] page : pages) if (page != null) Arrays.fill(page, null);
+        live.clear();
+    }
+}
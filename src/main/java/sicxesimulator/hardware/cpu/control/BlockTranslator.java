@@ -0,0 +1,231 @@
+package sicxesimulator.hardware.cpu.control;
+
+import sicxesimulator.hardware.cpu.control.BasicBlock.Op;
+import sicxesimulator.hardware.cpu.decoder.InstructionDecoder;
+import sicxesimulator.hardware.cpu.model.DecodedInstruction;
+import sicxesimulator.hardware.cpu.register.Register;
+import sicxesimulator.hardware.memory.Memory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import static sicxesimulator.hardware.cpu.control.BasicBlock.*;
+
+/**
+ * Traduz trechos lineares do programa em {@link BasicBlock}s.
+ *
+ * <p>As instruções são pré-decodificadas via
+ * {@link InstructionDecoder#predecodeAt(int, DecodedInstruction)}: endereços
+ * estáticos (imediatos, PC-relativos, absolutos) viram constantes; apenas o
+ * que depende de B, X ou de indireção é resolvido a cada execução. As
+ * instruções mais comuns (load/store, aritmética com A, COMP, TIXR, COMPR,
+ * CLEAR e desvios) ganham closures especializadas; as demais reaproveitam
+ * {@link TurboInterpreter#execute(DecodedInstruction)} sobre uma cópia
+ * própria da instrução.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+final class BlockTranslator {
+
+    /** Maior quantidade de instruções por bloco. */
+    static final int MAX_BLOCK_LENGTH = 64;
+
+    private static final int PC_NUMBER = 8;
+
+    private final InstructionDecoder decoder;
+    private final TurboInterpreter t;
+    private final ExecutionDispatcher dispatcher;
+    private final Memory memory;
+    private final BlockEngine engine;
+    private final DecodedInstruction scratch = new DecodedInstruction();
+
+    BlockTranslator(InstructionDecoder decoder, TurboInterpreter t, ExecutionDispatcher dispatcher,
+                    Memory memory, BlockEngine engine) {
+        this.decoder    = decoder;
+        this.t          = t;
+        this.dispatcher = dispatcher;
+        this.memory     = memory;
+        this.engine     = engine;
+    }
+
+    /**
+     * Traduz o bloco que começa em {@code start}.
+     *
+     * @param start endereço da primeira instrução
+     * @return bloco com ao menos uma instrução
+     * @throws RuntimeException se a primeira instrução não puder ser decodificada
+     *                          (mesma exceção do decodificador)
+     */
+    BasicBlock translate(int start) {
+        List<Op> ops = new ArrayList<>();
+        List<DecodedInstruction> instructions = new ArrayList<>();
+        int[] nextPc = new int[MAX_BLOCK_LENGTH];
+        int pc = start;
+        while (true) {
+            try {
+                decoder.predecodeAt(pc, scratch);
+            } catch (RuntimeException e) {
+                if (ops.isEmpty()) throw e;
+                break;                          // o erro aparece quando o PC chegar aqui
+            }
+            boolean exit = endsBlock(scratch);
+            nextPc[ops.size()] = pc + scratch.size();
+            ops.add(bind(scratch, nextPc[ops.size()]));
+            DecodedInstruction copy = new DecodedInstruction();
+            copy.copyFrom(scratch);
+            instructions.add(copy);
+            pc += scratch.size();
+            if (exit || ops.size() == MAX_BLOCK_LENGTH || pc >= memory.getSize()) break;
+        }
+        return new BasicBlock(start, ops.toArray(new Op[0]), Arrays.copyOf(nextPc, ops.size()),
+                instructions.toArray(new DecodedInstruction[0]));
+    }
+
+    /** Desvios, SVC, instruções que tocam o PC e opcodes delegados encerram o bloco. */
+    private boolean endsBlock(DecodedInstruction d) {
+        int opcode = d.opcode();
+        if (dispatcher.isOverridden(opcode) || !TurboInterpreter.isNative(opcode)) return true;
+        return switch (opcode) {
+            case 0x3C, 0x30, 0x34, 0x38, 0x48, 0x4C, 0xB0 -> true;
+            case 0x90, 0x94, 0x98, 0x9C, 0xA0, 0xA4, 0xA8, 0xB4, 0xB8 ->
+                    d.operands()[0] == PC_NUMBER || (d.operandCount() > 1 && d.operands()[1] == PC_NUMBER);
+            default -> false;
+        };
+    }
+
+    /* ------------------------------------------------------------------ */
+    /*                         Ligação das closures                       */
+    /* ------------------------------------------------------------------ */
+
+    private Op bind(DecodedInstruction d, int next) {
+        int opcode = d.opcode();
+        if (dispatcher.isOverridden(opcode)) return generic(d);
+        boolean full = d.operandCount() == DecodedInstruction.MAX_OPERANDS;
+        int[] op = d.operands();
+        /* instruções que ignoram o EA ainda o resolvem no decodificador: com indireção, via generic */
+        boolean pointer = full && op[5] == 1 && op[6] == 0;
+
+        switch (opcode) {
+            case 0x00: if (full) return load(t.A, d); break;
+            case 0x68: if (full) return load(t.B, d); break;
+            case 0x08: if (full) return load(t.L, d); break;
+            case 0x6C: if (full) return load(t.S, d); break;
+            case 0x74: if (full) return load(t.T, d); break;
+            case 0x04: if (full) return load(t.X, d); break;
+
+            case 0x0C: return store(t.A, d);
+            case 0x78: return store(t.B, d);
+            case 0x14: return store(t.L, d);
+            case 0x7C: return store(t.S, d);
+            case 0x84: return store(t.T, d);
+            case 0x10: return store(t.X, d);
+
+            case 0x18: if (full) { IntSupplier v = value(d); Register A = t.A;
+                return () -> { t.arith(A, A.getIntValue() + v.getAsInt()); return CONTINUE; }; } break;
+            case 0x1C: if (full) { IntSupplier v = value(d); Register A = t.A;
+                return () -> { t.arith(A, A.getIntValue() - v.getAsInt()); return CONTINUE; }; } break;
+            case 0x20: if (full) { IntSupplier v = value(d); Register A = t.A;
+                return () -> { t.arith(A, A.getIntValue() * v.getAsInt()); return CONTINUE; }; } break;
+            case 0x40: if (full) { IntSupplier v = value(d); Register A = t.A;
+                return () -> { t.arith(A, A.getIntValue() & v.getAsInt()); return CONTINUE; }; } break;
+            case 0x44: if (full) { IntSupplier v = value(d); Register A = t.A;
+                return () -> { t.arith(A, A.getIntValue() | v.getAsInt()); return CONTINUE; }; } break;
+            case 0x28: if (full) { IntSupplier v = value(d); Register A = t.A;
+                return () -> { t.updateCC(A.getIntValue() - v.getAsInt()); return CONTINUE; }; } break;
+
+            case 0xB8: if (!pointer && isRegister(op[0])) { Register X = t.X, r = t.reg(op[0]);
+                return () -> { X.setValue(X.getIntValue() + 1); t.updateCC(X.getIntValue() - r.getIntValue()); return CONTINUE; }; } break;
+            case 0xA0: if (!pointer && isRegister(op[0]) && isRegister(op[1])) { Register r1 = t.reg(op[0]), r2 = t.reg(op[1]);
+                return () -> { t.updateCC(r1.getIntValue() - r2.getIntValue()); return CONTINUE; }; } break;
+            case 0xB4: if (!pointer && isRegister(op[0])) { Register r = t.reg(op[0]);
+                return () -> { r.setValue(0); return CONTINUE; }; } break;
+
+            case 0x3C: { IntSupplier ea = address(d); Register PC = t.PC;
+                return () -> { PC.setValue(ea.getAsInt()); return CONTINUE; }; }
+            case 0x30: return conditionalJump(d, 0);
+            case 0x34: return conditionalJump(d, 2);
+            case 0x38: return conditionalJump(d, 1);
+            case 0x48: { IntSupplier ea = address(d); Register PC = t.PC, L = t.L;
+                return () -> { int target = ea.getAsInt(); L.setValue(next); PC.setValue(target); return CONTINUE; }; }
+            case 0x4C: if (!pointer) { Register PC = t.PC, L = t.L;
+                return () -> { int ret = L.getIntValue(); PC.setValue(ret); return ret == 0 ? HALT : CONTINUE; }; } break;
+            default: break;
+        }
+        return generic(d);
+    }
+
+    private Op load(Register target, DecodedInstruction d) {
+        IntSupplier v = value(d);
+        return () -> { target.setValue(v.getAsInt()); return CONTINUE; };
+    }
+
+    private Op store(Register source, DecodedInstruction d) {
+        IntSupplier ea = address(d);
+        return () -> { t.writeWord(ea.getAsInt(), source.getIntValue()); return engine.status(); };
+    }
+
+    private Op conditionalJump(DecodedInstruction d, int cc) {
+        IntSupplier ea = address(d);
+        Register PC = t.PC, SW = t.SW;
+        return () -> {
+            int target = ea.getAsInt();
+            if (SW.getIntValue() == cc) PC.setValue(target);
+            return CONTINUE;
+        };
+    }
+
+    /** Qualquer outra instrução: cópia própria do estado decodificado + interpretador turbo. */
+    private Op generic(DecodedInstruction d) {
+        DecodedInstruction own = new DecodedInstruction();
+        own.copyFrom(d);
+        if (own.hasDynamicEffectiveAddress()) {
+            return () -> {
+                own.setEffectiveAddress(resolve(own));
+                return t.execute(own) ? HALT : engine.status();
+            };
+        }
+        return () -> t.execute(own) ? HALT : engine.status();
+    }
+
+    /** Endereço efetivo: constante se estático, senão resolvido a cada execução. */
+    private IntSupplier address(DecodedInstruction d) {
+        if (!d.hasDynamicEffectiveAddress()) {
+            int ea = d.staticEffectiveAddress();
+            return () -> ea;
+        }
+        DecodedInstruction own = new DecodedInstruction();
+        own.copyFrom(d);
+        return () -> resolve(own);
+    }
+
+    /** Operando de formato 3/4 (imediato, direto ou indireto), como {@code BaseExecutor.getValueOrImmediate}. */
+    private IntSupplier value(DecodedInstruction d) {
+        int n = d.operands()[5], i = d.operands()[6];
+        if (n == 0 && i == 1) {
+            int imm = d.staticEffectiveAddress();
+            return () -> imm;
+        }
+        IntSupplier ea = address(d);
+        if (n == 1 && i == 0) return () -> t.readWord(t.readWord(ea.getAsInt()));
+        if (!d.hasDynamicEffectiveAddress()) {
+            int addr = d.staticEffectiveAddress();
+            return () -> t.readWord(addr);
+        }
+        return () -> t.readWord(ea.getAsInt());
+    }
+
+    private int resolve(DecodedInstruction own) {
+        try {
+            return decoder.resolveEffectiveAddress(own);
+        } catch (RuntimeException e) {
+            throw new BlockEngine.DecodeFault(e);
+        }
+    }
+
+    private static boolean isRegister(int number) {
+        return number >= 0 && number <= 9 && number != 7 && number != PC_NUMBER;
+    }
+}
@@ -0,0 +1,172 @@
+package sicxesimulator.hardware.cpu.control;
+
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Breakpoints de PC (opcionalmente condicionados ao valor de um
+ * registrador) e alvo de "executar até o retorno" da {@link ControlUnit}.
+ *
+ * <p>Os endereços ficam num bitmap (1 bit por byte de memória): a consulta a
+ * cada instrução é um teste de bit, e as condições só são avaliadas nos
+ * endereços marcados. Os watchpoints de memória ficam na própria
+ * {@link sicxesimulator.hardware.memory.Memory}; o motivo da última parada,
+ * de qualquer tipo, é registrado aqui ({@link #lastHit()}).</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class Breakpoints {
+
+    /** Motivo da última parada por depuração. */
+    public enum Hit {
+        /** Nenhuma parada desde o último {@link #clearHit()}. */
+        NONE,
+        /** Breakpoint de PC (com a condição satisfeita, se houver). */
+        PC,
+        /** Leitura de byte sob watchpoint. */
+        READ,
+        /** Escrita em byte sob watchpoint. */
+        WRITE,
+        /** Retorno da sub-rotina ({@link #setReturnTarget(int)}). */
+        RETURN
+    }
+
+    private record Condition(int register, IntPredicate test) { }
+
+    private final int size;
+    private final long[] map;
+    private final Map<Integer, Condition> conditions = new HashMap<>();
+    private int count;
+    private int returnTarget = -1;
+
+    private Hit hit = Hit.NONE;
+    private int hitAddress = -1;
+
+    /** @param memorySize tamanho da memória em bytes (endereços válidos para PC) */
+    Breakpoints(int memorySize) {
+        this.size = memorySize;
+        this.map  = new long[(memorySize + 63) >>> 6];
+    }
+
+    /**
+     * Para antes de executar a instrução em {@code pc}.
+     *
+     * @param pc endereço da instrução
+     * @throws IndexOutOfBoundsException se {@code pc} estiver fora da memória
+     */
+    public void add(int pc) {
+        checkAddress(pc);
+        conditions.remove(pc);
+        if ((map[pc >>> 6] & (1L << pc)) == 0) count++;
+        map[pc >>> 6] |= 1L << pc;
+    }
+
+    /**
+     * Para antes de executar a instrução em {@code pc} se o valor de
+     * {@code register} satisfizer {@code condition}.
+     *
+     * @param pc        endereço da instrução
+     * @param register  número do registrador ({@link RegisterSet#A}…)
+     * @param condition condição sobre o valor (24 bits, sem sinal)
+     */
+    public void add(int pc, int register, IntPredicate condition) {
+        add(pc);
+        conditions.put(pc, new Condition(register, condition));
+    }
+
+    /** @param pc endereço do breakpoint a remover */
+    public void remove(int pc) {
+        if (pc < 0 || pc >= size || (map[pc >>> 6] & (1L << pc)) == 0) return;
+        map[pc >>> 6] &= ~(1L << pc);
+        conditions.remove(pc);
+        count--;
+    }
+
+    /** Remove todos os breakpoints e o alvo de retorno. */
+    public void clear() {
+        Arrays.fill(map, 0L);
+        conditions.clear();
+        count = 0;
+        returnTarget = -1;
+    }
+
+    /**
+     * Define o endereço de retorno em que a execução deve parar (ex.: o
+     * valor de L logo após um JSUB), ou -1 para desligar.
+     *
+     * @param address endereço de retorno
+     */
+    public void setReturnTarget(int address) {
+        this.returnTarget = address;
+    }
+
+    /** @return <b>true</b> se há breakpoints ou alvo de retorno */
+    public boolean isActive() {
+        return count != 0 || returnTarget >= 0;
+    }
+
+    /** @return motivo da última parada */
+    public Hit lastHit() {
+        return hit;
+    }
+
+    /** @return endereço (PC ou byte de memória) da última parada, ou -1 */
+    public int lastHitAddress() {
+        return hitAddress;
+    }
+
+    /** Esquece a última parada. */
+    public void clearHit() {
+        hit = Hit.NONE;
+        hitAddress = -1;
+    }
+
+    // package-private
+
+    /** Copia os breakpoints de {@code other} que cabem nesta memória (e o alvo de retorno). */
+    void copyFrom(Breakpoints other) {
+        for (int w = 0; w < other.map.length; w++) {
+            long bits = other.map[w];
+            while (bits != 0) {
+                int pc = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (pc >= size) return;
+                Condition c = other.conditions.get(pc);
+                if (c == null) add(pc);
+                else add(pc, c.register(), c.test());
+            }
+        }
+        returnTarget = other.returnTarget;
+    }
+
+    /**
+     * @return <b>true</b> (registrando a parada) se a execução deve parar
+     *         antes da instrução em {@code pc}
+     */
+    boolean test(int pc, RegisterSet regs) {
+        if (pc == returnTarget) {
+            returnTarget = -1;
+            return record(Hit.RETURN, pc);
+        }
+        if (count == 0 || pc < 0 || pc >= size || (map[pc >>> 6] & (1L << pc)) == 0) return false;
+        Condition c = conditions.get(pc);
+        if (c != null && !c.test().test(regs.get(c.register()))) return false;
+        return record(Hit.PC, pc);
+    }
+
+    boolean record(Hit kind, int address) {
+        hit = kind;
+        hitAddress = address;
+        return true;
+    }
+
+    private void checkAddress(int pc) {
+        if (pc < 0 || pc >= size)
+            throw new IndexOutOfBoundsException("Endereço de breakpoint fora da memória: " + pc);
+    }
+}
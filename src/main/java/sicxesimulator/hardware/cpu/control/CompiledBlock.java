@@ -0,0 +1,21 @@
+package sicxesimulator.hardware.cpu.control;
+
+/**
+ * Bloco básico compilado para bytecode pelo {@link JitCompiler} e carregado
+ * como classe oculta.
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+interface CompiledBlock {
+
+    /**
+     * Executa o bloco. O PC já deve conter o valor de saída padrão
+     * ({@code nextPc} da última instrução); só desvios o alteram.
+     *
+     * @param rt estado da CPU visto pelo código gerado
+     * @return {@code (instruções concluídas << 2) | status}, com status
+     *         {@link BasicBlock#CONTINUE}, {@link BasicBlock#STOP} ou {@link BasicBlock#HALT}
+     */
+    int run(JitRuntime rt);
+}
@@ -1,33 +1,67 @@
 package sicxesimulator.hardware.cpu.control;
 
+import sicxesimulator.hardware.device.Device;
+import sicxesimulator.hardware.memory.AccessHeatmap;
 import sicxesimulator.hardware.memory.Memory;
+import sicxesimulator.hardware.cpu.model.DecodedInstruction;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
 import sicxesimulator.hardware.cpu.decoder.InstructionDecoder;
 import sicxesimulator.hardware.cpu.register.RegisterSet;
 import sicxesimulator.hardware.cpu.model.Instruction;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Coordena o ciclo de instruções da CPU SIC/XE: fetch → decode → execute.
  * <p>
  * Gerencia o Program Counter, o estado de parada (halted), histórico de execução
- * e expõe logs para depuração.
+ * ({@link ExecutionHistory}, limitado em memória) e expõe logs para depuração.
+ * <p>
+ * Além do {@link #step()} instrumentado, oferece o modo <i>turbo</i>
+ * ({@link #runTurbo(long)}): laço headless que reutiliza um único
+ * {@link DecodedInstruction}, não cria objetos por instrução, não formata
+ * logs e não alimenta o histórico. O motor do modo turbo é selecionável
+ * ({@link #setTurboEngine(TurboEngine)}): interpretação instrução a instrução
+ * ou blocos básicos traduzidos.
+ * <p>
+ * Com breakpoints ({@link #getBreakpoints()}) ou watchpoints de memória
+ * ativos, o modo turbo passa a um laço interpretado que testa um bit por
+ * instrução e para exatamente no ponto pedido; sem eles, não há custo extra.
+ * O mesmo laço grava o log de desfazer quando ligado ({@link #enableUndo(int)}),
+ * que permite voltar instruções ({@link #stepBack()},
+ * {@link #reverseContinue(long)}).
  *
  * @author Renan
  * @since 1.0.0
  */
 public class ControlUnit {
 
+    /** Execuções de um bloco antes de compilá-lo no motor {@link TurboEngine#JIT}. */
+    public static final int DEFAULT_JIT_THRESHOLD = 1_000;
+
     private final RegisterSet registerSet;
     private final InstructionDecoder decoder;
     private final ExecutionDispatcher dispatcher;
-    private final List<String> executionHistory = new ArrayList<>();
+    private final ExecutionHistory executionHistory = new ExecutionHistory();
+    private final Breakpoints breakpoints;
+    private final DecodedInstruction turboState = new DecodedInstruction();
+    private final TurboInterpreter turbo;
+    private BlockEngine blockEngine;
+    private UndoLog undoLog;
+    private TurboEngine turboEngine = TurboEngine.INTERPRETER;
+    private int jitThreshold = DEFAULT_JIT_THRESHOLD;
 
     private Instruction currentInstruction;
+    private ExecutionResult lastResult;
     private String lastExecutionLog;
     private boolean halted;
+    private long instructionCount;
+    private int faultAddress = -1;
+    /** PC em que a última parada por breakpoint ocorreu (não para de novo ao retomar). */
+    private int resumePc = -1;
 
     /**
      * Cria uma ControlUnit ligada à memória fornecida.
@@ -35,10 +69,82 @@ public class ControlUnit {
      * @param memory memória que será acessada para buscar instruções e dados
      */
     public ControlUnit(Memory memory) {
+        this(memory, new ExecutionDispatcher());
+    }
+
+    /**
+     * Cria uma ControlUnit sobre {@code memory} com a configuração de
+     * {@code template}: o mesmo dispatcher (e seus executores registrados),
+     * dispositivo, motor turbo, limiar do JIT, cache de decodificação,
+     * capacidade do histórico, breakpoints que couberem na nova memória, e o
+     * log de desfazer (se a memória couber nele) e o mapa de calor, se
+     * ligados, vazios. Registradores, histórico e contadores começam
+     * zerados; watchpoints pertencem à memória antiga e não são copiados.
+     *
+     * @param memory   nova memória
+     * @param template unidade cuja configuração é copiada
+     */
+    public ControlUnit(Memory memory, ControlUnit template) {
+        this(memory, template.dispatcher);
+        setDevice(template.getDevice());
+        setTurboEngine(template.turboEngine);
+        jitThreshold = template.jitThreshold;
+        decoder.setCacheEnabled(template.decoder.isCacheEnabled());
+        executionHistory.setCapacity(template.executionHistory.capacity());
+        breakpoints.copyFrom(template.breakpoints);
+        if (template.undoLog != null && memory.getSize() <= UndoLog.MAX_ADDRESS + 1) {
+            enableUndo(template.undoLog.window());
+        }
+        AccessHeatmap heatmap = template.getHeatmap();
+        if (heatmap != null) enableHeatmap(heatmap.regionBytes(), heatmap.sampleEvery());
+    }
+
+    private ControlUnit(Memory memory, ExecutionDispatcher dispatcher) {
         this.registerSet   = new RegisterSet();
         this.decoder       = new InstructionDecoder(registerSet, memory);
-        this.dispatcher    = new ExecutionDispatcher();
+        this.dispatcher    = dispatcher;
+        this.turbo         = new TurboInterpreter(registerSet, memory, dispatcher);
+        this.breakpoints   = new Breakpoints(memory.getSize());
         this.halted        = false;
+        decoder.setCacheEnabled(true);
+    }
+
+    /** @return motor usado por {@link #runTurbo(long)} */
+    public TurboEngine getTurboEngine() {
+        return turboEngine;
+    }
+
+    /**
+     * Seleciona o motor do modo turbo. Trocar de motor descarta os blocos já
+     * traduzidos.
+     *
+     * @param engine motor desejado
+     */
+    public void setTurboEngine(TurboEngine engine) {
+        if (engine != turboEngine && blockEngine != null) {
+            blockEngine.detach();
+            blockEngine = null;
+        }
+        this.turboEngine = engine;
+    }
+
+    /**
+     * Define quantas execuções tornam um bloco "quente" no motor
+     * {@link TurboEngine#JIT}.
+     *
+     * @param threshold limiar de compilação (mínimo 1)
+     */
+    public void setJitThreshold(int threshold) {
+        this.jitThreshold = Math.max(1, threshold);
+        if (blockEngine != null && turboEngine == TurboEngine.JIT) blockEngine.enableJit(jitThreshold);
+    }
+
+    /**
+     * @return dispatcher de executores, para registrar executores adicionais
+     *         ({@link ExecutionDispatcher#register}) ou trocar a estratégia de despacho
+     */
+    public ExecutionDispatcher getExecutionDispatcher() {
+        return dispatcher;
     }
 
     /** @return conjunto de registradores da CPU */
@@ -62,7 +168,7 @@ public class ControlUnit {
 
     /** @return valor inteiro atual do PC (Program Counter) */
     public int getIntValuePC() {
-        return registerSet.getRegister("PC").getIntValue();
+        return registerSet.get(RegisterSet.PC);
     }
 
     /**
@@ -71,32 +177,342 @@ public class ControlUnit {
      * @param value novo valor para o Program Counter
      */
     public void setIntValuePC(int value) {
-        registerSet.getRegister("PC").setValue(value);
+        registerSet.set(RegisterSet.PC, value);
+    }
+
+    /** @return resultado primitivo da última instrução executada (ou {@code null}) */
+    public ExecutionResult getLastExecutionResult() {
+        return lastResult;
     }
 
-    /** @return descrição da última instrução executada */
+    /** @return descrição da última instrução executada (montada sob demanda) */
     public String getLastExecutionLog() {
+        if (lastExecutionLog == null && lastResult != null) {
+            lastExecutionLog = dispatcher.describe(lastResult);
+        }
         return lastExecutionLog;
     }
 
-    /** @return histórico completo de instruções executadas */
+    /**
+     * Liga/desliga o cache de instruções pré-decodificadas (ligado por padrão).
+     * Escritas na memória sobre código cacheado invalidam as entradas afetadas.
+     *
+     * @param enabled <b>true</b> para usar o cache
+     */
+    public void setDecodeCacheEnabled(boolean enabled) {
+        decoder.setCacheEnabled(enabled);
+    }
+
+    /**
+     * @return endereço da instrução que lançou a última exceção em
+     *         {@link #step()} ou {@link #runTurbo(long)}, ou -1 se nenhuma falhou
+     *         desde o último {@link #reset()}
+     */
+    public int getFaultAddress() {
+        return faultAddress;
+    }
+
+    /** @return dispositivo de E/S usado por RD/WD */
+    public Device getDevice() {
+        return turbo.device;
+    }
+
+    /**
+     * Troca o dispositivo de E/S usado por RD/WD (padrão: console).
+     *
+     * @param device novo dispositivo
+     */
+    public void setDevice(Device device) {
+        turbo.device = Objects.requireNonNull(device, "device não pode ser nulo");
+    }
+
+    /** @return breakpoints de PC e alvo de retorno desta CPU */
+    public Breakpoints getBreakpoints() {
+        return breakpoints;
+    }
+
+    /** @return <b>true</b> se há breakpoints, watchpoints, log de desfazer ou mapa de calor ativos */
+    public boolean isDebugging() {
+        Memory memory = decoder.getMemory();
+        return breakpoints.isActive() || memory.hasWatchpoints() || undoLog != null || memory.getHeatmap() != null;
+    }
+
+    /**
+     * Liga o mapa de calor ({@link AccessHeatmap}): a memória passa a contar
+     * leituras e escritas, e {@link #step()} e o modo turbo (que passa ao
+     * laço interpretado) contam as execuções.
+     *
+     * @param regionBytes tamanho da região contada (potência de 2)
+     * @param sampleEvery conta 1 acesso a cada {@code sampleEvery} (1 = todos)
+     * @return contadores, zerados
+     */
+    public AccessHeatmap enableHeatmap(int regionBytes, int sampleEvery) {
+        Memory memory = decoder.getMemory();
+        AccessHeatmap heatmap = new AccessHeatmap(memory.getSize(), regionBytes, sampleEvery);
+        memory.setHeatmap(heatmap);
+        return heatmap;
+    }
+
+    /** Desliga o mapa de calor. */
+    public void disableHeatmap() {
+        decoder.getMemory().setHeatmap(null);
+    }
+
+    /** @return mapa de calor ligado, ou {@code null} */
+    public AccessHeatmap getHeatmap() {
+        return decoder.getMemory().getHeatmap();
+    }
+
+    /**
+     * Liga a gravação do log de desfazer ({@link UndoLog}): a partir daqui,
+     * {@link #step()} e o modo turbo (que passa ao laço interpretado)
+     * registram o necessário para {@link #stepBack()}.
+     *
+     * @param window número máximo de instruções desfazíveis
+     * @throws IllegalStateException se a memória passar de {@link UndoLog#MAX_ADDRESS}
+     */
+    public void enableUndo(int window) {
+        Memory memory = decoder.getMemory();
+        if (memory.getSize() > UndoLog.MAX_ADDRESS + 1)
+            throw new IllegalStateException("Log de desfazer não suporta memória de " + memory.getSize() + " bytes");
+        disableUndo();
+        undoLog = new UndoLog(window);
+        decoder.getMemory().setWriteJournal(undoLog);
+    }
+
+    /** Desliga e descarta o log de desfazer. */
+    public void disableUndo() {
+        if (undoLog == null) return;
+        decoder.getMemory().setWriteJournal(null);
+        undoLog = null;
+    }
+
+    /** @return log de desfazer, ou {@code null} se desligado */
+    public UndoLog getUndoLog() {
+        return undoLog;
+    }
+
+    /**
+     * Desfaz a última instrução: registradores, memória e PC voltam ao que
+     * eram antes dela, e a CPU deixa de estar parada.
+     *
+     * @return <b>false</b> se não há log ou nada a desfazer
+     */
+    public boolean stepBack() {
+        if (undoLog == null || !undoLog.undo(registerSet, decoder.getMemory())) return false;
+        halted = false;
+        if (instructionCount > 0) instructionCount--;
+        currentInstruction = null;
+        lastResult = null;
+        lastExecutionLog = null;
+        faultAddress = -1;
+        resumePc = -1;
+        return true;
+    }
+
+    /**
+     * Execução reversa: desfaz instruções até chegar a um breakpoint, até
+     * uma escrita desfeita atingir um watchpoint de escrita, até esgotar o
+     * log ou até {@code maxInstructions}. A parada fica registrada em
+     * {@link #getBreakpoints()}, como na execução para frente.
+     *
+     * @param maxInstructions limite de instruções a desfazer
+     * @return quantidade de instruções desfeitas
+     */
+    public long reverseContinue(long maxInstructions) {
+        Memory memory = decoder.getMemory();
+        boolean watching = memory.hasWatchpoints();
+        if (watching) memory.pollWatchHit();
+        long undone = 0;
+        while (undone < maxInstructions && stepBack()) {
+            undone++;
+            if (watching) {
+                int address = memory.pollWatchHit();
+                if (address >= 0 && memory.isWatchHitWrite()
+                        && breakpoints.record(Breakpoints.Hit.WRITE, address)) break;
+            }
+            if (breakpoints.isActive() && breakpoints.test(getIntValuePC(), registerSet)) {
+                resumePc = getIntValuePC();
+                break;
+            }
+        }
+        return undone;
+    }
+
+    /**
+     * Consulta os breakpoints para a instrução no PC atual. Depois de uma
+     * parada, a próxima consulta no mesmo PC é ignorada, permitindo retomar.
+     *
+     * @return <b>true</b> se a execução deve parar antes desta instrução
+     */
+    public boolean checkBreakpoint() {
+        int pc = getIntValuePC();
+        if (pc == resumePc) {
+            resumePc = -1;
+            return false;
+        }
+        if (!breakpoints.test(pc, registerSet)) return false;
+        resumePc = pc;
+        return true;
+    }
+
+    /** @return total de instruções executadas desde o último {@link #reset()} */
+    public long getInstructionCount() {
+        return instructionCount;
+    }
+
+    /**
+     * @return histórico de execução (buffer circular de capacidade limitada,
+     *         com spill opcional em disco e leitura paginada)
+     */
+    public ExecutionHistory getHistory() {
+        return executionHistory;
+    }
+
+    /**
+     * Altera quantas instruções o histórico mantém em memória.
+     *
+     * @param capacity nova capacidade (mínimo 1)
+     */
+    public void setHistoryCapacity(int capacity) {
+        executionHistory.setCapacity(capacity);
+    }
+
+    /**
+     * @return visão das instruções retidas no histórico, descritas em texto
+     *         sob demanda (cada elemento é montado ao ser acessado)
+     */
     public List<String> getExecutionHistory() {
-        return List.copyOf(executionHistory);
+        List<ExecutionHistory.Entry> page = historyPage();
+        return new AbstractList<>() {
+            @Override public String get(int i) { return dispatcher.describe(page.get(i).result()); }
+            @Override public int size() { return page.size(); }
+        };
+    }
+
+    /** @return visão das instruções retidas no histórico, em forma primitiva */
+    public List<ExecutionResult> getExecutionResults() {
+        List<ExecutionHistory.Entry> page = historyPage();
+        return new AbstractList<>() {
+            @Override public ExecutionResult get(int i) { return page.get(i).result(); }
+            @Override public int size() { return page.size(); }
+        };
     }
 
     /**
      * Executa um ciclo de CPU:
      * 1. Busca e decodifica próxima instrução,
      * 2. Incrementa o PC,
-     * 3. Executa e grava log.
+     * 3. Executa e registra o resultado (o texto só é montado sob demanda).
      *
      * @throws IllegalStateException se a instrução não for suportada
      */
     public void step() {
-        fetch();
-        incrementPC(currentInstruction.getSize());
-        lastExecutionLog = executeInstruction();
-        executionHistory.add(lastExecutionLog);
+        int pc = getIntValuePC();
+        Memory memory = decoder.getMemory();
+        boolean watching = memory.hasWatchpoints();
+        AccessHeatmap heat = memory.getHeatmap();
+        UndoLog undo = undoLog;
+        if (undo != null) undo.begin(pc, registerSet);
+        try {
+            if (heat != null) {
+                heat.recordExecute(pc);
+                heat.fetching(true);
+            }
+            fetch();
+            if (heat != null) heat.fetching(false);
+            if (watching) memory.pollWatchHit();            // leituras da busca não contam
+            incrementPC(currentInstruction.getSize());
+            lastResult = executeInstruction();
+        } catch (RuntimeException e) {
+            faultAddress = pc;
+            throw e;
+        } finally {
+            if (heat != null) heat.fetching(false);
+            if (undo != null) undo.end(registerSet);
+        }
+        if (watching) recordWatchHit();
+        lastExecutionLog = null;
+        executionHistory.record(pc, lastResult);
+        instructionCount++;
+    }
+
+    /**
+     * Modo turbo: executa até {@code maxInstructions} instruções ou até HALT,
+     * sem alocar objetos por instrução, sem logs e sem histórico.
+     * <p>
+     * Após o retorno, {@link #getLastExecutionLog()} e o histórico não refletem
+     * as instruções executadas neste modo.
+     *
+     * @param maxInstructions limite de instruções a executar
+     * @return quantidade de instruções efetivamente executadas
+     * @throws IllegalStateException se alguma instrução não for suportada
+     */
+    public long runTurbo(long maxInstructions) {
+        if (isDebugging() && !halted) return runDebug(maxInstructions);
+        if (turboEngine != TurboEngine.INTERPRETER && !halted) return runBlocks(maxInstructions);
+        final DecodedInstruction d = turboState;
+        long executed = 0;
+        int pc = 0;
+        try {
+            while (executed < maxInstructions && !halted) {
+                pc = getIntValuePC();
+                decoder.decodeInto(d);
+                setIntValuePC(pc + d.size());
+                halted = turbo.execute(d);
+                executed++;
+                instructionCount++;
+            }
+        } catch (RuntimeException e) {
+            faultAddress = pc;
+            throw e;
+        }
+        return executed;
+    }
+
+    /**
+     * Estado arquitetural da CPU capturado por {@link #saveState()}.
+     *
+     * @param registers        registradores de 24 bits, indexados pelo número ({@link RegisterSet#A} .. {@link RegisterSet#SW})
+     * @param f                registrador F (48 bits)
+     * @param halted           estado de parada
+     * @param instructionCount instruções executadas até a captura
+     */
+    public record State(int[] registers, long f, boolean halted, long instructionCount) {
+        public State {
+            registers = registers.clone();
+        }
+
+        @Override
+        public int[] registers() {
+            return registers.clone();
+        }
+    }
+
+    /** @return cópia dos registradores, do estado de parada e do contador de instruções */
+    public State saveState() {
+        int[] regs = new int[RegisterSet.SW + 1];
+        for (int n = 0; n < regs.length; n++) {
+            if (n != RegisterSet.F) regs[n] = registerSet.get(n);
+        }
+        return new State(regs, registerSet.getF(), halted, instructionCount);
+    }
+
+    /**
+     * Volta ao estado capturado. Histórico, último resultado e paradas
+     * pendentes são descartados, como em {@link #reset()}.
+     *
+     * @param state estado obtido de {@link #saveState()}
+     */
+    public void restoreState(State state) {
+        reset();
+        int[] regs = state.registers;
+        for (int n = 0; n < regs.length; n++) {
+            if (n != RegisterSet.F) registerSet.set(n, regs[n]);
+        }
+        registerSet.setF(state.f());
+        halted = state.halted();
+        instructionCount = state.instructionCount();
     }
 
     /** Zera todos os registradores (inclusive SW e PC). */
@@ -115,12 +531,89 @@ public class ControlUnit {
         clearAllRegisters();
         halted = false;
         currentInstruction = null;
+        lastResult          = null;
         lastExecutionLog    = null;
+        instructionCount    = 0;
+        faultAddress        = -1;
+        resumePc            = -1;
+        breakpoints.clearHit();
         executionHistory.clear();
+        if (undoLog != null) undoLog.clear();
     }
 
     // private
 
+    /**
+     * Laço do interpretador com consulta a breakpoints antes e a watchpoints
+     * depois de cada instrução. Usado no lugar de qualquer motor turbo
+     * enquanto houver pontos de parada, para parar na instrução exata.
+     */
+    private long runDebug(long maxInstructions) {
+        final DecodedInstruction d = turboState;
+        final Memory memory = decoder.getMemory();
+        final boolean watching = memory.hasWatchpoints();
+        final AccessHeatmap heat = memory.getHeatmap();
+        final UndoLog undo = undoLog;
+        long executed = 0;
+        int pc = 0;
+        try {
+            while (executed < maxInstructions && !halted) {
+                pc = getIntValuePC();
+                if (breakpoints.isActive() && checkBreakpoint()) break;
+                if (undo != null) undo.begin(pc, registerSet);
+                try {
+                    if (heat != null) {
+                        heat.recordExecute(pc);
+                        heat.fetching(true);
+                    }
+                    decoder.decodeInto(d);
+                    if (heat != null) heat.fetching(false);
+                    if (watching) memory.pollWatchHit();
+                    setIntValuePC(pc + d.size());
+                    halted = turbo.execute(d);
+                } finally {
+                    if (heat != null) heat.fetching(false);
+                    if (undo != null) undo.end(registerSet);
+                }
+                executed++;
+                instructionCount++;
+                if (watching && recordWatchHit()) break;
+            }
+        } catch (RuntimeException e) {
+            faultAddress = pc;
+            throw e;
+        }
+        return executed;
+    }
+
+    private boolean recordWatchHit() {
+        Memory memory = decoder.getMemory();
+        int address = memory.pollWatchHit();
+        if (address < 0) return false;
+        return breakpoints.record(memory.isWatchHitWrite() ? Breakpoints.Hit.WRITE : Breakpoints.Hit.READ, address);
+    }
+
+    private List<ExecutionHistory.Entry> historyPage() {
+        return executionHistory.recent(executionHistory.capacity());
+    }
+
+    private long runBlocks(long maxInstructions) {
+        if (blockEngine == null) {
+            blockEngine = new BlockEngine(decoder.getMemory(), decoder, turbo, dispatcher);
+            if (turboEngine == TurboEngine.JIT) blockEngine.enableJit(jitThreshold);
+        }
+        long before = blockEngine.retired();
+        try {
+            halted = blockEngine.run(maxInstructions);
+        } catch (RuntimeException e) {
+            faultAddress = blockEngine.faultPc();
+            throw e;
+        } finally {
+            instructionCount += blockEngine.retired() - before;
+        }
+        return blockEngine.retired() - before;
+    }
+
     private void fetch() {
         currentInstruction = decoder.decodeInstruction();
     }
@@ -129,16 +622,17 @@ public class ControlUnit {
         setIntValuePC(getIntValuePC() + instructionSizeInBytes);
     }
 
-    private String executeInstruction() {
+    private ExecutionResult executeInstruction() {
         int opcode           = currentInstruction.opcode();
         int[] operands       = currentInstruction.operands();
         boolean indexed      = currentInstruction.indexed();
         int effectiveAddress = currentInstruction.effectiveAddress();
 
-        ExecutionContext ctx = new ExecutionContext(operands, indexed, effectiveAddress, registerSet, decoder.getMemory());
-        String log = dispatcher.dispatch(opcode, ctx);
+        ExecutionContext ctx = new ExecutionContext(opcode, operands, indexed, effectiveAddress,
+                registerSet, decoder.getMemory(), turbo.device);
+        ExecutionResult result = dispatcher.dispatch(opcode, ctx);
 
-        if (log.contains("HALT")) halted = true;
-        return log;
+        if (result.halted()) halted = true;
+        return result;
     }
 }
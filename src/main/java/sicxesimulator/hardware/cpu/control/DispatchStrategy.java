@@ -0,0 +1,20 @@
+package sicxesimulator.hardware.cpu.control;
+
+/**
+ * Estratégias de despacho de opcodes do {@link ExecutionDispatcher}.
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public enum DispatchStrategy {
+
+    /** Tabela plana {@code InstructionExecutor[256]} indexada pelo opcode. */
+    TABLE,
+
+    /**
+     * {@code switch} sobre o opcode com uma instância final por executor
+     * embutido: cada caso é uma chamada monomórfica que o JIT da JVM pode
+     * embutir, em vez de um único ponto de chamada megamórfico.
+     */
+    SWITCH
+}
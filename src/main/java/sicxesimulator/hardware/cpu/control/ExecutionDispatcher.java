@@ -1,6 +1,7 @@
 package sicxesimulator.hardware.cpu.control;
 
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
 import sicxesimulator.hardware.cpu.exec.InstructionExecutor;
 import sicxesimulator.hardware.cpu.exec.arith.*;
 import sicxesimulator.hardware.cpu.exec.jump.*;
@@ -9,31 +10,97 @@ import sicxesimulator.hardware.cpu.exec.logic.*;
 import sicxesimulator.hardware.cpu.exec.store.*;
 import sicxesimulator.hardware.cpu.exec.sys.*;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Registry central de opcodes → executores.
+ * <p>
+ * Os executores ficam numa tabela plana de 256 posições indexada pelo
+ * opcode (sem boxing nem hashing por ciclo). Com
+ * {@link DispatchStrategy#SWITCH}, os opcodes embutidos são despachados por
+ * um {@code switch} sobre instâncias finais ({@link SwitchDispatch}), que o
+ * JIT da JVM compila para uma tabela de saltos com chamadas monomórficas;
+ * opcodes registrados via {@link #register} continuam indo para a tabela.
  */
 public class ExecutionDispatcher {
 
-    private final Map<Integer, InstructionExecutor> map = new HashMap<>();
+    /** Usado apenas para descrever resultados de opcodes sem executor cadastrado. */
+    private static final InstructionExecutor UNKNOWN = ctx -> {
+        throw new IllegalStateException("Opcode não suportado: " + Integer.toHexString(ctx.opcode()));
+    };
+
+    private final InstructionExecutor[] table = new InstructionExecutor[256];
+    /** Opcodes cujo executor embutido foi substituído (ou acrescentado) via {@link #register}. */
+    private final boolean[] overridden = new boolean[256];
+    private DispatchStrategy strategy = DispatchStrategy.TABLE;
+    /** Incrementado a cada {@link #register}; permite a caches de tradução se invalidarem. */
+    private int registrations;
 
     public ExecutionDispatcher() {
         loadBuiltIns();
     }
 
     /** Roteia o opcode para o executor cadastrado. */
-    public String dispatch(int opcode, ExecutionContext ctx) {
-        InstructionExecutor exec = map.get(opcode);
+    public ExecutionResult dispatch(int opcode, ExecutionContext ctx) {
+        if (strategy == DispatchStrategy.SWITCH && !isOverridden(opcode)) {
+            ExecutionResult result = SwitchDispatch.dispatch(opcode, ctx);
+            if (result != null) return result;
+        }
+        InstructionExecutor exec = lookup(opcode);
         if (exec == null)
             throw new IllegalStateException("Opcode não suportado: " + Integer.toHexString(opcode));
         return exec.execute(ctx);
     }
 
+    /**
+     * Monta o texto legível de um resultado, delegando ao executor do opcode.
+     *
+     * @param result resultado previamente devolvido por {@link #dispatch}
+     * @return descrição para GUI/trace
+     */
+    public String describe(ExecutionResult result) {
+        InstructionExecutor exec = lookup(result.opcode());
+        return (exec != null ? exec : UNKNOWN).describe(result);
+    }
+
+    /** @return estratégia de despacho em uso */
+    public DispatchStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Seleciona a estratégia de despacho. Ambas executam os mesmos executores
+     * e respeitam {@link #register}.
+     *
+     * @param strategy nova estratégia
+     */
+    public void setStrategy(DispatchStrategy strategy) {
+        this.strategy = strategy;
+    }
+
     /** Registro programático extra (plugins, testes, etc.). */
     public void register(int opcode, InstructionExecutor exec) {
-        map.put(opcode, exec);
+        if (opcode < 0 || opcode >= table.length)
+            throw new IllegalArgumentException("Opcode fora do intervalo 0x00–0xFF: " + opcode);
+        table[opcode] = exec;
+        overridden[opcode] = true;
+        registrations++;
+    }
+
+    /** @return quantas vezes {@link #register} foi chamado */
+    public int getRegistrationCount() {
+        return registrations;
+    }
+
+    /**
+     * @param opcode opcode limpo
+     * @return <b>true</b> se o opcode foi registrado programaticamente e deve
+     *         ser despachado pelo executor cadastrado (mesmo no modo turbo)
+     */
+    public boolean isOverridden(int opcode) {
+        return opcode >= 0 && opcode < overridden.length && overridden[opcode];
+    }
+
+    private InstructionExecutor lookup(int opcode) {
+        return (opcode >= 0 && opcode < table.length) ? table[opcode] : null;
     }
 
     /* ------------------------------------------------------------------ */
@@ -41,60 +108,60 @@ public class ExecutionDispatcher {
     /* ------------------------------------------------------------------ */
     private void loadBuiltIns() {
         // arith
-        map.put(0x18, new ADD());
-        map.put(0x1C, new SUB());
-        map.put(0x20, new MUL());
-        map.put(0x24, new DIV());
-        map.put(0x90, new ADDR());
-        map.put(0x94, new SUBR());
-        map.put(0x98, new MULR());
-        map.put(0x9C, new DIVR());
+        table[0x18] = new ADD();
+        table[0x1C] = new SUB();
+        table[0x20] = new MUL();
+        table[0x24] = new DIV();
+        table[0x90] = new ADDR();
+        table[0x94] = new SUBR();
+        table[0x98] = new MULR();
+        table[0x9C] = new DIVR();
 
         // jump
-        map.put(0x3C, new J());
-        map.put(0x30, new JEQ());
-        map.put(0x34, new JGT());
-        map.put(0x38, new JLT());
-        map.put(0x48, new JSUB());
-        map.put(0x4C, new RSUB());
+        table[0x3C] = new J();
+        table[0x30] = new JEQ();
+        table[0x34] = new JGT();
+        table[0x38] = new JLT();
+        table[0x48] = new JSUB();
+        table[0x4C] = new RSUB();
 
         // load
-        map.put(0x00, new LDA());
-        map.put(0x68, new LDB());
-        map.put(0x50, new LDCH());
-        map.put(0x08, new LDL());
-        map.put(0x6C, new LDS());
-        map.put(0x74, new LDT());
-        map.put(0x04, new LDX());
+        table[0x00] = new LDA();
+        table[0x68] = new LDB();
+        table[0x50] = new LDCH();
+        table[0x08] = new LDL();
+        table[0x6C] = new LDS();
+        table[0x74] = new LDT();
+        table[0x04] = new LDX();
 
         // logic
-        map.put(0x40, new AND());
-        map.put(0x44, new OR());
-        map.put(0x28, new COMP());
-        map.put(0xA0, new COMPR());
-        map.put(0xB4, new CLEAR());
-        map.put(0xA4, new SHIFTL());
-        map.put(0xA8, new SHIFTR());
-        map.put(0xB8, new TIXR());
+        table[0x40] = new AND();
+        table[0x44] = new OR();
+        table[0x28] = new COMP();
+        table[0xA0] = new COMPR();
+        table[0xB4] = new CLEAR();
+        table[0xA4] = new SHIFTL();
+        table[0xA8] = new SHIFTR();
+        table[0xB8] = new TIXR();
 
         // store
-        map.put(0x0C, new STA());
-        map.put(0x78, new STB());
-        map.put(0x54, new STCH());
-        map.put(0x14, new STL());
-        map.put(0x7C, new STS());
-        map.put(0x84, new STT());
-        map.put(0x10, new STX());
+        table[0x0C] = new STA();
+        table[0x78] = new STB();
+        table[0x54] = new STCH();
+        table[0x14] = new STL();
+        table[0x7C] = new STS();
+        table[0x84] = new STT();
+        table[0x10] = new STX();
 
         // sys
-        map.put(0xF4, new LPS());
-        map.put(0xF8, new SIO());
-        map.put(0xEC, new SSK());
-        map.put(0xD8, new RD());
-        map.put(0xE0, new TD());
-        map.put(0xE4, new TIO());
-        map.put(0xDC, new WD());
-        map.put(0xB0, new SVC());
+        table[0xF4] = new LPS();
+        table[0xF8] = new SIO();
+        table[0xEC] = new SSK();
+        table[0xD8] = new RD();
+        table[0xE0] = new TD();
+        table[0xE4] = new TIO();
+        table[0xDC] = new WD();
+        table[0xB0] = new SVC();
 
     }
 }
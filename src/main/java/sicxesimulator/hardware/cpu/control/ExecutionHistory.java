@@ -0,0 +1,325 @@
+package sicxesimulator.hardware.cpu.control;
+
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Histórico de execução de capacidade fixa, guardado como registros
+ * primitivos num buffer circular de {@code int}.
+ *
+ * <p>Cada instrução ocupa {@value #STRIDE} inteiros (PC, opcode, EA,
+ * registrador, antes, depois, operando, flags); nenhum objeto é criado por
+ * instrução. Quando o buffer enche, as entradas mais antigas são
+ * sobrescritas ou, se o <i>spill</i> estiver ligado
+ * ({@link #enableSpill(Path)}), acumuladas em segmentos de
+ * {@value #SEGMENT_ENTRIES} entradas e anexadas a um arquivo, continuando
+ * legíveis pelo mesmo índice.</p>
+ *
+ * <p>Os índices são globais e crescentes desde o último {@link #clear()}.
+ * Consumidores leem por páginas ({@link #page(long, int)},
+ * {@link #recent(int)}): as visões são preguiçosas e só materializam uma
+ * {@link Entry} quando o elemento é acessado.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class ExecutionHistory {
+
+    /** Capacidade padrão, em instruções. */
+    public static final int DEFAULT_CAPACITY = 65_536;
+
+    /** Inteiros por entrada. */
+    static final int STRIDE = 8;
+    /** Entradas por segmento gravado em disco. */
+    static final int SEGMENT_ENTRIES = 4_096;
+    private static final int ENTRY_BYTES = STRIDE * Integer.BYTES;
+
+    /**
+     * Entrada materializada do histórico.
+     *
+     * @param index  índice global da instrução
+     * @param pc     endereço da instrução
+     * @param result resultado primitivo da execução
+     */
+    public record Entry(long index, int pc, ExecutionResult result) { }
+
+    private int[] data;
+    private int capacity;
+    private long total;
+    private long memoryStart;             // índice da entrada mais antiga ainda no buffer
+
+    private FileChannel spill;
+    private ByteBuffer segment;
+    private long spillStart;              // índice da primeira entrada do arquivo
+    private long spilled;                 // entradas já gravadas no arquivo
+
+    /** Cria um histórico com {@link #DEFAULT_CAPACITY}. */
+    public ExecutionHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity número máximo de entradas mantidas em memória
+     * @throws IllegalArgumentException se {@code capacity < 1}
+     */
+    public ExecutionHistory(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacidade inválida: " + capacity);
+        this.capacity = capacity;
+        this.data     = new int[capacity * STRIDE];
+    }
+
+    /**
+     * Registra a execução de uma instrução.
+     *
+     * @param pc endereço da instrução
+     * @param r  resultado da execução
+     */
+    public void record(int pc, ExecutionResult r) {
+        int base = slot(total);
+        if (total - memoryStart == capacity) {          // cheio: a mais antiga sai do buffer
+            if (spill != null) evict(base);
+            memoryStart++;
+        }
+        int[] d = data;
+        d[base]     = pc;
+        d[base + 1] = r.opcode();
+        d[base + 2] = r.effectiveAddress();
+        d[base + 3] = r.register();
+        d[base + 4] = r.before();
+        d[base + 5] = r.after();
+        d[base + 6] = r.operand();
+        d[base + 7] = r.flags();
+        total++;
+    }
+
+    /** @return capacidade do buffer em memória */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Altera a capacidade, preservando as entradas mais recentes que couberem.
+     * Com spill ligado, as que não couberem vão para o arquivo.
+     *
+     * @param newCapacity nova capacidade (mínimo 1)
+     */
+    public void setCapacity(int newCapacity) {
+        if (newCapacity < 1) throw new IllegalArgumentException("Capacidade inválida: " + newCapacity);
+        if (newCapacity == capacity) return;
+        long first = firstInMemory();
+        long keepFrom = Math.max(first, total - newCapacity);
+        if (spill != null) {
+            for (long i = first; i < keepFrom; i++) evict(slot(i));
+        }
+        int[] next = new int[newCapacity * STRIDE];
+        for (long i = keepFrom; i < total; i++) {
+            System.arraycopy(data, slot(i), next, (int) (i % newCapacity) * STRIDE, STRIDE);
+        }
+        data = next;
+        capacity = newCapacity;
+        memoryStart = keepFrom;
+    }
+
+    /** @return total de instruções registradas desde o último {@link #clear()} */
+    public long total() {
+        return total;
+    }
+
+    /** @return índice da entrada mais antiga ainda legível (memória ou disco) */
+    public long firstIndex() {
+        return spill != null ? spillStart : firstInMemory();
+    }
+
+    /** @return quantidade de entradas legíveis */
+    public long size() {
+        return total - firstIndex();
+    }
+
+    /** @return <b>true</b> se não há entradas legíveis */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @param index índice global
+     * @return endereço da instrução
+     * @throws IndexOutOfBoundsException se a entrada não está mais disponível
+     */
+    public int pc(long index) {
+        if (index >= firstInMemory() && index < total) return data[slot(index)];
+        return readSpilled(index)[0];
+    }
+
+    /**
+     * @param index índice global
+     * @return resultado da instrução
+     * @throws IndexOutOfBoundsException se a entrada não está mais disponível
+     */
+    public ExecutionResult result(long index) {
+        return entry(index).result();
+    }
+
+    /**
+     * @param index índice global
+     * @return entrada materializada
+     * @throws IndexOutOfBoundsException se a entrada não está mais disponível
+     */
+    public Entry entry(long index) {
+        int[] d;
+        int b;
+        if (index >= firstInMemory() && index < total) {
+            d = data;
+            b = slot(index);
+        } else {
+            d = readSpilled(index);
+            b = 0;
+        }
+        return new Entry(index, d[b], new ExecutionResult(
+                d[b + 1], d[b + 2], d[b + 3], d[b + 4], d[b + 5], d[b + 6], d[b + 7]));
+    }
+
+    /**
+     * Visão preguiçosa de até {@code count} entradas a partir de {@code from},
+     * limitada ao intervalo disponível.
+     *
+     * @param from  índice global inicial
+     * @param count tamanho máximo da página
+     * @return lista somente-leitura; cada elemento é lido ao ser acessado
+     */
+    public List<Entry> page(long from, int count) {
+        long start = Math.max(from, firstIndex());
+        int  n     = (int) Math.max(0, Math.min((long) count, total - start));
+        return new AbstractList<>() {
+            @Override public Entry get(int i) {
+                if (i < 0 || i >= n) throw new IndexOutOfBoundsException(i);
+                return entry(start + i);
+            }
+            @Override public int size() {
+                return n;
+            }
+        };
+    }
+
+    /**
+     * @param count número máximo de entradas
+     * @return visão preguiçosa das últimas {@code count} entradas, da mais antiga à mais nova
+     */
+    public List<Entry> recent(int count) {
+        return page(Math.max(firstIndex(), total - count), count);
+    }
+
+    /**
+     * Liga a gravação em disco das entradas despejadas do buffer. Entradas já
+     * descartadas antes da chamada não são recuperadas.
+     *
+     * @param file arquivo de destino (truncado)
+     * @throws UncheckedIOException se o arquivo não puder ser aberto
+     */
+    public void enableSpill(Path file) {
+        disableSpill();
+        try {
+            spill = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir arquivo de histórico: " + file, e);
+        }
+        segment    = ByteBuffer.allocateDirect(SEGMENT_ENTRIES * ENTRY_BYTES);
+        spillStart = firstInMemory();
+        spilled    = 0;
+    }
+
+    /** Desliga o spill e fecha o arquivo; entradas gravadas deixam de ser legíveis. */
+    public void disableSpill() {
+        if (spill == null) return;
+        try {
+            spill.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            spill   = null;
+            segment = null;
+        }
+    }
+
+    /** @return <b>true</b> se as entradas despejadas vão para disco */
+    public boolean isSpillEnabled() {
+        return spill != null;
+    }
+
+    /** Descarta todas as entradas (inclusive as gravadas em disco). */
+    public void clear() {
+        total = 0;
+        memoryStart = 0;
+        spillStart = 0;
+        spilled = 0;
+        if (spill != null) {
+            segment.clear();
+            try {
+                spill.truncate(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // private
+
+    private long firstInMemory() {
+        return memoryStart;
+    }
+
+    private int slot(long index) {
+        return (int) (index % capacity) * STRIDE;
+    }
+
+    /** Move a entrada em {@code base} para o segmento corrente, gravando-o se encher. */
+    private void evict(int base) {
+        for (int k = 0; k < STRIDE; k++) segment.putInt(data[base + k]);
+        if (!segment.hasRemaining()) flushSegment();
+    }
+
+    private void flushSegment() {
+        segment.flip();
+        try {
+            long pos = spilled * ENTRY_BYTES;
+            while (segment.hasRemaining()) pos += spill.write(segment, pos);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar histórico", e);
+        }
+        spilled += SEGMENT_ENTRIES;
+        segment.clear();
+    }
+
+    private int[] readSpilled(long index) {
+        long rel = index - spillStart;
+        if (spill == null || rel < 0 || index >= firstInMemory())
+            throw new IndexOutOfBoundsException("Entrada do histórico indisponível: " + index);
+        int[] out = new int[STRIDE];
+        if (rel >= spilled) {                                   // ainda no segmento corrente
+            int off = (int) (rel - spilled) * ENTRY_BYTES;
+            for (int k = 0; k < STRIDE; k++) out[k] = segment.getInt(off + k * Integer.BYTES);
+            return out;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(ENTRY_BYTES);
+        try {
+            long pos = rel * ENTRY_BYTES;
+            while (buf.hasRemaining()) {
+                if (spill.read(buf, pos + buf.position()) < 0)
+                    throw new IndexOutOfBoundsException("Entrada do histórico indisponível: " + index);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler histórico", e);
+        }
+        buf.flip();
+        for (int k = 0; k < STRIDE; k++) out[k] = buf.getInt();
+        return out;
+    }
+}
@@ -0,0 +1,442 @@
+package sicxesimulator.hardware.cpu.control;
+
+import sicxesimulator.hardware.cpu.model.DecodedInstruction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static sicxesimulator.hardware.cpu.control.BasicBlock.*;
+
+/**
+ * Compila blocos básicos quentes para bytecode JVM e os carrega como classes
+ * ocultas ({@link MethodHandles.Lookup#defineHiddenClass}).
+ *
+ * <p>Cada bloco vira uma classe com um único método
+ * {@link CompiledBlock#run(JitRuntime)}: A, X, L, B, S, T e SW são lidos para
+ * variáveis locais na entrada e gravados de volta em toda saída (normal,
+ * escrita sobre código ou exceção), de modo que o HotSpot possa mantê-los em
+ * registradores da máquina hospedeira. Endereços estáticos viram constantes.</p>
+ *
+ * <p>Só blocos formados inteiramente por instruções suportadas são
+ * compilados (load/store, aritmética e lógica com A, COMP, LDCH/STCH, TIXR,
+ * COMPR, CLEAR e desvios); os demais continuam com as closures do
+ * {@link BlockTranslator}. Os bytes são escritos à mão, sem dependências:
+ * a versão de classe 49 dispensa o atributo {@code StackMapTable}.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+final class JitCompiler {
+
+    private static final String PKG   = "sicxesimulator/hardware/cpu/control/";
+    private static final String SELF  = PKG + "JitBlock";
+    private static final String RT    = PKG + "JitRuntime";
+    private static final String RUN   = "(L" + RT + ";)I";
+
+    private static final int MASK = 0xFFFFFF;
+
+    /* variáveis locais do método gerado */
+    private static final int RT_SLOT = 1, INDEX = 2, TMP = 10, EXC = 11, MAX_LOCALS = 12;
+    /** Registradores mantidos em locais: A X L B S T e SW. */
+    private static final int[] TRACKED = {0, 1, 2, 3, 4, 5, 9};
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private final ExecutionDispatcher dispatcher;
+
+    JitCompiler(ExecutionDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Compila o bloco, se todas as suas instruções forem suportadas.
+     *
+     * @param block bloco traduzido
+     * @return versão compilada, ou {@code null} se o bloco não é compilável
+     */
+    CompiledBlock compile(BasicBlock block) {
+        for (DecodedInstruction d : block.instructions) {
+            if (!supported(d)) return null;
+        }
+        byte[] bytes = new Emitter(block).classFile();
+        try {
+            MethodHandles.Lookup hidden = lookup.defineHiddenClass(bytes, true);
+            return (CompiledBlock) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Falha ao carregar bloco compilado em "
+                    + Integer.toHexString(block.start), e);
+        }
+    }
+
+    private boolean supported(DecodedInstruction d) {
+        int opcode = d.opcode();
+        if (dispatcher.isOverridden(opcode)) return false;
+        int[] op = d.operands();
+        boolean full = d.operandCount() == DecodedInstruction.MAX_OPERANDS;
+        boolean pointer = full && op[5] == 1 && op[6] == 0;
+        return switch (opcode) {
+            case 0x00, 0x68, 0x08, 0x6C, 0x74, 0x04,
+                 0x0C, 0x78, 0x14, 0x7C, 0x84, 0x10, 0x54, 0x50,
+                 0x18, 0x1C, 0x20, 0x40, 0x44, 0x28,
+                 0x3C, 0x30, 0x34, 0x38, 0x48 -> full;
+            case 0x4C -> full && !pointer;
+            case 0xB8, 0xB4 -> full && !pointer && isLocal(op[0]);
+            case 0xA0 -> full && !pointer && isLocal(op[0]) && isLocal(op[1]);
+            default -> false;
+        };
+    }
+
+    private static boolean isLocal(int register) {
+        return (register >= 0 && register <= 5) || register == 9;
+    }
+
+    private static int slot(int register) {
+        return register == 9 ? 9 : register + 3;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /*                        Geração do class file                       */
+    /* ------------------------------------------------------------------ */
+
+    /** Escreve o class file de um bloco: pool de constantes + bytecode de {@code run}. */
+    private static final class Emitter {
+
+        private final BasicBlock block;
+        private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+        private final DataOutputStream pool = new DataOutputStream(poolBytes);
+        private final Map<String, Integer> poolIndex = new HashMap<>();
+        private int poolCount = 1;
+
+        private byte[] code = new byte[256];
+        private int length;
+
+        Emitter(BasicBlock block) {
+            this.block = block;
+        }
+
+        byte[] classFile() {
+            int thisClass  = cls(SELF);
+            int superClass = cls("java/lang/Object");
+            int iface      = cls(PKG + "CompiledBlock");
+            int objInit    = method("java/lang/Object", "<init>", "()V");
+            int initName   = utf8("<init>"), initDesc = utf8("()V");
+            int runName    = utf8("run"), runDesc = utf8(RUN);
+            int codeAttr   = utf8("Code");
+
+            byte[] ctor = {0x2A, (byte) 0xB7, (byte) (objInit >> 8), (byte) objInit, (byte) 0xB1};
+            int[] handler = new int[3];
+            runBody(handler);
+            byte[] run = Arrays.copyOf(code, length);
+
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                out.writeShort(49);
+                out.writeShort(poolCount);
+                pool.flush();
+                poolBytes.writeTo(out);
+                out.writeShort(0x0001 | 0x0010 | 0x0020);    // public final super
+                out.writeShort(thisClass);
+                out.writeShort(superClass);
+                out.writeShort(1);
+                out.writeShort(iface);
+                out.writeShort(0);                           // campos
+                out.writeShort(2);                           // métodos
+                writeMethod(out, initName, initDesc, codeAttr, ctor, 1, 1, null);
+                writeMethod(out, runName, runDesc, codeAttr, run, 8, MAX_LOCALS, handler);
+                out.writeShort(0);                           // atributos
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static void writeMethod(DataOutputStream out, int name, int desc, int codeAttr, byte[] body,
+                                        int maxStack, int maxLocals, int[] handler) throws IOException {
+            out.writeShort(0x0001);
+            out.writeShort(name);
+            out.writeShort(desc);
+            out.writeShort(1);
+            out.writeShort(codeAttr);
+            out.writeInt(12 + body.length + (handler == null ? 0 : 8));
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(body.length);
+            out.write(body);
+            if (handler == null) {
+                out.writeShort(0);
+            } else {
+                out.writeShort(1);
+                out.writeShort(handler[0]);
+                out.writeShort(handler[1]);
+                out.writeShort(handler[2]);
+                out.writeShort(0);                           // qualquer Throwable
+            }
+            out.writeShort(0);
+        }
+
+        /* ---------------------------- run() ----------------------------- */
+
+        private void runBody(int[] handler) {
+            for (int r : TRACKED) {
+                aload(RT_SLOT); iconst(r); invoke(0xB6, RT, "load", "(I)I"); istore(slot(r));
+            }
+            iconst(0); istore(INDEX);
+
+            handler[0] = length;
+            DecodedInstruction[] insns = block.instructions;
+            for (int i = 0; i < insns.length; i++) {
+                iconst(i); istore(INDEX);
+                instruction(insns[i], i, block.nextPc[i]);
+            }
+            exit(insns.length << 2 | CONTINUE);
+            handler[1] = length;
+
+            handler[2] = length;
+            astore(EXC);
+            aload(RT_SLOT); iload(INDEX); field(0xB5, RT, "faultIndex", "I");
+            writeBack();
+            aload(EXC); op(0xBF);                           // athrow
+        }
+
+        private void instruction(DecodedInstruction d, int index, int next) {
+            int[] o = d.operands();
+            switch (d.opcode()) {
+                case 0x00 -> load(d, 0);
+                case 0x04 -> load(d, 1);
+                case 0x08 -> load(d, 2);
+                case 0x68 -> load(d, 3);
+                case 0x6C -> load(d, 4);
+                case 0x74 -> load(d, 5);
+
+                case 0x0C -> store(d, 0, index);
+                case 0x10 -> store(d, 1, index);
+                case 0x14 -> store(d, 2, index);
+                case 0x78 -> store(d, 3, index);
+                case 0x7C -> store(d, 4, index);
+                case 0x84 -> store(d, 5, index);
+
+                case 0x18 -> arith(d, 0x60);                // iadd
+                case 0x1C -> arith(d, 0x64);                // isub
+                case 0x20 -> arith(d, 0x68);                // imul
+                case 0x40 -> arith(d, 0x7E);                // iand
+                case 0x44 -> arith(d, 0x80);                // ior
+                case 0x28 -> { iload(slot(0)); value(d); op(0x64); cc(); }
+
+                case 0x50 -> {
+                    iload(slot(0)); iconst(0xFFFF00); op(0x7E);
+                    if (isImmediate(d)) iconst(d.staticEffectiveAddress());
+                    else { aload(RT_SLOT); address(d); invoke(0xB6, RT, "readByte", "(I)I"); }
+                    iconst(0xFF); op(0x7E); op(0x80); istore(slot(0));
+                }
+                case 0x54 -> {
+                    aload(RT_SLOT); address(d); iload(slot(0)); iconst(0xFF); op(0x7E);
+                    invoke(0xB6, RT, "writeByte", "(II)V");
+                    dirtyCheck(index);
+                }
+
+                case 0xB8 -> {
+                    iload(slot(1)); iconst(1); op(0x60); iconst(MASK); op(0x7E); istore(slot(1));
+                    iload(slot(1)); iload(slot(o[0])); op(0x64); cc();
+                }
+                case 0xA0 -> { iload(slot(o[0])); iload(slot(o[1])); op(0x64); cc(); }
+                case 0xB4 -> { iconst(0); istore(slot(o[0])); }
+
+                case 0x3C -> { address(d); istore(TMP); jump(); }
+                case 0x30 -> conditionalJump(d, 0);
+                case 0x34 -> conditionalJump(d, 2);
+                case 0x38 -> conditionalJump(d, 1);
+                case 0x48 -> { address(d); istore(TMP); iconst(next); istore(slot(2)); jump(); }
+                case 0x4C -> {
+                    iload(slot(2)); istore(TMP); jump();
+                    iload(TMP);
+                    int cont = branch(0x9A);                // ifne
+                    exit((index + 1) << 2 | HALT);
+                    bind(cont);
+                }
+                default -> throw new IllegalStateException("Opcode não suportado pelo JIT: " + d.opcode());
+            }
+        }
+
+        private void load(DecodedInstruction d, int register) {
+            value(d); iconst(MASK); op(0x7E); istore(slot(register));
+        }
+
+        private void store(DecodedInstruction d, int register, int index) {
+            aload(RT_SLOT); address(d); iload(slot(register));
+            invoke(0xB6, RT, "writeWord", "(II)V");
+            dirtyCheck(index);
+        }
+
+        private void arith(DecodedInstruction d, int opcode) {
+            iload(slot(0)); value(d); op(opcode); istore(TMP);
+            iload(TMP); iconst(MASK); op(0x7E); istore(slot(0));
+            iload(TMP); cc();
+        }
+
+        private void conditionalJump(DecodedInstruction d, int cc) {
+            address(d); istore(TMP);
+            iload(slot(9)); iconst(cc);
+            int skip = branch(0xA0);                        // if_icmpne
+            jump();
+            bind(skip);
+        }
+
+        /** PC ← TMP. */
+        private void jump() {
+            aload(RT_SLOT); iload(TMP); invoke(0xB6, RT, "jump", "(I)V");
+        }
+
+        /** SW ← cc(topo da pilha). */
+        private void cc() {
+            invoke(0xB8, RT, "cc", "(I)I"); istore(slot(9));
+        }
+
+        /** Sai do bloco logo após a instrução {@code index} se ela escreveu sobre código. */
+        private void dirtyCheck(int index) {
+            aload(RT_SLOT); invoke(0xB6, RT, "codeDirty", "()Z");
+            int clean = branch(0x99);                       // ifeq
+            exit((index + 1) << 2 | STOP);
+            bind(clean);
+        }
+
+        private void exit(int result) {
+            writeBack();
+            iconst(result); op(0xAC);                       // ireturn
+        }
+
+        private void writeBack() {
+            for (int r : TRACKED) {
+                aload(RT_SLOT); iconst(r); iload(slot(r)); invoke(0xB6, RT, "store", "(II)V");
+            }
+        }
+
+        /** Empilha o operando de formato 3/4 (imediato, direto ou indireto). */
+        private void value(DecodedInstruction d) {
+            if (isImmediate(d)) {
+                iconst(d.staticEffectiveAddress());
+            } else if (d.operands()[5] == 1 && d.operands()[6] == 0) {
+                aload(RT_SLOT); aload(RT_SLOT); address(d);
+                invoke(0xB6, RT, "readWord", "(I)I");
+                invoke(0xB6, RT, "readWord", "(I)I");
+            } else {
+                aload(RT_SLOT); address(d); invoke(0xB6, RT, "readWord", "(I)I");
+            }
+        }
+
+        /** Empilha o endereço efetivo: constante, ou somando B/X e seguindo a indireção. */
+        private void address(DecodedInstruction d) {
+            if (!d.hasDynamicEffectiveAddress()) {
+                iconst(d.staticEffectiveAddress());
+                return;
+            }
+            int[] o = d.operands();
+            boolean pointer = o[5] == 1 && o[6] == 0;
+            if (pointer) aload(RT_SLOT);
+            iconst(d.staticEffectiveAddress());
+            if (o[3] == 0 && o[2] == 1) { iload(slot(3)); op(0x60); }
+            if (o[1] == 1)              { iload(slot(1)); op(0x60); }
+            if (pointer) invoke(0xB6, RT, "indirect", "(I)I");
+        }
+
+        private static boolean isImmediate(DecodedInstruction d) {
+            return d.operands()[5] == 0 && d.operands()[6] == 1;
+        }
+
+        /* -------------------------- bytecode ---------------------------- */
+
+        private void op(int opcode) {
+            if (length == code.length) code = Arrays.copyOf(code, length * 2);
+            code[length++] = (byte) opcode;
+        }
+
+        private void u2(int value) {
+            op(value >> 8);
+            op(value);
+        }
+
+        private void iconst(int value) {
+            if (value >= -1 && value <= 5)                op(0x03 + value);
+            else if (value >= -128 && value <= 127)       { op(0x10); op(value); }
+            else if (value >= -32768 && value <= 32767)   { op(0x11); u2(value); }
+            else                                          { op(0x13); u2(integer(value)); }
+        }
+
+        private void iload(int slot)  { op(0x15); op(slot); }
+        private void istore(int slot) { op(0x36); op(slot); }
+        private void aload(int slot)  { op(0x19); op(slot); }
+        private void astore(int slot) { op(0x3A); op(slot); }
+
+        private void invoke(int opcode, String owner, String name, String desc) {
+            op(opcode); u2(method(owner, name, desc));
+        }
+
+        private void field(int opcode, String owner, String name, String desc) {
+            op(opcode); u2(ref(9, owner, name, desc));
+        }
+
+        /** Emite um desvio com destino pendente; devolve a posição para {@link #bind}. */
+        private int branch(int opcode) {
+            int at = length;
+            op(opcode); u2(0);
+            return at;
+        }
+
+        private void bind(int branchAt) {
+            int offset = length - branchAt;
+            code[branchAt + 1] = (byte) (offset >> 8);
+            code[branchAt + 2] = (byte) offset;
+        }
+
+        /* ----------------------- pool de constantes --------------------- */
+
+        private int utf8(String s) {
+            return constant("U" + s, out -> { out.writeByte(1); out.writeUTF(s); });
+        }
+
+        private int cls(String name) {
+            int n = utf8(name);
+            return constant("C" + name, out -> { out.writeByte(7); out.writeShort(n); });
+        }
+
+        private int integer(int value) {
+            return constant("I" + value, out -> { out.writeByte(3); out.writeInt(value); });
+        }
+
+        private int method(String owner, String name, String desc) {
+            return ref(10, owner, name, desc);
+        }
+
+        private int ref(int tag, String owner, String name, String desc) {
+            int c = cls(owner), n = utf8(name), t = utf8(desc);
+            int nat = constant("N" + name + desc, out -> { out.writeByte(12); out.writeShort(n); out.writeShort(t); });
+            return constant(tag + owner + "." + name + desc, out -> {
+                out.writeByte(tag); out.writeShort(c); out.writeShort(nat);
+            });
+        }
+
+        private interface Entry {
+            void write(DataOutputStream out) throws IOException;
+        }
+
+        private int constant(String key, Entry entry) {
+            Integer index = poolIndex.get(key);
+            if (index != null) return index;
+            try {
+                entry.write(pool);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            poolIndex.put(key, poolCount);
+            return poolCount++;
+        }
+    }
+}
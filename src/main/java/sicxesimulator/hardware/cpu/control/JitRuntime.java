@@ -0,0 +1,87 @@
+package sicxesimulator.hardware.cpu.control;
+
+import sicxesimulator.hardware.cpu.decoder.InstructionDecoder;
+import sicxesimulator.hardware.cpu.register.Register;
+import sicxesimulator.hardware.memory.Memory;
+
+/**
+ * Ponte entre o código gerado pelo {@link JitCompiler} e o restante da CPU.
+ *
+ * <p>O bytecode mantém A, X, L, B, S, T e SW em variáveis locais e só passa
+ * por aqui para carregá-los/gravá-los nas bordas do bloco, acessar a memória
+ * e atualizar o PC. Todos os métodos são pequenos o bastante para o HotSpot
+ * embuti-los no código compilado.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+final class JitRuntime {
+
+    private final TurboInterpreter t;
+    private final InstructionDecoder decoder;
+    private final Memory memory;
+    private final BlockEngine engine;
+    private final Register PC;
+    /** Registradores por número ({@code Mapper.registerNameToNumber}); só os de 24 bits. */
+    private final Register[] byNumber = new Register[10];
+
+    /** Índice da instrução em execução quando o bloco lançou exceção. */
+    int faultIndex;
+
+    JitRuntime(TurboInterpreter t, InstructionDecoder decoder, Memory memory, BlockEngine engine) {
+        this.t       = t;
+        this.decoder = decoder;
+        this.memory  = memory;
+        this.engine  = engine;
+        this.PC      = t.PC;
+        byNumber[0] = t.A; byNumber[1] = t.X; byNumber[2] = t.L;
+        byNumber[3] = t.B; byNumber[4] = t.S; byNumber[5] = t.T; byNumber[9] = t.SW;
+    }
+
+    int load(int register) {
+        return byNumber[register].getIntValue();
+    }
+
+    void store(int register, int value) {
+        byNumber[register].setValue(value);
+    }
+
+    void jump(int target) {
+        PC.setValue(target);
+    }
+
+    int readWord(int address) {
+        return t.readWord(address);
+    }
+
+    void writeWord(int address, int value) {
+        t.writeWord(address, value);
+    }
+
+    int readByte(int address) {
+        return memory.readByte(address);
+    }
+
+    void writeByte(int address, int value) {
+        memory.writeByte(address, value);
+    }
+
+    /** Indireção do decodificador; falhas aqui deixam o PC na própria instrução. */
+    int indirect(int address) {
+        try {
+            return decoder.resolveIndirect(address);
+        } catch (RuntimeException e) {
+            throw new BlockEngine.DecodeFault(e);
+        }
+    }
+
+    /** @return <b>true</b> se alguma escrita atingiu código desde o início do bloco */
+    boolean codeDirty() {
+        return engine.status() != BasicBlock.CONTINUE;
+    }
+
+    /** Código de condição de {@code value} (mesma regra de {@code BaseExecutor.updateCC}). */
+    static int cc(int value) {
+        return (value == 0) ? 0 : (value < 0 ? 1 : 2);
+    }
+}
@@ -0,0 +1,149 @@
+package sicxesimulator.hardware.cpu.control;
+
+import sicxesimulator.hardware.cpu.exec.arith.*;
+import sicxesimulator.hardware.cpu.exec.jump.*;
+import sicxesimulator.hardware.cpu.exec.load.*;
+import sicxesimulator.hardware.cpu.exec.logic.*;
+import sicxesimulator.hardware.cpu.exec.store.*;
+import sicxesimulator.hardware.cpu.exec.sys.*;
+import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+
+/**
+ * Despacho dos executores embutidos por {@code switch}
+ * ({@link DispatchStrategy#SWITCH}).
+ *
+ * <p>Todas as classes de executor são {@code final} e cada caso chama uma
+ * instância estática fixa: o {@code tableswitch} resultante vira uma tabela
+ * de saltos e cada chamada é monomórfica, permitindo ao JIT embutir o
+ * executor no próprio laço de despacho.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+final class SwitchDispatch {
+
+    // arith
+    private static final ADD    ADD    = new ADD();
+    private static final SUB    SUB    = new SUB();
+    private static final MUL    MUL    = new MUL();
+    private static final DIV    DIV    = new DIV();
+    private static final ADDR   ADDR   = new ADDR();
+    private static final SUBR   SUBR   = new SUBR();
+    private static final MULR   MULR   = new MULR();
+    private static final DIVR   DIVR   = new DIVR();
+
+    // jump
+    private static final J      J      = new J();
+    private static final JEQ    JEQ    = new JEQ();
+    private static final JGT    JGT    = new JGT();
+    private static final JLT    JLT    = new JLT();
+    private static final JSUB   JSUB   = new JSUB();
+    private static final RSUB   RSUB   = new RSUB();
+
+    // load
+    private static final LDA    LDA    = new LDA();
+    private static final LDB    LDB    = new LDB();
+    private static final LDCH   LDCH   = new LDCH();
+    private static final LDL    LDL    = new LDL();
+    private static final LDS    LDS    = new LDS();
+    private static final LDT    LDT    = new LDT();
+    private static final LDX    LDX    = new LDX();
+
+    // logic
+    private static final AND    AND    = new AND();
+    private static final OR     OR     = new OR();
+    private static final COMP   COMP   = new COMP();
+    private static final COMPR  COMPR  = new COMPR();
+    private static final CLEAR  CLEAR  = new CLEAR();
+    private static final SHIFTL SHIFTL = new SHIFTL();
+    private static final SHIFTR SHIFTR = new SHIFTR();
+    private static final TIXR   TIXR   = new TIXR();
+
+    // store
+    private static final STA    STA    = new STA();
+    private static final STB    STB    = new STB();
+    private static final STCH   STCH   = new STCH();
+    private static final STL    STL    = new STL();
+    private static final STS    STS    = new STS();
+    private static final STT    STT    = new STT();
+    private static final STX    STX    = new STX();
+
+    // sys
+    private static final LPS    LPS    = new LPS();
+    private static final SIO    SIO    = new SIO();
+    private static final SSK    SSK    = new SSK();
+    private static final RD     RD     = new RD();
+    private static final TD     TD     = new TD();
+    private static final TIO    TIO    = new TIO();
+    private static final WD     WD     = new WD();
+    private static final SVC    SVC    = new SVC();
+
+    private SwitchDispatch() {
+    }
+
+    /**
+     * @return resultado do executor embutido, ou {@code null} se o opcode
+     *         não tiver executor embutido
+     */
+    static ExecutionResult dispatch(int opcode, ExecutionContext ctx) {
+        return switch (opcode) {
+            // arith
+            case 0x18 -> ADD.execute(ctx);
+            case 0x1C -> SUB.execute(ctx);
+            case 0x20 -> MUL.execute(ctx);
+            case 0x24 -> DIV.execute(ctx);
+            case 0x90 -> ADDR.execute(ctx);
+            case 0x94 -> SUBR.execute(ctx);
+            case 0x98 -> MULR.execute(ctx);
+            case 0x9C -> DIVR.execute(ctx);
+
+            // jump
+            case 0x3C -> J.execute(ctx);
+            case 0x30 -> JEQ.execute(ctx);
+            case 0x34 -> JGT.execute(ctx);
+            case 0x38 -> JLT.execute(ctx);
+            case 0x48 -> JSUB.execute(ctx);
+            case 0x4C -> RSUB.execute(ctx);
+
+            // load
+            case 0x00 -> LDA.execute(ctx);
+            case 0x68 -> LDB.execute(ctx);
+            case 0x50 -> LDCH.execute(ctx);
+            case 0x08 -> LDL.execute(ctx);
+            case 0x6C -> LDS.execute(ctx);
+            case 0x74 -> LDT.execute(ctx);
+            case 0x04 -> LDX.execute(ctx);
+
+            // logic
+            case 0x40 -> AND.execute(ctx);
+            case 0x44 -> OR.execute(ctx);
+            case 0x28 -> COMP.execute(ctx);
+            case 0xA0 -> COMPR.execute(ctx);
+            case 0xB4 -> CLEAR.execute(ctx);
+            case 0xA4 -> SHIFTL.execute(ctx);
+            case 0xA8 -> SHIFTR.execute(ctx);
+            case 0xB8 -> TIXR.execute(ctx);
+
+            // store
+            case 0x0C -> STA.execute(ctx);
+            case 0x78 -> STB.execute(ctx);
+            case 0x54 -> STCH.execute(ctx);
+            case 0x14 -> STL.execute(ctx);
+            case 0x7C -> STS.execute(ctx);
+            case 0x84 -> STT.execute(ctx);
+            case 0x10 -> STX.execute(ctx);
+
+            // sys
+            case 0xF4 -> LPS.execute(ctx);
+            case 0xF8 -> SIO.execute(ctx);
+            case 0xEC -> SSK.execute(ctx);
+            case 0xD8 -> RD.execute(ctx);
+            case 0xE0 -> TD.execute(ctx);
+            case 0xE4 -> TIO.execute(ctx);
+            case 0xDC -> WD.execute(ctx);
+            case 0xB0 -> SVC.execute(ctx);
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package sicxesimulator.hardware.cpu.control;
+
+/**
+ * Motores disponíveis para o modo turbo da {@link ControlUnit}
+ * ({@link ControlUnit#runTurbo(long)}).
+ *
+ * <p>Todos produzem exatamente o mesmo estado final de registradores e
+ * memória que {@link ControlUnit#step()}; diferem apenas no custo por
+ * instrução.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public enum TurboEngine {
+
+    /** Fetch → decode → execute instrução a instrução, sem alocações. */
+    INTERPRETER,
+
+    /**
+     * Trechos lineares do programa são traduzidos uma única vez em blocos
+     * básicos de closures pré-ligadas; cada bloco executa numa só chamada e
+     * só atualiza o PC ao sair.
+     */
+    BASIC_BLOCKS,
+
+    /**
+     * Como {@link #BASIC_BLOCKS}, mas blocos executados com frequência são
+     * compilados para bytecode JVM em tempo de execução.
+     */
+    JIT
+}
@@ -0,0 +1,216 @@
+package sicxesimulator.hardware.cpu.control;
+
+import sicxesimulator.hardware.cpu.exec.sys.SSK;
+import sicxesimulator.hardware.cpu.model.DecodedInstruction;
+import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.register.Register;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.device.Device;
+import sicxesimulator.hardware.memory.Memory;
+
+import java.util.Arrays;
+
+/**
+ * Interpretador do modo <i>turbo</i> (headless) da {@link ControlUnit}.
+ *
+ * <p>Reproduz a semântica dos executores de {@code hardware.cpu.exec.*}
+ * operando diretamente sobre os registradores e a memória: não cria
+ * {@link ExecutionContext}, não formata logs e não aloca nada por instrução.
+ * Opcodes substituídos via {@link ExecutionDispatcher#register} (ou
+ * desconhecidos) são delegados ao dispatcher, preservando plugins.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+final class TurboInterpreter {
+
+    private final RegisterSet registerSet;
+    private final Memory memory;
+    private final ExecutionDispatcher dispatcher;
+
+    /** Opcodes tratados diretamente pelo {@code switch} de {@link #execute}. */
+    private static final boolean[] NATIVE = new boolean[256];
+    static {
+        for (int op : new int[]{
+                0x18, 0x1C, 0x20, 0x24, 0x90, 0x94, 0x98, 0x9C,
+                0x3C, 0x30, 0x34, 0x38, 0x48, 0x4C,
+                0x00, 0x68, 0x08, 0x6C, 0x74, 0x04, 0x50,
+                0x40, 0x44, 0x28, 0xA0, 0xB4, 0xA4, 0xA8, 0xB8,
+                0x0C, 0x78, 0x14, 0x7C, 0x84, 0x10, 0x54,
+                0xF4, 0xF8, 0xEC, 0xD8, 0xE0, 0xE4, 0xDC, 0xB0}) {
+            NATIVE[op] = true;
+        }
+    }
+
+    final Register A, X, L, B, S, T, PC, SW;
+    Device device = Device.CONSOLE;
+
+    TurboInterpreter(RegisterSet registerSet, Memory memory, ExecutionDispatcher dispatcher) {
+        this.registerSet = registerSet;
+        this.memory      = memory;
+        this.dispatcher  = dispatcher;
+        this.A  = registerSet.getRegister(RegisterSet.A);
+        this.X  = registerSet.getRegister(RegisterSet.X);
+        this.L  = registerSet.getRegister(RegisterSet.L);
+        this.B  = registerSet.getRegister(RegisterSet.B);
+        this.S  = registerSet.getRegister(RegisterSet.S);
+        this.T  = registerSet.getRegister(RegisterSet.T);
+        this.PC = registerSet.getRegister(RegisterSet.PC);
+        this.SW = registerSet.getRegister(RegisterSet.SW);
+    }
+
+    /**
+     * @param opcode opcode limpo
+     * @return <b>true</b> se o opcode tem implementação própria neste
+     *         interpretador (e não é delegado ao dispatcher)
+     */
+    static boolean isNative(int opcode) {
+        return opcode >= 0 && opcode < NATIVE.length && NATIVE[opcode];
+    }
+
+    /**
+     * Executa a instrução já decodificada (PC já incrementado).
+     *
+     * @param d instrução decodificada
+     * @return <b>true</b> se a instrução provocou HALT
+     */
+    boolean execute(DecodedInstruction d) {
+        int opcode = d.opcode();
+        if (dispatcher.isOverridden(opcode)) return delegate(d);
+
+        int ea = d.effectiveAddress();
+        int[] op = d.operands();
+
+        switch (opcode) {
+            // arith
+            case 0x18 -> arith(A, A.getIntValue() + valueOrImmediate(d));
+            case 0x1C -> arith(A, A.getIntValue() - valueOrImmediate(d));
+            case 0x20 -> arith(A, A.getIntValue() * valueOrImmediate(d));
+            case 0x24 -> {
+                int divisor = valueOrImmediate(d);
+                if (divisor == 0) throw new ArithmeticException("Divisão por zero");
+                arith(A, A.getIntValue() / divisor);
+            }
+            case 0x90 -> { Register r2 = reg(op[1]); arith(r2, reg(op[0]).getIntValue() + r2.getIntValue()); }
+            case 0x94 -> { Register r2 = reg(op[1]); arith(r2, r2.getIntValue() - reg(op[0]).getIntValue()); }
+            case 0x98 -> { Register r2 = reg(op[1]); arith(r2, reg(op[0]).getIntValue() * r2.getIntValue()); }
+            case 0x9C -> {
+                Register r1 = reg(op[0]), r2 = reg(op[1]);
+                if (r1.getIntValue() == 0) throw new ArithmeticException("Divisão por zero");
+                arith(r2, r2.getIntValue() / r1.getIntValue());
+            }
+
+            // jump
+            case 0x3C -> PC.setValue(ea);
+            case 0x30 -> { if (SW.getIntValue() == 0) PC.setValue(ea); }
+            case 0x34 -> { if (SW.getIntValue() == 2) PC.setValue(ea); }
+            case 0x38 -> { if (SW.getIntValue() == 1) PC.setValue(ea); }
+            case 0x48 -> { L.setValue(PC.getIntValue()); PC.setValue(ea); }
+            case 0x4C -> {
+                int returnAddress = L.getIntValue();
+                PC.setValue(returnAddress);
+                return returnAddress == 0;
+            }
+
+            // load
+            case 0x00 -> A.setValue(valueOrImmediate(d));
+            case 0x68 -> B.setValue(valueOrImmediate(d));
+            case 0x08 -> L.setValue(valueOrImmediate(d));
+            case 0x6C -> S.setValue(valueOrImmediate(d));
+            case 0x74 -> T.setValue(valueOrImmediate(d));
+            case 0x04 -> X.setValue(valueOrImmediate(d));
+            case 0x50 -> {
+                int byteValue = isImmediate(d) ? (ea & 0xFF) : memory.readByte(ea);
+                A.setValue((A.getIntValue() & 0xFFFF00) | (byteValue & 0xFF));
+            }
+
+            // logic
+            case 0x40 -> arith(A, A.getIntValue() & valueOrImmediate(d));
+            case 0x44 -> arith(A, A.getIntValue() | valueOrImmediate(d));
+            case 0x28 -> updateCC(A.getIntValue() - valueOrImmediate(d));
+            case 0xA0 -> updateCC(reg(op[0]).getIntValue() - reg(op[1]).getIntValue());
+            case 0xB4 -> reg(op[0]).setValue(0);
+            case 0xA4 -> { Register r = reg(op[0]); arith(r, r.getIntValue() << op[1]); }
+            case 0xA8 -> { Register r = reg(op[0]); arith(r, r.getIntValue() >>> op[1]); }
+            case 0xB8 -> {
+                X.setValue(X.getIntValue() + 1);
+                updateCC(X.getIntValue() - reg(op[0]).getIntValue());
+            }
+
+            // store
+            case 0x0C -> writeWord(ea, A.getIntValue());
+            case 0x78 -> writeWord(ea, B.getIntValue());
+            case 0x14 -> writeWord(ea, L.getIntValue());
+            case 0x7C -> writeWord(ea, S.getIntValue());
+            case 0x84 -> writeWord(ea, T.getIntValue());
+            case 0x10 -> writeWord(ea, X.getIntValue());
+            case 0x54 -> memory.writeByte(ea, A.getIntValue() & 0xFF);
+
+            // sys
+            case 0xF4 -> memory.writeByte(ea, SW.getIntValue());
+            case 0xF8 -> { /* SIO: sem efeito */ }
+            case 0xEC -> SSK.setStorageKey(memory, ea, A.getIntValue());
+            case 0xD8 -> A.setValue(readInput());
+            case 0xE0 -> SW.setValue(0);
+            case 0xE4 -> SW.setValue(SW.getIntValue() == 0 ? 0 : 1);
+            case 0xDC -> device.write(A.getIntValue() & 0xFF);
+            case 0xB0 -> { return true; }
+
+            default -> { return delegate(d); }
+        }
+        return false;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /*                    Helpers (espelham BaseExecutor)                 */
+    /* ------------------------------------------------------------------ */
+
+    void arith(Register target, int result) {
+        target.setValue(result);
+        updateCC(result);
+    }
+
+    void updateCC(int value) {
+        SW.setValue((value == 0) ? 0 : (value < 0 ? 1 : 2));
+    }
+
+    Register reg(int number) {
+        return registerSet.getRegister(number);
+    }
+
+    private static boolean isImmediate(DecodedInstruction d) {
+        int[] op = d.operands();
+        return op[5] == 0 && op[6] == 1;
+    }
+
+    private int valueOrImmediate(DecodedInstruction d) {
+        if (d.operandCount() < DecodedInstruction.MAX_OPERANDS)
+            throw new IllegalStateException("Instrução de formato " + d.format() + " sem flags n/i");
+        int[] op = d.operands();
+        int n = op[5], i = op[6];
+        if (n == 0 && i == 1) return d.effectiveAddress();               // imediato
+        if (n == 1 && i == 0) return readWord(readWord(d.effectiveAddress())); // indireto
+        return readWord(d.effectiveAddress());                           // direto
+    }
+
+    int readWord(int address) {
+        return memory.readWord24(address);
+    }
+
+    void writeWord(int address, int value) {
+        memory.writeWord24(address, value);
+    }
+
+    int readInput() {
+        int ch = device.read();
+        return ch < 0 ? 0 : ch;
+    }
+
+    /** Caminho lento: executor registrado no dispatcher (aloca contexto e resultado). */
+    private boolean delegate(DecodedInstruction d) {
+        ExecutionContext ctx = new ExecutionContext(d.opcode(),
+                Arrays.copyOf(d.operands(), d.operandCount()),
+                d.indexed(), d.effectiveAddress(), registerSet, memory, device);
+        return dispatcher.dispatch(d.opcode(), ctx).halted();
+    }
+}
@@ -0,0 +1,218 @@
+package sicxesimulator.hardware.cpu.control;
+
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.memory.Memory;
+import sicxesimulator.hardware.memory.WriteJournal;
+
+/**
+ * Log de desfazer da execução, base do passo para trás e da execução
+ * reversa ({@link ControlUnit#stepBack()}).
+ *
+ * <p>Cada instrução grava, num buffer circular de {@code int}, só o que
+ * mudou: o PC anterior (que marca o início da instrução), o valor anterior
+ * de cada registrador alterado e o valor anterior de cada byte escrito na
+ * memória. Cada item ocupa um único inteiro:</p>
+ * <ul>
+ *   <li>bit 31 = 1: byte de memória — endereço (23 bits) e valor antigo (8 bits);</li>
+ *   <li>bit 31 = 0: bits 28–30 indicam PC, registrador de 24 bits (número nos
+ *       bits 24–27) ou metade alta/baixa de F; valor antigo nos 24 bits baixos.</li>
+ * </ul>
+ * <p>Uma instrução típica custa 2 a 5 inteiros. O log mantém no máximo
+ * {@code window} instruções e {@code maxEntries} inteiros (o que vier
+ * primeiro), descartando as mais antigas; o buffer começa pequeno e dobra
+ * sob demanda até esse teto. Com a janela de 10 milhões de instruções e o
+ * teto padrão ({@value #ENTRIES_PER_INSTRUCTION} inteiros por instrução), o
+ * consumo fica abaixo de 120 MB.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class UndoLog implements WriteJournal {
+
+    /** Janela padrão, em instruções. */
+    public static final int DEFAULT_WINDOW = 1_000_000;
+    /** Inteiros reservados por instrução no teto padrão do buffer. */
+    public static final int ENTRIES_PER_INSTRUCTION = 3;
+    /** Maior endereço representável num item de memória. */
+    public static final int MAX_ADDRESS = (1 << 23) - 1;
+
+    private static final int MEMORY_BIT = 0x8000_0000;
+    private static final int KIND_PC    = 0;
+    private static final int KIND_REG   = 1;
+    private static final int KIND_F_HI  = 2;
+    private static final int KIND_F_LO  = 3;
+    private static final int MASK_24    = 0xFF_FFFF;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    private final int window;
+    private final int maxEntries;
+    private int[] ring;
+    private int head, tail, size;            // itens em [head, tail), circular
+    private long instructions;               // instruções completas no log
+
+    /** Registradores de 24 bits comparados a cada instrução (o PC vai no item de início). */
+    private static final int[] TRACKED = {
+            RegisterSet.A, RegisterSet.X, RegisterSet.L, RegisterSet.B,
+            RegisterSet.S, RegisterSet.T, RegisterSet.SW };
+
+    private final int[] before = new int[TRACKED.length];
+    private long beforeF;
+    private boolean replaying;
+    private boolean overflowed;              // instrução corrente não coube no buffer
+
+    /** Cria um log com {@link #DEFAULT_WINDOW}. */
+    public UndoLog() {
+        this(DEFAULT_WINDOW);
+    }
+
+    /** @param window número máximo de instruções desfazíveis */
+    public UndoLog(int window) {
+        this(window, (int) Math.max(64, Math.min(Integer.MAX_VALUE - 8, (long) window * ENTRIES_PER_INSTRUCTION)));
+    }
+
+    /**
+     * @param window     número máximo de instruções desfazíveis (mínimo 1)
+     * @param maxEntries teto do buffer, em inteiros (mínimo 64)
+     */
+    public UndoLog(int window, int maxEntries) {
+        if (window < 1) throw new IllegalArgumentException("Janela inválida: " + window);
+        if (maxEntries < 64) throw new IllegalArgumentException("Teto inválido: " + maxEntries);
+        this.window     = window;
+        this.maxEntries = maxEntries;
+        this.ring       = new int[Math.min(INITIAL_CAPACITY, maxEntries)];
+    }
+
+    /** @return instruções que podem ser desfeitas */
+    public long size() {
+        return instructions;
+    }
+
+    /** @return <b>true</b> se não há nada a desfazer */
+    public boolean isEmpty() {
+        return instructions == 0;
+    }
+
+    /** @return janela configurada, em instruções */
+    public int window() {
+        return window;
+    }
+
+    /** @return bytes ocupados pelo buffer neste momento */
+    public long footprintBytes() {
+        return (long) ring.length * Integer.BYTES;
+    }
+
+    /** Descarta todo o log. */
+    public void clear() {
+        head = tail = size = 0;
+        instructions = 0;
+        overflowed = false;
+    }
+
+    @Override
+    public void beforeWrite(int address, int oldValue) {
+        if (!replaying && !overflowed) append(MEMORY_BIT | (address << 8) | oldValue);
+    }
+
+    // package-private: usados pela ControlUnit
+
+    /** Abre o registro de uma instrução no endereço {@code pc}. */
+    void begin(int pc, RegisterSet regs) {
+        while (instructions >= window) evictOldest();
+        append((KIND_PC << 28) | (pc & MASK_24));
+        int[] b = before;
+        for (int k = 0; k < TRACKED.length; k++) b[k] = regs.get(TRACKED[k]);
+        beforeF = regs.getF();
+    }
+
+    /** Fecha o registro da instrução, anotando os registradores alterados. */
+    void end(RegisterSet regs) {
+        if (overflowed) {                    // não é desfazível: o log recomeça depois dela
+            overflowed = false;
+            clear();
+            return;
+        }
+        int[] b = before;
+        for (int k = 0; k < TRACKED.length; k++) {
+            int n = TRACKED[k];
+            if (regs.get(n) != b[k]) append((KIND_REG << 28) | (n << 24) | b[k]);
+        }
+        if (regs.getF() != beforeF) {
+            append((KIND_F_HI << 28) | (int) (beforeF >>> 24) & MASK_24);
+            append((KIND_F_LO << 28) | (int) beforeF & MASK_24);
+        }
+        instructions++;
+    }
+
+    /**
+     * Desfaz a última instrução registrada.
+     *
+     * @return <b>false</b> se o log estava vazio
+     */
+    boolean undo(RegisterSet regs, Memory memory) {
+        if (instructions == 0) return false;
+        replaying = true;
+        try {
+            while (true) {
+                tail = (tail == 0 ? ring.length : tail) - 1;
+                size--;
+                int v = ring[tail];
+                if (v < 0) {
+                    memory.writeByte((v >>> 8) & MAX_ADDRESS, v & 0xFF);
+                    continue;
+                }
+                int value = v & MASK_24;
+                switch (v >>> 28) {
+                    case KIND_PC -> {
+                        regs.set(RegisterSet.PC, value);
+                        instructions--;
+                        return true;
+                    }
+                    case KIND_REG  -> regs.set((v >>> 24) & 0xF, value);
+                    case KIND_F_HI -> regs.setF((regs.getF() & MASK_24) | ((long) value << 24));
+                    case KIND_F_LO -> regs.setF((regs.getF() & ~(long) MASK_24) | value);
+                    default -> throw new IllegalStateException("Item inválido no log de desfazer: " + v);
+                }
+            }
+        } finally {
+            replaying = false;
+        }
+    }
+
+    // private
+
+    private void append(int v) {
+        if (size == ring.length) {
+            if (ring.length < maxEntries) grow();
+            else evictOldest();
+            if (overflowed) return;
+        }
+        ring[tail] = v;
+        if (++tail == ring.length) tail = 0;
+        size++;
+    }
+
+    private void grow() {
+        int[] next = new int[(int) Math.min(maxEntries, (long) ring.length * 2)];
+        int first = Math.min(size, ring.length - head);
+        System.arraycopy(ring, head, next, 0, first);
+        System.arraycopy(ring, 0, next, first, size - first);
+        ring = next;
+        head = 0;
+        tail = size;
+    }
+
+    /** Remove a instrução mais antiga (o item em {@code head} é sempre um PC). */
+    private void evictOldest() {
+        if (instructions == 0) {             // só resta a instrução corrente
+            clear();
+            overflowed = true;
+            return;
+        }
+        do {
+            if (++head == ring.length) head = 0;
+            size--;
+        } while (size > 0 && (ring[head] < 0 || ring[head] >>> 28 != KIND_PC));
+        instructions--;
+    }
+}
@@ -7,10 +7,29 @@
  *   <li><b>ControlUnit</b>: coordena o ciclo fetch-decode-execute,
  *       gerencia o Program Counter, estado de halted, histórico de execução
  *       e limpeza de registradores.</li>
+ *   <li><b>ExecutionHistory</b>: histórico de execução em buffer circular de
+ *       registros primitivos, com spill opcional em disco e leitura
+ *       paginada.</li>
+ *   <li><b>Breakpoints</b>: breakpoints de PC em bitmap, condicionais sobre
+ *       registradores, e alvo de "executar até o retorno".</li>
+ *   <li><b>UndoLog</b>: log de desfazer compacto (um {@code int} por
+ *       registrador alterado ou byte escrito) com janela limitada, base do
+ *       passo para trás e da execução reversa.</li>
  *   <li><b>ExecutionDispatcher</b>: faz o roteamento de opcodes para
  *       instâncias de {@code InstructionExecutor}, carregando as
  *       implementações básicas de instruções aritméticas, lógicas, de
- *       salto, load/store e syscalls.</li>
+ *       salto, load/store e syscalls numa tabela indexada pelo opcode, com
+ *       despacho alternativo por {@code switch} ({@code DispatchStrategy}).</li>
+ *   <li><b>TurboInterpreter</b> (interno): interpretador sem alocações usado
+ *       pelo modo turbo ({@code ControlUnit.runTurbo}), que espelha a
+ *       semântica dos executores sem gerar logs.</li>
+ *   <li><b>BlockEngine</b> / <b>BlockTranslator</b> (internos): motor
+ *       alternativo do modo turbo ({@code TurboEngine.BASIC_BLOCKS}) que
+ *       traduz trechos lineares em blocos básicos de closures pré-ligadas,
+ *       atualizando o PC só na saída de cada bloco.</li>
+ *   <li><b>JitCompiler</b> / <b>JitRuntime</b> (internos): com
+ *       {@code TurboEngine.JIT}, compila blocos quentes para bytecode JVM
+ *       carregado como classe oculta.</li>
  * </ul>
  * <p>
  * Este pacote não deve depender diretamente de camadas superiores
@@ -0,0 +1,114 @@
+package sicxesimulator.hardware.cpu.decoder;
+
+import sicxesimulator.hardware.memory.CodeWriteListener;
+import sicxesimulator.hardware.memory.Memory;
+
+import java.util.Arrays;
+
+/**
+ * Cache de instruções pré-decodificadas indexado pelo endereço (PC).
+ *
+ * <p>Cada entrada guarda, num único {@code long}, opcode, formato, flags
+ * {@code x b p e n i} e o campo de operandos bruto, além da parte
+ * <i>estática</i> do endereço efetivo (deslocamento já estendido em sinal
+ * e, se PC-relativo, já somado ao PC da instrução). Só B, X e a indireção
+ * são aplicados a cada execução.</p>
+ *
+ * <p>Os bytes de cada instrução cacheada são marcados em
+ * {@link Memory#markCode(int, int)}; uma escrita sobre eles invalida as
+ * entradas afetadas, mantendo correto o código auto-modificável.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+final class DecodeCache implements CodeWriteListener {
+
+    /* layout do long de cada entrada */
+    static final long VALID      = 1L << 20;
+    static final int  FMT_SHIFT  = 8;
+    static final int  X_BIT      = 11, B_BIT = 12, P_BIT = 13, E_BIT = 14, N_BIT = 15, I_BIT = 16;
+    static final int  OP0_SHIFT  = 32;
+    static final int  OP1_SHIFT  = 56;
+
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final Memory memory;
+    /** Páginas alocadas sob demanda: entradas empacotadas e EA estático. */
+    private final long[][] entries;
+    private final int[][]  staticEa;
+
+    DecodeCache(Memory memory) {
+        this.memory   = memory;
+        int pages     = (memory.getSize() + PAGE_SIZE - 1) >>> PAGE_BITS;
+        this.entries  = new long[pages][];
+        this.staticEa = new int[pages][];
+        memory.addCodeWriteListener(this);
+    }
+
+    /** @return entrada empacotada em {@code address}, ou 0 se ausente */
+    long entry(int address) {
+        long[] page = entries[address >>> PAGE_BITS];
+        return page == null ? 0L : page[address & PAGE_MASK];
+    }
+
+    /** @return parte estática do EA da entrada em {@code address} */
+    int staticEa(int address) {
+        return staticEa[address >>> PAGE_BITS][address & PAGE_MASK];
+    }
+
+    /**
+     * Guarda uma instrução recém-decodificada e marca seus bytes como código.
+     *
+     * @param address PC da instrução
+     * @param packed  entrada empacotada (sem {@link #VALID})
+     * @param ea      parte estática do endereço efetivo
+     * @param size    tamanho em bytes
+     */
+    void put(int address, long packed, int ea, int size) {
+        int p = address >>> PAGE_BITS;
+        if (entries[p] == null) {
+            entries[p]  = new long[PAGE_SIZE];
+            staticEa[p] = new int[PAGE_SIZE];
+        }
+        entries[p][address & PAGE_MASK]  = packed | VALID;
+        staticEa[p][address & PAGE_MASK] = ea;
+        memory.markCode(address, size);
+    }
+
+    /** Invalida toda entrada cujo intervalo de bytes contém {@code address}. */
+    @Override
+    public void onCodeWrite(int address) {
+        for (int a = Math.max(0, address - 3); a <= address; a++) {
+            long[] page = entries[a >>> PAGE_BITS];
+            if (page == null) continue;
+            long e = page[a & PAGE_MASK];
+            if (e != 0 && a + format(e) > address) page[a & PAGE_MASK] = 0L;
+        }
+    }
+
+    @Override
+    public void onCodeReset() {
+        clear();
+    }
+
+    /** Descarta todas as entradas. */
+    void clear() {
+        for (long[] page : entries) if (page != null) Arrays.fill(page, 0L);
+    }
+
+    /** Desliga o cache, removendo-o como observador da memória. */
+    void detach() {
+        memory.removeCodeWriteListener(this);
+        clear();
+    }
+
+    static int format(long e) {
+        return (int) (e >>> FMT_SHIFT) & 0x7;
+    }
+
+    static int bit(long e, int bit) {
+        return (int) (e >>> bit) & 1;
+    }
+}
@@ -2,12 +2,18 @@ package sicxesimulator.hardware.cpu.decoder;
 
 import sicxesimulator.hardware.memory.Memory;
 import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.cpu.model.DecodedInstruction;
 import sicxesimulator.hardware.cpu.model.Instruction;
-import sicxesimulator.common.utils.Convert;
+
+import static sicxesimulator.hardware.cpu.decoder.DecodeCache.*;
 
 /**
  * Decodifica instruções na memória a partir do PC, identificando formato,
  * campos de registradores, flags de modo e calculando endereço efetivo.
+ * <p>
+ * Opcionalmente usa um {@link DecodeCache} indexado pelo PC: os campos e a
+ * parte estática do endereço efetivo são reaproveitados entre execuções do
+ * mesmo endereço, e invalidados quando a memória do código é escrita.
  *
  * @author Renan
  * @since 1.0.0
@@ -15,6 +21,8 @@ import sicxesimulator.common.utils.Convert;
 public class InstructionDecoder {
     private final Memory memory;
     private final RegisterSet registers;
+    private final DecodedInstruction scratch = new DecodedInstruction();
+    private DecodeCache cache;
     private int programCounter;
 
     public InstructionDecoder(RegisterSet registers, Memory memory) {
@@ -27,31 +35,67 @@ public class InstructionDecoder {
      * @return instrução decodificada
      */
     public Instruction decodeInstruction() {
-        programCounter = registers.getRegister("PC").getIntValue();
-        int firstByte = memory.readByte(programCounter) & 0xFF;
-        int n = (firstByte >> 1) & 1, i = firstByte & 1;
-        int format = determineInstructionFormat(firstByte);
-        int opcode, effectiveAddress = 0;
-        int[] operands;
-        boolean indexed = false;
+        decodeInto(scratch);
+        return scratch.toInstruction();
+    }
 
-        if (format == 1) {
-            opcode = firstByte;
-            operands = new int[0];
-        } else if (format == 2) {
-            opcode = firstByte;
-            operands = decodeFormat2();
-        } else {
-            opcode = firstByte & 0xFC;
-            operands = decodeFormat3Or4(n, i, format);
-            indexed = operands[1] == 1;
-            effectiveAddress = calculateEffectiveAddress(
-                    operands[0], operands[1], operands[2],
-                    operands[3], operands[4], operands[5], operands[6]
-            );
+    /**
+     * Decodifica a instrução atual no PC sobrescrevendo {@code target},
+     * sem alocar objetos (caminho rápido).
+     *
+     * @param target estado reutilizável a ser preenchido
+     */
+    public void decodeInto(DecodedInstruction target) {
+        programCounter = registers.get(RegisterSet.PC);
+        predecode(target);
+        if (target.format() >= 3) {
+            target.setEffectiveAddress(resolveEffectiveAddress(target));
+        }
+    }
+
+    /**
+     * Decodifica a instrução em {@code address} sem consultar o PC, B, X nem
+     * seguir indireções: {@code target} recebe apenas os campos e o endereço
+     * efetivo estático. Usado por tradutores que resolvem a parte dinâmica
+     * depois, via {@link #resolveEffectiveAddress(DecodedInstruction)}.
+     *
+     * @param address endereço da instrução
+     * @param target  estado a ser preenchido
+     */
+    public void predecodeAt(int address, DecodedInstruction target) {
+        programCounter = address;
+        predecode(target);
+    }
+
+    /**
+     * Resolve o endereço efetivo de uma instrução pré-decodificada
+     * (formatos 3/4) com os valores atuais de B, X e da memória.
+     *
+     * @param d instrução pré-decodificada
+     * @return endereço efetivo final
+     */
+    public int resolveEffectiveAddress(DecodedInstruction d) {
+        int[] op = d.operands();
+        return calculateEffectiveAddress(d.staticEffectiveAddress(), op[1], op[2], op[3], op[5], op[6]);
+    }
+
+    /**
+     * Liga ou desliga o cache de instruções pré-decodificadas.
+     *
+     * @param enabled <b>true</b> para usar o cache
+     */
+    public void setCacheEnabled(boolean enabled) {
+        if (enabled && cache == null) {
+            cache = new DecodeCache(memory);
+        } else if (!enabled && cache != null) {
+            cache.detach();
+            cache = null;
         }
+    }
 
-        return new Instruction(opcode, operands, format, indexed, effectiveAddress);
+    /** @return <b>true</b> se o cache de decodificação está ativo */
+    public boolean isCacheEnabled() {
+        return cache != null;
     }
 
     /**
@@ -65,7 +109,7 @@ public class InstructionDecoder {
      * Reseta o PC para zero.
      */
     public void resetProgramCounter() {
-        registers.getRegister("PC").setValue(0);
+        registers.set(RegisterSet.PC, 0);
         programCounter = 0;
     }
 
@@ -78,43 +122,104 @@ public class InstructionDecoder {
         return ((second&0x10)>>4)==1 ? 4 : 3;
     }
 
-    private int[] decodeFormat2() {
-        int second = memory.readByte(programCounter+1)&0xFF;
-        return new int[]{ (second>>4)&0xF, second&0xF };
+    private void predecode(DecodedInstruction target) {
+        if (cache != null) {
+            long cached = cache.entry(programCounter);
+            if (cached != 0) {
+                fill(target, cached, cache.staticEa(programCounter));
+                return;
+            }
+        }
+        long packed = decodeFields();
+        int  ea     = staticEffectiveAddress(packed);
+        if (cache != null) cache.put(programCounter, packed, ea, format(packed));
+        fill(target, packed, ea);
     }
 
-    private int[] decodeFormat3Or4(int n, int i, int format) {
+    /** Lê os bytes da instrução no PC e empacota seus campos (layout de {@link DecodeCache}). */
+    private long decodeFields() {
+        int firstByte = memory.readByte(programCounter) & 0xFF;
+        int format = determineInstructionFormat(firstByte);
+        long packed = firstByte | ((long) format << FMT_SHIFT);
+        if (format == 1) return packed;
+
         int second = memory.readByte(programCounter+1)&0xFF;
+        if (format == 2) {
+            return packed | ((long) ((second>>4)&0xF) << OP0_SHIFT) | ((long) (second&0xF) << OP1_SHIFT);
+        }
+
+        int n = (firstByte >> 1) & 1, i = firstByte & 1;
         int x=(second&0x80)>>7, b=(second&0x40)>>6, p=(second&0x20)>>5, e=(second&0x10)>>4;
         int high4 = second&0x0F;
+        int third = memory.readByte(programCounter+2)&0xFF;
+        int dispOrAddr;
         if (format==3) {
-            int third = memory.readByte(programCounter+2)&0xFF;
-            int disp12 = (high4<<8)|third;
-            return new int[]{ disp12, x, b, p, e, n, i };
+            dispOrAddr = (high4<<8)|third;                       // disp12
         } else {
-            int third = memory.readByte(programCounter+2)&0xFF;
             int fourth= memory.readByte(programCounter+3)&0xFF;
-            int addr20 = (high4<<16)|(third<<8)|fourth;
-            return new int[]{ addr20, x, b, p, e, n, i };
+            dispOrAddr = (high4<<16)|(third<<8)|fourth;          // addr20
         }
+        return packed
+                | ((long) x << X_BIT) | ((long) b << B_BIT) | ((long) p << P_BIT)
+                | ((long) e << E_BIT) | ((long) n << N_BIT) | ((long) i << I_BIT)
+                | ((long) dispOrAddr << OP0_SHIFT);
     }
 
-    private int calculateEffectiveAddress(int dispOrAddr, int x, int b, int p, int e, int n, int i) {
-        if (n==0&&i==1) {
-            int imm = dispOrAddr;
-            if (e==0 && (imm&0x800)!=0) imm -= 0x1000;
-            return imm;
-        }
+    /**
+     * Parte do endereço efetivo que não depende de registradores nem da
+     * memória: imediato, ou deslocamento com sinal (+ PC, se PC-relativo).
+     */
+    private int staticEffectiveAddress(long packed) {
+        if (format(packed) < 3) return 0;
+        int dispOrAddr = (int) (packed >>> OP0_SHIFT) & 0xFFFFF;
+        int e = bit(packed, E_BIT);
         int addr = dispOrAddr;
         if (e==0 && (addr&0x800)!=0) addr -= 0x1000;
-        if (p==1) addr += programCounter + (e==1?4:3);
-        else if (b==1) addr += registers.getRegister("B").getIntValue();
-        if (x==1) addr += registers.getRegister("X").getIntValue();
-        if (n==1 && i==0) {
-            if (addr%3!=0) throw new IllegalArgumentException("Indireto nao alinhado: "+addr);
-            return Convert.bytesToInt(memory.readWord(addr/3));
+        if (bit(packed, N_BIT)==0 && bit(packed, I_BIT)==1) return addr;    // imediato
+        if (bit(packed, P_BIT)==1) addr += programCounter + (e==1?4:3);
+        return addr;
+    }
+
+    /** Preenche {@code target} a partir dos campos empacotados (EA ainda estático). */
+    private void fill(DecodedInstruction target, long packed, int staticEa) {
+        int firstByte = (int) packed & 0xFF;
+        int format = format(packed);
+        int[] operands = target.operands();
+
+        if (format == 1) {
+            target.set(firstByte, 1, 0, false, 0);
+        } else if (format == 2) {
+            operands[0] = (int) (packed >>> OP0_SHIFT) & 0xF;
+            operands[1] = (int) (packed >>> OP1_SHIFT) & 0xF;
+            target.set(firstByte, 2, 2, false, 0);
+        } else {
+            int x = bit(packed, X_BIT);
+            operands[0] = (int) (packed >>> OP0_SHIFT) & 0xFFFFF;
+            operands[1] = x;                  operands[2] = bit(packed, B_BIT);
+            operands[3] = bit(packed, P_BIT); operands[4] = bit(packed, E_BIT);
+            operands[5] = bit(packed, N_BIT); operands[6] = bit(packed, I_BIT);
+            target.set(firstByte & 0xFC, format, DecodedInstruction.MAX_OPERANDS, x == 1, staticEa);
         }
+    }
+
+    private int calculateEffectiveAddress(int staticEa, int x, int b, int p, int n, int i) {
+        if (n==0&&i==1) return staticEa;
+        int addr = staticEa;
+        if (p==0 && b==1) addr += registers.get(RegisterSet.B);
+        if (x==1) addr += registers.get(RegisterSet.X);
+        if (n==1 && i==0) return resolveIndirect(addr);
         return addr;
     }
 
+    /**
+     * Último passo do endereçamento indireto: lê o endereço final guardado
+     * na palavra em {@code address}.
+     *
+     * @param address endereço do ponteiro (já somados B/X)
+     * @return endereço efetivo final
+     * @throws IndexOutOfBoundsException se a palavra passar do fim da memória
+     */
+    public int resolveIndirect(int address) {
+        return memory.readWord24(address);
+    }
 }
@@ -6,6 +6,9 @@
  *   <li><b>InstructionDecoder</b>: lê bytes da memória a partir do Program Counter,
  *       identifica o formato da instrução (1, 2, 3 ou 4), extrai campos de registradores,
  *       flags de endereçamento (n, i, x, b, p, e) e calcula o endereço efetivo.</li>
+ *   <li><b>DecodeCache</b> (interno): cache de instruções pré-decodificadas por
+ *       endereço, com a parte estática do endereço efetivo já calculada e
+ *       invalidação por escrita na memória de código.</li>
  * </ul>
  * <p>
  * Este pacote não deve conhecer detalhes de execução ou de controle de fluxo,
@@ -1,18 +1,14 @@
 package sicxesimulator.hardware.cpu.exec;
 
-import sicxesimulator.common.utils.Convert;
+import sicxesimulator.common.utils.Mapper;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.register.Register;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public abstract class BaseExecutor implements InstructionExecutor {
 
     /* ===== Helpers reutilizados da antiga ExecutionUnit ===== */
 
-    protected int toWordAddress(int address) {
-        if (address % 3 != 0)
-            throw new IllegalArgumentException("Endereço não alinhado: " + address);
-        return address / 3;
-    }
-
     protected int getValueOrImmediate(ExecutionContext c) {
         int[] op = c.operands();
         int n = op[5], i = op[6];
@@ -20,24 +16,40 @@ public abstract class BaseExecutor implements InstructionExecutor {
             return c.effectiveAddress();
         }
         if (n == 1 && i == 0) {        // indireto
-            int addr = Convert.bytesToInt(c.mem().readWord(toWordAddress(c.effectiveAddress())));
-            return Convert.bytesToInt(c.mem().readWord(toWordAddress(addr)));
+            int addr = c.mem().readWord24(c.effectiveAddress());
+            return c.mem().readWord24(addr);
         }
         // direto
-        return Convert.bytesToInt(c.mem().readWord(toWordAddress(c.effectiveAddress())));
+        return c.mem().readWord24(c.effectiveAddress());
     }
 
     protected void updateCC(ExecutionContext c, int value) {
-        int cc = (value == 0) ? 0 : (value < 0 ? 1 : 2);
-        c.regs().getRegister("SW").setValue(cc);
+        c.regs().set(RegisterSet.SW, cc(value));
+    }
+
+    /* ===== Helpers para montar/descrever ExecutionResult ===== */
+
+    /** @return código de condição (0 igual, 1 menor, 2 maior) para {@code value} */
+    protected static int cc(int value) {
+        return (value == 0) ? 0 : (value < 0 ? 1 : 2);
     }
 
-    protected String ccDesc(ExecutionContext c) {
-        return switch (c.regs().getRegister("SW").getIntValue()) {
+    protected static String ccDesc(int cc) {
+        return switch (cc) {
             case 0 -> "Igual";
             case 1 -> "Menor";
             case 2 -> "Maior";
             default -> "Desconhecido";
         };
     }
+
+    /** @return número do registrador ({@link Mapper#registerNameToNumber}) */
+    protected static int number(Register r) {
+        return Mapper.registerNameToNumber(r.getName());
+    }
+
+    /** @return nome do registrador a partir do número */
+    protected static String name(int register) {
+        return Mapper.registerNumberToName(register);
+    }
 }
@@ -1,12 +1,15 @@
 package sicxesimulator.hardware.cpu.exec;
 
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
 
 /**
  * Contrato funcional de um executor de instrução SIC/XE.
  *
  * <p>Cada implementação recebe um {@link ExecutionContext} imutável e
- * devolve uma mensagem de log (usada pela GUI ou testes).</p>
+ * devolve um {@link ExecutionResult} compacto (opcode, EA, registrador
+ * afetado, flags de HALT/salto). O texto para a GUI ou testes só é montado
+ * sob demanda por {@link #describe(ExecutionResult)}.</p>
  *
  * @author Renan
  * @since 1.0.0
@@ -17,7 +20,18 @@ public interface InstructionExecutor {
     /**
      * Executa a instrução encapsulada em {@code ctx}.
      *
+     * @return resultado primitivo da execução
+     */
+    ExecutionResult execute(ExecutionContext ctx);
+
+    /**
+     * Monta a descrição legível de um resultado produzido por este executor.
+     *
+     * @param r resultado devolvido por {@link #execute(ExecutionContext)}
      * @return texto de log descrevendo a execução
      */
-    String execute(ExecutionContext ctx);
+    default String describe(ExecutionResult r) {
+        String text = String.format("OP %02X: EA=%06X", r.opcode() & 0xFF, r.effectiveAddress() & 0xFFFFFF);
+        return r.halted() ? text + " (HALT)" : text;
+    }
 }
@@ -2,18 +2,26 @@ package sicxesimulator.hardware.cpu.exec.arith;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
 import sicxesimulator.hardware.cpu.register.Register;
 import sicxesimulator.common.utils.Mapper;
 
 public final class ADDR extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
+    public ExecutionResult execute(ExecutionContext c) {
         int[] ops = c.operands();
         Register r1 = Mapper.getRegisterByNumber(ops[0], c.regs());
         Register r2 = Mapper.getRegisterByNumber(ops[1], c.regs());
-        int res = r1.getIntValue() + r2.getIntValue();
+        int before = r2.getIntValue();
+        int value1 = r1.getIntValue();
+        int res = value1 + before;
         r2.setValue(res);
         updateCC(c, res);
-        return String.format("ADDR: %s + %s => %06X", r1.getName(), r2.getName(), res);
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), ops[1], before, r2.getIntValue(), value1);
+    }
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("ADDR: %s = %06X + %06X => %06X", name(r.register()), r.operand(), r.before(), r.after());
     }
 }
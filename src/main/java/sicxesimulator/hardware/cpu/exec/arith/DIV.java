@@ -2,19 +2,26 @@ package sicxesimulator.hardware.cpu.exec.arith;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
-import sicxesimulator.hardware.cpu.register.Register;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class DIV extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        Register A = c.regs().getRegister("A");
+    public ExecutionResult execute(ExecutionContext c) {
+        RegisterSet regs = c.regs();
+        int before  = regs.get(RegisterSet.A);
         int divisor = getValueOrImmediate(c);
         if (divisor == 0) {
             throw new ArithmeticException("Divisão por zero");
         }
-        int res = A.getIntValue() / divisor;
-        A.setValue(res);
+        int res = before / divisor;
+        regs.set(RegisterSet.A, res);
         updateCC(c, res);
-        return String.format("DIV: A=%06X / %06X => %06X", res * divisor, divisor, res);
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), 0, before, regs.get(RegisterSet.A), divisor);
+    }
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("DIV: A=%06X / %06X => %06X", r.before(), r.operand(), r.after());
     }
 }
@@ -2,12 +2,21 @@ package sicxesimulator.hardware.cpu.exec.jump;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class J extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
+    public ExecutionResult execute(ExecutionContext c) {
         int ea = c.effectiveAddress();
-        c.regs().getRegister("PC").setValue(ea);
-        return String.format("J: PC ← %06X", ea);
+        RegisterSet regs = c.regs();
+        int before = regs.get(RegisterSet.PC);
+        regs.set(RegisterSet.PC, ea);
+        return ExecutionResult.ofJump(c.opcode(), ea, before, regs.get(RegisterSet.PC), 0, true);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("J: PC ← %06X", r.effectiveAddress());
+    }
+}
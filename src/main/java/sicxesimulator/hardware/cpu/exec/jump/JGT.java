@@ -2,17 +2,27 @@ package sicxesimulator.hardware.cpu.exec.jump;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class JGT extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        int sw = c.regs().getRegister("SW").getIntValue();
+    public ExecutionResult execute(ExecutionContext c) {
+        RegisterSet regs = c.regs();
+        int sw = regs.get(RegisterSet.SW);
         int ea = c.effectiveAddress();
-        if (sw == 2) {
-            c.regs().getRegister("PC").setValue(ea);
-            return String.format("JGT: PC ← %06X (Jump realizado)", ea);
-        } else {
-            return "JGT: Condição não satisfeita (sem jump)";
+        int before = regs.get(RegisterSet.PC);
+        boolean taken = sw == 2;
+        if (taken) {
+            regs.set(RegisterSet.PC, ea);
         }
+        return ExecutionResult.ofJump(c.opcode(), ea, before, regs.get(RegisterSet.PC), sw, taken);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return r.jumpTaken()
+                ? String.format("JGT: PC ← %06X (Jump realizado)", r.effectiveAddress())
+                : "JGT: Condição não satisfeita (sem jump)";
+    }
+}
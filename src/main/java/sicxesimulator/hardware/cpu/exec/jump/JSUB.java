@@ -2,14 +2,22 @@ package sicxesimulator.hardware.cpu.exec.jump;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class JSUB extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        int returnAddress = c.regs().getRegister("PC").getIntValue();
+    public ExecutionResult execute(ExecutionContext c) {
+        int returnAddress = c.regs().get(RegisterSet.PC);
         int ea = c.effectiveAddress();
-        c.regs().getRegister("L").setValue(returnAddress);
-        c.regs().getRegister("PC").setValue(ea);
-        return String.format("JSUB: L ← %06X, PC ← %06X", ea, returnAddress);
+        c.regs().set(RegisterSet.L, returnAddress);
+        c.regs().set(RegisterSet.PC, ea);
+        return ExecutionResult.ofJump(c.opcode(), ea, returnAddress,
+                c.regs().get(RegisterSet.PC), returnAddress, true);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("JSUB: L ← %06X, PC ← %06X", r.operand(), r.after());
+    }
+}
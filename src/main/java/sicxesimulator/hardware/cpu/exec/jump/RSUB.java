@@ -2,17 +2,25 @@ package sicxesimulator.hardware.cpu.exec.jump;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class RSUB extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        int returnAddress = c.regs().getRegister("L").getIntValue();
+    public ExecutionResult execute(ExecutionContext c) {
+        int returnAddress = c.regs().get(RegisterSet.L);
+        int before = c.regs().get(RegisterSet.PC);
+        c.regs().set(RegisterSet.PC, returnAddress);
         if (returnAddress == 0) {
-            c.regs().getRegister("PC").setValue(0);
-            return "RSUB: Encerrando execução (HALT).";
-        } else {
-            c.regs().getRegister("PC").setValue(returnAddress);
-            return String.format("RSUB: PC ← L (%06X)", returnAddress);
+            return new ExecutionResult(c.opcode(), c.effectiveAddress(), 8, before, 0, 0, ExecutionResult.HALT);
         }
+        return ExecutionResult.ofJump(c.opcode(), c.effectiveAddress(), before, returnAddress, returnAddress, true);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return r.halted()
+                ? "RSUB: Encerrando execução (HALT)."
+                : String.format("RSUB: PC ← L (%06X)", r.after());
+    }
+}
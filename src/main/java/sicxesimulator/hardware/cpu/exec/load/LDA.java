@@ -2,12 +2,21 @@ package sicxesimulator.hardware.cpu.exec.load;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class LDA extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        int value = getValueOrImmediate(c);
-        c.regs().getRegister("A").setValue(value);
-        return String.format("LDA: A ← %06X", value);
+    public ExecutionResult execute(ExecutionContext c) {
+        RegisterSet regs = c.regs();
+        int before = regs.get(RegisterSet.A);
+        int value  = getValueOrImmediate(c);
+        regs.set(RegisterSet.A, value);
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), 0, before, regs.get(RegisterSet.A), value);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("LDA: A ← %06X", r.operand());
+    }
+}
@@ -2,11 +2,12 @@ package sicxesimulator.hardware.cpu.exec.load;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
-import sicxesimulator.hardware.cpu.register.Register;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class LDCH extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
+    public ExecutionResult execute(ExecutionContext c) {
         int[] op = c.operands();
         int n = op[5], i = op[6];
         int ea = c.effectiveAddress();
@@ -14,11 +15,16 @@ public final class LDCH extends BaseExecutor {
                 ? (ea & 0xFF)
                 : c.mem().readByte(ea);
 
-        Register A = c.regs().getRegister("A");
-        int orig = A.getIntValue();
+        RegisterSet regs = c.regs();
+        int orig = regs.get(RegisterSet.A);
         int updated = (orig & 0xFFFF00) | (byteValue & 0xFF);
-        A.setValue(updated);
+        regs.set(RegisterSet.A, updated);
 
-        return String.format("LDCH: A[byte] ← %02X", byteValue);
+        return ExecutionResult.ofRegister(c.opcode(), ea, 0, orig, updated, byteValue);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("LDCH: A[byte] ← %02X", r.operand());
+    }
+}
@@ -2,12 +2,21 @@ package sicxesimulator.hardware.cpu.exec.load;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class LDT extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        int value = getValueOrImmediate(c);
-        c.regs().getRegister("T").setValue(value);
-        return String.format("LDT: T ← %06X", value);
+    public ExecutionResult execute(ExecutionContext c) {
+        RegisterSet regs = c.regs();
+        int before = regs.get(RegisterSet.T);
+        int value  = getValueOrImmediate(c);
+        regs.set(RegisterSet.T, value);
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), 5, before, regs.get(RegisterSet.T), value);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("LDT: T ← %06X", r.operand());
+    }
+}
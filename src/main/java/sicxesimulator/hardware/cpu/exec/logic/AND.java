@@ -2,17 +2,23 @@ package sicxesimulator.hardware.cpu.exec.logic;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
-import sicxesimulator.hardware.cpu.register.Register;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class AND extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        Register A = c.regs().getRegister("A");
-        int before = A.getIntValue();
+    public ExecutionResult execute(ExecutionContext c) {
+        RegisterSet regs = c.regs();
+        int before = regs.get(RegisterSet.A);
         int op     = getValueOrImmediate(c);
         int res    = before & op;
-        A.setValue(res);
+        regs.set(RegisterSet.A, res);
         updateCC(c, res);
-        return String.format("AND: A=%06X & %06X => %06X", before, op, res);
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), 0, before, regs.get(RegisterSet.A), op);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("AND: A=%06X & %06X => %06X", r.before(), r.operand(), r.after());
+    }
+}
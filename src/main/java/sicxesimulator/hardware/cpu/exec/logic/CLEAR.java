@@ -2,15 +2,26 @@ package sicxesimulator.hardware.cpu.exec.logic;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
 import sicxesimulator.hardware.cpu.register.Register;
 import sicxesimulator.common.utils.Mapper;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class CLEAR extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
+    public ExecutionResult execute(ExecutionContext c) {
         int regNum = c.operands()[0];
         Register r = Mapper.getRegisterByNumber(regNum, c.regs());
+        // F tem 48 bits: o resultado guarda só os 24 bits baixos
+        int before = regNum == RegisterSet.F
+                ? (int) (c.regs().getF() & 0xFFFFFF)
+                : c.regs().get(regNum);
         r.setValue(0);
-        return String.format("CLEAR: %s zerado", r.getName());
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), regNum, before, 0, 0);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("CLEAR: %s zerado", name(r.register()));
+    }
+}
@@ -2,17 +2,23 @@ package sicxesimulator.hardware.cpu.exec.logic;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
-import sicxesimulator.hardware.cpu.register.Register;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class COMP extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        Register A = c.regs().getRegister("A");
-        int before = A.getIntValue();
+    public ExecutionResult execute(ExecutionContext c) {
+        RegisterSet regs = c.regs();
+        int before = regs.get(RegisterSet.A);
         int op     = getValueOrImmediate(c);
         int cmp    = before - op;
         updateCC(c, cmp);
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), 0, before, before, op);
+    }
+
+    @Override
+    public String describe(ExecutionResult r) {
         return String.format("COMP: A (%06X) comparado com %06X (SW=%s)",
-                before, op, ccDesc(c));
+                r.before(), r.operand(), ccDesc(cc(r.before() - r.operand())));
     }
-}
\ No newline at end of file
+}
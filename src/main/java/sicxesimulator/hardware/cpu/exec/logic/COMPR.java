@@ -2,20 +2,25 @@ package sicxesimulator.hardware.cpu.exec.logic;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
 import sicxesimulator.hardware.cpu.register.Register;
 import sicxesimulator.common.utils.Mapper;
 
 public final class COMPR extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
+    public ExecutionResult execute(ExecutionContext c) {
         int[] ops = c.operands();
         Register r1 = Mapper.getRegisterByNumber(ops[0], c.regs());
         Register r2 = Mapper.getRegisterByNumber(ops[1], c.regs());
         int cmp = r1.getIntValue() - r2.getIntValue();
         updateCC(c, cmp);
-        return String.format("COMPR: %s (%06X) comparado com %s (%06X) (SW=%s)",
-                r1.getName(), r1.getIntValue(),
-                r2.getName(), r2.getIntValue(),
-                ccDesc(c));
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), ops[0],
+                r1.getIntValue(), r1.getIntValue(), r2.getIntValue());
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("COMPR: %s (%06X) comparado com %06X (SW=%s)",
+                name(r.register()), r.before(), r.operand(), ccDesc(cc(r.before() - r.operand())));
+    }
+}
@@ -2,18 +2,25 @@ package sicxesimulator.hardware.cpu.exec.logic;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
 import sicxesimulator.hardware.cpu.register.Register;
 import sicxesimulator.common.utils.Mapper;
 
 public final class SHIFTL extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
+    public ExecutionResult execute(ExecutionContext c) {
         int[] ops = c.operands();
         Register r = Mapper.getRegisterByNumber(ops[0], c.regs());
         int count  = ops[1];
-        int res    = r.getIntValue() << count;
+        int before = r.getIntValue();
+        int res    = before << count;
         r.setValue(res);
         updateCC(c, res);
-        return String.format("SHIFTL: R%d << %d = %06X", ops[0], count, res);
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), ops[0], before, r.getIntValue(), count);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("SHIFTL: R%d << %d = %06X", r.register(), r.operand(), r.after());
+    }
+}
@@ -2,19 +2,28 @@ package sicxesimulator.hardware.cpu.exec.logic;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
 import sicxesimulator.hardware.cpu.register.Register;
 import sicxesimulator.common.utils.Mapper;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class TIXR extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        Register X = c.regs().getRegister("X");
-        X.setValue(X.getIntValue() + 1);
+    public ExecutionResult execute(ExecutionContext c) {
+        RegisterSet regs = c.regs();
+        int before = regs.get(RegisterSet.X);
+        regs.set(RegisterSet.X, before + 1);
         int regNum = c.operands()[0];
         Register r = Mapper.getRegisterByNumber(regNum, c.regs());
-        int cmp = X.getIntValue() - r.getIntValue();
+        int cmp = regs.get(RegisterSet.X) - r.getIntValue();
         updateCC(c, cmp);
+        // register = registrador comparado; before/after = X
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), regNum, before, regs.get(RegisterSet.X), r.getIntValue());
+    }
+
+    @Override
+    public String describe(ExecutionResult r) {
         return String.format("TIXR: X incrementado para %06X e comparado com %s (%06X) (SW=%s)",
-                X.getIntValue(), r.getName(), r.getIntValue(), ccDesc(c));
+                r.after(), name(r.register()), r.operand(), ccDesc(cc(r.after() - r.operand())));
     }
-}
\ No newline at end of file
+}
@@ -5,7 +5,8 @@
  * <ul>
  *   <li><b>InstructionExecutor</b>: interface funcional que representa um executor
  *       de instrução, recebendo um {@link sicxesimulator.hardware.cpu.model.ExecutionContext}
- *       e retornando um log de execução.</li>
+ *       e retornando um {@link sicxesimulator.hardware.cpu.model.ExecutionResult}
+ *       primitivo; o texto de log só é montado sob demanda via {@code describe}.</li>
  *   <li><b>BaseExecutor</b>: classe abstrata com utilitários comuns (tratamento
  *       de endereçamento, atualização do CC, etc.) para facilitar a criação
  *       de executores concretos.</li>
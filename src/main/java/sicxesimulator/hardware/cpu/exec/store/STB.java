@@ -2,14 +2,20 @@ package sicxesimulator.hardware.cpu.exec.store;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
-import sicxesimulator.common.utils.Convert;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class STB extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
+    public ExecutionResult execute(ExecutionContext c) {
         int ea    = c.effectiveAddress();
-        int value = c.regs().getRegister("B").getIntValue();
-        c.mem().writeWord(toWordAddress(ea), Convert.intTo3Bytes(value));
-        return String.format("STB: Mem[%06X] ← %06X", ea, value);
+        int value = c.regs().get(RegisterSet.B);
+        c.mem().writeWord24(ea, value);
+        return ExecutionResult.ofRegister(c.opcode(), ea, 3, value, value, value);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("STB: Mem[%06X] ← %06X", r.effectiveAddress(), r.operand());
+    }
+}
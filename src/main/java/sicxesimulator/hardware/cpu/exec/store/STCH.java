@@ -2,13 +2,21 @@ package sicxesimulator.hardware.cpu.exec.store;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 public final class STCH extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
+    public ExecutionResult execute(ExecutionContext c) {
         int ea        = c.effectiveAddress();
-        int byteValue = c.regs().getRegister("A").getIntValue() & 0xFF;
+        int value     = c.regs().get(RegisterSet.A);
+        int byteValue = value & 0xFF;
         c.mem().writeByte(ea, byteValue);
-        return String.format("STCH: Mem[%06X] ← %02X", ea, byteValue);
+        return ExecutionResult.ofRegister(c.opcode(), ea, 0, value, value, byteValue);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("STCH: Mem[%06X] ← %02X", r.effectiveAddress(), r.operand());
+    }
+}
@@ -2,16 +2,23 @@ package sicxesimulator.hardware.cpu.exec.sys;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 /**
  * LPS – Load Processor Status: armazena SW em memória.
  */
 public final class LPS extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
+    public ExecutionResult execute(ExecutionContext c) {
         int ea = c.effectiveAddress();
-        int sw = c.regs().getRegister("SW").getIntValue();
+        int sw = c.regs().get(RegisterSet.SW);
         c.mem().writeByte(ea, sw);
-        return String.format("LPS: Mem[%06X] ← SW(%d)", ea, sw);
+        return ExecutionResult.ofRegister(c.opcode(), ea, 9, sw, sw, sw);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("LPS: Mem[%06X] ← SW(%d)", r.effectiveAddress(), r.operand());
+    }
+}
@@ -2,22 +2,24 @@ package sicxesimulator.hardware.cpu.exec.sys;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
-
-import java.io.IOException;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 /**
- * RD – Read from Device: lê um byte da entrada padrão.
+ * RD – Read from Device: lê um byte do dispositivo da CPU.
  */
 public final class RD extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        try {
-            int ch = System.in.read();
-            if (ch < 0) ch = 0;
-            c.regs().getRegister("A").setValue(ch);
-            return String.format("RD: A ← 0x%02X (entrada)", ch);
-        } catch (IOException e) {
-            throw new RuntimeException("RD: erro de I/O", e);
-        }
+    public ExecutionResult execute(ExecutionContext c) {
+        int ch = c.device().read();
+        if (ch < 0) ch = 0;
+        int before = c.regs().get(RegisterSet.A);
+        c.regs().set(RegisterSet.A, ch);
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), 0, before, ch, ch);
+    }
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("RD: A ← 0x%02X (entrada)", r.operand());
     }
-}
\ No newline at end of file
+}
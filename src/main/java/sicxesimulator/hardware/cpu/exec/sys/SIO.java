@@ -2,13 +2,19 @@ package sicxesimulator.hardware.cpu.exec.sys;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
 
 /**
  * SIO – Start I/O: aqui não há dispositivo, mas sinalizamos o início.
  */
 public final class SIO extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
+    public ExecutionResult execute(ExecutionContext c) {
+        return ExecutionResult.ofNone(c.opcode(), c.effectiveAddress());
+    }
+
+    @Override
+    public String describe(ExecutionResult r) {
         return "SIO: Início de I/O (nenhum dispositivo conectado)";
     }
-}
\ No newline at end of file
+}
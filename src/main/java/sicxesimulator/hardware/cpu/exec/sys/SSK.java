@@ -2,13 +2,37 @@ package sicxesimulator.hardware.cpu.exec.sys;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.memory.Memory;
+import sicxesimulator.hardware.memory.ProtectionException;
 
 /**
- * SSK – Set Storage Key / Proteção: no simulador, sem efeito.
+ * SSK – Set Storage Key: chave de proteção do bloco de m ← (A).
+ * Privilegiada: só roda com chave de acesso 0.
  */
 public final class SSK extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        return "SSK: Proteção de memória (não implementado no simulador)";
+    public ExecutionResult execute(ExecutionContext c) {
+        int ea = c.effectiveAddress();
+        int a  = c.regs().get(RegisterSet.A);
+        setStorageKey(c.mem(), ea, a);
+        return ExecutionResult.ofRegister(c.opcode(), ea, 0, a, a, a & 0xF);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("SSK: Chave[%06X] ← %X", r.effectiveAddress(), r.operand());
+    }
+
+    /**
+     * Semântica de SSK, compartilhada com o modo turbo.
+     *
+     * @throws ProtectionException se a chave de acesso não for 0
+     */
+    public static void setStorageKey(Memory memory, int address, int key) {
+        int access = memory.getAccessKey();
+        if (access != 0) throw new ProtectionException(address, memory.getStorageKey(address), access);
+        memory.setStorageKey(address, key);
+    }
+}
@@ -2,13 +2,19 @@ package sicxesimulator.hardware.cpu.exec.sys;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
 
 /**
  * SVC – Supervisor Call: sinaliza HALT.
  */
 public final class SVC extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        return "SVC: Chamada de sistema (HALT)";  // Contém “HALT” para parar a CPU
+    public ExecutionResult execute(ExecutionContext c) {
+        return ExecutionResult.ofHalt(c.opcode(), c.effectiveAddress());
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return "SVC: Chamada de sistema (HALT)";
+    }
+}
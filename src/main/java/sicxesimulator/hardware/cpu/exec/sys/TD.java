@@ -2,14 +2,22 @@ package sicxesimulator.hardware.cpu.exec.sys;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 /**
  * TD – Test Device: sempre pronto (SW=0).
  */
 public final class TD extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        c.regs().getRegister("SW").setValue(0);
+    public ExecutionResult execute(ExecutionContext c) {
+        int before = c.regs().get(RegisterSet.SW);
+        c.regs().set(RegisterSet.SW, 0);
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), 9, before, 0, 0);
+    }
+
+    @Override
+    public String describe(ExecutionResult r) {
         return "TD: Dispositivo pronto (SW=0)";
     }
 }
@@ -2,17 +2,24 @@ package sicxesimulator.hardware.cpu.exec.sys;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 /**
  * TIO – Test I/O: alias de TD.
  */
 public final class TIO extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
+    public ExecutionResult execute(ExecutionContext c) {
         // reutiliza lógica de TD
-        c.regs().getRegister("SW").setValue(
-                c.regs().getRegister("SW").getIntValue()==0 ? 0 : 1
-        );
+        int before = c.regs().get(RegisterSet.SW);
+        c.regs().set(RegisterSet.SW, before == 0 ? 0 : 1);
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), 9, before,
+                c.regs().get(RegisterSet.SW), 0);
+    }
+
+    @Override
+    public String describe(ExecutionResult r) {
         return "TIO: Teste de I/O (mesmo de TD)";
     }
-}
\ No newline at end of file
+}
@@ -2,15 +2,23 @@ package sicxesimulator.hardware.cpu.exec.sys;
 
 import sicxesimulator.hardware.cpu.exec.BaseExecutor;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 
 /**
- * WD – Write to Device: escreve o byte menos significativo de A na saída padrão.
+ * WD – Write to Device: escreve o byte menos significativo de A no dispositivo da CPU.
  */
 public final class WD extends BaseExecutor {
     @Override
-    public String execute(ExecutionContext c) {
-        int ch = c.regs().getRegister("A").getIntValue() & 0xFF;
-        System.out.print((char)ch);
-        return String.format("WD: saída ← 0x%02X ('%c')", ch, (char)ch);
+    public ExecutionResult execute(ExecutionContext c) {
+        int a  = c.regs().get(RegisterSet.A);
+        int ch = a & 0xFF;
+        c.device().write(ch);
+        return ExecutionResult.ofRegister(c.opcode(), c.effectiveAddress(), 0, a, a, ch);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String describe(ExecutionResult r) {
+        return String.format("WD: saída ← 0x%02X ('%c')", r.operand(), (char) r.operand());
+    }
+}
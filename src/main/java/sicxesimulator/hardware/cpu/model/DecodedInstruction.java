@@ -0,0 +1,138 @@
+package sicxesimulator.hardware.cpu.model;
+
+import java.util.Arrays;
+
+/**
+ * Estado de decodificação <b>mutável e reutilizável</b> de uma instrução SIC/XE.
+ *
+ * <p>Contraparte de {@link Instruction} para o caminho rápido: o decodificador
+ * sobrescreve sempre a mesma instância, evitando a alocação de um record e de
+ * um {@code int[]} por ciclo. Os operandos seguem exatamente o layout de
+ * {@link Instruction#operands()} (formato 2: {@code r1, r2}; formatos 3/4:
+ * {@code disp/addr, x, b, p, e, n, i}).</p>
+ *
+ * <p>Não é thread-safe; cada {@code ControlUnit} mantém a sua.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class DecodedInstruction {
+
+    /** Maior quantidade de campos produzida pelo decodificador (formatos 3/4). */
+    public static final int MAX_OPERANDS = 7;
+
+    private final int[] operands = new int[MAX_OPERANDS];
+    private int     operandCount;
+    private int     opcode;
+    private int     format;
+    private boolean indexed;
+    private int     effectiveAddress;
+    private int     staticEffectiveAddress;
+
+    /**
+     * Sobrescreve o cabeçalho da instrução. Os operandos devem ser escritos
+     * diretamente em {@link #operands()} antes ou depois desta chamada.
+     *
+     * @param opcode           opcode limpo
+     * @param format           1, 2, 3 ou 4
+     * @param operandCount     quantos campos de {@link #operands()} são válidos
+     * @param indexed          uso de indexação via X
+     * @param staticEa         parte estática do endereço efetivo; também vira o
+     *                         {@link #effectiveAddress()} até {@link #setEffectiveAddress(int)}
+     */
+    public void set(int opcode, int format, int operandCount, boolean indexed, int staticEa) {
+        this.opcode                 = opcode;
+        this.format                 = format;
+        this.operandCount           = operandCount;
+        this.indexed                = indexed;
+        this.effectiveAddress       = staticEa;
+        this.staticEffectiveAddress = staticEa;
+    }
+
+    /**
+     * Define o endereço efetivo final (após B, X e indireção).
+     *
+     * @param effectiveAddress endereço efetivo resolvido
+     */
+    public void setEffectiveAddress(int effectiveAddress) {
+        this.effectiveAddress = effectiveAddress;
+    }
+
+    /**
+     * Copia todo o estado de {@code other} para esta instância.
+     *
+     * @param other origem
+     */
+    public void copyFrom(DecodedInstruction other) {
+        System.arraycopy(other.operands, 0, operands, 0, MAX_OPERANDS);
+        this.operandCount           = other.operandCount;
+        this.opcode                 = other.opcode;
+        this.format                 = other.format;
+        this.indexed                = other.indexed;
+        this.effectiveAddress       = other.effectiveAddress;
+        this.staticEffectiveAddress = other.staticEffectiveAddress;
+    }
+
+    /** @return vetor interno de operandos (apenas os {@link #operandCount()} primeiros são válidos) */
+    public int[] operands() {
+        return operands;
+    }
+
+    /** @return quantidade de operandos válidos */
+    public int operandCount() {
+        return operandCount;
+    }
+
+    /** @return opcode limpo */
+    public int opcode() {
+        return opcode;
+    }
+
+    /** @return formato (1–4) */
+    public int format() {
+        return format;
+    }
+
+    /** @return tamanho em bytes (igual ao formato) */
+    public int size() {
+        return format;
+    }
+
+    /** @return <b>true</b> se a instrução usa indexação */
+    public boolean indexed() {
+        return indexed;
+    }
+
+    /** @return endereço efetivo calculado pelo decodificador */
+    public int effectiveAddress() {
+        return effectiveAddress;
+    }
+
+    /**
+     * @return parte do endereço efetivo que não depende de registradores nem da
+     *         memória (imediato, ou deslocamento com sinal somado ao PC se PC-relativo)
+     */
+    public int staticEffectiveAddress() {
+        return staticEffectiveAddress;
+    }
+
+    /**
+     * @return <b>true</b> se o endereço efetivo depende de B, X ou de indireção,
+     *         isto é, precisa ser resolvido a cada execução
+     */
+    public boolean hasDynamicEffectiveAddress() {
+        if (operandCount < MAX_OPERANDS) return false;
+        int x = operands[1], b = operands[2], p = operands[3], n = operands[5], i = operands[6];
+        if (n == 0 && i == 1) return false;
+        return (p == 0 && b == 1) || x == 1 || (n == 1 && i == 0);
+    }
+
+    /**
+     * Cria um {@link Instruction} imutável equivalente (aloca; uso fora do caminho rápido).
+     *
+     * @return cópia imutável deste estado
+     */
+    public Instruction toInstruction() {
+        return new Instruction(opcode, Arrays.copyOf(operands, operandCount), format, indexed, effectiveAddress);
+    }
+}
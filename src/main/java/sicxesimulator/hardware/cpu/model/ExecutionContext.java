@@ -1,5 +1,6 @@
 package sicxesimulator.hardware.cpu.model;
 
+import sicxesimulator.hardware.device.Device;
 import sicxesimulator.hardware.memory.Memory;
 import sicxesimulator.hardware.cpu.exec.InstructionExecutor;
 import sicxesimulator.hardware.cpu.register.RegisterSet;
@@ -7,19 +8,39 @@ import sicxesimulator.hardware.cpu.register.RegisterSet;
 /**
  * Dados imutáveis fornecidos a cada {@link InstructionExecutor}.
  *
+ * @param opcode           opcode sendo executado ({@link #UNKNOWN_OPCODE} se não informado)
  * @param operands         vetor bruto de operandos/flags
  * @param indexed          <b>true</b> se instrução usa indexação (X)
  * @param effectiveAddress endereço efetivo calculado pelo decodificador
  * @param regs             referência ao {@link RegisterSet}
  * @param mem              referência à {@link Memory}
+ * @param device           dispositivo de E/S usado por RD/WD
  *
  * @author Renan
  * @since 1.0.0
  */
 public record ExecutionContext(
+        int       opcode,
         int[]     operands,
         boolean   indexed,
         int       effectiveAddress,
         RegisterSet regs,
-        Memory    mem
-) {}
+        Memory    mem,
+        Device    device
+) {
+
+    /** Opcode usado quando o executor é chamado isoladamente (ex.: testes). */
+    public static final int UNKNOWN_OPCODE = -1;
+
+    /** Contexto com E/S no console. */
+    public ExecutionContext(int opcode, int[] operands, boolean indexed, int effectiveAddress,
+                            RegisterSet regs, Memory mem) {
+        this(opcode, operands, indexed, effectiveAddress, regs, mem, Device.CONSOLE);
+    }
+
+    /** Contexto sem opcode, para invocar um executor diretamente. */
+    public ExecutionContext(int[] operands, boolean indexed, int effectiveAddress,
+                            RegisterSet regs, Memory mem) {
+        this(UNKNOWN_OPCODE, operands, indexed, effectiveAddress, regs, mem);
+    }
+}
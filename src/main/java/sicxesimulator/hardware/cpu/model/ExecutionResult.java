@@ -0,0 +1,91 @@
+package sicxesimulator.hardware.cpu.model;
+
+import sicxesimulator.hardware.cpu.exec.InstructionExecutor;
+
+/**
+ * Resultado compacto (apenas primitivos) da execução de uma instrução.
+ *
+ * <p>Substitui a antiga mensagem de log em {@code String}: o texto legível só
+ * é montado quando a GUI ou o trace pedem, via
+ * {@link InstructionExecutor#describe(ExecutionResult)}.</p>
+ *
+ * @param opcode           opcode executado
+ * @param effectiveAddress endereço efetivo (ou imediato) usado
+ * @param register         número do registrador afetado/lido
+ *                         ({@code Mapper.registerNameToNumber}) ou {@link #NO_REGISTER}
+ * @param before           valor de {@code register} antes da execução
+ * @param after            valor de {@code register} depois da execução
+ * @param operand          segundo operando (valor de memória, imediato, outro registrador, byte de I/O…)
+ * @param flags            combinação de {@link #HALT} e {@link #JUMP_TAKEN}
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public record ExecutionResult(
+        int opcode,
+        int effectiveAddress,
+        int register,
+        int before,
+        int after,
+        int operand,
+        int flags
+) {
+
+    /** Valor de {@link #register()} quando nenhum registrador é relevante. */
+    public static final int NO_REGISTER = -1;
+
+    /** A instrução encerrou a execução. */
+    public static final int HALT       = 1;
+    /** A instrução alterou o fluxo (PC recebeu o destino do salto). */
+    public static final int JUMP_TAKEN = 1 << 1;
+
+    /** @return <b>true</b> se a CPU deve parar */
+    public boolean halted() {
+        return (flags & HALT) != 0;
+    }
+
+    /** @return <b>true</b> se um salto foi realizado */
+    public boolean jumpTaken() {
+        return (flags & JUMP_TAKEN) != 0;
+    }
+
+    /**
+     * Resultado de instrução que leu/escreveu um registrador.
+     *
+     * @return novo resultado sem flags
+     */
+    public static ExecutionResult ofRegister(int opcode, int effectiveAddress, int register,
+                                             int before, int after, int operand) {
+        return new ExecutionResult(opcode, effectiveAddress, register, before, after, operand, 0);
+    }
+
+    /**
+     * Resultado de salto (registrador PC).
+     *
+     * @param taken se o desvio foi realizado
+     * @return novo resultado com {@link #JUMP_TAKEN} conforme {@code taken}
+     */
+    public static ExecutionResult ofJump(int opcode, int effectiveAddress, int pcBefore, int pcAfter,
+                                         int operand, boolean taken) {
+        return new ExecutionResult(opcode, effectiveAddress, 8, pcBefore, pcAfter, operand,
+                taken ? JUMP_TAKEN : 0);
+    }
+
+    /**
+     * Resultado sem efeito em registradores.
+     *
+     * @return novo resultado vazio
+     */
+    public static ExecutionResult ofNone(int opcode, int effectiveAddress) {
+        return new ExecutionResult(opcode, effectiveAddress, NO_REGISTER, 0, 0, 0, 0);
+    }
+
+    /**
+     * Resultado que encerra a execução.
+     *
+     * @return novo resultado com {@link #HALT}
+     */
+    public static ExecutionResult ofHalt(int opcode, int effectiveAddress) {
+        return new ExecutionResult(opcode, effectiveAddress, NO_REGISTER, 0, 0, 0, HALT);
+    }
+}
@@ -7,9 +7,15 @@
  *   <li><b>Instruction</b>: representa uma instrução já decodificada,
  *       com opcode, operands, formato, flag de indexação e endereço efetivo;
  *       fornece utilitário para obter o tamanho em bytes.</li>
+ *   <li><b>DecodedInstruction</b>: versão mutável e reutilizável de
+ *       <b>Instruction</b>, preenchida pelo decodificador no caminho rápido
+ *       sem alocar objetos por ciclo.</li>
  *   <li><b>ExecutionContext</b>: encapsula dados imutáveis passados a cada
  *       {@link sicxesimulator.hardware.cpu.exec.InstructionExecutor},
- *       incluindo operandos, informações de indexação, registradores e memória.</li>
+ *       incluindo opcode, operandos, informações de indexação, registradores e memória.</li>
+ *   <li><b>ExecutionResult</b>: resultado compacto devolvido pelos executores
+ *       (opcode, EA, valores antes/depois do registrador afetado e flags de
+ *       HALT/salto), convertido em texto apenas quando necessário.</li>
  * </ul>
  * <p>
  * Este pacote não contém lógica de controle ou decodificação, servindo apenas
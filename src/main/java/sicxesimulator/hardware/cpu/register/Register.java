@@ -9,6 +9,11 @@ import sicxesimulator.common.utils.Checker;
  * o tamanho do registrador e validar usos incorretos (ex.: ler 48 bits como
  * {@code int}).</p>
  *
+ * <p>Registradores criados por um {@link RegisterSet} são apenas visões sobre
+ * o armazenamento primitivo do conjunto (indexado pelo número do
+ * registrador): ler ou escrever por aqui ou por
+ * {@link RegisterSet#get(int)}/{@link RegisterSet#set(int, int)} é equivalente.</p>
+ *
  * @author Renan
  * @since 1.0.0
  */
@@ -16,19 +21,26 @@ public final class Register {
 
 	private final String name;
 	private final int    size;          // 24 ou 48
-	private long         value;         // armazenado sempre como 64 bits
+	private final long[] store;         // valor já mascarado em store[index]
+	private final int    index;
 
 	/**
 	 * @param name A, X, L, B, S, T, F, PC ou SW
 	 * @throws IllegalArgumentException se o nome for inválido
 	 */
 	public Register(String name) {
+		this(name, new long[1], 0);
+	}
+
+	/** Visão sobre {@code store[index]}, usada pelo {@link RegisterSet}. */
+	Register(String name, long[] store, int index) {
 		if (!Checker.isValidRegisterName(name)) {
 			throw new IllegalArgumentException("Registrador inválido: " + name);
 		}
 		this.name  = name;
 		this.size  = name.equals("F") ? 48 : 24;
-		this.value = 0;
+		this.store = store;
+		this.index = index;
 	}
 
 	/** @return nome simbólico do registrador */
@@ -39,13 +51,13 @@ public final class Register {
 	/** @return conteúdo como {@code int} (24 bits) */
 	public int getIntValue() {
 		ensureSize(24);
-		return (int) (value & 0xFFFFFF);
+		return (int) store[index];
 	}
 
 	/** @return conteúdo como {@code long} (48 bits) */
 	public long getLongValue() {
 		ensureSize(48);
-		return value & 0xFFFFFFFFFFFFL;
+		return store[index];
 	}
 
 	/**
@@ -54,14 +66,14 @@ public final class Register {
 	 * @param newValue valor bruto
 	 */
 	public void setValue(long newValue) {
-		value = (size == 24)
+		store[index] = (size == 24)
 				? (newValue & 0xFFFFFF)
 				: (newValue & 0xFFFFFFFFFFFFL);
 	}
 
 	/** Zera o registrador. */
 	public void clearRegister() {
-		value = 0;
+		store[index] = 0;
 	}
 
 	/* ------------------------------------------------------------------ */
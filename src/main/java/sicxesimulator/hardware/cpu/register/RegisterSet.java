@@ -1,5 +1,6 @@
 package sicxesimulator.hardware.cpu.register;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -8,21 +9,69 @@ import java.util.Map;
 /**
  * Agrupa todos os registradores da CPU SIC/XE.
  *
- * <p>Fornece acesso individual por nome, visualização imutável da coleção e
- * operação de limpeza em lote.</p>
+ * <p>O estado fica num único {@code long[]} indexado pelo número do
+ * registrador ({@code Mapper.registerNameToNumber}: A=0, X=1, L=2, B=3, S=4,
+ * T=5, F=6, PC=8, SW=9). O caminho rápido ({@link #get(int)},
+ * {@link #set(int, int)}, {@link #getF()}, {@link #setF(long)}) opera direto
+ * sobre esse vetor; os {@link Register} devolvidos por nome são visões sobre
+ * ele, mantidas para a GUI e para código legado.</p>
  *
  * @author Renan
  * @since 1.0.0
  */
 public final class RegisterSet {
 
+    /** Números dos registradores (mesma numeração do formato 2). */
+    public static final int A = 0, X = 1, L = 2, B = 3, S = 4, T = 5, F = 6, PC = 8, SW = 9;
+
     private static final String[] NAMES =
             { "A", "X", "L", "B", "S", "T", "F", "PC", "SW" };
+    private static final int[] NUMBERS =
+            {  A,   X,   L,   B,   S,   T,   F,   PC,   SW };
+
+    private static final int  MASK_24 = 0xFFFFFF;
+    private static final long MASK_48 = 0xFFFFFFFFFFFFL;
 
+    private final long[] values = new long[SW + 1];
+    private final Register[] byNumber = new Register[SW + 1];
     private final Map<String, Register> registers = new HashMap<>();
 
     public RegisterSet() {
-        for (String n : NAMES) registers.put(n, new Register(n));
+        for (int k = 0; k < NAMES.length; k++) {
+            Register r = new Register(NAMES[k], values, NUMBERS[k]);
+            registers.put(NAMES[k], r);
+            byNumber[NUMBERS[k]] = r;
+        }
+    }
+
+    /**
+     * Leitura direta de um registrador de 24 bits.
+     *
+     * @param number número do registrador (não use {@link #F})
+     * @return valor sem sinal de 24 bits
+     */
+    public int get(int number) {
+        return (int) values[number];
+    }
+
+    /**
+     * Escrita direta de um registrador de 24 bits (valor mascarado).
+     *
+     * @param number número do registrador (não use {@link #F})
+     * @param value  novo valor
+     */
+    public void set(int number, int value) {
+        values[number] = value & MASK_24;
+    }
+
+    /** @return conteúdo de F (48 bits) */
+    public long getF() {
+        return values[F];
+    }
+
+    /** @param value novo conteúdo de F (mascarado para 48 bits) */
+    public void setF(long value) {
+        values[F] = value & MASK_48;
     }
 
     /**
@@ -33,6 +82,17 @@ public final class RegisterSet {
         return registers.get(name);
     }
 
+    /**
+     * @param number número do registrador
+     * @return visão correspondente
+     * @throws IllegalArgumentException se o número não corresponder a um registrador
+     */
+    public Register getRegister(int number) {
+        Register r = (number >= 0 && number < byNumber.length) ? byNumber[number] : null;
+        if (r == null) throw new IllegalArgumentException("Número de registrador inválido: " + number);
+        return r;
+    }
+
     /** @return coleção somente-leitura dos registradores */
     public Collection<Register> getAllRegisters() {
         return Collections.unmodifiableCollection(registers.values());
@@ -40,6 +100,6 @@ public final class RegisterSet {
 
     /** Define todos os registradores para zero. */
     public void clearAll() {
-        registers.values().forEach(Register::clearRegister);
+        Arrays.fill(values, 0L);
     }
 }
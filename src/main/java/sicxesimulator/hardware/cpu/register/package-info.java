@@ -4,8 +4,9 @@
  * Principais componentes:
  * <ul>
  *   <li><b>RegisterSet</b>: coleção imutável de registradores padrão
- *       (A, X, L, B, S, T, F, PC, SW), com métodos de acesso por nome
- *       e limpeza em lote.</li>
+ *       (A, X, L, B, S, T, F, PC, SW) em armazenamento primitivo indexado
+ *       pelo número do registrador, com acesso rápido por número, acesso
+ *       por nome (visões) e limpeza em lote.</li>
  *   <li><b>Register</b>: representação de um registrador individual
  *       (24 ou 48 bits), com leitura/escrita mascarada e validação
  *       de tamanho via {@code Checker}.</li>
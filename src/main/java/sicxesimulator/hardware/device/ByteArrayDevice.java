@@ -0,0 +1,56 @@
+package sicxesimulator.hardware.device;
+
+import java.util.Arrays;
+
+/**
+ * {@link Device} em memória: lê de um vetor fixo e acumula a saída num
+ * buffer que cresce sob demanda. Pode ser reaproveitado com
+ * {@link #reset(byte[])}.
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class ByteArrayDevice implements Device {
+
+    private byte[] input;
+    private int inputPos;
+    private byte[] output = new byte[64];
+    private int outputLength;
+
+    /** Cria um dispositivo sem entrada. */
+    public ByteArrayDevice() {
+        this(new byte[0]);
+    }
+
+    /** @param input bytes devolvidos por {@link #read()} (não copiados) */
+    public ByteArrayDevice(byte[] input) {
+        this.input = input;
+    }
+
+    /**
+     * Troca a entrada e descarta a saída acumulada.
+     *
+     * @param newInput nova entrada (não copiada)
+     */
+    public void reset(byte[] newInput) {
+        this.input = newInput;
+        this.inputPos = 0;
+        this.outputLength = 0;
+    }
+
+    @Override
+    public int read() {
+        return inputPos < input.length ? input[inputPos++] & 0xFF : -1;
+    }
+
+    @Override
+    public void write(int b) {
+        if (outputLength == output.length) output = Arrays.copyOf(output, output.length * 2);
+        output[outputLength++] = (byte) b;
+    }
+
+    /** @return cópia dos bytes escritos */
+    public byte[] output() {
+        return Arrays.copyOf(output, outputLength);
+    }
+}
@@ -0,0 +1,30 @@
+package sicxesimulator.hardware.device;
+
+import java.io.IOException;
+
+/**
+ * {@link Device} ligado a {@code System.in}/{@code System.out}.
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+final class ConsoleDevice implements Device {
+
+    static final ConsoleDevice INSTANCE = new ConsoleDevice();
+
+    private ConsoleDevice() { }
+
+    @Override
+    public int read() {
+        try {
+            return System.in.read();
+        } catch (IOException e) {
+            throw new RuntimeException("RD: erro de I/O", e);
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        System.out.print((char) (b & 0xFF));
+    }
+}
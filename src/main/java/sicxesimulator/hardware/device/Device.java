@@ -0,0 +1,31 @@
+package sicxesimulator.hardware.device;
+
+/**
+ * Dispositivo de E/S de bytes usado pelas instruções RD e WD.
+ * <p>
+ * Cada {@code ControlUnit} tem o seu; por padrão é o console
+ * ({@link #CONSOLE}), e execuções em lote usam buffers próprios
+ * ({@link ByteArrayDevice}) para isolar entrada e saída de cada máquina.
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public interface Device {
+
+    /** Entrada e saída padrão do processo. */
+    Device CONSOLE = ConsoleDevice.INSTANCE;
+
+    /**
+     * Lê o próximo byte.
+     *
+     * @return byte lido (0–255) ou -1 no fim da entrada
+     */
+    int read();
+
+    /**
+     * Escreve um byte.
+     *
+     * @param b valor (só o byte baixo é usado)
+     */
+    void write(int b);
+}
@@ -0,0 +1,14 @@
+/**
+ * Dispositivos de E/S de bytes acessados pelas instruções RD e WD.
+ * <p>
+ * Componentes principais:
+ * <ul>
+ *   <li><b>Device</b>: interface de leitura/escrita de bytes, com o console
+ *       como implementação padrão;</li>
+ *   <li><b>ByteArrayDevice</b>: dispositivo em memória, para execuções
+ *       headless em que cada máquina tem entrada e saída próprias.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ */
+package sicxesimulator.hardware.device;
@@ -0,0 +1,211 @@
+package sicxesimulator.hardware.memory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mapa de calor dos acessos à memória: contadores de leitura, escrita e
+ * execução por região de {@code regionBytes} bytes (1 = por endereço; 64 =
+ * por linha de cache).
+ *
+ * <p>A {@link Memory} conta as leituras e escritas de dados e a CPU conta as
+ * execuções, no endereço de cada instrução; a leitura dos bytes da instrução
+ * durante a busca não entra como leitura ({@link #fetching(boolean)}). Cada
+ * tipo de contador é um {@code long[]} indexado pela região.</p>
+ *
+ * <p>Com {@code sampleEvery} = N &gt; 1, só um acesso a cada N, em média, é
+ * contado (o intervalo entre amostras é sorteado para não entrar em fase com
+ * os laços do programa) e soma N ao contador; os valores passam a ser
+ * estimativas, com custo proporcional a 1/N.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class AccessHeatmap {
+
+    /**
+     * Contadores de uma região.
+     *
+     * @param address  primeiro byte da região
+     * @param length   tamanho da região, em bytes
+     * @param reads    leituras de dados
+     * @param writes   escritas
+     * @param executes instruções executadas que começam na região
+     */
+    public record Region(int address, int length, long reads, long writes, long executes) {
+        /** @return soma dos três contadores */
+        public long total() {
+            return reads + writes + executes;
+        }
+    }
+
+    private final int shift;
+    private final int sampleEvery;
+    private final long[] reads, writes, executes;
+    private int countdown = 1;
+    private int seed = 0x2545F491;
+    private boolean fetching;
+
+    /**
+     * @param memorySize  tamanho da memória, em bytes
+     * @param regionBytes tamanho da região (potência de 2)
+     * @param sampleEvery conta 1 acesso a cada {@code sampleEvery} (1 = todos)
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public AccessHeatmap(int memorySize, int regionBytes, int sampleEvery) {
+        if (regionBytes < 1 || Integer.bitCount(regionBytes) != 1)
+            throw new IllegalArgumentException("Região deve ser potência de 2: " + regionBytes);
+        if (sampleEvery < 1) throw new IllegalArgumentException("Amostragem inválida: " + sampleEvery);
+        this.shift       = Integer.numberOfTrailingZeros(regionBytes);
+        this.sampleEvery = sampleEvery;
+        int regions = (int) (((long) memorySize + regionBytes - 1) >>> shift);
+        this.reads    = new long[regions];
+        this.writes   = new long[regions];
+        this.executes = new long[regions];
+    }
+
+    /** @return tamanho da região, em bytes */
+    public int regionBytes() {
+        return 1 << shift;
+    }
+
+    /** @return taxa de amostragem (1 = exato) */
+    public int sampleEvery() {
+        return sampleEvery;
+    }
+
+    /** Conta uma leitura de dados em {@code address}. */
+    public void recordRead(int address) {
+        if (!fetching && --countdown == 0) reads[address >>> shift] += sample();
+    }
+
+    /** Conta uma escrita em {@code address}. */
+    public void recordWrite(int address) {
+        if (--countdown == 0) writes[address >>> shift] += sample();
+    }
+
+    /** Conta a execução da instrução em {@code address}. */
+    public void recordExecute(int address) {
+        if (--countdown == 0) executes[address >>> shift] += sample();
+    }
+
+    /**
+     * Marca o início/fim da busca de uma instrução, cujas leituras não são
+     * contadas como leituras de dados.
+     *
+     * @param on <b>true</b> ao começar a busca
+     */
+    public void fetching(boolean on) {
+        fetching = on;
+    }
+
+    /** Zera todos os contadores. */
+    public void clear() {
+        Arrays.fill(reads, 0);
+        Arrays.fill(writes, 0);
+        Arrays.fill(executes, 0);
+    }
+
+    /** @return regiões com algum acesso, em ordem de endereço */
+    public List<Region> regions() {
+        List<Region> out = new ArrayList<>();
+        for (int r = 0; r < reads.length; r++) {
+            if ((reads[r] | writes[r] | executes[r]) != 0)
+                out.add(new Region(r << shift, 1 << shift, reads[r], writes[r], executes[r]));
+        }
+        return out;
+    }
+
+    /**
+     * @param n quantidade de regiões
+     * @return as {@code n} regiões mais acessadas, da mais quente para a mais fria
+     */
+    public List<Region> hottest(int n) {
+        return regions().stream()
+                .sorted(Comparator.comparingLong(Region::total).reversed())
+                .limit(n)
+                .toList();
+    }
+
+    /**
+     * Exporta as regiões acessadas em CSV
+     * ({@code address,length,reads,writes,executes,symbol}).
+     *
+     * @param out     destino
+     * @param symbols símbolo → endereço (ex.: tabela do programa carregado), ou {@code null}
+     * @throws IOException em falha de escrita
+     */
+    public void writeCsv(Appendable out, Map<String, Integer> symbols) throws IOException {
+        TreeMap<Integer, String> bySymbol = index(symbols);
+        out.append("address,length,reads,writes,executes,symbol\n");
+        for (Region r : regions()) {
+            out.append(String.format("%06X,%d,%d,%d,%d,%s%n", r.address(), r.length(),
+                    r.reads(), r.writes(), r.executes(), symbolAt(bySymbol, r.address())));
+        }
+    }
+
+    /**
+     * Exporta as regiões acessadas em JSON: um objeto com
+     * {@code regionBytes}, {@code sampleEvery} e a lista {@code regions}.
+     *
+     * @param out     destino
+     * @param symbols símbolo → endereço, ou {@code null}
+     * @throws IOException em falha de escrita
+     */
+    public void writeJson(Appendable out, Map<String, Integer> symbols) throws IOException {
+        TreeMap<Integer, String> bySymbol = index(symbols);
+        out.append("{\"regionBytes\":").append(String.valueOf(regionBytes()))
+                .append(",\"sampleEvery\":").append(String.valueOf(sampleEvery))
+                .append(",\"regions\":[");
+        boolean first = true;
+        for (Region r : regions()) {
+            if (!first) out.append(',');
+            first = false;
+            out.append(String.format("{\"address\":\"%06X\",\"length\":%d,\"reads\":%d,\"writes\":%d,\"executes\":%d,\"symbol\":\"%s\"}",
+                    r.address(), r.length(), r.reads(), r.writes(), r.executes(),
+                    symbolAt(bySymbol, r.address()).replace("\\", "\\\\").replace("\"", "\\\"")));
+        }
+        out.append("]}\n");
+    }
+
+    // private
+
+    /** Fecha uma amostra: sorteia o próximo intervalo (média {@code sampleEvery}) e devolve o peso. */
+    private int sample() {
+        int n = sampleEvery;
+        if (n == 1) {
+            countdown = 1;
+        } else {
+            int x = seed;                    // xorshift32
+            x ^= x << 13;
+            x ^= x >>> 17;
+            x ^= x << 5;
+            seed = x;
+            countdown = 1 + (int) ((x & 0x7FFF_FFFFL) % (2L * n - 1));
+        }
+        return n;
+    }
+
+    private static TreeMap<Integer, String> index(Map<String, Integer> symbols) {
+        TreeMap<Integer, String> bySymbol = new TreeMap<>();
+        if (symbols != null) {
+            symbols.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(e -> bySymbol.putIfAbsent(e.getValue(), e.getKey()));
+        }
+        return bySymbol;
+    }
+
+    /** @return "SIMBOLO" ou "SIMBOLO+desloc" do símbolo mais próximo abaixo de {@code address} */
+    private static String symbolAt(TreeMap<Integer, String> bySymbol, int address) {
+        Map.Entry<Integer, String> e = bySymbol.floorEntry(address);
+        if (e == null) return "";
+        int offset = address - e.getKey();
+        return offset == 0 ? e.getValue() : e.getValue() + "+" + Integer.toHexString(offset).toUpperCase();
+    }
+}
@@ -0,0 +1,121 @@
+package sicxesimulator.hardware.memory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Armazenamento num {@link ByteBuffer} direto, fora do heap: não pesa no
+ * coletor de lixo nem é varrido por ele. O buffer pode ser alocado
+ * ({@link ByteBuffer#allocateDirect}) ou o mapeamento de um arquivo
+ * ({@link #map}). As palavras de 3 bytes são lidas e
+ * gravadas como um {@code short} big-endian (via {@link VarHandle}, sem
+ * exigir alinhamento) seguido de um byte.
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+final class BufferStorage implements MemoryStorage {
+
+    private static final VarHandle SHORT =
+            MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final byte[] ZEROS = new byte[Memory.PAGE_SIZE * 16];
+
+    private final ByteBuffer buffer;
+
+    /** @param buffer buffer com posição 0; todo o seu tamanho vira memória */
+    BufferStorage(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Mapeia os primeiros {@code size} bytes de {@code file}.
+     *
+     * @param file arquivo da imagem
+     * @param size tamanho da memória, em bytes
+     * @param mode {@link FileChannel.MapMode#READ_WRITE} (cria ou estende o
+     *             arquivo e grava nele) ou {@link FileChannel.MapMode#PRIVATE}
+     *             (cópia na escrita; o arquivo precisa ter ao menos {@code size} bytes)
+     * @return armazenamento sobre o mapeamento
+     * @throws UncheckedIOException em falha de E/S ou imagem menor que {@code size}
+     */
+    static BufferStorage map(Path file, int size, FileChannel.MapMode mode) {
+        boolean shared = mode == FileChannel.MapMode.READ_WRITE;
+        try (FileChannel ch = shared
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {   // exigido pelo PRIVATE
+            if (!shared && ch.size() < size)
+                throw new IOException("Imagem de " + ch.size() + " bytes menor que a memória de " + size + ": " + file);
+            return new BufferStorage(ch.map(mode, 0, size));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int size() {
+        return buffer.capacity();
+    }
+
+    @Override
+    public int get(int address) {
+        return buffer.get(address) & 0xFF;
+    }
+
+    @Override
+    public void set(int address, int value) {
+        buffer.put(address, (byte) value);
+    }
+
+    @Override
+    public int getWord(int address) {
+        return (((short) SHORT.get(buffer, address) & 0xFFFF) << 8) | (buffer.get(address + 2) & 0xFF);
+    }
+
+    @Override
+    public void setWord(int address, int value) {
+        SHORT.set(buffer, address, (short) (value >>> 8));
+        buffer.put(address + 2, (byte) value);
+    }
+
+    @Override
+    public void copyOut(int address, byte[] dst, int offset, int length) {
+        buffer.get(address, dst, offset, length);
+    }
+
+    @Override
+    public void copyIn(int address, byte[] src, int offset, int length) {
+        buffer.put(address, src, offset, length);
+    }
+
+    @Override
+    public void copyOut(int address, ByteBuffer dst, int length) {
+        dst.put(dst.position(), buffer, address, length);
+        dst.position(dst.position() + length);
+    }
+
+    @Override
+    public void copyIn(int address, ByteBuffer src, int length) {
+        buffer.put(address, src, src.position(), length);
+        src.position(src.position() + length);
+    }
+
+    @Override
+    public void flush() {
+        if (buffer instanceof MappedByteBuffer mapped && !mapped.isReadOnly()) mapped.force();
+    }
+
+    @Override
+    public void clear() {
+        for (int a = 0; a < buffer.capacity(); a += ZEROS.length) {
+            buffer.put(a, ZEROS, 0, Math.min(ZEROS.length, buffer.capacity() - a));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package sicxesimulator.hardware.memory;
+
+/**
+ * Observador de escritas sobre bytes marcados como código via
+ * {@link Memory#markCode(int, int)}.
+ *
+ * <p>Usado por caches de instruções pré-decodificadas para manter
+ * programas auto-modificáveis corretos.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public interface CodeWriteListener {
+
+    /**
+     * Um byte marcado como código foi sobrescrito. A marca desse byte já
+     * foi removida quando este método é chamado.
+     *
+     * @param address endereço do byte escrito
+     */
+    void onCodeWrite(int address);
+
+    /** Toda a memória foi zerada; todas as marcas foram removidas. */
+    void onCodeReset();
+}
@@ -0,0 +1,157 @@
+package sicxesimulator.hardware.memory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Armazenamento num {@code byte[]} do heap cujo {@link #clear()} custa O(1),
+ * para máquinas reiniciadas com muita frequência
+ * ({@link MemoryFactory#GENERATIONAL}).
+ *
+ * <p>O reset não depende do tamanho: cada página de {@value #STAMP_SIZE} bytes
+ * guarda a geração em que foi escrita pela última vez, e zerar a memória só
+ * avança a geração corrente. Uma página de geração antiga lê como zero e é
+ * zerada de fato na primeira escrita seguinte (ou simplesmente carimbada,
+ * se a escrita a cobrir inteira). Em troca, todo acesso consulta o carimbo
+ * da página, o que deixa leituras e escritas mais lentas que em
+ * {@link HeapStorage}.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+final class GenerationStorage implements MemoryStorage {
+
+    /** Tamanho da página carimbada com a geração, em bytes. */
+    static final int STAMP_SIZE = 4096;
+    private static final int STAMP_BITS = 12;
+    private static final int OFFSET_MASK = STAMP_SIZE - 1;
+    private static final byte[] ZERO = new byte[STAMP_SIZE];
+
+    private final byte[] data;
+    private final int[] stamps;
+    private int generation;
+
+    GenerationStorage(int sizeInBytes) {
+        this.data   = new byte[sizeInBytes];
+        this.stamps = new int[(sizeInBytes + STAMP_SIZE - 1) >>> STAMP_BITS];
+    }
+
+    @Override
+    public int size() {
+        return data.length;
+    }
+
+    @Override
+    public int get(int address) {
+        return stamps[address >>> STAMP_BITS] == generation ? data[address] & 0xFF : 0;
+    }
+
+    @Override
+    public void set(int address, int value) {
+        touch(address);
+        data[address] = (byte) value;
+    }
+
+    @Override
+    public int getWord(int address) {
+        if ((address & OFFSET_MASK) <= STAMP_SIZE - 3 && stamps[address >>> STAMP_BITS] == generation) {
+            return ((data[address] & 0xFF) << 16) | ((data[address + 1] & 0xFF) << 8) | (data[address + 2] & 0xFF);
+        }
+        return (get(address) << 16) | (get(address + 1) << 8) | get(address + 2);
+    }
+
+    @Override
+    public void setWord(int address, int value) {
+        touch(address);
+        touch(address + 2);
+        data[address]     = (byte) (value >>> 16);
+        data[address + 1] = (byte) (value >>> 8);
+        data[address + 2] = (byte) value;
+    }
+
+    @Override
+    public void copyOut(int address, byte[] dst, int offset, int length) {
+        while (length > 0) {
+            int n = Math.min(length, STAMP_SIZE - (address & OFFSET_MASK));
+            if (stamps[address >>> STAMP_BITS] == generation) System.arraycopy(data, address, dst, offset, n);
+            else Arrays.fill(dst, offset, offset + n, (byte) 0);
+            address += n;
+            offset  += n;
+            length  -= n;
+        }
+    }
+
+    @Override
+    public void copyIn(int address, byte[] src, int offset, int length) {
+        while (length > 0) {
+            int n = Math.min(length, STAMP_SIZE - (address & OFFSET_MASK));
+            cover(address, n);
+            System.arraycopy(src, offset, data, address, n);
+            address += n;
+            offset  += n;
+            length  -= n;
+        }
+    }
+
+    @Override
+    public void copyOut(int address, ByteBuffer dst, int length) {
+        while (length > 0) {
+            int n = Math.min(length, STAMP_SIZE - (address & OFFSET_MASK));
+            if (stamps[address >>> STAMP_BITS] == generation) dst.put(data, address, n);
+            else dst.put(ZERO, 0, n);
+            address += n;
+            length  -= n;
+        }
+    }
+
+    @Override
+    public void copyIn(int address, ByteBuffer src, int length) {
+        while (length > 0) {
+            int n = Math.min(length, STAMP_SIZE - (address & OFFSET_MASK));
+            cover(address, n);
+            src.get(data, address, n);
+            address += n;
+            length  -= n;
+        }
+    }
+
+    @Override
+    public boolean isZero(int address, int length) {
+        for (int p = address >>> STAMP_BITS; p <= (address + length - 1) >>> STAMP_BITS; p++) {
+            if (stamps[p] == generation) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (++generation == 0) {             // a geração deu a volta: carimbos antigos voltariam a valer
+            Arrays.fill(data, (byte) 0);
+            Arrays.fill(stamps, 0);
+        }
+    }
+
+    // private
+
+    /** Traz a página de {@code address} para a geração corrente, zerando-a se for antiga. */
+    private void touch(int address) {
+        int p = address >>> STAMP_BITS;
+        if (stamps[p] != generation) {
+            int from = p << STAMP_BITS;
+            Arrays.fill(data, from, Math.min(data.length, from + STAMP_SIZE), (byte) 0);
+            stamps[p] = generation;
+        }
+    }
+
+    /**
+     * Prepara {@code length} bytes da página de {@code address} para serem
+     * sobrescritos: se cobrirem a página inteira, basta carimbá-la.
+     */
+    private void cover(int address, int length) {
+        int p = address >>> STAMP_BITS;
+        if (stamps[p] == generation) return;
+        int from = p << STAMP_BITS;
+        if (address == from && length == Math.min(STAMP_SIZE, data.length - from)) stamps[p] = generation;
+        else touch(address);
+    }
+}
@@ -0,0 +1,71 @@
+package sicxesimulator.hardware.memory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Armazenamento num {@code byte[]} do heap; o padrão da {@link Memory}.
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+final class HeapStorage implements MemoryStorage {
+
+    private final byte[] data;
+
+    HeapStorage(int sizeInBytes) {
+        this.data = new byte[sizeInBytes];
+    }
+
+    @Override
+    public int size() {
+        return data.length;
+    }
+
+    @Override
+    public int get(int address) {
+        return data[address] & 0xFF;
+    }
+
+    @Override
+    public void set(int address, int value) {
+        data[address] = (byte) value;
+    }
+
+    @Override
+    public int getWord(int address) {
+        return ((data[address] & 0xFF) << 16) | ((data[address + 1] & 0xFF) << 8) | (data[address + 2] & 0xFF);
+    }
+
+    @Override
+    public void setWord(int address, int value) {
+        data[address]     = (byte) (value >>> 16);
+        data[address + 1] = (byte) (value >>> 8);
+        data[address + 2] = (byte) value;
+    }
+
+    @Override
+    public void copyOut(int address, byte[] dst, int offset, int length) {
+        System.arraycopy(data, address, dst, offset, length);
+    }
+
+    @Override
+    public void copyIn(int address, byte[] src, int offset, int length) {
+        System.arraycopy(src, offset, data, address, length);
+    }
+
+    @Override
+    public void copyOut(int address, ByteBuffer dst, int length) {
+        dst.put(data, address, length);
+    }
+
+    @Override
+    public void copyIn(int address, ByteBuffer src, int length) {
+        src.get(data, address, length);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(data, (byte) 0);
+    }
+}
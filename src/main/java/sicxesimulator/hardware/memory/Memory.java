@@ -1,19 +1,77 @@
 package sicxesimulator.hardware.memory;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
 
 /**
  * Simula a memória da máquina SIC/XE como um vetor de bytes.
  * <p>
- * Suporta leitura/gravação de bytes e palavras (3 bytes), reset
- * e dump textual em hexadecimal.
+ * Os bytes ficam num {@code byte[]} do heap ({@link #Memory(int)}) ou em
+ * outro armazenamento escolhido por uma {@link MemoryFactory}, como
+ * {@link MemoryFactory#OFF_HEAP} ou um arquivo mapeado ({@link MemoryFactory#mapped});
+ * o comportamento é o mesmo em todos.
+ * <p>
+ * Suporta leitura/gravação de bytes e palavras (3 bytes), reset,
+ * watchpoints de leitura/escrita, snapshots copy-on-write por página, dump
+ * textual em hexadecimal e faixas mapeadas em dispositivos ({@link #map}).
  *
  * @author Renan
  * @since 1.0.0
  */
 public class Memory {
 
-	private final byte[] data;
+	/** Tamanho, em bytes, da página usada por snapshots. */
+	public static final int PAGE_SIZE = 256;
+	private static final int PAGE_BITS = 8;
+	/** Página de zeros compartilhada pelos snapshots de memórias esparsas. */
+	private static final byte[] ZERO_PAGE = new byte[PAGE_SIZE];
+	/** Tamanho, em bytes, do bloco com chave de proteção própria (800h, como no SIC/XE). */
+	public static final int KEY_BLOCK_SIZE = 2048;
+	private static final int KEY_BITS = 11;
+
+	private final MemoryStorage storage;
+	private final int size;
+
+	/** Snapshot igual à memória, exceto nas páginas marcadas em {@link #dirtyPages}. */
+	private Snapshot base;
+	/** Época (bitmap de páginas) das páginas escritas desde {@link #base}; {@code null} sem snapshot. */
+	private long[] dirtyPages;
+
+	/**
+	 * Bitmap (1 bit por página) das páginas escritas desde o último
+	 * {@link #fold()}; {@code null} enquanto não houver épocas. Cada escrita
+	 * custa um único OR aqui, qualquer que seja o número de épocas.
+	 */
+	private long[] written;
+	/** Bitmaps das épocas abertas ({@link Epoch} e {@link #dirtyPages}). */
+	private long[][] epochs = new long[0][];
+
+	/** Bitmap (1 bit por byte) dos bytes marcados como código; {@code null} se ninguém observa. */
+	private long[] codeMap;
+	private CodeWriteListener[] codeListeners = new CodeWriteListener[0];
+
+	/** Bitmaps (1 bit por byte) dos watchpoints de leitura/escrita; {@code null} se não houver. */
+	private long[] readWatch, writeWatch;
+	private int watchHit = -1;
+	private boolean watchHitWrite;
+
+	/** Observador das escritas (valor anterior de cada byte); {@code null} se não houver. */
+	private WriteJournal journal;
+
+	/** Contadores de acesso; {@code null} se desligados. */
+	private AccessHeatmap heatmap;
+
+	/** Chave de proteção (0–15) de cada bloco; {@code null} enquanto todas forem 0. */
+	private byte[] storageKeys;
+	/** Chave de acesso das escritas; 0 (supervisor) escreve em qualquer bloco. */
+	private int accessKey;
+
+	/** Faixas mapeadas em dispositivos, ordenadas por endereço. */
+	private MappedRange[] mappings = new MappedRange[0];
+	/** Bitmap (1 bit por página) das páginas com alguma faixa mapeada; {@code null} se não houver. */
+	private long[] mmioPages;
 
 	/**
 	 * Cria memória com o tamanho especificado.
@@ -21,7 +79,17 @@ public class Memory {
 	 * @param sizeInBytes número de bytes de memória
 	 */
 	public Memory(int sizeInBytes) {
-		this.data = new byte[sizeInBytes];
+		this(new HeapStorage(sizeInBytes));
+	}
+
+	/**
+	 * Cria memória sobre um armazenamento já alocado.
+	 *
+	 * @param storage armazenamento (heap, fora do heap, arquivo mapeado...)
+	 */
+	Memory(MemoryStorage storage) {
+		this.storage = storage;
+		this.size    = storage.size();
 	}
 
 	/**
@@ -33,10 +101,21 @@ public class Memory {
 	 */
 	public byte[] readWord(int wordIndex) {
 		int pos = wordIndex * 3;
-		if (pos + 3 > data.length) {
+		if (pos + 3 > size) {
 			throw new IndexOutOfBoundsException("Leitura fora dos limites da memória.");
 		}
-		return Arrays.copyOfRange(data, pos, pos + 3);
+		if (mmioPages != null && (isMmio(pos) || isMmio(pos + 2))) {
+			return new byte[]{(byte) readByte(pos), (byte) readByte(pos + 1), (byte) readByte(pos + 2)};
+		}
+		if (readWatch != null) {
+			checkWatch(readWatch, pos, false);
+			checkWatch(readWatch, pos + 1, false);
+			checkWatch(readWatch, pos + 2, false);
+		}
+		if (heatmap != null) heatmap.recordRead(pos);
+		byte[] word = new byte[3];
+		storage.copyOut(pos, word, 0, 3);
+		return word;
 	}
 
 	/**
@@ -47,10 +126,13 @@ public class Memory {
 	 * @throws IndexOutOfBoundsException se fora do range
 	 */
 	public int readByte(int address) {
-		if (address < 0 || address >= data.length) {
+		if (address < 0 || address >= size) {
 			throw new IndexOutOfBoundsException("Leitura fora dos limites da memória.");
 		}
-		return data[address] & 0xFF;
+		if (readWatch != null) checkWatch(readWatch, address, false);
+		if (heatmap != null) heatmap.recordRead(address);
+		if (mmioPages != null && isMmio(address)) return mmioRead(address);
+		return storage.get(address);
 	}
 
 	/**
@@ -66,10 +148,143 @@ public class Memory {
 			throw new IllegalArgumentException("Palavra deve ter 3 bytes.");
 		}
 		int pos = wordIndex * 3;
-		if (pos + 3 > data.length) {
+		if (pos + 3 > size) {
+			throw new IndexOutOfBoundsException("Gravação fora dos limites da memória.");
+		}
+		if (storageKeys != null) {
+			checkKey(pos);
+			checkKey(pos + 2);
+		}
+		if (mmioPages != null && (isMmio(pos) || isMmio(pos + 2))) {
+			for (int i = 0; i < 3; i++) writeByte(pos + i, word[i]);
+			return;
+		}
+		if (journal != null) {
+			journal.beforeWrite(pos, storage.get(pos));
+			journal.beforeWrite(pos + 1, storage.get(pos + 1));
+			journal.beforeWrite(pos + 2, storage.get(pos + 2));
+		}
+		storage.copyIn(pos, word, 0, 3);
+		if (heatmap != null) heatmap.recordWrite(pos);
+		if (written != null) {
+			markWritten(pos);
+			markWritten(pos + 2);
+		}
+		if (writeWatch != null) {
+			checkWatch(writeWatch, pos, true);
+			checkWatch(writeWatch, pos + 1, true);
+			checkWatch(writeWatch, pos + 2, true);
+		}
+		if (codeMap != null) {
+			checkCode(pos);
+			checkCode(pos + 1);
+			checkCode(pos + 2);
+		}
+	}
+
+	/**
+	 * Lê a palavra de 3 bytes (big-endian) que começa no byte {@code address},
+	 * sem alocar e com uma única checagem de limites.
+	 *
+	 * @param address endereço do primeiro byte (não precisa ser múltiplo de 3)
+	 * @return valor de 24 bits com sinal estendido para 32 bits
+	 * @throws IndexOutOfBoundsException se ultrapassar limites
+	 */
+	public int readWord24(int address) {
+		if (address < 0 || address + 3 > size) {
+			throw new IndexOutOfBoundsException("Leitura fora dos limites da memória.");
+		}
+		if (mmioPages != null && (isMmio(address) || isMmio(address + 2))) {
+			return ((readByte(address) << 24) | (readByte(address + 1) << 16) | (readByte(address + 2) << 8)) >> 8;
+		}
+		if (readWatch != null) {
+			checkWatch(readWatch, address, false);
+			checkWatch(readWatch, address + 1, false);
+			checkWatch(readWatch, address + 2, false);
+		}
+		if (heatmap != null) heatmap.recordRead(address);
+		return (storage.getWord(address) << 8) >> 8;
+	}
+
+	/**
+	 * Lê um byte para exibição (tabela de memória, dumps de log), sem os
+	 * efeitos de um acesso do programa: não conta no mapa de calor, não
+	 * dispara watchpoints e não chega a dispositivos mapeados, cujas faixas
+	 * leem como 0.
+	 *
+	 * @param address endereço do byte
+	 * @return valor (0–255)
+	 * @throws IndexOutOfBoundsException se fora do range
+	 */
+	public int peekByte(int address) {
+		if (address < 0 || address >= size) {
+			throw new IndexOutOfBoundsException("Leitura fora dos limites da memória.");
+		}
+		if (mmioPages != null && isMmio(address) && rangeAt(address) != null) return 0;
+		return storage.get(address);
+	}
+
+	/**
+	 * Lê uma palavra para exibição, sem os efeitos de um acesso do programa
+	 * (ver {@link #peekByte(int)}).
+	 *
+	 * @param address endereço do primeiro byte
+	 * @return valor de 24 bits com sinal estendido para 32 bits
+	 * @throws IndexOutOfBoundsException se ultrapassar limites
+	 */
+	public int peekWord24(int address) {
+		if (address < 0 || address + 3 > size) {
+			throw new IndexOutOfBoundsException("Leitura fora dos limites da memória.");
+		}
+		if (mmioPages != null && (isMmio(address) || isMmio(address + 2))) {
+			return ((peekByte(address) << 24) | (peekByte(address + 1) << 16) | (peekByte(address + 2) << 8)) >> 8;
+		}
+		return (storage.getWord(address) << 8) >> 8;
+	}
+
+	/**
+	 * Grava os 24 bits baixos de {@code value} (big-endian) a partir do byte
+	 * {@code address}, sem alocar e com uma única checagem de limites.
+	 *
+	 * @param address endereço do primeiro byte (não precisa ser múltiplo de 3)
+	 * @param value   valor a gravar (bits acima do 24º são ignorados)
+	 * @throws IndexOutOfBoundsException se ultrapassar limites
+	 */
+	public void writeWord24(int address, int value) {
+		if (address < 0 || address + 3 > size) {
 			throw new IndexOutOfBoundsException("Gravação fora dos limites da memória.");
 		}
-		System.arraycopy(word, 0, data, pos, 3);
+		if (storageKeys != null) {
+			checkKey(address);
+			checkKey(address + 2);
+		}
+		if (mmioPages != null && (isMmio(address) || isMmio(address + 2))) {
+			writeByte(address, value >>> 16);
+			writeByte(address + 1, value >>> 8);
+			writeByte(address + 2, value);
+			return;
+		}
+		if (journal != null) {
+			journal.beforeWrite(address, storage.get(address));
+			journal.beforeWrite(address + 1, storage.get(address + 1));
+			journal.beforeWrite(address + 2, storage.get(address + 2));
+		}
+		storage.setWord(address, value);
+		if (heatmap != null) heatmap.recordWrite(address);
+		if (written != null) {
+			markWritten(address);
+			markWritten(address + 2);
+		}
+		if (writeWatch != null) {
+			checkWatch(writeWatch, address, true);
+			checkWatch(writeWatch, address + 1, true);
+			checkWatch(writeWatch, address + 2, true);
+		}
+		if (codeMap != null) {
+			checkCode(address);
+			checkCode(address + 1);
+			checkCode(address + 2);
+		}
 	}
 
 	/**
@@ -80,27 +295,717 @@ public class Memory {
 	 * @throws IndexOutOfBoundsException se fora do range
 	 */
 	public void writeByte(int address, int value) {
-		if (address < 0 || address >= data.length) {
+		if (address < 0 || address >= size) {
+			throw new IndexOutOfBoundsException("Gravação fora dos limites da memória.");
+		}
+		if (storageKeys != null) checkKey(address);
+		if (mmioPages != null && isMmio(address) && mmioWrite(address, value)) return;
+		if (journal != null) journal.beforeWrite(address, storage.get(address));
+		storage.set(address, value);
+		if (heatmap != null) heatmap.recordWrite(address);
+		if (written != null) markWritten(address);
+		if (writeWatch != null) checkWatch(writeWatch, address, true);
+		if (codeMap != null) checkCode(address);
+	}
+
+	/**
+	 * Copia {@code bytes} para a memória a partir de {@code address}.
+	 *
+	 * @param address primeiro byte de destino
+	 * @param bytes   dados a gravar
+	 * @throws IndexOutOfBoundsException se ultrapassar os limites
+	 */
+	public void writeBytes(int address, byte[] bytes) {
+		if (address < 0 || address + bytes.length > size) {
 			throw new IndexOutOfBoundsException("Gravação fora dos limites da memória.");
 		}
-		data[address] = (byte)(value & 0xFF);
+		if (storageKeys != null && bytes.length > 0) {
+			for (int b = address >>> KEY_BITS; b <= (address + bytes.length - 1) >>> KEY_BITS; b++) {
+				checkKey(Math.max(address, b << KEY_BITS));
+			}
+		}
+		if (mmioPages != null && bytes.length > 0 && anyMmio(address, bytes.length)) {
+			for (int i = 0; i < bytes.length; i++) writeByte(address + i, bytes[i]);
+			return;
+		}
+		if (journal != null) {
+			for (int i = 0; i < bytes.length; i++) journal.beforeWrite(address + i, storage.get(address + i));
+		}
+		storage.copyIn(address, bytes, 0, bytes.length);
+		if (heatmap != null) {
+			for (int i = 0; i < bytes.length; i++) heatmap.recordWrite(address + i);
+		}
+		if (written != null && bytes.length > 0) markWritten(address, bytes.length);
+		if (writeWatch != null || codeMap != null) {
+			for (int a = address; a < address + bytes.length; a++) {
+				if (writeWatch != null) checkWatch(writeWatch, a, true);
+				if (codeMap != null) checkCode(a);
+			}
+		}
+	}
+
+	/**
+	 * Define o observador chamado antes de cada escrita de byte.
+	 *
+	 * @param journal observador, ou {@code null} para desligar
+	 */
+	public void setWriteJournal(WriteJournal journal) {
+		this.journal = journal;
+	}
+
+	/**
+	 * Liga ou desliga a contagem de acessos.
+	 *
+	 * @param heatmap contadores (do tamanho desta memória), ou {@code null} para desligar
+	 */
+	public void setHeatmap(AccessHeatmap heatmap) {
+		this.heatmap = heatmap;
+	}
+
+	/** @return contadores de acesso, ou {@code null} se desligados */
+	public AccessHeatmap getHeatmap() {
+		return heatmap;
 	}
 
 	/** @return tamanho da memória em bytes */
 	public int getSize() {
-		return data.length;
+		return size;
 	}
 
-	/** Zera toda a memória (todos os bytes = 0). */
+	/**
+	 * Garante que o conteúdo chegou ao meio persistente (memória mapeada
+	 * com {@link MemoryFactory#mapped}); nas demais, não faz nada.
+	 */
+	public void flush() {
+		storage.flush();
+	}
+
+	/**
+	 * Zera toda a memória (todos os bytes = 0). Com
+	 * {@link MemoryFactory#GENERATIONAL} e {@link MemoryFactory#SPARSE}, o
+	 * custo não depende do tamanho: as páginas antigas passam a ler como zero
+	 * e só são zeradas de fato na próxima escrita.
+	 */
 	public void reset() {
-		Arrays.fill(data, (byte)0);
+		storage.clear();
+		if (written != null) markAllWritten();
+		if (codeMap != null) {
+			Arrays.fill(codeMap, 0L);
+			for (CodeWriteListener l : codeListeners) l.onCodeReset();
+		}
+	}
+
+	/* ------------------------------------------------------------------ */
+	/*                    Snapshots copy-on-write                         */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Estado imutável da memória, dividido em páginas de {@value #PAGE_SIZE}
+	 * bytes. Páginas não alteradas entre dois snapshots são o mesmo array,
+	 * compartilhado; por isso um snapshot pode ser restaurado em qualquer
+	 * memória do mesmo tamanho, inclusive de outras threads.
+	 */
+	public static final class Snapshot {
+		private final byte[][] pages;
+		private final int size;
+
+		private Snapshot(byte[][] pages, int size) {
+			this.pages = pages;
+			this.size  = size;
+		}
+
+		/** @return tamanho da memória capturada, em bytes */
+		public int size() {
+			return size;
+		}
+
+		/** @return número de páginas */
+		public int pageCount() {
+			return pages.length;
+		}
+
+		/**
+		 * Páginas cujo conteúdo pode ter mudado desde {@code since}: as que
+		 * não são compartilhadas entre os dois snapshots.
+		 *
+		 * @param since snapshot anterior da mesma memória, ou {@code null}
+		 * @return índices em ordem crescente (todas, se {@code since} for nulo
+		 *         ou de outro tamanho)
+		 */
+		public int[] changedPages(Snapshot since) {
+			int[] out = new int[pages.length];
+			int n = 0;
+			for (int p = 0; p < pages.length; p++) {
+				if (since == null || since.size != size || since.pages[p] != pages[p]) out[n++] = p;
+			}
+			return Arrays.copyOf(out, n);
+		}
+
+		/**
+		 * Copia uma página para {@code dst} (cópia em bloco).
+		 *
+		 * @param page índice da página
+		 * @param dst  destino; avança {@link #pageLength(int)} bytes
+		 */
+		public void writePage(int page, ByteBuffer dst) {
+			dst.put(pages[page]);
+		}
+
+		/**
+		 * @param page índice da página
+		 * @return bytes da página (a última pode ser menor que {@link #PAGE_SIZE})
+		 */
+		public int pageLength(int page) {
+			return pages[page].length;
+		}
+	}
+
+	/**
+	 * Captura o conteúdo atual. O primeiro snapshot copia a memória inteira;
+	 * os seguintes copiam apenas as páginas escritas desde o snapshot (ou
+	 * restauração) anterior e compartilham as demais.
+	 *
+	 * @return snapshot imutável
+	 */
+	public Snapshot snapshot() {
+		fold();
+		int n = pageCount();
+		byte[][] pages = new byte[n][];
+		for (int p = 0; p < n; p++) {
+			pages[p] = base == null || isDirty(p) ? copyPage(p) : base.pages[p];
+		}
+		base = new Snapshot(pages, size);
+		clearDirty();
+		return base;
+	}
+
+	/**
+	 * Volta ao conteúdo de {@code snapshot}, copiando apenas as páginas
+	 * escritas desde o último snapshot/restauração e as que diferem dele.
+	 * Restaurar o mesmo snapshot repetidas vezes custa O(páginas sujas).
+	 * Os observadores de código são avisados dos bytes marcados nas páginas
+	 * copiadas; watchpoints não disparam.
+	 *
+	 * @param snapshot snapshot de uma memória do mesmo tamanho
+	 * @return número de páginas copiadas
+	 * @throws IllegalArgumentException se os tamanhos forem diferentes
+	 */
+	public int restore(Snapshot snapshot) {
+		if (snapshot.size != size) {
+			throw new IllegalArgumentException("Snapshot de " + snapshot.size
+					+ " bytes não cabe numa memória de " + size + " bytes.");
+		}
+		fold();
+		int copied = 0;
+		if (base == snapshot) {
+			for (int w = 0; w < dirtyPages.length; w++) {
+				long bits = dirtyPages[w];
+				while (bits != 0) {
+					int p = (w << 6) + Long.numberOfTrailingZeros(bits);
+					bits &= bits - 1;
+					if (p < snapshot.pages.length) {
+						restorePage(snapshot, p);
+						copied++;
+					}
+				}
+			}
+		} else {
+			for (int p = 0; p < snapshot.pages.length; p++) {
+				if (base == null || isDirty(p) || base.pages[p] != snapshot.pages[p]) {
+					restorePage(snapshot, p);
+					copied++;
+				}
+			}
+		}
+		base = snapshot;
+		fold();                               // as páginas copiadas contam para as outras épocas
+		clearDirty();
+		return copied;
+	}
+
+	/**
+	 * Copia a memória inteira para {@code dst}, numa única cópia em bloco.
+	 *
+	 * @param dst destino; avança {@link #getSize()} bytes
+	 */
+	public void writeTo(ByteBuffer dst) {
+		storage.copyOut(0, dst, size);
+	}
+
+	/**
+	 * Substitui {@code length} bytes a partir de {@code address} pelo
+	 * conteúdo de {@code src}, numa única cópia em bloco. Como em
+	 * {@link #restore}, não passa pelo {@link WriteJournal} nem dispara
+	 * watchpoints; observadores de código são avisados.
+	 *
+	 * @param address primeiro byte de destino
+	 * @param src     origem; avança {@code length} bytes
+	 * @param length  quantidade de bytes
+	 * @throws IndexOutOfBoundsException se ultrapassar os limites
+	 */
+	public void readFrom(int address, ByteBuffer src, int length) {
+		if (address < 0 || length < 0 || address + length > size) {
+			throw new IndexOutOfBoundsException("Gravação fora dos limites da memória.");
+		}
+		storage.copyIn(address, src, length);
+		if (written != null && length > 0) markWritten(address, length);
+		if (codeMap != null) {
+			for (int a = address; a < address + length; a++) checkCode(a);
+		}
+	}
+
+	private int pageCount() {
+		return (size + PAGE_SIZE - 1) >>> PAGE_BITS;
+	}
+
+	private boolean isDirty(int page) {
+		return (dirtyPages[page >>> 6] & (1L << page)) != 0;
+	}
+
+	private void markWritten(int address) {
+		written[address >>> (PAGE_BITS + 6)] |= 1L << (address >>> PAGE_BITS);
+	}
+
+	private void markWritten(int address, int length) {
+		for (int p = address >>> PAGE_BITS; p <= (address + length - 1) >>> PAGE_BITS; p++) {
+			written[p >>> 6] |= 1L << p;
+		}
+	}
+
+	private void markAllWritten() {
+		int pages = pageCount();
+		Arrays.fill(written, 0, pages >>> 6, -1L);
+		if ((pages & 63) != 0) written[pages >>> 6] |= (1L << pages) - 1;
+	}
+
+	private void clearDirty() {
+		if (dirtyPages == null) dirtyPages = openEpoch(false);
+		else Arrays.fill(dirtyPages, 0L);
+	}
+
+	private byte[] copyPage(int page) {
+		int from = page << PAGE_BITS;
+		int length = Math.min(PAGE_SIZE, size - from);
+		if (length == PAGE_SIZE && storage.isZero(from, length)) return ZERO_PAGE;
+		byte[] copy = new byte[length];
+		storage.copyOut(from, copy, 0, copy.length);
+		return copy;
+	}
+
+	private void restorePage(Snapshot snapshot, int page) {
+		byte[] src = snapshot.pages[page];
+		int from = page << PAGE_BITS;
+		storage.copyIn(from, src, 0, src.length);
+		if (written != null) markWritten(from);
+		if (codeMap != null) {
+			for (int a = from; a < from + src.length; a++) checkCode(a);
+		}
+	}
+
+	/* ------------------------------------------------------------------ */
+	/*                       Proteção de memória                          */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Define a chave de proteção do bloco de {@value #KEY_BLOCK_SIZE} bytes
+	 * que contém {@code address} (efeito da instrução SSK). As escritas nesse
+	 * bloco passam a exigir chave de acesso 0 ou igual a {@code key}; leituras
+	 * não são restringidas. Não verifica privilégio: é a operação do supervisor.
+	 *
+	 * @param address qualquer endereço do bloco
+	 * @param key     chave (só os 4 bits baixos são usados)
+	 * @throws IndexOutOfBoundsException se {@code address} estiver fora da memória
+	 */
+	public void setStorageKey(int address, int key) {
+		if (address < 0 || address >= size) {
+			throw new IndexOutOfBoundsException("Endereço fora dos limites da memória.");
+		}
+		if (storageKeys == null) {
+			if ((key & 0xF) == 0) return;
+			storageKeys = new byte[(size + KEY_BLOCK_SIZE - 1) >>> KEY_BITS];
+		}
+		storageKeys[address >>> KEY_BITS] = (byte) (key & 0xF);
+	}
+
+	/**
+	 * @param address qualquer endereço do bloco
+	 * @return chave de proteção do bloco (0 se nunca definida)
+	 */
+	public int getStorageKey(int address) {
+		return storageKeys == null ? 0 : storageKeys[address >>> KEY_BITS];
+	}
+
+	/** Volta todas as chaves de bloco a 0 (sem proteção). */
+	public void clearStorageKeys() {
+		storageKeys = null;
+	}
+
+	/**
+	 * Define a chave de acesso usada pelas escritas seguintes, isto é, a do
+	 * programa em execução. 0 é a chave do supervisor.
+	 *
+	 * @param key chave (só os 4 bits baixos são usados)
+	 */
+	public void setAccessKey(int key) {
+		this.accessKey = key & 0xF;
+	}
+
+	/** @return chave de acesso em uso */
+	public int getAccessKey() {
+		return accessKey;
+	}
+
+	/** Uma consulta ao vetor de chaves por escrita (duas se a palavra cruzar blocos). */
+	private void checkKey(int address) {
+		int key = storageKeys[address >>> KEY_BITS];
+		if (key != accessKey && accessKey != 0) throw new ProtectionException(address, key, accessKey);
+	}
+
+	/* ------------------------------------------------------------------ */
+	/*                      Dispositivos mapeados                         */
+	/* ------------------------------------------------------------------ */
+
+	/** Faixa [{@code start}, {@code end}) entregue a {@code device}. */
+	private record MappedRange(int start, int end, MemoryMappedDevice device) { }
+
+	/**
+	 * Mapeia {@code length} bytes a partir de {@code address} em
+	 * {@code device}. Leituras e escritas de dados na faixa vão ao
+	 * dispositivo, byte a byte; palavras que tocam a faixa são divididas
+	 * em bytes. Chaves de proteção, watchpoints e o mapa de calor valem
+	 * como na RAM, mas essas escritas não passam pelo {@link WriteJournal},
+	 * não marcam páginas escritas e não entram em snapshots: o estado é do
+	 * dispositivo. Snapshot, restauração, reset e checkpoints continuam
+	 * tratando a RAM por baixo da faixa.
+	 *
+	 * <p>As páginas ({@value #PAGE_SIZE} bytes) que contêm alguma faixa
+	 * ficam marcadas num bitmap; sem mapeamentos, o acesso à RAM paga só
+	 * um teste de nulo previsível.</p>
+	 *
+	 * @param address primeiro byte da faixa
+	 * @param length  tamanho da faixa, em bytes
+	 * @param device  destino dos acessos
+	 * @throws IndexOutOfBoundsException se a faixa sair da memória
+	 * @throws IllegalArgumentException se a faixa cruzar outra já mapeada
+	 */
+	public void map(int address, int length, MemoryMappedDevice device) {
+		Objects.requireNonNull(device, "device");
+		if (length <= 0 || address < 0 || address > size - length) {
+			throw new IndexOutOfBoundsException("Faixa mapeada fora dos limites da memória.");
+		}
+		for (MappedRange r : mappings) {
+			if (address < r.end && r.start < address + length) {
+				throw new IllegalArgumentException(String.format("Faixa %06X-%06X já mapeada.", r.start, r.end - 1));
+			}
+		}
+		MappedRange[] next = Arrays.copyOf(mappings, mappings.length + 1);
+		next[mappings.length] = new MappedRange(address, address + length, device);
+		Arrays.sort(next, Comparator.comparingInt(MappedRange::start));
+		mappings = next;
+		rebuildMmioPages();
+	}
+
+	/**
+	 * Desfaz o mapeamento que começa em {@code address}; a faixa volta a ser RAM.
+	 *
+	 * @param address primeiro byte da faixa
+	 * @return <b>false</b> se não havia faixa começando ali
+	 */
+	public boolean unmap(int address) {
+		for (int i = 0; i < mappings.length; i++) {
+			if (mappings[i].start == address) {
+				MappedRange[] next = new MappedRange[mappings.length - 1];
+				System.arraycopy(mappings, 0, next, 0, i);
+				System.arraycopy(mappings, i + 1, next, i, next.length - i);
+				mappings = next;
+				rebuildMmioPages();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param address endereço qualquer
+	 * @return dispositivo mapeado em {@code address}, ou {@code null} se for RAM
+	 */
+	public MemoryMappedDevice getMappedDevice(int address) {
+		MappedRange r = mmioPages == null ? null : rangeAt(address);
+		return r == null ? null : r.device;
+	}
+
+	private boolean isMmio(int address) {
+		return (mmioPages[address >>> (PAGE_BITS + 6)] & (1L << (address >>> PAGE_BITS))) != 0;
+	}
+
+	private boolean anyMmio(int address, int length) {
+		for (int p = address >>> PAGE_BITS; p <= (address + length - 1) >>> PAGE_BITS; p++) {
+			if ((mmioPages[p >>> 6] & (1L << p)) != 0) return true;
+		}
+		return false;
+	}
+
+	/** Busca binária da faixa que contém {@code address}; {@code null} se nenhuma. */
+	private MappedRange rangeAt(int address) {
+		int lo = 0, hi = mappings.length - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			MappedRange r = mappings[mid];
+			if (address < r.start) hi = mid - 1;
+			else if (address >= r.end) lo = mid + 1;
+			else return r;
+		}
+		return null;
+	}
+
+	/** Leitura numa página marcada: o dispositivo, ou a RAM se o byte estiver fora das faixas. */
+	private int mmioRead(int address) {
+		MappedRange r = rangeAt(address);
+		return r == null ? storage.get(address) : r.device.read(address - r.start) & 0xFF;
+	}
+
+	/** @return <b>false</b> se o byte estiver fora das faixas e deve ir para a RAM */
+	private boolean mmioWrite(int address, int value) {
+		MappedRange r = rangeAt(address);
+		if (r == null) return false;
+		r.device.write(address - r.start, value & 0xFF);
+		if (heatmap != null) heatmap.recordWrite(address);
+		if (writeWatch != null) checkWatch(writeWatch, address, true);
+		return true;
+	}
+
+	private void rebuildMmioPages() {
+		if (mappings.length == 0) {
+			mmioPages = null;
+			return;
+		}
+		long[] bits = new long[(pageCount() + 63) >>> 6];
+		for (MappedRange r : mappings) {
+			for (int p = r.start >>> PAGE_BITS; p <= (r.end - 1) >>> PAGE_BITS; p++) bits[p >>> 6] |= 1L << p;
+		}
+		mmioPages = bits;
+	}
+
+	/* ------------------------------------------------------------------ */
+	/*                     Épocas de páginas escritas                     */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Visão própria de um consumidor (interface, logger, snapshots...) sobre
+	 * as páginas de {@value #PAGE_SIZE} bytes escritas: cada época responde
+	 * "o que mudou desde a minha última consulta", independentemente das
+	 * outras. Uma época recém-aberta considera todas as páginas escritas.
+	 * Todas as formas de escrita contam, inclusive {@link #reset()},
+	 * {@link #restore} e {@link #readFrom}.
+	 */
+	public final class Epoch implements AutoCloseable {
+		private final long[] bits;
+
+		private Epoch() {
+			this.bits = openEpoch(true);
+		}
+
+		/**
+		 * Encerra a época corrente e começa outra.
+		 *
+		 * @return páginas escritas desde a chamada anterior (ou desde a
+		 *         abertura), em ordem crescente
+		 */
+		public int[] advance() {
+			fold();
+			int count = 0;
+			for (long b : bits) count += Long.bitCount(b);
+			int[] out = new int[count];
+			int k = 0;
+			for (int w = 0; w < bits.length; w++) {
+				long b = bits[w];
+				while (b != 0) {
+					out[k++] = (w << 6) + Long.numberOfTrailingZeros(b);
+					b &= b - 1;
+				}
+				bits[w] = 0;
+			}
+			return out;
+		}
+
+		/** @return <b>true</b> se alguma página foi escrita desde a última {@link #advance()} */
+		public boolean hasChanges() {
+			fold();
+			for (long b : bits) if (b != 0) return true;
+			return false;
+		}
+
+		/** @return a memória observada */
+		public Memory memory() {
+			return Memory.this;
+		}
+
+		/** Fecha a época; sem épocas abertas, as escritas não marcam nada. */
+		@Override
+		public void close() {
+			closeEpoch(bits);
+		}
+	}
+
+	/**
+	 * Abre uma época de páginas escritas.
+	 *
+	 * @return nova época, com todas as páginas marcadas
+	 */
+	public Epoch newEpoch() {
+		return new Epoch();
+	}
+
+	/** @return número de páginas de {@value #PAGE_SIZE} bytes */
+	public int getPageCount() {
+		return pageCount();
+	}
+
+	private long[] openEpoch(boolean allWritten) {
+		fold();
+		long[] bits = new long[(pageCount() + 63) >>> 6];
+		if (written == null) written = new long[bits.length];
+		if (allWritten) {
+			for (int p = 0; p < pageCount(); p++) bits[p >>> 6] |= 1L << p;
+		}
+		epochs = Arrays.copyOf(epochs, epochs.length + 1);
+		epochs[epochs.length - 1] = bits;
+		return bits;
+	}
+
+	private void closeEpoch(long[] bits) {
+		epochs = Arrays.stream(epochs).filter(e -> e != bits).toArray(long[][]::new);
+		if (epochs.length == 0) written = null;
+	}
+
+	/** Repassa as páginas escritas desde a última chamada para todas as épocas. */
+	private void fold() {
+		if (written == null) return;
+		for (int w = 0; w < written.length; w++) {
+			long b = written[w];
+			if (b == 0) continue;
+			for (long[] e : epochs) e[w] |= b;
+			written[w] = 0;
+		}
+	}
+
+	/* ------------------------------------------------------------------ */
+	/*                 Marcação de código (auto-modificação)              */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Registra um observador de escritas em bytes de código. Enquanto não
+	 * houver observadores, as escritas não fazem nenhuma verificação extra.
+	 *
+	 * @param listener observador (ex.: cache de instruções decodificadas)
+	 */
+	public void addCodeWriteListener(CodeWriteListener listener) {
+		codeListeners = Arrays.copyOf(codeListeners, codeListeners.length + 1);
+		codeListeners[codeListeners.length - 1] = listener;
+		if (codeMap == null) codeMap = new long[(size + 63) >>> 6];
+	}
+
+	/**
+	 * Remove um observador; o bitmap é descartado quando não resta nenhum.
+	 *
+	 * @param listener observador previamente registrado
+	 */
+	public void removeCodeWriteListener(CodeWriteListener listener) {
+		codeListeners = Arrays.stream(codeListeners)
+				.filter(l -> l != listener)
+				.toArray(CodeWriteListener[]::new);
+		if (codeListeners.length == 0) codeMap = null;
+	}
+
+	/**
+	 * Marca {@code length} bytes a partir de {@code address} como código:
+	 * a próxima escrita em qualquer um deles notifica o observador.
+	 *
+	 * @param address primeiro byte
+	 * @param length quantidade de bytes
+	 */
+	public void markCode(int address, int length) {
+		if (codeMap == null) return;
+		int end = Math.min(address + length, size);
+		for (int a = Math.max(address, 0); a < end; a++) {
+			codeMap[a >>> 6] |= 1L << a;
+		}
+	}
+
+	private void checkCode(int address) {
+		long bit = 1L << address;
+		int  idx = address >>> 6;
+		if ((codeMap[idx] & bit) != 0) {
+			codeMap[idx] &= ~bit;
+			for (CodeWriteListener l : codeListeners) l.onCodeWrite(address);
+		}
+	}
+
+	/* ------------------------------------------------------------------ */
+	/*                            Watchpoints                             */
+	/* ------------------------------------------------------------------ */
+
+	/**
+	 * Observa {@code length} bytes a partir de {@code address}: o primeiro
+	 * acesso do tipo pedido fica registrado até {@link #pollWatchHit()}.
+	 * Sem watchpoints, os acessos não fazem nenhuma verificação extra; com
+	 * eles, custam um teste de bit.
+	 *
+	 * @param address primeiro byte
+	 * @param length  quantidade de bytes
+	 * @param read    observar leituras
+	 * @param write   observar escritas
+	 */
+	public void addWatchpoint(int address, int length, boolean read, boolean write) {
+		if (read && readWatch == null) readWatch = new long[(size + 63) >>> 6];
+		if (write && writeWatch == null) writeWatch = new long[(size + 63) >>> 6];
+		int end = Math.min(address + length, size);
+		for (int a = Math.max(address, 0); a < end; a++) {
+			if (read) readWatch[a >>> 6] |= 1L << a;
+			if (write) writeWatch[a >>> 6] |= 1L << a;
+		}
+	}
+
+	/** Remove todos os watchpoints e descarta o acesso pendente. */
+	public void clearWatchpoints() {
+		readWatch = null;
+		writeWatch = null;
+		watchHit = -1;
+	}
+
+	/** @return <b>true</b> se há algum watchpoint */
+	public boolean hasWatchpoints() {
+		return readWatch != null || writeWatch != null;
+	}
+
+	/**
+	 * Consome o primeiro acesso observado desde a última chamada.
+	 *
+	 * @return endereço acessado, ou -1 se nenhum
+	 */
+	public int pollWatchHit() {
+		int hit = watchHit;
+		watchHit = -1;
+		return hit;
+	}
+
+	/** @return <b>true</b> se o último acesso devolvido por {@link #pollWatchHit()} foi escrita */
+	public boolean isWatchHitWrite() {
+		return watchHitWrite;
+	}
+
+	private void checkWatch(long[] map, int address, boolean write) {
+		if (watchHit < 0 && (map[address >>> 6] & (1L << address)) != 0) {
+			watchHit = address;
+			watchHitWrite = write;
+		}
 	}
 
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		for (int i = 0; i < data.length; i++) {
-			sb.append(String.format("%02X ", data[i]));
+		for (int i = 0; i < size; i++) {
+			sb.append(String.format("%02X ", storage.get(i)));
 			if ((i + 1) % 16 == 0) sb.append("\n");
 		}
 		return sb.toString();
@@ -0,0 +1,83 @@
+package sicxesimulator.hardware.memory;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * Cria a {@link Memory} de uma máquina, escolhendo onde os bytes ficam.
+ *
+ * <ul>
+ *   <li>{@link #HEAP}: um {@code byte[]} no heap (padrão);</li>
+ *   <li>{@link #OFF_HEAP}: um {@link ByteBuffer} direto, fora do heap. Serve
+ *       para manter muitas máquinas com o espaço de endereçamento inteiro
+ *       (1 MB) sem pressionar o coletor de lixo, que não varre esse espaço.
+ *       A área é liberada quando a memória deixa de ser referenciada.</li>
+ *   <li>{@link #GENERATIONAL}: um {@code byte[]} no heap com reset O(1),
+ *       para pools com troca rápida de trabalhos; cada acesso paga a consulta
+ *       ao carimbo de geração da página, por isso não é o padrão;</li>
+ *   <li>{@link #SPARSE}: páginas de 4 KB alocadas na primeira escrita; o
+ *       que nunca foi escrito lê como zero sem ocupar espaço. Permite dar a
+ *       cada máquina de um pool o espaço de 1 MB alcançável pelo formato 4
+ *       pagando só pelas páginas que o programa de fato usa. Os snapshots
+ *       também compartilham uma única página de zeros;</li>
+ *   <li>{@link #mapped(Path)}: o próprio arquivo, mapeado em memória. O
+ *       conteúdo inicial é o do arquivo (partida instantânea a partir de uma
+ *       imagem pronta) e as escritas voltam para ele, persistindo entre
+ *       execuções;</li>
+ *   <li>{@link #mappedPrivate(Path)}: o arquivo mapeado com cópia na escrita.
+ *       Vários processos compartilham as páginas da imagem no cache do
+ *       sistema operacional; cada um só copia as páginas em que escreve, e o
+ *       arquivo nunca é alterado.</li>
+ * </ul>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface MemoryFactory {
+
+    /** Memória num {@code byte[]} do heap. */
+    MemoryFactory HEAP = Memory::new;
+
+    /** Memória num {@link ByteBuffer} direto, fora do heap. */
+    MemoryFactory OFF_HEAP = sizeInBytes -> new Memory(new BufferStorage(ByteBuffer.allocateDirect(sizeInBytes)));
+
+    /** Memória no heap com reset O(1) por páginas carimbadas com a geração. */
+    MemoryFactory GENERATIONAL = sizeInBytes -> new Memory(new GenerationStorage(sizeInBytes));
+
+    /** Memória esparsa, com páginas alocadas sob demanda. */
+    MemoryFactory SPARSE = sizeInBytes -> new Memory(new SparseStorage(sizeInBytes));
+
+    /**
+     * @param sizeInBytes tamanho da memória, em bytes
+     * @return memória nova (zerada, exceto nas memórias mapeadas, que trazem
+     *         o conteúdo do arquivo)
+     * @throws UncheckedIOException se uma memória mapeada não puder ser aberta
+     */
+    Memory create(int sizeInBytes);
+
+    /**
+     * Memória gravada diretamente em {@code file}, criado ou estendido até o
+     * tamanho pedido. Máquinas criadas pela mesma fábrica compartilham o
+     * conteúdo; {@link Memory#flush()} força a gravação no disco.
+     *
+     * @param file arquivo da imagem
+     * @return fábrica de memórias mapeadas
+     */
+    static MemoryFactory mapped(Path file) {
+        return sizeInBytes -> new Memory(BufferStorage.map(file, sizeInBytes, FileChannel.MapMode.READ_WRITE));
+    }
+
+    /**
+     * Memória inicializada com a imagem {@code file}, que é só lida: as
+     * escritas ficam em cópias privadas das páginas alteradas.
+     *
+     * @param file imagem com ao menos o tamanho da memória
+     * @return fábrica de memórias mapeadas com cópia na escrita
+     */
+    static MemoryFactory mappedPrivate(Path file) {
+        return sizeInBytes -> new Memory(BufferStorage.map(file, sizeInBytes, FileChannel.MapMode.PRIVATE));
+    }
+}
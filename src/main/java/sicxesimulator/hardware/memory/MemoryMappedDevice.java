@@ -0,0 +1,55 @@
+package sicxesimulator.hardware.memory;
+
+/**
+ * Dispositivo mapeado numa faixa do espaço de endereçamento
+ * ({@link Memory#map}): leituras e escritas de dados nessa faixa chegam
+ * aqui em vez de irem à RAM, byte a byte, com o deslocamento relativo ao
+ * início da faixa.
+ *
+ * <p>Serve para registradores de controle e buffers de dispositivos de alta
+ * vazão (framebuffer, bloco de disco), que o programa acessa com LDA/STA/
+ * LDCH/STCH em vez de um RD/WD por byte.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public interface MemoryMappedDevice {
+
+    /**
+     * Lê um byte do dispositivo.
+     *
+     * @param offset deslocamento dentro da faixa mapeada
+     * @return valor (0–255)
+     */
+    int read(int offset);
+
+    /**
+     * Escreve um byte no dispositivo.
+     *
+     * @param offset deslocamento dentro da faixa mapeada
+     * @param value  valor (só o byte baixo é usado)
+     */
+    void write(int offset, int value);
+
+    /**
+     * Dispositivo que é só um buffer do hospedeiro: o programa lê e escreve
+     * em {@code buffer} diretamente, e o hospedeiro consome ou preenche o
+     * mesmo array (ex.: um framebuffer desenhado pela interface).
+     *
+     * @param buffer área compartilhada; o mapeamento não deve passar do seu tamanho
+     * @return dispositivo sobre {@code buffer}
+     */
+    static MemoryMappedDevice buffer(byte[] buffer) {
+        return new MemoryMappedDevice() {
+            @Override
+            public int read(int offset) {
+                return buffer[offset] & 0xFF;
+            }
+
+            @Override
+            public void write(int offset, int value) {
+                buffer[offset] = (byte) value;
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package sicxesimulator.hardware.memory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Armazenamento cru por trás de uma {@link Memory}: só guarda bytes. Limites,
+ * watchpoints, snapshots e observadores ficam na {@link Memory}, que valida
+ * os endereços antes de chegar aqui.
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+interface MemoryStorage {
+
+    /** @return tamanho, em bytes */
+    int size();
+
+    /** @return byte em {@code address} (0–255) */
+    int get(int address);
+
+    /** Grava o byte baixo de {@code value} em {@code address}. */
+    void set(int address, int value);
+
+    /** @return palavra de 3 bytes (big-endian) em {@code address}, sem sinal */
+    int getWord(int address);
+
+    /** Grava os 24 bits baixos de {@code value} (big-endian) em {@code address}. */
+    void setWord(int address, int value);
+
+    /** Copia {@code length} bytes a partir de {@code address} para {@code dst[offset..]}. */
+    void copyOut(int address, byte[] dst, int offset, int length);
+
+    /** Copia {@code length} bytes de {@code src[offset..]} para {@code address}. */
+    void copyIn(int address, byte[] src, int offset, int length);
+
+    /** Copia {@code length} bytes a partir de {@code address} para {@code dst}. */
+    void copyOut(int address, ByteBuffer dst, int length);
+
+    /** Copia {@code length} bytes de {@code src} para {@code address}. */
+    void copyIn(int address, ByteBuffer src, int length);
+
+    /**
+     * @return <b>true</b> se os {@code length} bytes a partir de {@code address}
+     *         são sabidamente zero sem precisar lê-los (ex.: página não alocada);
+     *         <b>false</b> se não se sabe
+     */
+    default boolean isZero(int address, int length) {
+        return false;
+    }
+
+    /** Zera todos os bytes. */
+    void clear();
+
+    /** Grava no meio persistente o que ainda estiver só em cache (nada, se não houver). */
+    default void flush() { }
+}
@@ -0,0 +1,48 @@
+package sicxesimulator.hardware.memory;
+
+import java.io.Serial;
+
+/**
+ * Escrita recusada pela proteção de memória: a chave de acesso corrente não
+ * é 0 nem igual à chave do bloco ({@link Memory#setStorageKey}), ou uma
+ * instrução privilegiada (SSK) rodou com chave diferente de 0.
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class ProtectionException extends RuntimeException {
+
+    @Serial private static final long serialVersionUID = 1L;
+
+    private final int address;
+    private final int storageKey;
+    private final int accessKey;
+
+    /**
+     * @param address    endereço acessado
+     * @param storageKey chave do bloco
+     * @param accessKey  chave de acesso em uso
+     */
+    public ProtectionException(int address, int storageKey, int accessKey) {
+        super(String.format("Violação de proteção em %06X (chave do bloco %d, chave de acesso %d)",
+                address, storageKey, accessKey));
+        this.address    = address;
+        this.storageKey = storageKey;
+        this.accessKey  = accessKey;
+    }
+
+    /** @return endereço acessado */
+    public int getAddress() {
+        return address;
+    }
+
+    /** @return chave do bloco */
+    public int getStorageKey() {
+        return storageKey;
+    }
+
+    /** @return chave de acesso em uso */
+    public int getAccessKey() {
+        return accessKey;
+    }
+}
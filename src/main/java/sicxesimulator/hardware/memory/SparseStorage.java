@@ -0,0 +1,166 @@
+package sicxesimulator.hardware.memory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Armazenamento esparso em páginas de {@value #PAGE_SIZE} bytes, alocadas na
+ * primeira escrita.
+ *
+ * <p>A tabela de páginas tem um único nível: {@code pages[address >>> 12]}.
+ * As entradas ainda não escritas apontam todas para a mesma página de zeros,
+ * compartilhada e nunca alterada, de modo que a leitura não tem desvio para
+ * página ausente; só a escrita compara a entrada com essa página antes de
+ * gravar. Escrever zeros numa página ausente (restauração, checkpoint) não a
+ * aloca, e {@link #clear()} devolve todas as páginas.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+final class SparseStorage implements MemoryStorage {
+
+    /** Tamanho da página de alocação, em bytes. */
+    static final int PAGE_SIZE = 4096;
+    private static final int PAGE_BITS = 12;
+    private static final int OFFSET_MASK = PAGE_SIZE - 1;
+    private static final byte[] ZERO = new byte[PAGE_SIZE];
+
+    private final int size;
+    private final byte[][] pages;
+    private int allocated;
+
+    SparseStorage(int sizeInBytes) {
+        this.size  = sizeInBytes;
+        this.pages = new byte[(sizeInBytes + PAGE_SIZE - 1) >>> PAGE_BITS][];
+        Arrays.fill(pages, ZERO);
+    }
+
+    /** @return páginas alocadas até agora */
+    int allocatedPages() {
+        return allocated;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int get(int address) {
+        return pages[address >>> PAGE_BITS][address & OFFSET_MASK] & 0xFF;
+    }
+
+    @Override
+    public void set(int address, int value) {
+        page(address)[address & OFFSET_MASK] = (byte) value;
+    }
+
+    @Override
+    public int getWord(int address) {
+        int off = address & OFFSET_MASK;
+        if (off > PAGE_SIZE - 3) return (get(address) << 16) | (get(address + 1) << 8) | get(address + 2);
+        byte[] p = pages[address >>> PAGE_BITS];
+        return ((p[off] & 0xFF) << 16) | ((p[off + 1] & 0xFF) << 8) | (p[off + 2] & 0xFF);
+    }
+
+    @Override
+    public void setWord(int address, int value) {
+        int off = address & OFFSET_MASK;
+        if (off > PAGE_SIZE - 3) {
+            set(address, value >>> 16);
+            set(address + 1, value >>> 8);
+            set(address + 2, value);
+            return;
+        }
+        byte[] p = page(address);
+        p[off]     = (byte) (value >>> 16);
+        p[off + 1] = (byte) (value >>> 8);
+        p[off + 2] = (byte) value;
+    }
+
+    @Override
+    public void copyOut(int address, byte[] dst, int offset, int length) {
+        while (length > 0) {
+            int off = address & OFFSET_MASK;
+            int n = Math.min(length, PAGE_SIZE - off);
+            System.arraycopy(pages[address >>> PAGE_BITS], off, dst, offset, n);
+            address += n;
+            offset  += n;
+            length  -= n;
+        }
+    }
+
+    @Override
+    public void copyIn(int address, byte[] src, int offset, int length) {
+        while (length > 0) {
+            int off = address & OFFSET_MASK;
+            int n = Math.min(length, PAGE_SIZE - off);
+            if (pages[address >>> PAGE_BITS] != ZERO || !isZero(src, offset, n)) {
+                System.arraycopy(src, offset, page(address), off, n);
+            }
+            address += n;
+            offset  += n;
+            length  -= n;
+        }
+    }
+
+    @Override
+    public void copyOut(int address, ByteBuffer dst, int length) {
+        while (length > 0) {
+            int off = address & OFFSET_MASK;
+            int n = Math.min(length, PAGE_SIZE - off);
+            dst.put(pages[address >>> PAGE_BITS], off, n);
+            address += n;
+            length  -= n;
+        }
+    }
+
+    @Override
+    public void copyIn(int address, ByteBuffer src, int length) {
+        byte[] chunk = null;
+        while (length > 0) {
+            int off = address & OFFSET_MASK;
+            int n = Math.min(length, PAGE_SIZE - off);
+            if (pages[address >>> PAGE_BITS] != ZERO) {
+                src.get(pages[address >>> PAGE_BITS], off, n);
+            } else {
+                if (chunk == null) chunk = new byte[PAGE_SIZE];
+                src.get(chunk, 0, n);
+                if (!isZero(chunk, 0, n)) System.arraycopy(chunk, 0, page(address), off, n);
+            }
+            address += n;
+            length  -= n;
+        }
+    }
+
+    @Override
+    public boolean isZero(int address, int length) {
+        for (int p = address >>> PAGE_BITS; p <= (address + length - 1) >>> PAGE_BITS; p++) {
+            if (pages[p] != ZERO) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(pages, ZERO);
+        allocated = 0;
+    }
+
+    // private
+
+    /** @return página de {@code address}, alocada se ainda for a de zeros */
+    private byte[] page(int address) {
+        byte[] p = pages[address >>> PAGE_BITS];
+        if (p == ZERO) {
+            p = new byte[PAGE_SIZE];
+            pages[address >>> PAGE_BITS] = p;
+            allocated++;
+        }
+        return p;
+    }
+
+    private static boolean isZero(byte[] src, int offset, int length) {
+        return Arrays.mismatch(src, offset, offset + length, ZERO, 0, length) < 0;
+    }
+}
@@ -0,0 +1,20 @@
+package sicxesimulator.hardware.memory;
+
+/**
+ * Observador chamado antes de cada byte escrito na {@link Memory}, com o
+ * valor que será sobrescrito.
+ *
+ * <p>Usado por logs de desfazer (execução reversa). Escritas feitas por
+ * {@link Memory#reset()} e {@link Memory#restore} não passam por aqui.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public interface WriteJournal {
+
+    /**
+     * @param address  endereço do byte
+     * @param oldValue valor atual do byte (0–255), antes da escrita
+     */
+    void beforeWrite(int address, int oldValue);
+}
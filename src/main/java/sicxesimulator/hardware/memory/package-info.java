@@ -3,10 +3,30 @@
  * <p>
  * Fornece a classe {@link sicxesimulator.hardware.memory.Memory}, que:
  * <ul>
- *   <li>Armazena os dados como um vetor de bytes;</li>
+ *   <li>Armazena os dados como um vetor de bytes, no heap (com reset O(1)
+ *       opcional), fora dele, num arquivo mapeado ou em páginas de 4 KB
+ *       alocadas na primeira escrita, conforme a {@link sicxesimulator.hardware.memory.MemoryFactory};</li>
  *   <li>Permite leitura e escrita de bytes e de palavras de 3 bytes (big-endian);</li>
  *   <li>Suporta operações de reset, dump em hexadecimal e consulta do tamanho;</li>
- *   <li>Garante validação de limites de acesso e alinhamento onde aplicável.</li>
+ *   <li>Garante validação de limites de acesso e alinhamento onde aplicável;</li>
+ *   <li>Notifica {@link sicxesimulator.hardware.memory.CodeWriteListener}s quando
+ *       bytes marcados como código são sobrescritos;</li>
+ *   <li>Registra o primeiro acesso a bytes sob watchpoint de leitura/escrita;</li>
+ *   <li>Informa a um {@link sicxesimulator.hardware.memory.WriteJournal} o
+ *       valor anterior de cada byte escrito;</li>
+ *   <li>Captura snapshots copy-on-write por página e os restaura copiando
+ *       apenas as páginas escritas desde então;</li>
+ *   <li>Mantém épocas independentes de páginas escritas, para que cada
+ *       consumidor atualize só o que mudou desde a sua última consulta;</li>
+ *   <li>Conta leituras, escritas e execuções por região num
+ *       {@link sicxesimulator.hardware.memory.AccessHeatmap}, exato ou por
+ *       amostragem, com exportação em CSV/JSON anotada com símbolos;</li>
+ *   <li>Protege blocos de 2 KB com chaves de 4 bits (SSK), recusando com
+ *       {@link sicxesimulator.hardware.memory.ProtectionException} as escritas
+ *       cuja chave de acesso não confere;</li>
+ *   <li>Entrega a {@link sicxesimulator.hardware.memory.MemoryMappedDevice}s
+ *       os acessos a faixas mapeadas (E/S mapeada em memória), marcando as
+ *       páginas dessas faixas num bitmap para que a RAM não pague a busca.</li>
  * </ul>
  * <p>
  * Este pacote não deve depender de camadas de CPU, controle ou decodificação,
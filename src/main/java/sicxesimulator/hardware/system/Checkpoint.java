@@ -0,0 +1,236 @@
+package sicxesimulator.hardware.system;
+
+import sicxesimulator.hardware.cpu.control.ControlUnit;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.memory.Memory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Formato de checkpoint persistente de uma {@link Machine}, usado por
+ * {@link Machine#saveCheckpoint} e {@link Machine#loadCheckpoint}.
+ *
+ * <p>Cada arquivo tem um cabeçalho fixo de {@value #HEADER_SIZE} bytes
+ * (registradores, PC, halted, contador de instruções, metadados do programa
+ * carregado e identificadores) seguido de:</p>
+ * <ul>
+ *   <li>checkpoint completo: a imagem crua da memória;</li>
+ *   <li>checkpoint incremental: os índices das páginas alteradas desde o
+ *       checkpoint anterior ({@code parentId}) e, em seguida, as páginas, cada
+ *       uma num espaço de {@link Memory#PAGE_SIZE} bytes.</li>
+ * </ul>
+ * <p>Leitura e escrita passam por um {@link MappedByteBuffer} com cópias em
+ * bloco, sem laço por byte em Java. Um incremental só é carregado depois da
+ * cadeia que o precede, começando num checkpoint completo.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class Checkpoint {
+
+    /** Tamanho do cabeçalho, em bytes. */
+    public static final int HEADER_SIZE = 256;
+    /** Tamanho máximo do nome do programa, em bytes UTF-8. */
+    public static final int MAX_NAME_BYTES = 128;
+
+    private static final int MAGIC   = 0x53584350;              // "SXCP"
+    private static final short VERSION = 1;
+    private static final short FLAG_INCREMENTAL = 1;
+    private static final short FLAG_HALTED      = 2;
+
+    /**
+     * Programa carregado na máquina no momento do checkpoint.
+     *
+     * @param name        nome do programa
+     * @param loadAddress endereço de carga
+     * @param length      tamanho, em bytes
+     * @param entryPoint  endereço de início
+     */
+    public record Program(String name, int loadAddress, int length, int entryPoint) { }
+
+    /**
+     * Cabeçalho de um arquivo de checkpoint.
+     *
+     * @param id          identificador deste checkpoint
+     * @param parentId    checkpoint anterior (incrementais) ou 0
+     * @param incremental se o corpo traz só páginas alteradas
+     * @param memorySize  tamanho da memória, em bytes
+     * @param pages       páginas gravadas no corpo
+     * @param cpu         estado da CPU
+     * @param program     programa carregado, ou {@code null}
+     */
+    public record Header(long id, long parentId, boolean incremental, int memorySize, int pages,
+                         ControlUnit.State cpu, Program program) { }
+
+    private Checkpoint() { }
+
+    /**
+     * Grava um checkpoint.
+     *
+     * @param file     arquivo de destino (substituído)
+     * @param memory   memória da máquina
+     * @param current  snapshot da memória no instante do checkpoint
+     * @param previous snapshot do checkpoint anterior (incremental), ou {@code null} (completo)
+     * @param parentId identificador do checkpoint anterior, se incremental
+     * @param cpu      estado da CPU
+     * @param program  programa carregado, ou {@code null}
+     * @return cabeçalho gravado
+     * @throws IOException em falha de E/S
+     */
+    static Header write(Path file, Memory memory, Memory.Snapshot current, Memory.Snapshot previous,
+                        long parentId, ControlUnit.State cpu, Program program) throws IOException {
+        boolean incremental = previous != null;
+        int[] pages = incremental ? current.changedPages(previous) : null;
+        long bodySize = incremental
+                ? (long) pages.length * (Integer.BYTES + Memory.PAGE_SIZE)
+                : memory.getSize();
+        Header header = new Header(newId(), incremental ? parentId : 0, incremental, memory.getSize(),
+                incremental ? pages.length : current.pageCount(), cpu, program);
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + bodySize);
+            writeHeader(buf, header);
+            buf.position(HEADER_SIZE);
+            if (incremental) {
+                for (int p : pages) buf.putInt(p);
+                int base = buf.position();
+                for (int i = 0; i < pages.length; i++) {
+                    buf.position(base + i * Memory.PAGE_SIZE);
+                    current.writePage(pages[i], buf);
+                }
+            } else {
+                memory.writeTo(buf);
+            }
+            buf.force();
+        }
+        return header;
+    }
+
+    /**
+     * Lê só o cabeçalho de um checkpoint.
+     *
+     * @param file arquivo de checkpoint
+     * @return cabeçalho
+     * @throws IOException em falha de E/S ou formato inválido
+     */
+    public static Header readHeader(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() < HEADER_SIZE) throw new IOException("Checkpoint truncado: " + file);
+            return readHeader(ch.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE), file);
+        }
+    }
+
+    /**
+     * Aplica o corpo de um checkpoint sobre {@code memory}.
+     *
+     * @param file   arquivo de checkpoint
+     * @param memory memória de destino, do tamanho gravado
+     * @return cabeçalho lido
+     * @throws IOException em falha de E/S ou formato inválido
+     */
+    static Header read(Path file, Memory memory) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() < HEADER_SIZE) throw new IOException("Checkpoint truncado: " + file);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            Header header = readHeader(buf, file);
+            if (header.memorySize() != memory.getSize())
+                throw new IOException("Checkpoint de " + header.memorySize() + " bytes, memória de " + memory.getSize());
+            long expected = HEADER_SIZE + (header.incremental()
+                    ? (long) header.pages() * (Integer.BYTES + Memory.PAGE_SIZE)
+                    : header.memorySize());
+            if (ch.size() < expected) throw new IOException("Checkpoint truncado: " + file);
+
+            buf.position(HEADER_SIZE);
+            if (header.incremental()) {
+                int[] pages = new int[header.pages()];
+                for (int i = 0; i < pages.length; i++) pages[i] = buf.getInt();
+                int base = buf.position();
+                for (int i = 0; i < pages.length; i++) {
+                    int address = pages[i] * Memory.PAGE_SIZE;
+                    if (address < 0 || address >= memory.getSize())
+                        throw new IOException("Página inválida no checkpoint: " + pages[i]);
+                    buf.position(base + i * Memory.PAGE_SIZE);
+                    memory.readFrom(address, buf, Math.min(Memory.PAGE_SIZE, memory.getSize() - address));
+                }
+            } else {
+                memory.readFrom(0, buf, header.memorySize());
+            }
+            return header;
+        }
+    }
+
+    // private
+
+    private static long newId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    private static void writeHeader(ByteBuffer buf, Header h) {
+        ControlUnit.State cpu = h.cpu();
+        buf.putInt(MAGIC);
+        buf.putShort(VERSION);
+        buf.putShort((short) ((h.incremental() ? FLAG_INCREMENTAL : 0) | (cpu.halted() ? FLAG_HALTED : 0)));
+        buf.putLong(h.id());
+        buf.putLong(h.parentId());
+        buf.putInt(h.memorySize());
+        buf.putInt(Memory.PAGE_SIZE);
+        buf.putInt(h.pages());
+        int[] regs = cpu.registers();
+        for (int n = 0; n <= RegisterSet.SW; n++) buf.putInt(n < regs.length ? regs[n] : 0);
+        buf.putLong(cpu.f());
+        buf.putLong(cpu.instructionCount());
+
+        Program p = h.program();
+        byte[] name = p == null || p.name() == null ? new byte[0] : p.name().getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) name = Arrays.copyOf(name, MAX_NAME_BYTES);
+        buf.put((byte) (p == null ? 0 : 1));
+        buf.putInt(p == null ? 0 : p.loadAddress());
+        buf.putInt(p == null ? 0 : p.length());
+        buf.putInt(p == null ? 0 : p.entryPoint());
+        buf.putShort((short) name.length);
+        buf.put(name);
+    }
+
+    private static Header readHeader(ByteBuffer buf, Path file) throws IOException {
+        if (buf.getInt() != MAGIC) throw new IOException("Não é um checkpoint: " + file);
+        short version = buf.getShort();
+        if (version != VERSION) throw new IOException("Versão de checkpoint não suportada: " + version);
+        short flags = buf.getShort();
+        long id = buf.getLong();
+        long parentId = buf.getLong();
+        int memorySize = buf.getInt();
+        int pageSize = buf.getInt();
+        if (pageSize != Memory.PAGE_SIZE) throw new IOException("Tamanho de página incompatível: " + pageSize);
+        int pages = buf.getInt();
+        int[] regs = new int[RegisterSet.SW + 1];
+        for (int n = 0; n < regs.length; n++) regs[n] = buf.getInt();
+        long f = buf.getLong();
+        long count = buf.getLong();
+
+        boolean hasProgram = buf.get() != 0;
+        int load = buf.getInt();
+        int length = buf.getInt();
+        int entry = buf.getInt();
+        int nameLength = buf.getShort();
+        if (nameLength < 0 || nameLength > MAX_NAME_BYTES) throw new IOException("Cabeçalho corrompido: " + file);
+        byte[] name = new byte[nameLength];
+        buf.get(name);
+
+        ControlUnit.State cpu = new ControlUnit.State(regs, f, (flags & FLAG_HALTED) != 0, count);
+        Program program = hasProgram ? new Program(new String(name, StandardCharsets.UTF_8), load, length, entry) : null;
+        return new Header(id, parentId, (flags & FLAG_INCREMENTAL) != 0, memorySize, pages, cpu, program);
+    }
+}
@@ -1,27 +1,52 @@
 package sicxesimulator.hardware.system;
 
 import sicxesimulator.hardware.memory.Memory;
+import sicxesimulator.hardware.memory.MemoryFactory;
+import sicxesimulator.hardware.memory.ProtectionException;
+import sicxesimulator.hardware.cpu.control.Breakpoints;
 import sicxesimulator.hardware.cpu.control.ControlUnit;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
 import sicxesimulator.common.utils.Constants;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.function.Predicate;
+
 /**
  * Representa a máquina SIC/XE completa (CPU + memória).
  * <p>
  * Oferece métodos para avançar ciclos, resetar estado e ajustar
  * tamanho de memória dinamicamente.
+ * <p>
+ * As execuções em lote ({@link #runCycles(long)},
+ * {@link #runUntilHalt(long, Instant)}, {@link #runUntil(Predicate, long)})
+ * rodam o laço internamente, consultam o pedido de cancelamento
+ * ({@link #cancel()}) e o prazo apenas a cada {@link #POLL_INTERVAL}
+ * instruções e devolvem um {@link RunResult} com o motivo da parada,
+ * inclusive breakpoints e watchpoints ({@link ControlUnit#getBreakpoints()},
+ * {@link Memory#addWatchpoint}).
  *
  * @author Renan
  * @since 1.0.0
  */
 public class Machine {
 
+    /** Instruções entre consultas ao cancelamento e ao prazo. */
+    public static final int POLL_INTERVAL = 4_096;
+
+    private final MemoryFactory memoryFactory;
     private ControlUnit controlUnit;
     private Memory memory;
+    private volatile boolean cancelRequested;
+
+    /** Memória e identificador do último checkpoint salvo ou carregado (base dos incrementais). */
+    private Memory.Snapshot checkpointBase;
+    private long checkpointId;
 
     /** Cria máquina com tamanho de memória padrão. */
     public Machine() {
-        this.memory = new Memory(Constants.DEFAULT_MEMORY_SIZE_IN_BYTES);
-        this.controlUnit = new ControlUnit(memory);
+        this(Constants.DEFAULT_MEMORY_SIZE_IN_BYTES, MemoryFactory.HEAP);
     }
 
     /**
@@ -31,22 +56,184 @@ public class Machine {
      */
     @SuppressWarnings("unused")
     public Machine(int sizeInBytes) {
-        this.memory      = new Memory(sizeInBytes);
-        this.controlUnit = new ControlUnit(memory);
+        this(sizeInBytes, MemoryFactory.HEAP);
+    }
+
+    /**
+     * Cria máquina com memória criada por {@code memoryFactory} (heap, fora
+     * do heap...), usada também por {@link #changeMemorySize(int)}.
+     *
+     * @param sizeInBytes   tamanho da memória em bytes
+     * @param memoryFactory fábrica da memória
+     */
+    public Machine(int sizeInBytes, MemoryFactory memoryFactory) {
+        this.memoryFactory = memoryFactory;
+        this.memory        = memoryFactory.create(sizeInBytes);
+        this.controlUnit   = new ControlUnit(memory);
+    }
+
+    /**
+     * Avança um ciclo de CPU, a menos que esteja halted.
+     *
+     * @return {@link StopReason#BUDGET_EXHAUSTED} após uma instrução normal,
+     *         {@link StopReason#HALTED}, ou a falha da instrução
+     *         ({@link StopReason#FAULT}, {@link StopReason#PROTECTION})
+     */
+    public RunResult runCycle() {
+        if (controlUnit.isHalted()) return stopped(StopReason.HALTED, 0);
+        try {
+            controlUnit.step();
+        } catch (RuntimeException e) {
+            return faulted(e, 0);
+        }
+        return stopped(controlUnit.isHalted() ? StopReason.HALTED : StopReason.BUDGET_EXHAUSTED, 1);
+    }
+
+    /**
+     * Executa em modo turbo (headless, sem logs nem histórico) até HALT
+     * ou até {@code maxInstructions}.
+     *
+     * Falhas de instrução são propagadas; para recebê-las como
+     * {@link RunResult}, use {@link #runUntilHalt(long, Instant)}.
+     *
+     * @param maxInstructions limite de instruções
+     * @return quantidade de instruções executadas
+     * @throws RuntimeException a falha da instrução (ex.: {@link ProtectionException})
+     */
+    public long runTurbo(long maxInstructions) {
+        return controlUnit.runTurbo(maxInstructions);
+    }
+
+    /**
+     * Executa até {@code n} instruções pelo caminho instrumentado
+     * ({@link ControlUnit#step()}, com histórico).
+     *
+     * @param n limite de instruções
+     * @return motivo da parada
+     */
+    public RunResult runCycles(long n) {
+        return runUntil(null, n);
     }
 
-    /** Avança um ciclo de CPU, a menos que esteja halted. */
-    public void runCycle() {
-        if (!controlUnit.isHalted()) {
-            try {
+    /**
+     * Executa em modo turbo até HALT, até {@code maxInstructions} ou até o
+     * prazo, em fatias de {@link #POLL_INTERVAL} instruções.
+     *
+     * @param maxInstructions limite de instruções
+     * @param deadline        instante limite, ou {@code null} para não ter prazo
+     * @return motivo da parada
+     */
+    public RunResult runUntilHalt(long maxInstructions, Instant deadline) {
+        long start = controlUnit.getInstructionCount();
+        long executed = 0;
+        controlUnit.getBreakpoints().clearHit();
+        try {
+            while (!controlUnit.isHalted()) {
+                StopReason stop = poll(executed, maxInstructions, deadline);
+                if (stop != null) return stopped(stop, executed);
+                executed += controlUnit.runTurbo(Math.min(POLL_INTERVAL, maxInstructions - executed));
+                if (breakpointHit()) return stopped(StopReason.BREAKPOINT, executed);
+            }
+        } catch (RuntimeException e) {
+            return faulted(e, controlUnit.getInstructionCount() - start);
+        }
+        return stopped(StopReason.HALTED, executed);
+    }
+
+    /**
+     * Executa pelo caminho instrumentado até que {@code condition} seja
+     * satisfeita após alguma instrução ({@link StopReason#BREAKPOINT}), até
+     * HALT ou até um cancelamento.
+     *
+     * @param condition condição de parada avaliada após cada instrução
+     * @return motivo da parada
+     */
+    public RunResult runUntil(Predicate<Machine> condition) {
+        return runUntil(condition, Long.MAX_VALUE);
+    }
+
+    /**
+     * Como {@link #runUntil(Predicate)}, limitado a {@code maxInstructions}.
+     *
+     * @param condition       condição de parada, ou {@code null}
+     * @param maxInstructions limite de instruções
+     * @return motivo da parada
+     */
+    public RunResult runUntil(Predicate<Machine> condition, long maxInstructions) {
+        long executed = 0;
+        controlUnit.getBreakpoints().clearHit();
+        try {
+            while (!controlUnit.isHalted()) {
+                if (executed % POLL_INTERVAL == 0 || executed == maxInstructions) {
+                    StopReason stop = poll(executed, maxInstructions, null);
+                    if (stop != null) return stopped(stop, executed);
+                }
+                if (controlUnit.isDebugging() && controlUnit.checkBreakpoint())
+                    return stopped(StopReason.BREAKPOINT, executed);
                 controlUnit.step();
-            } catch (Exception e) {
-                System.err.printf("Erro na execucao em PC=%06X: %s%n",
-                        controlUnit.getIntValuePC(), e.getMessage());
+                executed++;
+                if (breakpointHit() || (condition != null && condition.test(this)))
+                    return stopped(StopReason.BREAKPOINT, executed);
             }
+        } catch (RuntimeException e) {
+            return faulted(e, executed);
+        }
+        return stopped(StopReason.HALTED, executed);
+    }
+
+    /**
+     * Executa em modo turbo até a sub-rotina corrente retornar: o valor de L
+     * (o link deixado pelo JSUB) é lido na chamada, e a execução para com
+     * {@link StopReason#BREAKPOINT} quando o PC chega a ele, ou seja, depois
+     * que o RSUB já executou e antes da instrução seguinte ao JSUB.
+     *
+     * @param maxInstructions limite de instruções
+     * @return motivo da parada
+     */
+    public RunResult runToReturn(long maxInstructions) {
+        Breakpoints breakpoints = controlUnit.getBreakpoints();
+        breakpoints.setReturnTarget(controlUnit.getRegisterSet().get(RegisterSet.L));
+        try {
+            return runUntilHalt(maxInstructions, null);
+        } finally {
+            breakpoints.setReturnTarget(-1);
         }
     }
 
+    /**
+     * Desfaz a última instrução (requer {@link ControlUnit#enableUndo(int)}).
+     *
+     * @return <b>false</b> se não há nada a desfazer
+     */
+    public boolean stepBack() {
+        return controlUnit.stepBack();
+    }
+
+    /**
+     * Executa para trás até um breakpoint, uma escrita sob watchpoint, o
+     * início do log de desfazer ({@link StopReason#UNDO_EXHAUSTED}) ou
+     * {@code maxInstructions}.
+     *
+     * @param maxInstructions limite de instruções a desfazer
+     * @return motivo da parada; {@code instructions} conta as instruções desfeitas
+     */
+    public RunResult reverseContinue(long maxInstructions) {
+        controlUnit.getBreakpoints().clearHit();
+        long undone = controlUnit.reverseContinue(maxInstructions);
+        if (breakpointHit()) return stopped(StopReason.BREAKPOINT, undone);
+        if (undone == maxInstructions) return stopped(StopReason.BUDGET_EXHAUSTED, undone);
+        return stopped(StopReason.UNDO_EXHAUSTED, undone);
+    }
+
+    /**
+     * Pede a parada da execução em lote em andamento (ou da próxima), que
+     * termina com {@link StopReason#CANCELLED} na próxima consulta. Pode ser
+     * chamado de outra thread.
+     */
+    public void cancel() {
+        cancelRequested = true;
+    }
+
     /** Restaura máquina ao estado inicial (memória e CPU). */
     public void reset() {
         memory.reset();
@@ -54,13 +241,119 @@ public class Machine {
     }
 
     /**
-     * Ajusta o tamanho da memória, reiniciando-a.
+     * Captura memória e CPU. Snapshots sucessivos só copiam as páginas
+     * escritas desde o anterior ({@link Memory#snapshot()}).
+     *
+     * @return snapshot imutável, restaurável nesta ou em outra máquina de mesma memória
+     */
+    public MachineSnapshot snapshot() {
+        return new MachineSnapshot(memory.snapshot(), controlUnit.saveState());
+    }
+
+    /**
+     * Volta ao estado de {@code snapshot}, copiando de volta apenas as páginas
+     * de memória escritas desde então. Mais barato que {@link #reset()} seguido
+     * de nova carga quando o mesmo programa é executado muitas vezes.
+     *
+     * @param snapshot estado obtido de {@link #snapshot()}
+     * @throws IllegalArgumentException se o tamanho da memória for diferente
+     */
+    public void restore(MachineSnapshot snapshot) {
+        memory.restore(snapshot.memory());
+        controlUnit.restoreState(snapshot.cpu());
+    }
+
+    /**
+     * Salva um checkpoint completo: estado da CPU e imagem inteira da memória
+     * ({@link Checkpoint}).
+     *
+     * @param file    arquivo de destino (substituído)
+     * @param program programa carregado, ou {@code null}
+     * @return cabeçalho gravado
+     * @throws IOException em falha de E/S
+     */
+    public Checkpoint.Header saveCheckpoint(Path file, Checkpoint.Program program) throws IOException {
+        return writeCheckpoint(file, program, false);
+    }
+
+    /**
+     * Salva um checkpoint incremental com apenas as páginas de memória
+     * alteradas desde o último checkpoint salvo ou carregado.
+     *
+     * @param file    arquivo de destino (substituído)
+     * @param program programa carregado, ou {@code null}
+     * @return cabeçalho gravado
+     * @throws IOException           em falha de E/S
+     * @throws IllegalStateException se não houver checkpoint anterior
+     */
+    public Checkpoint.Header saveIncrementalCheckpoint(Path file, Checkpoint.Program program) throws IOException {
+        if (checkpointBase == null) throw new IllegalStateException("Nenhum checkpoint anterior para o incremental");
+        return writeCheckpoint(file, program, true);
+    }
+
+    /**
+     * Carrega uma cadeia de checkpoints: um completo seguido, opcionalmente,
+     * dos incrementais gravados a partir dele, na ordem. Se o tamanho da
+     * memória gravado for diferente, a memória é redimensionada
+     * ({@link #changeMemorySize(int)}).
+     *
+     * <p>Todos os cabeçalhos são lidos e a cadeia validada antes de tocar na
+     * máquina; se ainda assim a leitura de um corpo falhar, memória, CPU e
+     * checkpoint de referência voltam ao que eram.</p>
+     *
+     * @param chain arquivos, do completo ao incremental mais recente
+     * @return cabeçalho do último arquivo
+     * @throws IOException em falha de E/S, formato inválido ou cadeia fora de ordem
+     */
+    public Checkpoint.Header loadCheckpoint(Path... chain) throws IOException {
+        if (chain.length == 0) throw new IllegalArgumentException("Nenhum checkpoint informado");
+        Checkpoint.Header[] headers = new Checkpoint.Header[chain.length];
+        for (int i = 0; i < chain.length; i++) {
+            Checkpoint.Header h = Checkpoint.readHeader(chain[i]);
+            if (i == 0 && h.incremental())
+                throw new IOException("A cadeia deve começar num checkpoint completo: " + chain[0]);
+            if (i > 0 && (!h.incremental() || h.parentId() != headers[i - 1].id()
+                    || h.memorySize() != headers[0].memorySize()))
+                throw new IOException("Checkpoint fora da cadeia: " + chain[i]);
+            headers[i] = h;
+        }
+
+        Memory oldMemory = memory;
+        ControlUnit oldControlUnit = controlUnit;
+        Memory.Snapshot oldBase = checkpointBase;
+        Memory.Snapshot rollback = null;
+        if (headers[0].memorySize() != memory.getSize()) changeMemorySize(headers[0].memorySize());
+        else rollback = memory.snapshot();
+        try {
+            for (Path file : chain) Checkpoint.read(file, memory);
+        } catch (IOException | RuntimeException e) {
+            if (rollback != null) memory.restore(rollback);
+            memory = oldMemory;
+            controlUnit = oldControlUnit;
+            checkpointBase = oldBase;
+            throw e;
+        }
+        Checkpoint.Header last = headers[headers.length - 1];
+        controlUnit.restoreState(last.cpu());
+        checkpointBase = memory.snapshot();
+        checkpointId = last.id();
+        return last;
+    }
+
+    /**
+     * Ajusta o tamanho da memória, reiniciando-a. A CPU é recriada sobre a
+     * nova memória com a configuração da anterior
+     * ({@link ControlUnit#ControlUnit(Memory, ControlUnit)}): dispositivo,
+     * executores, motor turbo, breakpoints, histórico, desfazer e mapa de
+     * calor. Watchpoints, chaves de proteção e faixas mapeadas pertencem à
+     * memória e não são mantidos.
      *
      * @param newSizeInBytes novo tamanho em bytes
      */
     public void changeMemorySize(int newSizeInBytes) {
-        this.memory = new Memory(newSizeInBytes);
-        this.controlUnit = new ControlUnit(memory);
+        this.memory = memoryFactory.create(newSizeInBytes);
+        this.controlUnit = new ControlUnit(memory, controlUnit);
+        this.checkpointBase = null;
     }
 
     /** @return instância de {@link Memory} atualmente em uso */
@@ -72,4 +365,37 @@ public class Machine {
     public ControlUnit getControlUnit() {
         return controlUnit;
     }
+
+    // private
+
+    private StopReason poll(long executed, long maxInstructions, Instant deadline) {
+        if (cancelRequested) return StopReason.CANCELLED;
+        if (executed >= maxInstructions) return StopReason.BUDGET_EXHAUSTED;
+        if (deadline != null && Instant.now().isAfter(deadline)) return StopReason.DEADLINE;
+        return null;
+    }
+
+    private boolean breakpointHit() {
+        return controlUnit.getBreakpoints().lastHit() != Breakpoints.Hit.NONE;
+    }
+
+    private Checkpoint.Header writeCheckpoint(Path file, Checkpoint.Program program, boolean incremental)
+            throws IOException {
+        Memory.Snapshot current = memory.snapshot();
+        Checkpoint.Header h = Checkpoint.write(file, memory, current, incremental ? checkpointBase : null,
+                checkpointId, controlUnit.saveState(), program);
+        checkpointBase = current;
+        checkpointId = h.id();
+        return h;
+    }
+
+    private RunResult stopped(StopReason reason, long executed) {
+        if (reason == StopReason.CANCELLED) cancelRequested = false;
+        return new RunResult(reason, executed, controlUnit.getIntValuePC(), null);
+    }
+
+    private RunResult faulted(RuntimeException e, long executed) {
+        StopReason reason = e instanceof ProtectionException ? StopReason.PROTECTION : StopReason.FAULT;
+        return new RunResult(reason, executed, controlUnit.getFaultAddress(), e);
+    }
 }
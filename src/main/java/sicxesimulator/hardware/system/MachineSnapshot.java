@@ -0,0 +1,19 @@
+package sicxesimulator.hardware.system;
+
+import sicxesimulator.hardware.cpu.control.ControlUnit;
+import sicxesimulator.hardware.memory.Memory;
+
+/**
+ * Estado completo de uma {@link Machine}, obtido por {@link Machine#snapshot()}.
+ * <p>
+ * Imutável: as páginas de memória são compartilhadas entre snapshots e nunca
+ * alteradas, de modo que o mesmo snapshot pode ser restaurado em várias
+ * máquinas, em threads diferentes.
+ *
+ * @param memory conteúdo da memória
+ * @param cpu    registradores e estado da CPU
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public record MachineSnapshot(Memory.Snapshot memory, ControlUnit.State cpu) { }
@@ -0,0 +1,27 @@
+package sicxesimulator.hardware.system;
+
+/**
+ * Resultado de uma execução em lote de {@link Machine}.
+ *
+ * @param reason       motivo da parada
+ * @param instructions instruções concluídas nesta execução
+ * @param pc           PC ao parar; em {@link StopReason#FAULT} e
+ *                     {@link StopReason#PROTECTION}, endereço da instrução que falhou
+ * @param fault        exceção da instrução que falhou, ou {@code null}
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public record RunResult(StopReason reason, long instructions, int pc, RuntimeException fault) {
+
+    /** @return <b>true</b> se a execução parou por HALT */
+    public boolean halted() {
+        return reason == StopReason.HALTED;
+    }
+
+    @Override
+    public String toString() {
+        String base = String.format("%s após %d instruções (PC=%06X)", reason, instructions, pc);
+        return fault == null ? base : base + ": " + fault.getMessage();
+    }
+}
@@ -0,0 +1,33 @@
+package sicxesimulator.hardware.system;
+
+/**
+ * Motivo pelo qual uma execução em lote de {@link Machine} terminou.
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public enum StopReason {
+    /** O programa executou HALT (ou a CPU já estava parada). */
+    HALTED,
+    /** O limite de instruções foi atingido. */
+    BUDGET_EXHAUSTED,
+    /** O prazo da execução expirou. */
+    DEADLINE,
+    /** {@link Machine#cancel()} foi chamado. */
+    CANCELLED,
+    /** Uma instrução lançou exceção; ver {@link RunResult#fault()}. */
+    FAULT,
+    /**
+     * Uma escrita (ou SSK) foi recusada pela proteção de memória; a exceção
+     * em {@link RunResult#fault()} é uma
+     * {@link sicxesimulator.hardware.memory.ProtectionException} com o endereço.
+     */
+    PROTECTION,
+    /**
+     * Breakpoint, watchpoint, retorno de sub-rotina ou condição de parada;
+     * o detalhe fica em {@code ControlUnit.getBreakpoints().lastHit()}.
+     */
+    BREAKPOINT,
+    /** Execução reversa chegou ao início do log de desfazer. */
+    UNDO_EXHAUSTED
+}
@@ -9,6 +9,14 @@
  *       {@link sicxesimulator.hardware.cpu.control.ControlUnit}; fornece
  *       métodos para executar ciclos de CPU, resetar estado e redimensionar
  *       a memória dinamicamente.</li>
+ *   <li><b>RunResult</b> / <b>StopReason</b>: resultado das execuções em
+ *       lote de {@code Machine} (HALT, orçamento, prazo, cancelamento,
+ *       falha com PC ou breakpoint).</li>
+ *   <li><b>MachineSnapshot</b>: estado imutável de memória e CPU, obtido por
+ *       {@code Machine.snapshot()} e restaurado em O(páginas sujas).</li>
+ *   <li><b>Checkpoint</b>: formato de arquivo para salvar e retomar a
+ *       máquina entre execuções da JVM, completo ou incremental (só páginas
+ *       alteradas), gravado via {@code MappedByteBuffer}.</li>
  * </ul>
  * <p>
  * Serve como fachada de alto nível para uso pela camada de software
@@ -0,0 +1,105 @@
+package sicxesimulator.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências concorrente e de tamanho fixo, para percentis de
+ * cauda (p99, p99.9) sem guardar as amostras.
+ *
+ * <p>Os baldes são log-lineares: cada potência de dois é dividida em
+ * {@value #SUB_BUCKETS} faixas iguais, o que dá erro relativo de no máximo
+ * ~6% em qualquer escala, de nanossegundos a minutos. Registrar é um
+ * incremento atômico; não há trava, de modo que milhares de threads
+ * (virtuais) podem registrar ao mesmo tempo.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS    = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS     = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum   = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Registra uma amostra.
+     *
+     * @param nanos duração em nanossegundos (negativos contam como zero)
+     */
+    public void record(long nanos) {
+        long v = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(v));
+        count.increment();
+        sum.add(v);
+        if (v > max.get()) max.accumulateAndGet(v, Math::max);
+    }
+
+    /** @return número de amostras */
+    public long count() {
+        return count.sum();
+    }
+
+    /** @return maior amostra, em nanossegundos */
+    public long max() {
+        return max.get();
+    }
+
+    /** @return média, em nanossegundos */
+    public double mean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * @param percentile percentil entre 0 e 100
+     * @return limite superior do balde que contém o percentil, em
+     *         nanossegundos (0 se não houver amostras)
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("Percentil inválido: " + percentile);
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) total += snapshot[i] = counts.get(i);
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    /** Zera o histograma. */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    // private
+
+    static int bucket(long v) {
+        if (v < SUB_BUCKETS) return (int) v;
+        int k = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (k - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (k - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int k = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + sub) << (k - SUB_BITS);
+        return lower + (1L << (k - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,133 @@
+package sicxesimulator.server;
+
+import sicxesimulator.hardware.device.ByteArrayDevice;
+import sicxesimulator.hardware.memory.MemoryFactory;
+import sicxesimulator.hardware.system.Machine;
+import sicxesimulator.hardware.system.MachineSnapshot;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool limitado de {@link Machine}s reaproveitadas entre sessões.
+ *
+ * <p>As máquinas são criadas sob demanda até {@link #capacity()}, todas com o
+ * mesmo tamanho de memória (que funciona como cota de memória por sessão), e
+ * cada uma já vem com um {@link ByteArrayDevice} próprio. Ao devolver um
+ * {@link Lease}, a máquina volta ao snapshot de uma máquina zerada antes de
+ * voltar ao pool — só as páginas que a sessão escreveu são copiadas —, de
+ * modo que nenhuma sessão vê o estado da anterior.</p>
+ *
+ * <p>A espera por uma máquina livre usa um {@link Semaphore}, sem blocos
+ * {@code synchronized}: threads virtuais bloqueadas aqui liberam a thread
+ * portadora.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class MachinePool {
+
+    private final int capacity;
+    private final int memorySize;
+    private final MemoryFactory memoryFactory;
+    private final Semaphore permits;
+    private final ConcurrentLinkedQueue<Lease> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final MachineSnapshot blank;
+
+    /**
+     * @param capacity   número máximo de máquinas (mínimo 1)
+     * @param memorySize tamanho da memória de cada máquina, em bytes
+     */
+    public MachinePool(int capacity, int memorySize) {
+        this(capacity, memorySize, MemoryFactory.HEAP);
+    }
+
+    /**
+     * @param capacity      número máximo de máquinas (mínimo 1)
+     * @param memorySize    tamanho da memória de cada máquina, em bytes
+     * @param memoryFactory onde alocar a memória das máquinas (ex.: {@link MemoryFactory#OFF_HEAP})
+     */
+    public MachinePool(int capacity, int memorySize, MemoryFactory memoryFactory) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacidade inválida: " + capacity);
+        if (memorySize < 1) throw new IllegalArgumentException("Tamanho de memória inválido: " + memorySize);
+        this.capacity      = capacity;
+        this.memorySize    = memorySize;
+        this.memoryFactory = memoryFactory;
+        this.permits       = new Semaphore(capacity, true);
+        this.blank         = new Machine(memorySize).snapshot();
+    }
+
+    /**
+     * Obtém uma máquina zerada, esperando até {@code timeoutMillis} se todas
+     * estiverem em uso.
+     *
+     * @param timeoutMillis espera máxima
+     * @return máquina emprestada, ou {@code null} se o tempo esgotar
+     * @throws InterruptedException se a thread for interrompida na espera
+     */
+    public Lease acquire(long timeoutMillis) throws InterruptedException {
+        if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) return null;
+        Lease lease = idle.poll();
+        if (lease == null) {
+            created.incrementAndGet();
+            lease = new Lease();
+        }
+        lease.released = false;
+        return lease;
+    }
+
+    /** @return número máximo de máquinas */
+    public int capacity() {
+        return capacity;
+    }
+
+    /** @return tamanho da memória de cada máquina, em bytes */
+    public int memorySize() {
+        return memorySize;
+    }
+
+    /** @return máquinas criadas até agora */
+    public int created() {
+        return created.get();
+    }
+
+    /** @return máquinas emprestadas neste momento */
+    public int inUse() {
+        return capacity - permits.availablePermits();
+    }
+
+    /** Máquina emprestada; {@link #close()} a zera e devolve ao pool. */
+    public final class Lease implements AutoCloseable {
+        private final Machine machine = new Machine(memorySize, memoryFactory);
+        private final ByteArrayDevice device = new ByteArrayDevice();
+        private boolean released;
+
+        private Lease() {
+            machine.getControlUnit().setDevice(device);
+        }
+
+        /** @return máquina da sessão */
+        public Machine machine() {
+            return machine;
+        }
+
+        /** @return dispositivo de E/S da máquina */
+        public ByteArrayDevice device() {
+            return device;
+        }
+
+        /** Zera a máquina e a devolve ao pool; chamadas repetidas são ignoradas. */
+        @Override
+        public void close() {
+            if (released) return;
+            released = true;
+            machine.restore(blank);
+            device.reset(new byte[0]);
+            idle.offer(this);
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package sicxesimulator.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import sicxesimulator.common.utils.Constants;
+import sicxesimulator.common.utils.Convert;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.system.Machine;
+import sicxesimulator.hardware.system.RunResult;
+import sicxesimulator.software.assembler.Assembler;
+import sicxesimulator.software.batch.ProgramImage;
+import sicxesimulator.software.data.ObjectFile;
+import sicxesimulator.software.linker.Linker;
+import sicxesimulator.software.macroprocessor.MacroProcessor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP/JSON local que expõe montagem, ligação, carga e execução
+ * do simulador, sem JavaFX, para ferramentas internas.
+ *
+ * <p>Endpoints:</p>
+ * <ul>
+ *   <li>{@code POST /assemble} — {@code {"source": ...}} → código objeto e símbolos;</li>
+ *   <li>{@code POST /link} — {@code {"modules": [...], "loadAddress": n}} → objeto ligado;</li>
+ *   <li>{@code POST /run} — {@code {"source" | "modules", "input", "maxInstructions",
+ *       "loadAddress"}} → motivo de parada, instruções, registradores e saída de WD;</li>
+ *   <li>{@code GET /stats} — latências por endpoint (média, p50, p90, p99, p99.9,
+ *       máximo) e ocupação do pool.</li>
+ * </ul>
+ * <p>Fontes podem ser uma string ou uma lista de linhas; macros são expandidas
+ * em memória.</p>
+ *
+ * <p>Cada requisição roda numa thread virtual própria. As etapas de
+ * montagem e ligação usam instâncias novas e não gravam em disco; a execução
+ * pega uma {@link Machine} de um {@link MachinePool}, que a zera ao final da
+ * sessão. Cada sessão respeita as cotas de {@link Limits}: o programa tem de
+ * caber na memória das máquinas do pool e roda no máximo
+ * {@link Limits#maxInstructions()} instruções ou até {@link Limits#timeout()}.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class SimulationServer implements AutoCloseable {
+
+    /** Caminhos atendidos, na ordem em que aparecem em {@code /stats}. */
+    static final List<String> ENDPOINTS = List.of("/assemble", "/link", "/run", "/stats");
+
+    /**
+     * Cotas do servidor.
+     *
+     * @param machines        máquinas no pool (sessões de execução simultâneas)
+     * @param memoryBytes     memória de cada máquina, em bytes (cota por sessão)
+     * @param maxInstructions instruções máximas por sessão
+     * @param timeout         duração máxima de uma execução e da espera por máquina
+     * @param maxRequestBytes tamanho máximo do corpo de uma requisição
+     */
+    public record Limits(int machines, int memoryBytes, long maxInstructions, Duration timeout, int maxRequestBytes) {
+
+        /** @return cotas padrão: uma máquina por núcleo, memória padrão, 10 milhões de instruções, 5 s */
+        public static Limits defaults() {
+            return new Limits(Runtime.getRuntime().availableProcessors(), Constants.DEFAULT_MEMORY_SIZE_IN_BYTES,
+                    10_000_000, Duration.ofSeconds(5), 1 << 20);
+        }
+    }
+
+    /** Erro de requisição com o status HTTP correspondente. */
+    static final class HttpError extends RuntimeException {
+        @Serial private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private final Limits limits;
+    private final MachinePool pool;
+    private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Cria o servidor (ainda parado).
+     *
+     * @param address endereço de escuta; porta 0 escolhe uma livre
+     * @param limits  cotas
+     * @throws IOException se o endereço não puder ser aberto
+     */
+    public SimulationServer(InetSocketAddress address, Limits limits) throws IOException {
+        this.limits   = Objects.requireNonNull(limits, "limits não pode ser nulo");
+        this.pool     = new MachinePool(limits.machines(), limits.memoryBytes());
+        this.server   = HttpServer.create(address, 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        for (String path : ENDPOINTS) {
+            latencies.put(path, new LatencyHistogram());
+            server.createContext(path, exchange -> handle(path, exchange));
+        }
+    }
+
+    /** Começa a atender requisições. */
+    public void start() {
+        server.start();
+    }
+
+    /** @return endereço efetivo de escuta */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /** @return pool de máquinas das sessões */
+    public MachinePool getPool() {
+        return pool;
+    }
+
+    /**
+     * @param path endpoint (por exemplo {@code "/run"})
+     * @return histograma de latências do endpoint, ou {@code null} se não existir
+     */
+    public LatencyHistogram getLatency(String path) {
+        return latencies.get(path);
+    }
+
+    /** Para o servidor, esperando até 1 s pelas requisições em andamento. */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Sobe o servidor em {@code localhost}.
+     *
+     * @param args porta opcional (padrão 8080)
+     * @throws IOException se a porta não puder ser aberta
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        SimulationServer s = new SimulationServer(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), Limits.defaults());
+        s.start();
+        System.out.println("Servidor SIC/XE em http://" + s.getAddress().getHostString() + ":" + s.getAddress().getPort());
+    }
+
+    // private
+
+    private void handle(String path, HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        int status = 200;
+        Object body;
+        try {
+            body = switch (path) {
+                case "/stats" -> {
+                    requireMethod(exchange, "GET");
+                    yield stats();
+                }
+                case "/assemble" -> describe(assemble(source(readBody(exchange))));
+                case "/link" -> describe(link(readBody(exchange)));
+                case "/run" -> run(readBody(exchange));
+                default -> throw new HttpError(404, "Endpoint desconhecido: " + path);
+            };
+        } catch (HttpError e) {
+            status = e.status;
+            body = Map.of("error", e.getMessage());
+        } catch (IllegalArgumentException | IllegalStateException | IndexOutOfBoundsException e) {
+            status = 400;
+            body = Map.of("error", String.valueOf(e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = 503;
+            body = Map.of("error", "Requisição interrompida");
+        } catch (RuntimeException e) {
+            status = 500;
+            body = Map.of("error", e.toString());
+        }
+
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        try (exchange; OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(status, bytes.length);
+            out.write(bytes);
+        } finally {
+            latencies.get(path).record(System.nanoTime() - start);
+        }
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) {
+        if (!exchange.getRequestMethod().equalsIgnoreCase(method))
+            throw new HttpError(405, "Use " + method + " em " + exchange.getRequestURI().getPath());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "POST");
+        byte[] data;
+        try (InputStream in = exchange.getRequestBody()) {
+            data = in.readNBytes(limits.maxRequestBytes() + 1);
+        }
+        if (data.length > limits.maxRequestBytes())
+            throw new HttpError(413, "Requisição maior que " + limits.maxRequestBytes() + " bytes");
+        Object value = Json.parse(new String(data, StandardCharsets.UTF_8));
+        if (!(value instanceof Map)) throw new HttpError(400, "O corpo deve ser um objeto JSON");
+        return (Map<String, Object>) value;
+    }
+
+    private static List<String> source(Map<String, Object> req) {
+        Object src = req.get("source");
+        if (src == null) throw new HttpError(400, "Campo 'source' ausente");
+        return lines(src);
+    }
+
+    private static List<String> lines(Object src) {
+        if (src instanceof String s) return Arrays.asList(s.split("\\r?\\n"));
+        if (src instanceof List<?> list) {
+            List<String> out = new ArrayList<>(list.size());
+            for (Object o : list) out.add(String.valueOf(o));
+            return out;
+        }
+        throw new HttpError(400, "Fonte deve ser string ou lista de linhas");
+    }
+
+    private static ObjectFile assemble(List<String> sourceLines) {
+        List<String> expanded = new MacroProcessor().expand(sourceLines);
+        Assembler assembler = new Assembler();
+        return assembler.runSecondPass(assembler.runFirstPass(sourceLines, expanded));
+    }
+
+    private static ObjectFile link(Map<String, Object> req) {
+        Object modules = req.get("modules");
+        if (!(modules instanceof List<?> list) || list.isEmpty())
+            throw new HttpError(400, "Campo 'modules' deve ser uma lista não vazia de fontes");
+        List<ObjectFile> objects = new ArrayList<>(list.size());
+        for (Object m : list) objects.add(assemble(lines(m)));
+        String name = String.valueOf(req.getOrDefault("name", objects.get(0).getProgramName()));
+        return new Linker().link(objects, true, intField(req, "loadAddress", 0), name);
+    }
+
+    private Map<String, Object> run(Map<String, Object> req) throws InterruptedException {
+        int loadAddress = intField(req, "loadAddress", 0);
+        ObjectFile obj = req.containsKey("modules") ? link(req) : assemble(source(req));
+        ProgramImage image = ProgramImage.of(obj, loadAddress);
+        if (image.end() > pool.memorySize())
+            throw new HttpError(413, String.format("Programa termina em %06X, além da cota de memória de %d bytes",
+                    image.end(), pool.memorySize()));
+
+        long requested = longField(req, "maxInstructions", limits.maxInstructions());
+        long budget = Math.min(Math.max(requested, 0), limits.maxInstructions());
+        Object in = req.getOrDefault("input", "");
+        byte[] input = String.valueOf(in).getBytes(StandardCharsets.ISO_8859_1);
+
+        MachinePool.Lease lease = pool.acquire(limits.timeout().toMillis());
+        if (lease == null) throw new HttpError(503, "Nenhuma máquina livre no pool");
+        try (lease) {
+            Machine machine = lease.machine();
+            image.loadInto(machine.getMemory());
+            machine.getControlUnit().setIntValuePC(image.entryPoint());
+            lease.device().reset(input);
+
+            RunResult result = machine.runUntilHalt(budget, Instant.now().plus(limits.timeout()));
+
+            RegisterSet regs = machine.getControlUnit().getRegisterSet();
+            Map<String, Object> registers = new LinkedHashMap<>();
+            String[] names = {"A", "X", "L", "B", "S", "T", "PC", "SW"};
+            int[] numbers = {RegisterSet.A, RegisterSet.X, RegisterSet.L, RegisterSet.B,
+                    RegisterSet.S, RegisterSet.T, RegisterSet.PC, RegisterSet.SW};
+            for (int i = 0; i < names.length; i++) registers.put(names[i], regs.get(numbers[i]));
+
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("program", image.name());
+            out.put("reason", result.reason().name());
+            out.put("instructions", result.instructions());
+            out.put("pc", result.pc());
+            if (result.fault() != null) out.put("fault", String.valueOf(result.fault().getMessage()));
+            out.put("registers", registers);
+            out.put("output", new String(lease.device().output(), StandardCharsets.ISO_8859_1));
+            return out;
+        }
+    }
+
+    private static Map<String, Object> describe(ObjectFile obj) {
+        Map<String, Object> symbols = new LinkedHashMap<>();
+        obj.getSymbolTable().getAllSymbols().forEach((name, info) -> symbols.put(name, info.address));
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("name", obj.getProgramName());
+        out.put("start", obj.getStartAddress());
+        out.put("length", obj.getProgramLength());
+        out.put("relocated", obj.isFullyRelocated());
+        out.put("code", Convert.bytesToHex(obj.getObjectCode()));
+        out.put("symbols", symbols);
+        return out;
+    }
+
+    private Map<String, Object> stats() {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        latencies.forEach((path, h) -> {
+            Map<String, Object> e = new LinkedHashMap<>();
+            e.put("count", h.count());
+            e.put("meanMicros", Math.round(h.mean() / 1_000.0));
+            e.put("p50Micros", h.percentile(50) / 1_000);
+            e.put("p90Micros", h.percentile(90) / 1_000);
+            e.put("p99Micros", h.percentile(99) / 1_000);
+            e.put("p999Micros", h.percentile(99.9) / 1_000);
+            e.put("maxMicros", h.max() / 1_000);
+            endpoints.put(path, e);
+        });
+        Map<String, Object> poolStats = new LinkedHashMap<>();
+        poolStats.put("capacity", pool.capacity());
+        poolStats.put("created", pool.created());
+        poolStats.put("inUse", pool.inUse());
+        poolStats.put("memoryBytes", pool.memorySize());
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("endpoints", endpoints);
+        out.put("pool", poolStats);
+        out.put("maxInstructions", limits.maxInstructions());
+        return out;
+    }
+
+    private static int intField(Map<String, Object> req, String key, int fallback) {
+        return (int) longField(req, key, fallback);
+    }
+
+    private static long longField(Map<String, Object> req, String key, long fallback) {
+        Object v = req.get(key);
+        if (v == null) return fallback;
+        if (v instanceof Number n) return n.longValue();
+        throw new HttpError(400, "Campo '" + key + "' deve ser numérico");
+    }
+}
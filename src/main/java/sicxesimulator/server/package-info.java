@@ -0,0 +1,18 @@
+/**
+ * Servidor HTTP/JSON local do simulador, sem JavaFX.
+ * <p>
+ * Componentes principais:
+ * <ul>
+ *   <li><b>SimulationServer</b>: expõe montagem, ligação e execução via
+ *       {@code com.sun.net.httpserver}, com uma thread virtual por
+ *       requisição e cotas de instruções e memória por sessão;</li>
+ *   <li><b>MachinePool</b>: máquinas reaproveitadas entre sessões e zeradas
+ *       na devolução;</li>
+ *   <li><b>LatencyHistogram</b>: histograma log-linear sem travas para os
+ *       percentis de cauda de cada endpoint;</li>
+ *   <li><b>Json</b> (interno): leitura e escrita dos corpos JSON.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ */
+package sicxesimulator.server;
@@ -0,0 +1,156 @@
+package sicxesimulator.software.batch;
+
+import sicxesimulator.common.utils.Constants;
+import sicxesimulator.hardware.cpu.control.ControlUnit;
+import sicxesimulator.hardware.cpu.control.TurboEngine;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.device.ByteArrayDevice;
+import sicxesimulator.hardware.system.Machine;
+import sicxesimulator.hardware.system.MachineSnapshot;
+import sicxesimulator.hardware.system.RunResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executor headless de lotes: roda o mesmo {@link ProgramImage} contra
+ * muitas entradas, em paralelo, sem tocar na interface gráfica.
+ *
+ * <p>Um pool fixo de threads (por padrão, uma por núcleo) consome uma fila
+ * de jobs. Cada thread tem a sua {@link Machine} e o seu
+ * {@link ByteArrayDevice}, reaproveitados entre jobs: a cada job a máquina
+ * volta ao snapshot do programa recém-carregado ({@link Machine#restore}),
+ * o que copia só as páginas que o job anterior escreveu, e roda em modo
+ * turbo. Nada é compartilhado entre as threads além da imagem e do snapshot,
+ * ambos imutáveis, de modo que a vazão cresce com o número de núcleos.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class BatchFarm implements AutoCloseable {
+
+    private final ProgramImage image;
+    private final int workers;
+    private final int memorySize;
+    private final MachineSnapshot loaded;
+    private final ExecutorService pool;
+    private final ThreadLocal<Worker> worker = ThreadLocal.withInitial(Worker::new);
+    private volatile TurboEngine engine = TurboEngine.INTERPRETER;
+
+    /** @param image programa compartilhado; usa um worker por núcleo */
+    public BatchFarm(ProgramImage image) {
+        this(image, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param image   programa compartilhado
+     * @param workers número de threads (mínimo 1)
+     */
+    public BatchFarm(ProgramImage image, int workers) {
+        this.image      = Objects.requireNonNull(image, "image não pode ser nulo");
+        this.workers    = Math.max(1, workers);
+        this.memorySize = Math.max(Constants.DEFAULT_MEMORY_SIZE_IN_BYTES, image.end());
+        Machine template = new Machine(memorySize);
+        image.loadInto(template.getMemory());
+        template.getControlUnit().setIntValuePC(image.entryPoint());
+        this.loaded     = template.snapshot();
+        this.pool       = Executors.newFixedThreadPool(this.workers, r -> {
+            Thread t = new Thread(r, "sicxe-batch");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Seleciona o motor turbo das máquinas (padrão: interpretador, que não
+     * paga tradução a cada job).
+     *
+     * @param engine motor desejado
+     */
+    public void setTurboEngine(TurboEngine engine) {
+        this.engine = Objects.requireNonNull(engine);
+    }
+
+    /** @return número de threads do pool */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Executa todos os jobs e espera o término.
+     *
+     * @param jobs jobs a executar
+     * @return resultados na ordem de {@code jobs}, com totais agregados
+     * @throws IllegalStateException se a thread for interrompida ou um worker falhar
+     */
+    public BatchReport run(List<BatchJob> jobs) {
+        long start = System.nanoTime();
+        BlockingQueue<Integer> queue = new ArrayBlockingQueue<>(Math.max(1, jobs.size()));
+        for (int i = 0; i < jobs.size(); i++) queue.add(i);
+        BatchResult[] results = new BatchResult[jobs.size()];
+
+        int tasks = Math.min(workers, jobs.size());
+        List<Future<?>> futures = new ArrayList<>(tasks);
+        for (int t = 0; t < tasks; t++) {
+            futures.add(pool.submit(() -> {
+                Worker w = worker.get();
+                Integer index;
+                while ((index = queue.poll()) != null) {
+                    results[index] = w.run(jobs.get(index));
+                }
+            }));
+        }
+        try {
+            for (Future<?> f : futures) f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Execução em lote interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha em worker do lote", e.getCause());
+        }
+
+        long total = 0;
+        for (BatchResult r : results) total += r.run().instructions();
+        return new BatchReport(List.of(results), total, System.nanoTime() - start, tasks);
+    }
+
+    /** Encerra o pool de threads. */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    /** Máquina e dispositivo de uma thread do pool. */
+    private final class Worker {
+        private final Machine machine = new Machine(memorySize);
+        private final ByteArrayDevice device = new ByteArrayDevice();
+
+        Worker() {
+            machine.getControlUnit().setDevice(device);
+        }
+
+        BatchResult run(BatchJob job) {
+            ControlUnit cu = machine.getControlUnit();
+            if (cu.getTurboEngine() != engine) cu.setTurboEngine(engine);
+            machine.restore(loaded);
+            device.reset(job.input());
+
+            RunResult run = machine.runUntilHalt(job.maxInstructions(), null);
+
+            RegisterSet regs = cu.getRegisterSet();
+            int[] registers = new int[RegisterSet.SW + 1];
+            for (int n : new int[]{RegisterSet.A, RegisterSet.X, RegisterSet.L, RegisterSet.B,
+                    RegisterSet.S, RegisterSet.T, RegisterSet.PC, RegisterSet.SW}) {
+                registers[n] = regs.get(n);
+            }
+            return new BatchResult(job, run, registers, device.output());
+        }
+    }
+}
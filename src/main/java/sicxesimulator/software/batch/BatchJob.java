@@ -0,0 +1,21 @@
+package sicxesimulator.software.batch;
+
+import java.util.Objects;
+
+/**
+ * Uma execução do programa de um {@link BatchFarm}.
+ *
+ * @param name            identificação do job (aparece no resultado)
+ * @param input           bytes lidos por RD, em ordem
+ * @param maxInstructions limite de instruções da execução
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public record BatchJob(String name, byte[] input, long maxInstructions) {
+
+    public BatchJob {
+        Objects.requireNonNull(input, "input não pode ser nulo");
+        if (maxInstructions < 0) throw new IllegalArgumentException("Limite inválido: " + maxInstructions);
+    }
+}
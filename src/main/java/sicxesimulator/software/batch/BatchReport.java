@@ -0,0 +1,32 @@
+package sicxesimulator.software.batch;
+
+import sicxesimulator.hardware.system.StopReason;
+
+import java.util.List;
+
+/**
+ * Agregado de uma rodada de {@link BatchFarm#run(List)}.
+ *
+ * @param results           resultados, na ordem dos jobs
+ * @param totalInstructions soma das instruções de todos os jobs
+ * @param elapsedNanos      duração da rodada
+ * @param workers           threads usadas
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public record BatchReport(List<BatchResult> results, long totalInstructions, long elapsedNanos, int workers) {
+
+    /** @return vazão agregada, em instruções por segundo */
+    public double instructionsPerSecond() {
+        return elapsedNanos == 0 ? 0 : totalInstructions * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @param reason motivo de parada
+     * @return quantidade de jobs que pararam por {@code reason}
+     */
+    public long count(StopReason reason) {
+        return results.stream().filter(r -> r.run().reason() == reason).count();
+    }
+}
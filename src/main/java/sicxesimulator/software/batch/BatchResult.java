@@ -0,0 +1,25 @@
+package sicxesimulator.software.batch;
+
+import sicxesimulator.hardware.system.RunResult;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Resultado de um {@link BatchJob}.
+ *
+ * @param job       job executado
+ * @param run       motivo da parada, instruções executadas e PC final
+ * @param registers valores finais indexados pelo número do registrador
+ *                  ({@code RegisterSet.A}…{@code RegisterSet.SW}; F não é incluído)
+ * @param output    bytes escritos por WD
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public record BatchResult(BatchJob job, RunResult run, int[] registers, byte[] output) {
+
+    /** @return saída interpretada como texto ISO-8859-1 (um caractere por byte) */
+    public String outputText() {
+        return new String(output, StandardCharsets.ISO_8859_1);
+    }
+}
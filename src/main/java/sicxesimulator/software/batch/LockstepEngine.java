@@ -0,0 +1,629 @@
+package sicxesimulator.software.batch;
+
+import sicxesimulator.common.utils.Constants;
+import sicxesimulator.hardware.cpu.control.ControlUnit;
+import sicxesimulator.hardware.cpu.decoder.InstructionDecoder;
+import sicxesimulator.hardware.cpu.model.DecodedInstruction;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.device.ByteArrayDevice;
+import sicxesimulator.hardware.memory.Memory;
+import sicxesimulator.hardware.system.Machine;
+import sicxesimulator.hardware.system.RunResult;
+import sicxesimulator.hardware.system.StopReason;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Executa muitas instâncias do mesmo {@link ProgramImage} em <i>lockstep</i>,
+ * com o estado de todas as máquinas em estrutura de vetores (SoA).
+ *
+ * <p>Cada registrador é um {@code int[]} indexado pela lane (máquina), e a
+ * memória é um único {@code byte[]} intercalado ({@code endereço × lanes +
+ * lane}), de modo que um mesmo endereço em todas as lanes fica contíguo. As
+ * lanes com o mesmo PC formam um grupo: a instrução é decodificada uma vez
+ * (via {@link InstructionDecoder#predecodeAt}) e aplicada a todas as lanes do
+ * grupo. Desvios que divergem separam o grupo; grupos que chegam ao mesmo PC
+ * voltam a se juntar. O grupo de menor PC executa primeiro, para que lanes
+ * atrasadas alcancem as outras nos pontos de junção.</p>
+ *
+ * <p>A semântica espelha a dos executores de {@code hardware.cpu.exec} (a
+ * mesma do modo turbo), inclusive falhas por lane. Tudo o que foge do caminho
+ * comum — instruções de formato 1/2 (exceto ADDR), registradores F/PC,
+ * código fora da imagem ou escrito pelo programa — tira a lane do lockstep:
+ * o estado dela é copiado para uma {@link Machine} comum, que termina a
+ * execução.</p>
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class LockstepEngine {
+
+    private static final int MASK = 0xFFFFFF;
+
+    /** Lanes que compartilham o PC. */
+    private static final class Group {
+        int pc;
+        int[] lanes;
+        int size;
+        long fuel;              // instruções até alguma lane esgotar o orçamento
+
+        Group(int pc, int capacity) {
+            this.pc = pc;
+            this.lanes = new int[Math.max(4, capacity)];
+        }
+
+        void add(int lane) {
+            if (size == lanes.length) lanes = Arrays.copyOf(lanes, size * 2);
+            lanes[size++] = lane;
+        }
+    }
+
+    private final ProgramImage image;
+    private final int memorySize;
+    private final InstructionDecoder decoder;
+    private final DecodedInstruction[] decoded;
+    /** Bytes da imagem já decodificados como instrução / já escritos por alguma lane. */
+    private final boolean[] codeBytes, writtenBytes;
+
+    private int lanes;
+    private byte[] mem;
+    private int[] A, X, L, B, S, T, SW;
+    private long[] count, budget;
+    private ByteArrayDevice[] devices;
+    private BatchResult[] results;
+    private List<BatchJob> jobs;
+    private final List<Group> groups = new ArrayList<>();
+
+    /** Lanes que escreveram sobre código na instrução corrente. */
+    private int[] ejectAfter = new int[16];
+    private int ejectCount;
+    /** Lanes que desviaram para fora do grupo na instrução corrente, e seus destinos. */
+    private int[] divergedLanes = new int[16], divergedTargets = new int[16];
+
+    /** @param image programa compartilhado por todas as lanes */
+    public LockstepEngine(ProgramImage image) {
+        this.image      = Objects.requireNonNull(image, "image não pode ser nulo");
+        this.memorySize = Math.max(Constants.DEFAULT_MEMORY_SIZE_IN_BYTES, image.end());
+        Memory code = new Memory(memorySize);
+        image.loadInto(code);
+        this.decoder      = new InstructionDecoder(new RegisterSet(), code);
+        this.decoded      = new DecodedInstruction[image.end()];
+        this.codeBytes    = new boolean[image.end()];
+        this.writtenBytes = new boolean[image.end()];
+    }
+
+    /**
+     * Executa todos os jobs, um por lane, na thread atual.
+     *
+     * @param jobs jobs a executar
+     * @return resultados na ordem de {@code jobs}, com totais agregados
+     * @throws IllegalArgumentException se a memória intercalada não couber num vetor
+     */
+    public BatchReport run(List<BatchJob> jobs) {
+        long start = System.nanoTime();
+        init(jobs);
+        while (!groups.isEmpty()) {
+            Group g = groups.get(0);
+            for (Group o : groups) if (o.pc < g.pc) g = o;
+            int otherMin = Integer.MAX_VALUE;
+            for (Group o : groups) if (o != g) otherMin = Math.min(otherMin, o.pc);
+            runGroup(g, otherMin);
+            regroup();
+        }
+
+        long total = 0;
+        for (BatchResult r : results) total += r.run().instructions();
+        List<BatchResult> list = List.of(results);
+        this.mem = null;
+        this.jobs = null;
+        return new BatchReport(list, total, System.nanoTime() - start, 1);
+    }
+
+    // private
+
+    private void init(List<BatchJob> jobs) {
+        int n = jobs.size();
+        if ((long) memorySize * n > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Lanes demais para a memória intercalada: " + n);
+        this.jobs    = jobs;
+        this.lanes   = n;
+        this.mem     = new byte[memorySize * n];
+        this.A = new int[n]; this.X = new int[n]; this.L = new int[n]; this.B = new int[n];
+        this.S = new int[n]; this.T = new int[n]; this.SW = new int[n];
+        this.count   = new long[n];
+        this.budget  = new long[n];
+        this.devices = new ByteArrayDevice[n];
+        this.results = new BatchResult[n];
+        Arrays.fill(writtenBytes, false);
+
+        Memory scratch = new Memory(memorySize);
+        image.loadInto(scratch);
+        for (int a = image.loadAddress(); a < image.end(); a++) {
+            byte v = (byte) scratch.readByte(a);
+            if (v != 0) Arrays.fill(mem, a * n, a * n + n, v);
+        }
+
+        groups.clear();
+        if (n == 0) return;
+        Group g = new Group(image.entryPoint() & MASK, n);
+        for (int l = 0; l < n; l++) {
+            BatchJob job = jobs.get(l);
+            budget[l]  = job.maxInstructions();
+            devices[l] = new ByteArrayDevice(job.input());
+            g.add(l);
+        }
+        groups.add(g);
+    }
+
+    /** Junta grupos com o mesmo PC e descarta os vazios. */
+    private void regroup() {
+        for (int i = 0; i < groups.size(); i++) {
+            Group g = groups.get(i);
+            if (g.size == 0) { groups.remove(i--); continue; }
+            for (int j = i + 1; j < groups.size(); j++) {
+                Group o = groups.get(j);
+                if (o.pc != g.pc) continue;
+                for (int k = 0; k < o.size; k++) g.add(o.lanes[k]);
+                g.fuel = 0;
+                groups.remove(j--);
+            }
+        }
+    }
+
+    private Group groupAt(int pc) {
+        for (Group g : groups) if (g.pc == pc) return g;
+        Group g = new Group(pc, 4);
+        groups.add(g);
+        return g;
+    }
+
+    /** Executa {@code g} enquanto ele for o único grupo de menor PC. */
+    private void runGroup(Group g, int otherMin) {
+        while (g.size > 0 && g.pc < otherMin) {
+            if (g.fuel == 0 && !refuel(g)) return;
+            DecodedInstruction d = decode(g.pc);
+            if (d == null) {
+                for (int k = 0; k < g.size; k++) eject(g.lanes[k], g.pc);
+                g.size = 0;
+                return;
+            }
+            if (!execute(g, d)) return;                  // grupo dividido
+        }
+    }
+
+    /** Encerra as lanes sem orçamento e recalcula o combustível do grupo. */
+    private boolean refuel(Group g) {
+        long fuel = Long.MAX_VALUE;
+        int kept = 0;
+        for (int k = 0; k < g.size; k++) {
+            int l = g.lanes[k];
+            long left = budget[l] - count[l];
+            if (left <= 0) {
+                finish(l, new RunResult(StopReason.BUDGET_EXHAUSTED, count[l], g.pc, null), g.pc);
+            } else {
+                fuel = Math.min(fuel, left);
+                g.lanes[kept++] = l;
+            }
+        }
+        g.size = kept;
+        g.fuel = fuel;
+        return kept > 0;
+    }
+
+    /** @return instrução em {@code pc}, ou {@code null} se ela não puder rodar em lockstep */
+    private DecodedInstruction decode(int pc) {
+        if (pc < image.loadAddress() || pc >= image.end()) return null;
+        DecodedInstruction d = decoded[pc];
+        if (d != null) return d;
+        d = new DecodedInstruction();
+        try {
+            decoder.predecodeAt(pc, d);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        if (pc + d.size() > image.end() || !supported(d)) return null;
+        for (int a = pc; a < pc + d.size(); a++) {
+            if (writtenBytes[a]) return null;
+        }
+        for (int a = pc; a < pc + d.size(); a++) codeBytes[a] = true;
+        decoded[pc] = d;
+        return d;
+    }
+
+    private boolean supported(DecodedInstruction d) {
+        int op = d.opcode();
+        int[] o = d.operands();
+        if (d.format() == 2) return op == 0x90 && reg(o[0]) != null && reg(o[1]) != null;
+        if (d.format() < 3) return false;
+        return switch (op) {
+            case 0x18, 0x1C, 0x20, 0x24, 0x3C, 0x30, 0x34, 0x38, 0x48, 0x4C,
+                 0x00, 0x68, 0x08, 0x6C, 0x74, 0x50, 0x40, 0x44, 0x28,
+                 0x0C, 0x78, 0x14, 0x7C, 0x84, 0x10, 0x54,
+                 0xD8, 0xDC, 0xE0, 0xE4, 0xB0 -> true;
+            case 0x94, 0x98, 0x9C, 0xA0 -> reg(o[0]) != null && reg(o[1]) != null;
+            case 0xB4, 0xA4, 0xA8, 0xB8 -> reg(o[0]) != null;
+            default -> false;
+        };
+    }
+
+    /** @return vetor SoA do registrador, ou {@code null} se ele não é mantido em lockstep */
+    private int[] reg(int number) {
+        return switch (number) {
+            case RegisterSet.A -> A;
+            case RegisterSet.X -> X;
+            case RegisterSet.L -> L;
+            case RegisterSet.B -> B;
+            case RegisterSet.S -> S;
+            case RegisterSet.T -> T;
+            case RegisterSet.SW -> SW;
+            default -> null;
+        };
+    }
+
+    /**
+     * Aplica {@code d} a todas as lanes de {@code g}.
+     *
+     * @return <b>false</b> se o grupo se dividiu (ou esvaziou)
+     */
+    private boolean execute(Group g, DecodedInstruction d) {
+        final int op = d.opcode();
+        final int[] o = d.operands();
+        final int pc = g.pc;
+        final int next = (pc + d.size()) & MASK;
+        final boolean branch = op == 0x3C || op == 0x30 || op == 0x34 || op == 0x38 || op == 0x48 || op == 0x4C;
+        final boolean dynamic = d.hasDynamicEffectiveAddress();
+        final int staticEa = d.staticEffectiveAddress();
+        final int[] lanes = g.lanes;
+        if (!branch && !dynamic && d.format() >= 3 && uniform(g, op, o, staticEa)) {
+            for (int k = 0; k < g.size; k++) count[lanes[k]]++;
+            g.pc = next;
+            g.fuel--;
+            return true;
+        }
+
+        int kept = 0;
+        int firstTarget = -1;
+        int diverged = 0;
+        ejectCount = 0;
+        for (int k = 0; k < g.size; k++) {
+            int l = lanes[k];
+            boolean resolved = false;
+            int target;
+            try {
+                int ea = dynamic ? effectiveAddress(l, d) : staticEa;
+                resolved = true;
+                target = step(l, op, o, ea, next);
+            } catch (RuntimeException e) {
+                int at = resolved ? next : pc;
+                finish(l, new RunResult(StopReason.FAULT, count[l], pc, e), at);
+                continue;
+            }
+            count[l]++;
+            if (target < 0) {                                     // HALT
+                finish(l, new RunResult(StopReason.HALTED, count[l], ~target, null), ~target);
+                continue;
+            }
+            if (branch) {
+                if (firstTarget < 0) firstTarget = target;
+                if (target != firstTarget) {
+                    if (diverged == divergedLanes.length) {
+                        divergedLanes   = Arrays.copyOf(divergedLanes, diverged * 2);
+                        divergedTargets = Arrays.copyOf(divergedTargets, diverged * 2);
+                    }
+                    divergedLanes[diverged] = l;
+                    divergedTargets[diverged++] = target;
+                    continue;
+                }
+            }
+            lanes[kept++] = l;
+        }
+        g.size = kept;
+        g.pc = branch && firstTarget >= 0 ? firstTarget : next;
+        g.fuel = diverged > 0 ? 0 : g.fuel - 1;
+        for (int k = 0; k < diverged; k++) groupAt(divergedTargets[k]).add(divergedLanes[k]);
+        boolean split = diverged > 0;
+        if (ejectCount > 0) {
+            for (int e = 0; e < ejectCount; e++) removeAndEject(ejectAfter[e]);
+            split = true;
+        }
+        if (split) for (Group other : groups) other.fuel = 0;
+        return !split && kept > 0;
+    }
+
+    /**
+     * Caminho rápido para instruções com endereço efetivo igual em todas as
+     * lanes e que não podem falhar: os limites são verificados uma vez e cada
+     * operação vira um laço simples sobre as lanes.
+     *
+     * @return <b>false</b> se a instrução precisa do caminho geral
+     */
+    private boolean uniform(Group g, int op, int[] o, int ea) {
+        final int[] members = g.lanes;
+        final int n = g.size;
+        final boolean imm = immediate(o);
+        final boolean direct = o[5] == o[6];
+        if (!imm && !direct) return false;                                // indireto
+        final boolean word = direct && ea >= 0 && ea + 3 <= memorySize;
+        final int stride = lanes, base = ea * stride;
+
+        switch (op) {
+            case 0x18, 0x1C, 0x40, 0x44, 0x28, 0x00, 0x68, 0x08, 0x6C, 0x74 -> {
+                if (!imm && !word) return false;
+                int[] r = switch (op) {
+                    case 0x68 -> B; case 0x08 -> L; case 0x6C -> S; case 0x74 -> T; default -> A;
+                };
+                for (int k = 0; k < n; k++) {
+                    int l = members[k];
+                    int v = imm ? ea : word(l, ea);
+                    switch (op) {
+                        case 0x18 -> { int x = A[l] + v; A[l] = x & MASK; SW[l] = cc(x); }
+                        case 0x1C -> { int x = A[l] - v; A[l] = x & MASK; SW[l] = cc(x); }
+                        case 0x40 -> { int x = A[l] & v; A[l] = x & MASK; SW[l] = cc(x); }
+                        case 0x44 -> { int x = A[l] | v; A[l] = x & MASK; SW[l] = cc(x); }
+                        case 0x28 -> SW[l] = cc(A[l] - v);
+                        default   -> r[l] = v & MASK;
+                    }
+                }
+            }
+            case 0x0C, 0x78, 0x14, 0x7C, 0x84, 0x10 -> {
+                if (!word || !plainData(ea, 3)) return false;
+                int[] r = switch (op) {
+                    case 0x78 -> B; case 0x14 -> L; case 0x7C -> S; case 0x84 -> T; case 0x10 -> X; default -> A;
+                };
+                for (int k = 0; k < n; k++) {
+                    int l = members[k], v = r[l], b = base + l;
+                    mem[b]              = (byte) (v >>> 16);
+                    mem[b + stride]     = (byte) (v >>> 8);
+                    mem[b + 2 * stride] = (byte) v;
+                }
+            }
+            case 0xB8 -> {
+                int[] r = reg(o[0]);
+                for (int k = 0; k < n; k++) {
+                    int l = members[k];
+                    X[l] = (X[l] + 1) & MASK;
+                    SW[l] = cc(X[l] - r[l]);
+                }
+            }
+            case 0xA0 -> {
+                int[] r1 = reg(o[0]), r2 = reg(o[1]);
+                for (int k = 0; k < n; k++) { int l = members[k]; SW[l] = cc(r1[l] - r2[l]); }
+            }
+            case 0xB4 -> {
+                int[] r = reg(o[0]);
+                for (int k = 0; k < n; k++) r[members[k]] = 0;
+            }
+            case 0xD8 -> {
+                for (int k = 0; k < n; k++) { int l = members[k], ch = devices[l].read(); A[l] = ch < 0 ? 0 : ch; }
+            }
+            case 0xDC -> {
+                for (int k = 0; k < n; k++) { int l = members[k]; devices[l].write(A[l] & 0xFF); }
+            }
+            default -> { return false; }
+        }
+        return true;
+    }
+
+    /** @return <b>true</b> (registrando a escrita) se os bytes não contêm código decodificado */
+    private boolean plainData(int address, int length) {
+        int end = Math.min(address + length, image.end());
+        for (int a = address; a < end; a++) if (codeBytes[a]) return false;
+        for (int a = address; a < end; a++) writtenBytes[a] = true;
+        return true;
+    }
+
+    /**
+     * Executa a instrução para a lane {@code l}.
+     *
+     * @return próximo PC, ou {@code ~pc} se a lane parou (HALT)
+     */
+    private int step(int l, int op, int[] o, int ea, int next) {
+        switch (op) {
+            // arith
+            case 0x18 -> arith(A, l, A[l] + value(l, o, ea));
+            case 0x1C -> arith(A, l, A[l] - value(l, o, ea));
+            case 0x20 -> arith(A, l, A[l] * value(l, o, ea));
+            case 0x24 -> {
+                int divisor = value(l, o, ea);
+                if (divisor == 0) throw new ArithmeticException("Divisão por zero");
+                arith(A, l, A[l] / divisor);
+            }
+            case 0x90 -> { int[] r2 = reg(o[1]); arith(r2, l, reg(o[0])[l] + r2[l]); }
+            case 0x94 -> { int[] r2 = reg(o[1]); arith(r2, l, r2[l] - reg(o[0])[l]); }
+            case 0x98 -> { int[] r2 = reg(o[1]); arith(r2, l, reg(o[0])[l] * r2[l]); }
+            case 0x9C -> {
+                int[] r1 = reg(o[0]), r2 = reg(o[1]);
+                if (r1[l] == 0) throw new ArithmeticException("Divisão por zero");
+                arith(r2, l, r2[l] / r1[l]);
+            }
+
+            // jump
+            case 0x3C -> { return ea & MASK; }
+            case 0x30 -> { return SW[l] == 0 ? ea & MASK : next; }
+            case 0x34 -> { return SW[l] == 2 ? ea & MASK : next; }
+            case 0x38 -> { return SW[l] == 1 ? ea & MASK : next; }
+            case 0x48 -> { L[l] = next; return ea & MASK; }
+            case 0x4C -> { int ret = L[l]; return ret == 0 ? ~ret : ret; }
+
+            // load
+            case 0x00 -> A[l] = value(l, o, ea) & MASK;
+            case 0x68 -> B[l] = value(l, o, ea) & MASK;
+            case 0x08 -> L[l] = value(l, o, ea) & MASK;
+            case 0x6C -> S[l] = value(l, o, ea) & MASK;
+            case 0x74 -> T[l] = value(l, o, ea) & MASK;
+            case 0x50 -> {
+                int byteValue = immediate(o) ? (ea & 0xFF) : readByte(l, ea);
+                A[l] = (A[l] & 0xFFFF00) | (byteValue & 0xFF);
+            }
+
+            // logic
+            case 0x40 -> arith(A, l, A[l] & value(l, o, ea));
+            case 0x44 -> arith(A, l, A[l] | value(l, o, ea));
+            case 0x28 -> SW[l] = cc(A[l] - value(l, o, ea));
+            case 0xA0 -> SW[l] = cc(reg(o[0])[l] - reg(o[1])[l]);
+            case 0xB4 -> reg(o[0])[l] = 0;
+            case 0xA4 -> { int[] r = reg(o[0]); arith(r, l, r[l] << o[1]); }
+            case 0xA8 -> { int[] r = reg(o[0]); arith(r, l, r[l] >>> o[1]); }
+            case 0xB8 -> {
+                X[l] = (X[l] + 1) & MASK;
+                SW[l] = cc(X[l] - reg(o[0])[l]);
+            }
+
+            // store
+            case 0x0C -> writeWord(l, ea, A[l]);
+            case 0x78 -> writeWord(l, ea, B[l]);
+            case 0x14 -> writeWord(l, ea, L[l]);
+            case 0x7C -> writeWord(l, ea, S[l]);
+            case 0x84 -> writeWord(l, ea, T[l]);
+            case 0x10 -> writeWord(l, ea, X[l]);
+            case 0x54 -> writeByte(l, ea, A[l]);
+
+            // sys
+            case 0xD8 -> { int ch = devices[l].read(); A[l] = ch < 0 ? 0 : ch; }
+            case 0xDC -> devices[l].write(A[l] & 0xFF);
+            case 0xE0 -> SW[l] = 0;
+            case 0xE4 -> SW[l] = SW[l] == 0 ? 0 : 1;
+            case 0xB0 -> { return ~next; }
+            default -> throw new IllegalStateException("Opcode fora do lockstep: " + op);
+        }
+        return next;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /*                Helpers (espelham TurboInterpreter)                 */
+    /* ------------------------------------------------------------------ */
+
+    private void arith(int[] target, int l, int result) {
+        target[l] = result & MASK;
+        SW[l] = cc(result);
+    }
+
+    private static int cc(int value) {
+        return value == 0 ? 0 : (value < 0 ? 1 : 2);
+    }
+
+    private static boolean immediate(int[] o) {
+        return o[5] == 0 && o[6] == 1;
+    }
+
+    private int value(int l, int[] o, int ea) {
+        int n = o[5], i = o[6];
+        if (n == 0 && i == 1) return ea;
+        if (n == 1 && i == 0) return readWord(l, readWord(l, ea));
+        return readWord(l, ea);
+    }
+
+    /** Mesmo cálculo de {@code InstructionDecoder}, com B, X e memória da lane. */
+    private int effectiveAddress(int l, DecodedInstruction d) {
+        int[] o = d.operands();
+        int addr = d.staticEffectiveAddress();
+        if (o[3] == 0 && o[2] == 1) addr += B[l];
+        if (o[1] == 1) addr += X[l];
+        if (o[5] == 1 && o[6] == 0) {
+            if (addr < 0 || addr + 3 > memorySize)
+                throw new IndexOutOfBoundsException("Leitura fora dos limites da memória.");
+            return word(l, addr);
+        }
+        return addr;
+    }
+
+    private int word(int l, int address) {
+        int b = address * lanes + l;
+        int v = ((mem[b] & 0xFF) << 16) | ((mem[b + lanes] & 0xFF) << 8) | (mem[b + 2 * lanes] & 0xFF);
+        return (v << 8) >> 8;
+    }
+
+    private int readWord(int l, int address) {
+        if (address < 0 || address + 3 > memorySize)
+            throw new IndexOutOfBoundsException("Leitura fora dos limites da memória.");
+        return word(l, address);
+    }
+
+    private int readByte(int l, int address) {
+        if (address < 0 || address >= memorySize)
+            throw new IndexOutOfBoundsException("Leitura fora dos limites da memória.");
+        return mem[address * lanes + l] & 0xFF;
+    }
+
+    private void writeWord(int l, int address, int value) {
+        if (address < 0 || address + 3 > memorySize)
+            throw new IndexOutOfBoundsException("Gravação fora dos limites da memória.");
+        int b = address * lanes + l;
+        mem[b]             = (byte) (value >>> 16);
+        mem[b + lanes]     = (byte) (value >>> 8);
+        mem[b + 2 * lanes] = (byte) value;
+        if (address < image.end()) touched(l, address, 3);
+    }
+
+    private void writeByte(int l, int address, int value) {
+        if (address < 0 || address >= memorySize)
+            throw new IndexOutOfBoundsException("Gravação fora dos limites da memória.");
+        mem[address * lanes + l] = (byte) value;
+        if (address < image.end()) touched(l, address, 1);
+    }
+
+    /** Registra escrita na região da imagem; escrita sobre código tira a lane do lockstep. */
+    private void touched(int l, int address, int length) {
+        boolean code = false;
+        for (int a = address; a < Math.min(address + length, image.end()); a++) {
+            writtenBytes[a] = true;
+            code |= codeBytes[a];
+        }
+        if (code) {
+            if (ejectCount == ejectAfter.length) ejectAfter = Arrays.copyOf(ejectAfter, ejectCount * 2);
+            ejectAfter[ejectCount++] = l;
+        }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /*                       Saída do lockstep                            */
+    /* ------------------------------------------------------------------ */
+
+    private void removeAndEject(int lane) {
+        for (Group g : groups) {
+            for (int k = 0; k < g.size; k++) {
+                if (g.lanes[k] != lane) continue;
+                int pc = g.pc;
+                g.lanes[k] = g.lanes[--g.size];
+                eject(lane, pc);
+                return;
+            }
+        }
+    }
+
+    /** Continua a lane numa {@link Machine} comum a partir de {@code pc}. */
+    private void eject(int l, int pc) {
+        Machine m = new Machine(memorySize);
+        byte[] bytes = new byte[memorySize];
+        for (int a = 0; a < memorySize; a++) bytes[a] = mem[a * lanes + l];
+        m.getMemory().writeBytes(0, bytes);
+
+        ControlUnit cu = m.getControlUnit();
+        RegisterSet regs = cu.getRegisterSet();
+        regs.set(RegisterSet.A, A[l]); regs.set(RegisterSet.X, X[l]); regs.set(RegisterSet.L, L[l]);
+        regs.set(RegisterSet.B, B[l]); regs.set(RegisterSet.S, S[l]); regs.set(RegisterSet.T, T[l]);
+        regs.set(RegisterSet.SW, SW[l]);
+        cu.setIntValuePC(pc);
+        cu.setDevice(devices[l]);
+
+        RunResult r = m.runUntilHalt(Math.max(0, budget[l] - count[l]), null);
+        count[l] += r.instructions();
+        A[l] = regs.get(RegisterSet.A); X[l] = regs.get(RegisterSet.X); L[l] = regs.get(RegisterSet.L);
+        B[l] = regs.get(RegisterSet.B); S[l] = regs.get(RegisterSet.S); T[l] = regs.get(RegisterSet.T);
+        SW[l] = regs.get(RegisterSet.SW);
+        finish(l, new RunResult(r.reason(), count[l], r.pc(), r.fault()), cu.getIntValuePC());
+    }
+
+    private void finish(int l, RunResult run, int finalPc) {
+        int[] registers = new int[RegisterSet.SW + 1];
+        registers[RegisterSet.A] = A[l]; registers[RegisterSet.X] = X[l];
+        registers[RegisterSet.L] = L[l]; registers[RegisterSet.B] = B[l];
+        registers[RegisterSet.S] = S[l]; registers[RegisterSet.T] = T[l];
+        registers[RegisterSet.PC] = finalPc & MASK;
+        registers[RegisterSet.SW] = SW[l];
+        results[l] = new BatchResult(jobs.get(l), run, registers, devices[l].output());
+    }
+}
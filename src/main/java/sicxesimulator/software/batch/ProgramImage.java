@@ -0,0 +1,89 @@
+package sicxesimulator.software.batch;
+
+import sicxesimulator.hardware.memory.Memory;
+import sicxesimulator.software.data.ObjectFile;
+import sicxesimulator.software.loader.Loader;
+
+import java.util.Objects;
+
+/**
+ * Imagem imutável de um programa já carregado e realocado: os bytes a copiar
+ * para a memória, o endereço de carga e o ponto de entrada.
+ * <p>
+ * É montada uma única vez e compartilhada por todas as máquinas de um
+ * {@link BatchFarm}; cada carga é uma cópia direta dos bytes, sem passar de
+ * novo pelo {@link Loader}.
+ *
+ * @author Renan
+ * @since 1.0.0
+ */
+public final class ProgramImage {
+
+    private final String name;
+    private final int loadAddress;
+    private final int entryPoint;
+    private final byte[] code;
+
+    /**
+     * @param name        nome do programa
+     * @param loadAddress endereço do primeiro byte
+     * @param code        bytes do programa (copiados)
+     * @param entryPoint  valor inicial do PC
+     */
+    public ProgramImage(String name, int loadAddress, byte[] code, int entryPoint) {
+        if (loadAddress < 0) throw new IllegalArgumentException("Endereço de carga inválido: " + loadAddress);
+        this.name        = name;
+        this.loadAddress = loadAddress;
+        this.code        = Objects.requireNonNull(code, "code não pode ser nulo").clone();
+        this.entryPoint  = entryPoint;
+    }
+
+    /**
+     * Carrega {@code obj} com o {@link Loader} numa memória temporária e
+     * captura o resultado (com as relocações aplicadas). Como no carregamento
+     * pela interface, o objeto passa a ficar marcado como realocado.
+     *
+     * @param obj         objeto montado/linkado
+     * @param baseAddress endereço base (usado se {@code obj} ainda não foi realocado)
+     * @return imagem pronta para carga
+     */
+    public static ProgramImage of(ObjectFile obj, int baseAddress) {
+        Objects.requireNonNull(obj, "objectFile não pode ser nulo");
+        int load = obj.isFullyRelocated() ? obj.getStartAddress() : baseAddress;
+        Memory scratch = new Memory(load + obj.getProgramLength());
+        new Loader().loadObjectFile(obj, scratch, baseAddress);
+
+        byte[] bytes = new byte[obj.getProgramLength()];
+        for (int i = 0; i < bytes.length; i++) bytes[i] = (byte) scratch.readByte(load + i);
+        return new ProgramImage(obj.getProgramName(), load, bytes, load);
+    }
+
+    /**
+     * Copia o programa para {@code memory}.
+     *
+     * @param memory memória de destino
+     */
+    public void loadInto(Memory memory) {
+        memory.writeBytes(loadAddress, code);
+    }
+
+    /** @return nome do programa */
+    public String name() {
+        return name;
+    }
+
+    /** @return endereço do primeiro byte */
+    public int loadAddress() {
+        return loadAddress;
+    }
+
+    /** @return valor inicial do PC */
+    public int entryPoint() {
+        return entryPoint;
+    }
+
+    /** @return primeiro endereço após o programa */
+    public int end() {
+        return loadAddress + code.length;
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * Execução headless em lote: o mesmo programa contra muitas entradas, em
+ * paralelo.
+ * <p>
+ * Componentes principais:
+ * <ul>
+ *   <li><b>ProgramImage</b>: imagem imutável do programa carregado e
+ *       realocado, compartilhada entre as máquinas;</li>
+ *   <li><b>BatchFarm</b>: pool fixo de threads, cada uma com sua
+ *       {@code Machine} reaproveitada, consumindo uma fila de
+ *       {@link sicxesimulator.software.batch.BatchJob}s;</li>
+ *   <li><b>LockstepEngine</b>: alternativa que mantém todas as máquinas em
+ *       estrutura de vetores e executa cada instrução uma vez para todas as
+ *       lanes com o mesmo PC;</li>
+ *   <li><b>BatchResult</b> / <b>BatchReport</b>: registradores finais,
+ *       saída de WD, instruções executadas e totais da rodada.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ */
+package sicxesimulator.software.batch;
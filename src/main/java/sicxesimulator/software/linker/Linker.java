@@ -34,6 +34,29 @@ public class Linker {
      * @return {@link ObjectFile} resultante
      */
     public ObjectFile linkModules(List<ObjectFile> modules, boolean finalRelocation, int loadAddress, String outputFileName) {
+        ObjectFile result = link(modules, finalRelocation, loadAddress, outputFileName);
+
+        /* 7. Persistência (.obj textual e .meta) */
+        try {
+            writeLinkedObjectFile(result, outputFileName, !finalRelocation);
+        } catch (IOException e) {
+            System.err.println("Falha ao gravar .obj textual: " + e.getMessage());
+        }
+        result.saveToFile(new File(Constants.SAVE_DIR, outputFileName + ".meta"));
+        return result;
+    }
+
+    /**
+     * Igual a {@link #linkModules}, mas sem gravar nada em disco; seguro para
+     * uso concorrente com instâncias distintas.
+     *
+     * @param modules         lista de módulos a linkar (ordem importa)
+     * @param finalRelocation se {@code true}, aplica relocação final
+     * @param loadAddress     endereço base de carga
+     * @param outputFileName  nome do programa resultante
+     * @return {@link ObjectFile} resultante
+     */
+    public ObjectFile link(List<ObjectFile> modules, boolean finalRelocation, int loadAddress, String outputFileName) {
         Objects.requireNonNull(modules, "modules não pode ser nulo");
         if (modules.isEmpty()) throw new IllegalArgumentException("Nenhum módulo para linkar.");
 
@@ -64,14 +87,6 @@ public class Linker {
         );
         result.setOrigin(ObjectFile.ObjectFileOrigin.LINKED_MODULES);
         result.setFullyRelocated(finalRelocation);
-
-        /* 7. Persistência (.obj textual e .meta) */
-        try {
-            writeLinkedObjectFile(result, outputFileName, !finalRelocation);
-        } catch (IOException e) {
-            System.err.println("Falha ao gravar .obj textual: " + e.getMessage());
-        }
-        result.saveToFile(new File(Constants.SAVE_DIR, outputFileName + ".meta"));
         return result;
     }
 
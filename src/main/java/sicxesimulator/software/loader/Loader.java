@@ -64,9 +64,7 @@ public class Loader {
 
     /** Copia todo o array de bytes para a memória. */
     private void copyCodeToMemory(Memory memory, int loadAddr, byte[] bytes) {
-        for (int i = 0; i < bytes.length; i++) {
-            memory.writeByte(loadAddr + i, bytes[i] & 0xFF);
-        }
+        memory.writeBytes(loadAddr, bytes);
     }
 
     /** Soma {@code loadAddr} a todos os símbolos da tabela. */
@@ -94,8 +92,12 @@ public class Loader {
 
         /* lê valor atual */
         int value = 0;
-        for (int i = 0; i < len; i++) {
-            value = (value << 8) | (memory.readByte(loadAddr + offset + i) & 0xFF);
+        if (len == 3) {
+            value = memory.readWord24(loadAddr + offset);
+        } else {
+            for (int i = 0; i < len; i++) {
+                value = (value << 8) | (memory.readByte(loadAddr + offset + i) & 0xFF);
+            }
         }
 
         Integer symAddr = symTab.getSymbolAddress(rec.symbol());
@@ -104,6 +106,10 @@ public class Loader {
         int newVal = value + symAddr - (rec.pcRelative() ? 3 : 0);
 
         /* grava de volta (big-endian) */
+        if (len == 3) {
+            memory.writeWord24(loadAddr + offset, newVal);
+            return;
+        }
         for (int i = len - 1; i >= 0; i--) {
             memory.writeByte(loadAddr + offset + i, newVal & 0xFF);
             newVal >>>= 8;
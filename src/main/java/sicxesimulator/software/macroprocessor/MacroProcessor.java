@@ -41,18 +41,33 @@ public class MacroProcessor {
         String content = FileUtils.readFile(inputFile);
         String[] sourceLines = content.split("\\r?\\n", -1);
 
+        // 2) a 4) Expansão em memória
+        List<String> filtered = expand(Arrays.asList(sourceLines));
+
+        // 5) Grava o resultado
+        String result = String.join("\n", filtered);
+        FileUtils.writeFileInDir(Constants.TEMP_DIR, outputFile, result);
+    }
+
+    /**
+     * Expande as macros de um código-fonte já em memória, sem tocar no
+     * sistema de arquivos.
+     *
+     * @param sourceLines linhas do código-fonte original
+     * @return linhas expandidas, sem definições de macro nem linhas em branco
+     * @throws NullPointerException se {@code sourceLines} for nulo
+     */
+    public List<String> expand(List<String> sourceLines) {
+        Objects.requireNonNull(sourceLines, "sourceLines não pode ser nulo");
+
         // 2) Primeira passagem: coleta definições de macro
-        List<String> nonMacroLines = parseDefinitions(sourceLines);
+        List<String> nonMacroLines = parseDefinitions(sourceLines.toArray(new String[0]));
 
         // 3) Segunda passagem: expande invocações de macro
         List<String> expandedLines = expandAll(nonMacroLines);
 
         // 4) Filtra linhas em branco
-        List<String> filtered = filterEmptyLines(expandedLines);
-
-        // 5) Grava o resultado
-        String result = String.join("\n", filtered);
-        FileUtils.writeFileInDir(Constants.TEMP_DIR, outputFile, result);
+        return filterEmptyLines(expandedLines);
     }
 
     /**
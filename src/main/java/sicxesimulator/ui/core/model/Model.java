@@ -7,12 +7,17 @@ import sicxesimulator.ui.data.memory.MemoryEntry;
 import sicxesimulator.ui.data.memory.RegisterEntry;
 import sicxesimulator.ui.data.memory.SymbolEntry;
 import sicxesimulator.ui.util.DialogUtil;
+import sicxesimulator.hardware.cpu.control.ControlUnit;
+import sicxesimulator.hardware.cpu.control.ExecutionHistory;
 import sicxesimulator.hardware.cpu.register.Register;
+import sicxesimulator.hardware.memory.AccessHeatmap;
+import sicxesimulator.hardware.memory.Memory;
 import sicxesimulator.software.data.ObjectFile;
 import sicxesimulator.software.assembler.Assembler;
 import sicxesimulator.software.linker.Linker;
 import sicxesimulator.software.loader.Loader;
 import sicxesimulator.software.macroprocessor.MacroProcessor;
+import sicxesimulator.hardware.system.Checkpoint;
 import sicxesimulator.hardware.system.Machine;
 import sicxesimulator.common.utils.Convert;
 import sicxesimulator.common.utils.FileUtils;
@@ -20,9 +25,13 @@ import sicxesimulator.common.utils.Logger;
 import sicxesimulator.common.utils.Constants;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
 
 public class Model {
+    /** Instruções mais recentes do histórico incluídas em cada dump de log. */
+    private static final int LOGGED_HISTORY_ENTRIES = 256;
+
     private final Machine machine;
     private final Loader loader;
     private final Linker linker;
@@ -34,6 +43,13 @@ public class Model {
     private ObjectFile lastLoadedCode;
     private LinkerMode linkerMode = LinkerMode.ABSOLUTO;
 
+    /** Tabela de memória já montada e a época usada para atualizar só as páginas escritas. */
+    private Memory.Epoch memoryEpoch;
+    private MemoryEntry[] memoryEntries;
+
+    /** Páginas do dump de memória do log, refeitas só onde houve escrita. */
+    private final Logger.MemoryDump memoryDump = new Logger.MemoryDump();
+
     public enum LinkerMode {
         ABSOLUTO,
         RELOCAVEL
@@ -65,17 +81,26 @@ public class Model {
         return machine;
     }
 
+    /**
+     * Linhas da tabela de memória (uma por palavra). Só as palavras das
+     * páginas escritas desde a chamada anterior são refeitas.
+     */
     public List<MemoryEntry> getMemoryEntries() {
-        List<MemoryEntry> entries = new ArrayList<>();
-        var memory = machine.getMemory();
-        int totalBytes = memory.getSize();
-        int wordCount = totalBytes / 3;
-        for (int wordIndex = 0; wordIndex < wordCount; wordIndex++) {
-            byte[] word = memory.readWord(wordIndex);
-            String address = Convert.intToHexString24(wordIndex * 3);
-            entries.add(new MemoryEntry(address, Convert.bytesToHex(word)));
+        Memory memory = machine.getMemory();
+        if (memoryEpoch == null || memoryEpoch.memory() != memory) {    // primeira vez ou memória trocada
+            if (memoryEpoch != null) memoryEpoch.close();
+            memoryEpoch = memory.newEpoch();
+            memoryEntries = new MemoryEntry[memory.getSize() / 3];
         }
-        return entries;
+        for (int page : memoryEpoch.advance()) {
+            int from = Math.max(0, page * Memory.PAGE_SIZE - 2) / 3;    // inclui a palavra que cruza a página
+            int to = Math.min(memoryEntries.length, ((page + 1) * Memory.PAGE_SIZE + 2) / 3);
+            for (int w = from; w < to; w++) {
+                memoryEntries[w] = new MemoryEntry(Convert.intToHexString24(w * 3),
+                        Convert.intToHexString24(memory.peekWord24(w * 3)));
+            }
+        }
+        return Arrays.asList(memoryEntries.clone());
     }
 
     public List<RegisterEntry> getRegisterEntries() {
@@ -166,6 +191,67 @@ public class Model {
         }
     }
 
+    /**
+     * Salva o estado da máquina e os metadados do programa carregado.
+     *
+     * @param file        arquivo de destino
+     * @param incremental se <b>true</b>, grava só as páginas alteradas desde o último checkpoint
+     * @throws IOException em falha de E/S
+     */
+    public void saveCheckpoint(File file, boolean incremental) throws IOException {
+        Checkpoint.Program program = null;
+        if (lastLoadedCode != null) {
+            program = new Checkpoint.Program(lastLoadedCode.getProgramName(), lastLoadedCode.getStartAddress(),
+                    lastLoadedCode.getProgramLength(), lastLoadedCode.getStartAddress());
+        }
+        if (incremental) machine.saveIncrementalCheckpoint(file.toPath(), program);
+        else machine.saveCheckpoint(file.toPath(), program);
+    }
+
+    /**
+     * Retoma uma simulação salva por {@link #saveCheckpoint(File, boolean)}.
+     * O objeto do programa é recuperado de {@link Constants#SAVE_DIR}, se existir.
+     *
+     * @param chain checkpoint completo seguido dos incrementais, na ordem
+     * @throws IOException em falha de E/S ou cadeia inválida
+     */
+    public void loadCheckpoint(List<File> chain) throws IOException {
+        Checkpoint.Header header = machine.loadCheckpoint(chain.stream().map(File::toPath).toArray(Path[]::new));
+        lastLoadedCode = null;
+        Checkpoint.Program program = header.program();
+        if (program != null) {
+            File meta = new File(Constants.SAVE_DIR, program.name() + ".meta");
+            if (meta.exists()) lastLoadedCode = ObjectFile.loadFromFile(meta);
+        }
+        setCodeLoaded(program != null);
+        setSimulationFinished(header.cpu().halted());
+        logDetailedState("Checkpoint carregado em loadCheckpoint()");
+        notifyListeners();
+    }
+
+    /**
+     * Exporta o mapa de calor ligado ({@link ControlUnit#enableHeatmap}),
+     * anotado com os símbolos do programa carregado: JSON se o nome terminar
+     * em {@code .json}, CSV nos demais casos.
+     *
+     * @param file arquivo de destino
+     * @throws IOException em falha de E/S
+     * @throws IllegalStateException se o mapa de calor estiver desligado
+     */
+    public void exportHeatmap(File file) throws IOException {
+        AccessHeatmap heatmap = machine.getControlUnit().getHeatmap();
+        if (heatmap == null) throw new IllegalStateException("Mapa de calor desligado.");
+        Map<String, Integer> symbolMap = new HashMap<>();
+        if (lastLoadedCode != null) {
+            lastLoadedCode.getSymbolTable().getAllSymbols()
+                    .forEach((name, info) -> symbolMap.put(name, info.address));
+        }
+        try (Writer out = new BufferedWriter(new FileWriter(file))) {
+            if (file.getName().toLowerCase().endsWith(".json")) heatmap.writeJson(out, symbolMap);
+            else heatmap.writeCsv(out, symbolMap);
+        }
+    }
+
     public void addAndSaveObjectFileToList(ObjectFile objectFile) {
         File savedDir = new File(Constants.SAVE_DIR);
         if (!savedDir.exists() && !savedDir.mkdirs()) {
@@ -217,13 +303,18 @@ public class Model {
             if (raw != null && !raw.isEmpty()) sourceCodeText = String.join("\n", raw);
         }
 
-        List<String> executionOutput = new ArrayList<>(machine.getControlUnit().getExecutionHistory());
+        ControlUnit cu = machine.getControlUnit();
+        List<String> executionOutput = new ArrayList<>(LOGGED_HISTORY_ENTRIES);
+        for (ExecutionHistory.Entry e : cu.getHistory().recent(LOGGED_HISTORY_ENTRIES)) {
+            executionOutput.add(cu.getExecutionDispatcher().describe(e.result()));
+        }
         if (executionOutput.isEmpty()) {
             executionOutput = List.of("(Sem saída de execução)");
         }
 
         Logger.logMachineState(
                 machine.getMemory(),
+                memoryDump,
                 machine.getControlUnit().getRegisterSet(),
                 objectCodeText,
                 symbolMap,
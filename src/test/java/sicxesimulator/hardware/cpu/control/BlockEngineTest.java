@@ -0,0 +1,82 @@
+package sicxesimulator.hardware.cpu.control;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.hardware.memory.Memory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockEngineTest {
+
+    /* LDA #0 / loop: ADD #1 / STA COUNT / COMP #100 / JLT loop / RSUB ; COUNT em 0x18 */
+    private static final int[] COUNT_TO_100 = {
+            0x01, 0x00, 0x00,
+            0x19, 0x00, 0x01,
+            0x0F, 0x20, 0x0F,
+            0x29, 0x00, 0x64,
+            0x3B, 0x2F, 0xF4,
+            0x4F, 0x00, 0x00
+    };
+
+    /* LDA #7 / STA 6 (sobrescreve a si própria com 00 00 07) / LDA #1 / RSUB:
+       a instrução em 6 vira "LDA 7" e deve ler a palavra 00 07 4F como no step() */
+    private static final int[] SELF_MODIFYING = {
+            0x01, 0x00, 0x07,
+            0x0F, 0x20, 0x00,
+            0x01, 0x00, 0x01,
+            0x4F, 0x00, 0x00
+    };
+
+    private static Memory load(int[] program) {
+        Memory mem = new Memory(48);
+        for (int i = 0; i < program.length; i++) mem.writeByte(i, program[i]);
+        return mem;
+    }
+
+    private static ControlUnit blocks(Memory mem) {
+        ControlUnit cu = new ControlUnit(mem);
+        cu.setTurboEngine(TurboEngine.BASIC_BLOCKS);
+        return cu;
+    }
+
+    @Test
+    void blocksMatchStepByStepExecution() {
+        Memory slowMem = load(COUNT_TO_100);
+        ControlUnit slow = new ControlUnit(slowMem);
+        while (!slow.isHalted()) slow.step();
+
+        Memory fastMem = load(COUNT_TO_100);
+        ControlUnit fast = blocks(fastMem);
+        long executed = fast.runTurbo(Long.MAX_VALUE);
+
+        assertTrue(fast.isHalted());
+        assertEquals(slow.getInstructionCount(), executed);
+        assertEquals(slow.getIntValuePC(), fast.getIntValuePC());
+        for (String r : new String[]{"A", "X", "L", "SW"}) {
+            assertEquals(slow.getRegisterSet().getRegister(r).getIntValue(),
+                    fast.getRegisterSet().getRegister(r).getIntValue(), r);
+        }
+        assertEquals(slowMem.toString(), fastMem.toString());
+    }
+
+    @Test
+    void budgetIsExactEvenInsideABlock() {
+        ControlUnit cu = blocks(load(COUNT_TO_100));
+        assertEquals(7, cu.runTurbo(7));                  // LDA + 1,5 voltas
+        assertEquals(2, cu.getRegisterSet().getRegister("A").getIntValue());
+        assertEquals(0x09, cu.getIntValuePC());
+        assertFalse(cu.isHalted());
+    }
+
+    @Test
+    void writeOverCodeLeavesTheBlockLikeStep() {
+        ControlUnit slow = new ControlUnit(load(SELF_MODIFYING));
+        while (!slow.isHalted()) slow.step();
+
+        ControlUnit fast = blocks(load(SELF_MODIFYING));
+        fast.runTurbo(Long.MAX_VALUE);
+        assertTrue(fast.isHalted());
+        assertEquals(slow.getIntValuePC(), fast.getIntValuePC());
+        assertEquals(slow.getInstructionCount(), fast.getInstructionCount());
+        assertEquals(0x00074F, fast.getRegisterSet().getRegister("A").getIntValue());
+    }
+}
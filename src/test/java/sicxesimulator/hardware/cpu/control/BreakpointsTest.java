@@ -0,0 +1,54 @@
+package sicxesimulator.hardware.cpu.control;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.memory.Memory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BreakpointsTest {
+
+    /* loop: ADD #1 / STA COUNT / J loop ; COUNT em 0x0C */
+    private static final int[] ENDLESS = {
+            0x19, 0x00, 0x01,
+            0x0F, 0x20, 0x06,
+            0x3F, 0x2F, 0xF7
+    };
+
+    private static ControlUnit load(Memory mem) {
+        for (int i = 0; i < ENDLESS.length; i++) mem.writeByte(i, ENDLESS[i]);
+        return new ControlUnit(mem);
+    }
+
+    @Test
+    void turboStopsBeforeBreakpointAndResumes() {
+        ControlUnit cu = load(new Memory(48));
+        cu.setTurboEngine(TurboEngine.JIT);
+        cu.getBreakpoints().add(6);
+
+        assertEquals(2, cu.runTurbo(1_000));
+        assertEquals(6, cu.getIntValuePC());
+        assertEquals(Breakpoints.Hit.PC, cu.getBreakpoints().lastHit());
+        assertEquals(3, cu.runTurbo(1_000));                 // retoma: J, ADD, STA
+    }
+
+    @Test
+    void conditionalBreakpointChecksRegister() {
+        ControlUnit cu = load(new Memory(48));
+        cu.getBreakpoints().add(3, RegisterSet.A, a -> a == 10);
+
+        assertEquals(28, cu.runTurbo(1_000));
+        assertEquals(10, cu.getRegisterSet().get(RegisterSet.A));
+    }
+
+    @Test
+    void writeWatchpointStopsAfterStore() {
+        Memory mem = new Memory(48);
+        ControlUnit cu = load(mem);
+        mem.addWatchpoint(0x0C, 3, false, true);
+
+        assertEquals(2, cu.runTurbo(1_000));
+        assertEquals(Breakpoints.Hit.WRITE, cu.getBreakpoints().lastHit());
+        assertEquals(0x0C, cu.getBreakpoints().lastHitAddress());
+    }
+}
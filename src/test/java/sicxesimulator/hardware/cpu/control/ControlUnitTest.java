@@ -35,4 +35,16 @@ class ControlUnitTest {
         assertFalse(cu.isHalted());
         assertTrue(cu.getExecutionHistory().isEmpty());
     }
+
+    @Test
+    void haltIsReportedAsResultFlag() {
+        Memory mem = new Memory(16);
+        mem.writeByte(0, 0xB0);                      // SVC (formato 3 neste decodificador)
+        ControlUnit cu = new ControlUnit(mem);
+
+        cu.step();
+        assertTrue(cu.isHalted());
+        assertTrue(cu.getLastExecutionResult().halted());
+        assertTrue(cu.getLastExecutionLog().contains("HALT"));
+    }
 }
@@ -2,6 +2,7 @@ package sicxesimulator.hardware.cpu.control;
 
 import org.junit.jupiter.api.Test;
 import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
 import sicxesimulator.hardware.cpu.register.RegisterSet;
 import sicxesimulator.hardware.memory.Memory;
 
@@ -12,13 +13,40 @@ class ExecutionDispatcherTest {
     @Test
     void customRegistrationAndDispatchWorks() {
         ExecutionDispatcher d = new ExecutionDispatcher();
-        d.register(0xFF, ctx -> "OK");
+        ExecutionResult ok = ExecutionResult.ofNone(0xFF, 0);
+        d.register(0xFF, ctx -> ok);
 
         ExecutionContext dummy =
                 new ExecutionContext(new int[0], false, 0, new RegisterSet(), new Memory(1));
 
-        assertEquals("OK", d.dispatch(0xFF, dummy));
+        assertSame(ok, d.dispatch(0xFF, dummy));
+        assertTrue(d.isOverridden(0xFF));
         assertThrows(IllegalStateException.class,
                 () -> d.dispatch(0xAB, dummy));      // opcode não registrado
     }
+
+    @Test
+    void describeBuildsTextOnlyFromResult() {
+        ExecutionDispatcher d = new ExecutionDispatcher();
+        // ADD (0x18): A=000002 + 000003 => 000005
+        ExecutionResult add = ExecutionResult.ofRegister(0x18, 0x30, 0, 2, 5, 3);
+        assertEquals("ADD: A=000002 + 000003 => 000005", d.describe(add));
+        assertTrue(d.describe(ExecutionResult.ofHalt(0xB0, 0)).contains("HALT"));
+    }
+
+    @Test
+    void switchStrategyRunsSameExecutorsAndHonoursRegister() {
+        ExecutionDispatcher d = new ExecutionDispatcher();
+        d.setStrategy(DispatchStrategy.SWITCH);
+        RegisterSet regs = new RegisterSet();
+        regs.set(RegisterSet.A, 2);
+        // ADD #3
+        ExecutionContext add = new ExecutionContext(0x18, new int[]{3, 0, 0, 0, 0, 0, 1}, false, 3, regs, new Memory(3));
+        assertEquals(5, d.dispatch(0x18, add).after());
+
+        ExecutionResult custom = ExecutionResult.ofNone(0x18, 0);
+        d.register(0x18, ctx -> custom);
+        assertSame(custom, d.dispatch(0x18, add));
+        assertThrows(IllegalArgumentException.class, () -> d.register(0x100, ctx -> custom));
+    }
 }
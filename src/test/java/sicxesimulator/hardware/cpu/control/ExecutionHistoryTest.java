@@ -0,0 +1,119 @@
+package sicxesimulator.hardware.cpu.control;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.memory.Memory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionHistoryTest {
+
+    private static ExecutionResult result(int i) {
+        return ExecutionResult.ofRegister(0x18, i * 3, 0, i, i + 1, 1);
+    }
+
+    @Test
+    void ringBufferKeepsOnlyMostRecentEntries() {
+        ExecutionHistory h = new ExecutionHistory(4);
+        for (int i = 0; i < 10; i++) h.record(i * 3, result(i));
+
+        assertEquals(10, h.total());
+        assertEquals(6, h.firstIndex());
+        assertEquals(4, h.size());
+        assertEquals(27, h.pc(9));
+        assertEquals(result(6), h.result(6));
+        assertThrows(IndexOutOfBoundsException.class, () -> h.entry(5));
+    }
+
+    @Test
+    void pagesAreClampedToAvailableRange() {
+        ExecutionHistory h = new ExecutionHistory(8);
+        for (int i = 0; i < 5; i++) h.record(i, result(i));
+
+        List<ExecutionHistory.Entry> page = h.page(3, 10);
+        assertEquals(2, page.size());
+        assertEquals(3, page.get(0).index());
+        assertEquals(List.of(3L, 4L), h.recent(2).stream().map(ExecutionHistory.Entry::index).toList());
+    }
+
+    @Test
+    void spilledEntriesRemainReadable() throws IOException {
+        Path file = Files.createTempFile("history", ".bin");
+        ExecutionHistory h = new ExecutionHistory(16);
+        h.enableSpill(file);
+        int n = ExecutionHistory.SEGMENT_ENTRIES * 2 + 100;
+        for (int i = 0; i < n; i++) h.record(i * 3, result(i));
+
+        assertEquals(0, h.firstIndex());
+        assertEquals(n, h.size());
+        assertEquals(result(7), h.result(7));                                  // segmento em disco
+        assertEquals((n - 20) * 3, h.pc(n - 20));                              // segmento corrente
+        assertEquals(result(n - 1), h.result(n - 1));                          // memória
+
+        h.clear();
+        assertTrue(h.isEmpty());
+        h.disableSpill();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void resizingAfterWrapKeepsOnlyRecordedEntries() {
+        ExecutionHistory h = new ExecutionHistory(4);
+        for (int i = 0; i < 10; i++) h.record(i * 3, result(i));
+
+        h.setCapacity(8);                                            // cresce: nada novo aparece
+        assertEquals(6, h.firstIndex());
+        assertEquals(4, h.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> h.pc(5));
+        for (int i = 10; i < 14; i++) h.record(i * 3, result(i));
+        assertEquals(8, h.size());
+        assertEquals(result(6), h.result(6));
+
+        h.setCapacity(3);                                            // encolhe: ficam as 3 últimas
+        assertEquals(11, h.firstIndex());
+        assertEquals(result(11), h.result(11));
+        h.record(42, result(14));
+        assertEquals(12, h.firstIndex());
+        assertEquals(42, h.pc(14));
+    }
+
+    @Test
+    void resizingAfterWrapWithSpillReadsEvictedEntriesFromDisk() throws IOException {
+        Path file = Files.createTempFile("history", ".bin");
+        ExecutionHistory h = new ExecutionHistory(4);
+        h.enableSpill(file);
+        for (int i = 0; i < 10; i++) h.record(i * 3, result(i));
+
+        h.setCapacity(8);
+        assertEquals(10, h.size());
+        for (int i = 0; i < 10; i++) assertEquals(result(i), h.result(i));
+
+        h.setCapacity(2);
+        for (int i = 10; i < 12; i++) h.record(i * 3, result(i));
+        assertEquals(12, h.size());
+        for (int i = 0; i < 12; i++) assertEquals(i * 3, h.pc(i));
+
+        h.disableSpill();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void controlUnitHistoryIsBounded() {
+        Memory mem = new Memory(16);
+        mem.writeByte(0, 0x3F);                      // J 0 (PC-relativo, disp -3)
+        mem.writeByte(1, 0x2F);
+        mem.writeByte(2, 0xFD);
+        ControlUnit cu = new ControlUnit(mem);
+        cu.setHistoryCapacity(8);
+
+        for (int i = 0; i < 100; i++) cu.step();
+        assertEquals(8, cu.getExecutionHistory().size());
+        assertEquals(100, cu.getHistory().total());
+        assertEquals(0, cu.getHistory().pc(99));
+    }
+}
@@ -0,0 +1,84 @@
+package sicxesimulator.hardware.cpu.control;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.hardware.memory.Memory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JitCompilerTest {
+
+    /* LDS #4 / loop: LDCH 30,X / STCH 40,X / TIXR S / JLT loop / LDA @2D / STA 4B / RSUB */
+    private static final int[] COPY_AND_INDIRECT = {
+            0x6D, 0x00, 0x04,
+            0x53, 0x80, 0x30,
+            0x57, 0x80, 0x40,
+            0xB8, 0x00, 0x04,
+            0x3B, 0x2F, 0xF4,
+            0x02, 0x00, 0x2D,
+            0x0F, 0x00, 0x4B,
+            0x4F, 0x00, 0x00
+    };
+
+    /* LDA #0 / loop: ADD #n / STCH 5 (reescreve n) / COMP #100 / JLT loop / RSUB */
+    private static final int[] PATCHES_ITSELF = {
+            0x01, 0x00, 0x00,
+            0x19, 0x00, 0x01,
+            0x57, 0x00, 0x05,
+            0x29, 0x00, 0x64,
+            0x3B, 0x2F, 0xF4,
+            0x4F, 0x00, 0x00
+    };
+
+    private static Memory load(int[] program) {
+        Memory mem = new Memory(96);
+        for (int i = 0; i < program.length; i++) mem.writeByte(i, program[i]);
+        mem.writeByte(0x2F, 0x48);                                  // ponteiro → 0x48
+        mem.writeByte(0x4A, 0x30);                                  // 0x48 → 0x30
+        for (int i = 0; i < 4; i++) mem.writeByte(0x30 + i, 'A' + i);
+        return mem;
+    }
+
+    private static void assertSameAsStep(int[] program) {
+        Memory slowMem = load(program);
+        ControlUnit slow = new ControlUnit(slowMem);
+        while (!slow.isHalted()) slow.step();
+
+        Memory fastMem = load(program);
+        ControlUnit fast = new ControlUnit(fastMem);
+        fast.setTurboEngine(TurboEngine.JIT);
+        fast.setJitThreshold(1);
+        assertEquals(slow.getInstructionCount(), fast.runTurbo(Long.MAX_VALUE));
+
+        assertTrue(fast.isHalted());
+        assertEquals(slow.getIntValuePC(), fast.getIntValuePC());
+        for (String r : new String[]{"A", "X", "L", "B", "S", "T", "SW"}) {
+            assertEquals(slow.getRegisterSet().getRegister(r).getIntValue(),
+                    fast.getRegisterSet().getRegister(r).getIntValue(), r);
+        }
+        assertEquals(slowMem.toString(), fastMem.toString());
+    }
+
+    @Test
+    void compiledBlocksMatchStepWithIndexingAndIndirection() {
+        assertSameAsStep(COPY_AND_INDIRECT);
+    }
+
+    @Test
+    void writesOverCompiledCodeDeoptimize() {
+        assertSameAsStep(PATCHES_ITSELF);
+    }
+
+    @Test
+    void faultRestoresRegistersAndPc() {
+        Memory mem = load(COPY_AND_INDIRECT);
+        mem.writeByte(0x11, 0x5E);                                  // LDA @5E: ponteiro passa do fim
+        ControlUnit fast = new ControlUnit(mem);
+        fast.setTurboEngine(TurboEngine.JIT);
+        fast.setJitThreshold(1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> fast.runTurbo(Long.MAX_VALUE));
+        assertEquals(0x0F, fast.getIntValuePC());                   // PC na instrução que falhou
+        assertEquals(4, fast.getRegisterSet().getRegister("X").getIntValue());
+        assertEquals(17, fast.getInstructionCount());               // LDS + 4 voltas
+    }
+}
@@ -0,0 +1,81 @@
+package sicxesimulator.hardware.cpu.control;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.hardware.memory.Memory;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TurboModeTest {
+
+    /* LDA #0 / loop: ADD #1 / STA COUNT / COMP #100 / JLT loop / RSUB ; COUNT em 0x18 */
+    private static final int[] COUNT_TO_100 = {
+            0x01, 0x00, 0x00,
+            0x19, 0x00, 0x01,
+            0x0F, 0x20, 0x0F,
+            0x29, 0x00, 0x64,
+            0x3B, 0x2F, 0xF4,
+            0x4F, 0x00, 0x00
+    };
+
+    /* loop: ADD #1 / STA COUNT / J loop ; COUNT em 0x0C */
+    private static final int[] ENDLESS = {
+            0x19, 0x00, 0x01,
+            0x0F, 0x20, 0x06,
+            0x3F, 0x2F, 0xF7
+    };
+
+    private static Memory load(int[] program) {
+        Memory mem = new Memory(48);
+        for (int i = 0; i < program.length; i++) mem.writeByte(i, program[i]);
+        return mem;
+    }
+
+    @Test
+    void turboMatchesStepByStepExecution() {
+        Memory slowMem = load(COUNT_TO_100);
+        ControlUnit slow = new ControlUnit(slowMem);
+        while (!slow.isHalted()) slow.step();
+
+        Memory fastMem = load(COUNT_TO_100);
+        ControlUnit fast = new ControlUnit(fastMem);
+        long executed = fast.runTurbo(Long.MAX_VALUE);
+
+        assertTrue(fast.isHalted());
+        assertEquals(slow.getInstructionCount(), executed);
+        assertEquals(slow.getIntValuePC(), fast.getIntValuePC());
+        for (String r : new String[]{"A", "X", "L", "SW"}) {
+            assertEquals(slow.getRegisterSet().getRegister(r).getIntValue(),
+                    fast.getRegisterSet().getRegister(r).getIntValue(), r);
+        }
+        assertEquals(slowMem.toString(), fastMem.toString());
+        assertEquals(100, fastMem.readByte(0x1A));
+        assertTrue(fast.getExecutionHistory().isEmpty());
+    }
+
+    @Test
+    void turboStopsAtInstructionBudget() {
+        ControlUnit cu = new ControlUnit(load(ENDLESS));
+        assertEquals(30, cu.runTurbo(30));
+        assertEquals(10, cu.getRegisterSet().getRegister("A").getIntValue());
+        assertFalse(cu.isHalted());
+    }
+
+    @Test
+    void turboAllocatesNothingPerInstruction() {
+        var mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!mx.isThreadAllocatedMemorySupported()) return;
+        mx.setThreadAllocatedMemoryEnabled(true);
+
+        ControlUnit cu = new ControlUnit(load(ENDLESS));
+        cu.runTurbo(200_000);                                   // aquecimento (JIT)
+
+        final long steps = 3_000_000;
+        long before = mx.getCurrentThreadAllocatedBytes();
+        cu.runTurbo(steps);
+        long allocated = mx.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(allocated < 4096, "bytes alocados em " + steps + " instruções: " + allocated);
+    }
+}
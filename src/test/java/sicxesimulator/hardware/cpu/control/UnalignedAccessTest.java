@@ -0,0 +1,54 @@
+package sicxesimulator.hardware.cpu.control;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.hardware.memory.Memory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnalignedAccessTest {
+
+    /* LDA #5 / STA 1F / LDA #0 / ADD 1F / ADD @23 / STA @23 / RSUB */
+    private static final int[] PROGRAM = {
+            0x01, 0x00, 0x05,
+            0x0F, 0x00, 0x1F,
+            0x01, 0x00, 0x00,
+            0x1B, 0x00, 0x1F,
+            0x1A, 0x00, 0x23,
+            0x0E, 0x00, 0x23,
+            0x4F, 0x00, 0x00
+    };
+
+    /* Cadeia de ponteiros em endereços fora de múltiplos de 3: 23 → 28 → 2C → 5 */
+    private static Memory load() {
+        Memory mem = new Memory(48);
+        for (int i = 0; i < PROGRAM.length; i++) mem.writeByte(i, PROGRAM[i]);
+        mem.writeByte(0x25, 0x28);
+        mem.writeByte(0x2A, 0x2C);
+        mem.writeByte(0x2E, 0x05);
+        return mem;
+    }
+
+    @Test
+    void wordsAreByteAddressedOnEveryPath() {
+        Memory slowMem = load();
+        ControlUnit slow = new ControlUnit(slowMem);
+        while (!slow.isHalted()) slow.step();
+        assertEquals(10, slow.getRegisterSet().getRegister("A").getIntValue());
+        assertEquals(5, slowMem.readWord24(0x1F));
+        assertEquals(10, slowMem.readWord24(0x28));
+
+        for (TurboEngine engine : TurboEngine.values()) {
+            Memory fastMem = load();
+            ControlUnit fast = new ControlUnit(fastMem);
+            fast.setTurboEngine(engine);
+            fast.setJitThreshold(1);
+            fast.runTurbo(Long.MAX_VALUE);
+
+            assertTrue(fast.isHalted(), engine.name());
+            assertEquals(slow.getIntValuePC(), fast.getIntValuePC(), engine.name());
+            assertEquals(slow.getInstructionCount(), fast.getInstructionCount(), engine.name());
+            assertEquals(10, fast.getRegisterSet().getRegister("A").getIntValue(), engine.name());
+            assertEquals(slowMem.toString(), fastMem.toString(), engine.name());
+        }
+    }
+}
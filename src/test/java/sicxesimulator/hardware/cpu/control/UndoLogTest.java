@@ -0,0 +1,88 @@
+package sicxesimulator.hardware.cpu.control;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.memory.Memory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UndoLogTest {
+
+    /* loop: ADD #1 / STA COUNT / J loop ; COUNT em 0x0C */
+    private final Memory mem = new Memory(48);
+    private final ControlUnit cu;
+
+    UndoLogTest() {
+        int[] program = {0x19, 0x00, 0x01, 0x0F, 0x20, 0x06, 0x3F, 0x2F, 0xF7};
+        for (int i = 0; i < program.length; i++) mem.writeByte(i, program[i]);
+        cu = new ControlUnit(mem);
+    }
+
+    @Test
+    void stepBackRestoresRegistersAndMemory() {
+        cu.enableUndo(1_000);
+        for (int i = 0; i < 30; i++) cu.step();              // 10 voltas
+        RegisterSet regs = cu.getRegisterSet();
+        assertEquals(10, regs.get(RegisterSet.A));
+        assertEquals(10, mem.readByte(0x0E));
+
+        for (int i = 0; i < 4; i++) assertTrue(cu.stepBack());
+        assertEquals(9, regs.get(RegisterSet.A));
+        assertEquals(9, mem.readByte(0x0E));
+        assertEquals(6, cu.getIntValuePC());                   // antes do J da 9ª volta
+        assertEquals(26, cu.getInstructionCount());
+
+        while (cu.stepBack()) { }
+        assertEquals(0, regs.get(RegisterSet.A));
+        assertEquals(0, mem.readByte(0x0E));
+        assertEquals(0, cu.getIntValuePC());
+    }
+
+    @Test
+    void windowBoundsUndoableInstructions() {
+        cu.enableUndo(5);
+        cu.runTurbo(300);
+        assertEquals(5, cu.getUndoLog().size());
+        int back = 0;
+        while (cu.stepBack()) back++;
+        assertEquals(5, back);
+        assertEquals(99, cu.getRegisterSet().get(RegisterSet.A));
+        assertEquals(98, mem.readByte(0x0E));
+    }
+
+    @Test
+    void reverseContinueStopsAtBreakpointAndWatchpoint() {
+        cu.enableUndo(10_000);
+        cu.runTurbo(60);
+        cu.getBreakpoints().add(6);
+        assertEquals(1, cu.reverseContinue(1_000));            // desfaz o J
+        assertEquals(6, cu.getIntValuePC());
+        assertEquals(Breakpoints.Hit.PC, cu.getBreakpoints().lastHit());
+
+        cu.getBreakpoints().clear();
+        cu.getBreakpoints().clearHit();
+        mem.addWatchpoint(0x0C, 3, false, true);
+        assertEquals(1, cu.reverseContinue(1_000));            // desfaz o STA
+        assertEquals(Breakpoints.Hit.WRITE, cu.getBreakpoints().lastHit());
+        assertEquals(19, mem.readByte(0x0E));
+    }
+
+    @Test
+    void smallBufferEvictsOldestInstructions() {
+        UndoLog log = new UndoLog(1_000, 64);
+        mem.setWriteJournal(log);
+        RegisterSet regs = new RegisterSet();
+        for (int i = 0; i < 100; i++) {
+            log.begin(i, regs);
+            mem.writeByte(40, i);
+            regs.set(RegisterSet.A, i);
+            log.end(regs);
+        }
+        assertTrue(log.size() < 64);
+        long n = log.size();
+        for (long i = 0; i < n; i++) assertTrue(log.undo(regs, mem));
+        assertFalse(log.undo(regs, mem));
+        assertEquals(100 - n, regs.get(RegisterSet.PC));
+        assertEquals(99 - n, mem.readByte(40));
+    }
+}
@@ -0,0 +1,64 @@
+package sicxesimulator.hardware.cpu.decoder;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.hardware.cpu.model.Instruction;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.memory.Memory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecodeCacheTest {
+
+    @Test
+    void cachedDecodeMatchesUncachedDecode() {
+        Memory mem = new Memory(64);
+        int[] code = {
+                0x03, 0x20, 0x09,        // LDA  +9 (PC-relativo)
+                0x1B, 0xC0, 0x03,        // ADD  3,X (base + indexado)
+                0x0E, 0x00, 0x18,        // STA  @24 (indireto)
+                0x19, 0x10, 0x01, 0x00,  // +ADD #256 (formato 4)
+                0x90, 0x01               // ADDR A,X (formato 2)
+        };
+        for (int i = 0; i < code.length; i++) mem.writeByte(i, code[i]);
+        mem.writeByte(26, 0x03);         // ponteiro em 24 → 000003
+
+        RegisterSet regs = new RegisterSet();
+        regs.getRegister("B").setValue(6);
+        regs.getRegister("X").setValue(9);
+        InstructionDecoder plain  = new InstructionDecoder(regs, mem);
+        InstructionDecoder cached = new InstructionDecoder(regs, mem);
+        cached.setCacheEnabled(true);
+
+        for (int pc : new int[]{0, 3, 6, 9, 13}) {
+            for (int round = 0; round < 2; round++) {       // 2ª volta vem do cache
+                regs.getRegister("PC").setValue(pc);
+                Instruction expected = plain.decodeInstruction();
+                regs.getRegister("PC").setValue(pc);
+                Instruction actual = cached.decodeInstruction();
+                assertEquals(expected.opcode(), actual.opcode());
+                assertEquals(expected.format(), actual.format());
+                assertEquals(expected.effectiveAddress(), actual.effectiveAddress());
+                assertArrayEquals(expected.operands(), actual.operands());
+            }
+        }
+    }
+
+    @Test
+    void writeToCachedCodeInvalidatesEntry() {
+        Memory mem = new Memory(16);
+        mem.writeByte(0, 0x01);          // LDA #5
+        mem.writeByte(2, 0x05);
+        RegisterSet regs = new RegisterSet();
+        InstructionDecoder decoder = new InstructionDecoder(regs, mem);
+        decoder.setCacheEnabled(true);
+
+        assertEquals(5, decoder.decodeInstruction().effectiveAddress());
+        mem.writeWord(0, new byte[]{0x19, 0x00, 0x07});       // vira ADD #7
+        Instruction ins = decoder.decodeInstruction();
+        assertEquals(0x18, ins.opcode());
+        assertEquals(7, ins.effectiveAddress());
+
+        mem.reset();
+        assertEquals(0x00, decoder.decodeInstruction().opcode());
+    }
+}
@@ -0,0 +1,39 @@
+package sicxesimulator.hardware.cpu.exec.logic;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.hardware.cpu.model.ExecutionContext;
+import sicxesimulator.hardware.cpu.model.ExecutionResult;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.memory.Memory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogicExecutorsTest {
+
+    @Test
+    void tixrDescribesComparedRegister() {
+        RegisterSet rs = new RegisterSet();
+        rs.set(RegisterSet.X, 2);
+        rs.set(RegisterSet.S, 4);
+        int[] ops = new int[7];
+        ops[0] = RegisterSet.S;
+        TIXR tixr = new TIXR();
+        ExecutionResult r = tixr.execute(new ExecutionContext(ops, false, 0, rs, new Memory(3)));
+
+        assertEquals(3, rs.get(RegisterSet.X));
+        assertTrue(tixr.describe(r).contains("comparado com S (000004)"), tixr.describe(r));
+    }
+
+    @Test
+    void clearZeroesFloatingPointRegister() {
+        RegisterSet rs = new RegisterSet();
+        rs.setF(0x123456789ABCL);
+        int[] ops = new int[7];
+        ops[0] = RegisterSet.F;
+        ExecutionResult r = new CLEAR().execute(new ExecutionContext(ops, false, 0, rs, new Memory(3)));
+
+        assertEquals(0L, rs.getF());
+        assertEquals(0x789ABC, r.before());
+        assertEquals(0, r.after());
+    }
+}
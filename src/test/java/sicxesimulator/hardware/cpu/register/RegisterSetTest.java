@@ -24,4 +24,23 @@ class RegisterSetTest {
                 assertEquals(0, r.getLongValue());
         });
     }
+
+    @Test
+    void numberedAccessSharesStateWithNamedViews() {
+        RegisterSet rs = new RegisterSet();
+        rs.set(RegisterSet.X, 0x1ABCDEF);                   // >24 bits — deve truncar
+        assertEquals(0xABCDEF, rs.getRegister("X").getIntValue());
+        rs.getRegister("SW").setValue(2);
+        assertEquals(2, rs.get(RegisterSet.SW));
+        assertSame(rs.getRegister("PC"), rs.getRegister(RegisterSet.PC));
+        assertThrows(IllegalArgumentException.class, () -> rs.getRegister(7));
+    }
+
+    @Test
+    void floatRegisterKeeps48Bits() {
+        RegisterSet rs = new RegisterSet();
+        rs.setF(0x1_2345_6789_ABCDL);
+        assertEquals(0x2345_6789_ABCDL, rs.getF());
+        assertEquals(0x2345_6789_ABCDL, rs.getRegister("F").getLongValue());
+    }
 }
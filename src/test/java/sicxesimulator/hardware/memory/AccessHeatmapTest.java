@@ -0,0 +1,82 @@
+package sicxesimulator.hardware.memory;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.common.utils.Logger;
+import sicxesimulator.hardware.cpu.control.ControlUnit;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessHeatmapTest {
+
+    /** ADD #1 / STA COUNT / J loop, COUNT em 0x0C. */
+    private static final int[] LOOP = {0x19, 0x00, 0x01, 0x0F, 0x20, 0x06, 0x3F, 0x2F, 0xF7};
+
+    private static ControlUnit load(Memory mem) {
+        for (int i = 0; i < LOOP.length; i++) mem.writeByte(i, LOOP[i]);
+        return new ControlUnit(mem);
+    }
+
+    @Test
+    void countsExecutesAndDataWritesButNotFetches() {
+        Memory mem = new Memory(64);
+        ControlUnit cu = load(mem);
+        AccessHeatmap heat = cu.enableHeatmap(1, 1);
+        cu.runTurbo(300);
+
+        List<AccessHeatmap.Region> regions = heat.regions();
+        assertEquals(4, regions.size());                            // 0, 3, 6 e COUNT
+        assertEquals(new AccessHeatmap.Region(0x0C, 1, 0, 100, 0), regions.get(3));
+        assertEquals(100, regions.get(0).executes());
+        assertEquals(0, regions.get(0).reads());
+    }
+
+    @Test
+    void samplingEstimatesTotals() {
+        Memory mem = new Memory(64);
+        ControlUnit cu = load(mem);
+        AccessHeatmap heat = cu.enableHeatmap(16, 50);
+        cu.runTurbo(300_000);
+
+        long total = heat.regions().stream().mapToLong(AccessHeatmap.Region::total).sum();
+        assertEquals(400_000, total, 20_000);                       // 300k execuções + 100k escritas
+        cu.disableHeatmap();
+        assertNull(mem.getHeatmap());
+    }
+
+    @Test
+    void exportsAnnotateRegionsWithSymbols() throws IOException {
+        AccessHeatmap heat = new AccessHeatmap(64, 4, 1);
+        heat.recordRead(0x0D);
+        heat.recordWrite(0x20);
+        StringBuilder csv = new StringBuilder();
+        heat.writeCsv(csv, Map.of("COUNT", 0x0C, "START", 0));
+        assertTrue(csv.toString().contains("00000C,4,1,0,0,COUNT\n"));
+        assertTrue(csv.toString().contains("000020,4,0,1,0,COUNT+14\n"));
+
+        StringBuilder json = new StringBuilder();
+        heat.writeJson(json, null);
+        assertTrue(json.toString().startsWith("{\"regionBytes\":4,\"sampleEvery\":1,\"regions\":[{\"address\":\"00000C\""));
+    }
+
+    @Test
+    void displayReadsLeaveCountersAndWatchpointsAlone() {
+        Memory mem = new Memory(64);
+        ControlUnit cu = load(mem);
+        AccessHeatmap heat = cu.enableHeatmap(1, 1);
+        cu.runTurbo(300);
+        List<AccessHeatmap.Region> before = heat.regions();
+        mem.addWatchpoint(0x0C, 3, true, false);
+
+        for (int w = 0; w + 3 <= mem.getSize(); w += 3) mem.peekWord24(w);     // atualização da tabela
+        Logger.logMachineState(mem, new RegisterSet(), "", Map.of(), "", List.of(), "teste");
+
+        assertEquals(before, heat.regions());
+        assertEquals(-1, mem.pollWatchHit());
+        assertEquals(100, mem.peekByte(0x0E));
+    }
+}
@@ -0,0 +1,44 @@
+package sicxesimulator.hardware.memory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemorySnapshotTest {
+
+    @Test
+    void restoreCopiesOnlyPagesWrittenSinceSnapshot() {
+        Memory mem = new Memory(Memory.PAGE_SIZE * 8);
+        mem.writeByte(10, 0x42);
+        Memory.Snapshot s = mem.snapshot();
+
+        mem.writeByte(Memory.PAGE_SIZE * 3, 0x11);
+        mem.writeWord((Memory.PAGE_SIZE * 5 - 1) / 3, new byte[]{1, 2, 3});   // cruza a fronteira 4/5
+        assertEquals(3, mem.restore(s));
+        assertEquals(0x42, mem.readByte(10));
+        assertEquals(0, mem.readByte(Memory.PAGE_SIZE * 3));
+
+        assertEquals(0, mem.restore(s));
+        mem.reset();
+        assertEquals(8, mem.restore(s));
+        assertEquals(0x42, mem.readByte(10));
+    }
+
+    @Test
+    void snapshotsShareUnchangedPagesAcrossMemories() {
+        Memory a = new Memory(1000);
+        a.writeBytes(0, new byte[]{7, 8, 9});
+        Memory.Snapshot first = a.snapshot();
+        a.writeByte(900, 5);
+        Memory.Snapshot second = a.snapshot();
+
+        Memory b = new Memory(1000);
+        assertEquals(4, b.restore(second));
+        assertEquals(9, b.readByte(2));
+        assertEquals(5, b.readByte(900));
+        assertEquals(1, b.restore(first));                     // só a última página difere
+        assertEquals(0, b.readByte(900));
+
+        assertThrows(IllegalArgumentException.class, () -> new Memory(999).restore(first));
+    }
+}
@@ -0,0 +1,195 @@
+package sicxesimulator.hardware.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryTest {
+
+    @Test
+    void word24IsByteAddressedAndSignExtended() {
+        Memory mem = new Memory(16);
+        mem.writeWord24(4, 0xFF_FFFE);                 // endereço não múltiplo de 3
+        assertEquals(-2, mem.readWord24(4));
+        assertEquals(0xFF, mem.readByte(4));
+        assertEquals(0xFE, mem.readByte(6));
+
+        mem.writeWord24(0, 0x12_345678);               // só os 24 bits baixos
+        assertEquals(0x345678, mem.readWord24(0));
+    }
+
+    @Test
+    void word24ChecksBoundsOnce() {
+        Memory mem = new Memory(16);
+        assertThrows(IndexOutOfBoundsException.class, () -> mem.readWord24(14));
+        assertThrows(IndexOutOfBoundsException.class, () -> mem.writeWord24(-1, 0));
+        assertEquals(0, mem.readWord24(13));
+    }
+
+    @Test
+    void word24GoesThroughJournalAndWatchpoints() {
+        Memory mem = new Memory(16);
+        StringBuilder log = new StringBuilder();
+        mem.setWriteJournal((address, old) -> log.append(address).append(' '));
+        mem.addWatchpoint(8, 1, false, true);
+        mem.writeWord24(7, 0x010203);
+        assertEquals("7 8 9 ", log.toString());
+        assertEquals(8, mem.pollWatchHit());
+    }
+
+    @Test
+    void offHeapBehavesLikeHeap() {
+        for (MemoryFactory f : new MemoryFactory[]{MemoryFactory.HEAP, MemoryFactory.OFF_HEAP, MemoryFactory.GENERATIONAL}) {
+            Memory mem = f.create(Memory.PAGE_SIZE * 4);
+            mem.writeWord24(Memory.PAGE_SIZE - 1, 0x800001);      // cruza a fronteira de página
+            assertEquals(0xFF800001, mem.readWord24(Memory.PAGE_SIZE - 1));
+            Memory.Snapshot s = mem.snapshot();
+
+            mem.writeBytes(10, new byte[]{1, 2, 3});
+            assertEquals(0x010203, mem.readWord24(10));
+            assertEquals(1, mem.restore(s));
+            assertEquals(0, mem.readByte(10));
+            assertEquals(0x80, mem.readByte(Memory.PAGE_SIZE - 1));
+
+            mem.reset();
+            assertEquals(0, mem.readWord24(Memory.PAGE_SIZE - 1));
+        }
+    }
+
+    @Test
+    void mappedMemoryPersistsAndPrivateMappingLeavesImageUntouched() throws IOException {
+        Path image = Files.createTempFile("memimg", ".bin");
+        try {
+            Memory shared = MemoryFactory.mapped(image).create(1024);
+            shared.writeWord24(300, 0x123456);
+            shared.flush();
+            assertEquals(1024, Files.size(image));
+            assertEquals(0x123456, MemoryFactory.mapped(image).create(1024).readWord24(300));
+
+            Memory copy = MemoryFactory.mappedPrivate(image).create(1024);
+            assertEquals(0x123456, copy.readWord24(300));
+            copy.writeWord24(300, 0);
+            assertEquals(0x56, Files.readAllBytes(image)[302]);
+            assertThrows(java.io.UncheckedIOException.class, () -> MemoryFactory.mappedPrivate(image).create(2048));
+        } finally {
+            Files.deleteIfExists(image);
+        }
+    }
+
+    @Test
+    void epochsReportWrittenPagesIndependently() {
+        Memory mem = new Memory(Memory.PAGE_SIZE * 4);
+        Memory.Epoch ui = mem.newEpoch();
+        assertArrayEquals(new int[]{0, 1, 2, 3}, ui.advance());
+        Memory.Epoch logger = mem.newEpoch();
+        logger.advance();
+
+        mem.writeWord24(Memory.PAGE_SIZE * 2 - 1, 7);               // páginas 1 e 2
+        assertArrayEquals(new int[]{1, 2}, ui.advance());
+        assertFalse(ui.hasChanges());
+
+        Memory.Snapshot s = mem.snapshot();
+        mem.writeByte(0, 1);
+        mem.restore(s);                                               // a página 0 volta: também é escrita
+        assertArrayEquals(new int[]{0}, ui.advance());
+        assertArrayEquals(new int[]{0, 1, 2}, logger.advance());
+
+        logger.close();
+        mem.reset();
+        assertEquals(4, ui.advance().length);
+    }
+
+    @Test
+    void storageKeysGuardWritesPerBlock() {
+        Memory mem = new Memory(Memory.KEY_BLOCK_SIZE * 2);
+        mem.setStorageKey(0, 5);
+        mem.setStorageKey(Memory.KEY_BLOCK_SIZE, 3);
+        mem.setAccessKey(5);
+        mem.writeWord24(0, 1);                                        // bloco 0: chave 5
+        ProtectionException e = assertThrows(ProtectionException.class,
+                () -> mem.writeWord24(Memory.KEY_BLOCK_SIZE - 1, 1)); // cruza para o bloco 1
+        assertEquals(Memory.KEY_BLOCK_SIZE + 1, e.getAddress());
+        assertEquals(0, mem.readByte(Memory.KEY_BLOCK_SIZE - 1));     // nada foi escrito
+        assertEquals(0, mem.readWord24(Memory.KEY_BLOCK_SIZE));       // leitura é livre
+
+        mem.setAccessKey(3);
+        mem.writeByte(Memory.KEY_BLOCK_SIZE, 7);
+        mem.setAccessKey(0);                                          // chave mestra
+        mem.writeBytes(Memory.KEY_BLOCK_SIZE - 2, new byte[]{1, 2, 3, 4});
+    }
+
+    @Test
+    void sparseMemoryAllocatesPagesOnFirstWrite() {
+        SparseStorage storage = new SparseStorage(1 << 20);
+        Memory mem = new Memory(storage);
+        assertEquals(0, mem.readWord24(0xABCDE));
+        Memory.Snapshot empty = mem.snapshot();
+        assertEquals(0, storage.allocatedPages());
+
+        mem.writeWord24(SparseStorage.PAGE_SIZE * 5 - 1, 0x123456);  // cruza as páginas 4 e 5
+        mem.writeBytes(0x80000, new byte[16]);                       // zeros não alocam
+        assertEquals(2, storage.allocatedPages());
+        assertEquals(0x123456, mem.readWord24(SparseStorage.PAGE_SIZE * 5 - 1));
+
+        mem.restore(empty);
+        assertEquals(0, mem.readWord24(SparseStorage.PAGE_SIZE * 5 - 1));
+        mem.reset();
+        assertEquals(0, storage.allocatedPages());
+    }
+
+    @Test
+    void resetLeavesStalePagesReadingZero() {
+        int page = GenerationStorage.STAMP_SIZE;
+        Memory mem = MemoryFactory.GENERATIONAL.create(page * 3);
+        byte[] full = new byte[page];
+        java.util.Arrays.fill(full, (byte) 0x55);
+        mem.writeBytes(0, full);
+        mem.writeWord24(page * 2 - 1, 0xABCDEF);                     // cruza as páginas 1 e 2
+        Memory.Epoch epoch = mem.newEpoch();
+        epoch.advance();
+
+        mem.reset();
+        assertEquals(mem.getPageCount(), epoch.advance().length);
+        assertEquals(0, mem.readWord24(page * 2 - 1));
+        java.nio.ByteBuffer image = java.nio.ByteBuffer.allocate(mem.getSize());
+        mem.writeTo(image);
+        assertArrayEquals(new byte[mem.getSize()], image.array());
+
+        mem.writeByte(5, 1);                                          // zera o resto da página
+        assertEquals(1, mem.readWord24(3));
+        assertEquals(0, mem.readByte(page - 1));
+        Memory.Snapshot s = mem.snapshot();
+        mem.writeBytes(page, full);
+        mem.restore(s);
+        assertEquals(0, mem.readByte(page + 7));
+    }
+
+    @Test
+    void mappedRangeGoesToDeviceAndRestOfPageToRam() {
+        Memory mem = new Memory(Memory.PAGE_SIZE * 4);
+        byte[] frame = new byte[16];
+        mem.map(0x110, 16, MemoryMappedDevice.buffer(frame));
+        assertThrows(IllegalArgumentException.class, () -> mem.map(0x11F, 4, MemoryMappedDevice.buffer(new byte[4])));
+
+        mem.writeWord24(0x10F, 0xABCDEF);                             // 1 byte na RAM, 2 no dispositivo
+        assertArrayEquals(new byte[]{(byte) 0xCD, (byte) 0xEF}, java.util.Arrays.copyOf(frame, 2));
+        assertEquals(0xAB, mem.readByte(0x10F));
+        frame[15] = (byte) 0x80;
+        assertEquals(0xFF800000, mem.readWord24(0x11F));              // último byte mapeado + 2 da RAM
+        mem.writeByte(0x120, 9);
+        assertEquals(9, mem.readByte(0x120));
+
+        Memory.Snapshot s = mem.snapshot();
+        mem.writeByte(0x111, 1);
+        mem.restore(s);
+        assertEquals(1, frame[1]);                                     // o estado é do dispositivo
+
+        assertTrue(mem.unmap(0x110));
+        assertNull(mem.getMappedDevice(0x110));
+        assertEquals(0, mem.readByte(0x111));
+    }
+}
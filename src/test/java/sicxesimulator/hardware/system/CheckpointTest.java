@@ -0,0 +1,123 @@
+package sicxesimulator.hardware.system;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.device.ByteArrayDevice;
+import sicxesimulator.hardware.memory.Memory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointTest {
+
+    /* loop: ADD #1 / STA COUNT / J loop ; COUNT em 0x0C */
+    private static Machine counter(int memorySize) {
+        Machine m = new Machine(memorySize);
+        int[] program = {0x19, 0x00, 0x01, 0x0F, 0x20, 0x06, 0x3F, 0x2F, 0xF7};
+        for (int i = 0; i < program.length; i++) m.getMemory().writeByte(i, program[i]);
+        return m;
+    }
+
+    @Test
+    void fullAndIncrementalCheckpointsResumeExecution() throws IOException {
+        Path full = Files.createTempFile("sicxe", ".ckpt");
+        Path delta = Files.createTempFile("sicxe", ".ckpt");
+        try {
+            Machine m = counter(Memory.PAGE_SIZE * 64);
+            m.getMemory().writeByte(Memory.PAGE_SIZE * 40, 0x5A);
+            m.runUntilHalt(300, null);
+            Checkpoint.Program program = new Checkpoint.Program("COUNTER", 0, 9, 0);
+            m.saveCheckpoint(full, program);
+
+            m.runUntilHalt(300, null);
+            Checkpoint.Header h = m.saveIncrementalCheckpoint(delta, program);
+            assertTrue(h.incremental());
+            assertEquals(1, h.pages());                                  // só a página de COUNT
+            assertTrue(Files.size(delta) < Files.size(full));
+
+            Machine resumed = new Machine(48);
+            Checkpoint.Header loaded = resumed.loadCheckpoint(full, delta);
+            assertEquals("COUNTER", loaded.program().name());
+            assertEquals(Memory.PAGE_SIZE * 64, resumed.getMemory().getSize());
+            assertEquals(200, resumed.getControlUnit().getRegisterSet().get(RegisterSet.A));
+            assertEquals(200, resumed.getMemory().readByte(0x0E));
+            assertEquals(0x5A, resumed.getMemory().readByte(Memory.PAGE_SIZE * 40));
+            assertEquals(600, resumed.getControlUnit().getInstructionCount());
+
+            resumed.runUntilHalt(3, null);
+            m.runUntilHalt(3, null);
+            assertEquals(m.getControlUnit().getRegisterSet().get(RegisterSet.A),
+                    resumed.getControlUnit().getRegisterSet().get(RegisterSet.A));
+        } finally {
+            Files.deleteIfExists(full);
+            Files.deleteIfExists(delta);
+        }
+    }
+
+    @Test
+    void chainMustStartFullAndStayInOrder() throws IOException {
+        Path a = Files.createTempFile("sicxe", ".ckpt");
+        Path b = Files.createTempFile("sicxe", ".ckpt");
+        try {
+            Machine m = counter(300);
+            assertThrows(IllegalStateException.class, () -> m.saveIncrementalCheckpoint(b, null));
+            m.saveCheckpoint(a, null);
+            m.runUntilHalt(10, null);
+            m.saveIncrementalCheckpoint(b, null);
+
+            Machine other = new Machine(300);
+            assertThrows(IOException.class, () -> other.loadCheckpoint(b));
+            assertThrows(IOException.class, () -> other.loadCheckpoint(b, a));
+            assertNull(other.loadCheckpoint(a, b).program());
+        } finally {
+            Files.deleteIfExists(a);
+            Files.deleteIfExists(b);
+        }
+    }
+
+    @Test
+    void brokenChainLeavesMachineUntouched() throws IOException {
+        Path a = Files.createTempFile("sicxe", ".ckpt");
+        Path b = Files.createTempFile("sicxe", ".ckpt");
+        try {
+            Machine m = counter(300);
+            m.saveCheckpoint(a, null);
+            m.runUntilHalt(10, null);
+            m.saveIncrementalCheckpoint(b, null);
+
+            Machine other = counter(600);
+            other.getControlUnit().getBreakpoints().add(3);
+            other.getMemory().writeByte(0x0E, 0x77);
+            Memory memory = other.getMemory();
+            assertThrows(IOException.class, () -> other.loadCheckpoint(a, b, a));   // 3º arquivo errado
+            assertSame(memory, other.getMemory());
+            assertEquals(0x77, other.getMemory().readByte(0x0E));
+
+            Files.write(a, Arrays.copyOf(Files.readAllBytes(a), Checkpoint.HEADER_SIZE + 10));
+            assertThrows(IOException.class, () -> other.loadCheckpoint(a));        // corpo truncado
+            assertSame(memory, other.getMemory());
+            assertEquals(0, other.getControlUnit().getInstructionCount());
+        } finally {
+            Files.deleteIfExists(a);
+            Files.deleteIfExists(b);
+        }
+    }
+
+    @Test
+    void resizingKeepsControlUnitConfiguration() {
+        Machine m = new Machine(300);
+        ByteArrayDevice device = new ByteArrayDevice();
+        m.getControlUnit().setDevice(device);
+        m.getControlUnit().getBreakpoints().add(9);
+        m.getControlUnit().setHistoryCapacity(16);
+
+        m.changeMemorySize(600);
+        assertSame(device, m.getControlUnit().getDevice());
+        assertTrue(m.getControlUnit().getBreakpoints().isActive());
+        assertEquals(16, m.getControlUnit().getHistory().capacity());
+    }
+}
@@ -0,0 +1,133 @@
+package sicxesimulator.hardware.system;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MachineTest {
+
+    /* loop: ADD #1 / STA COUNT / J loop ; COUNT em 0x0C */
+    private static final int[] ENDLESS = {
+            0x19, 0x00, 0x01,
+            0x0F, 0x20, 0x06,
+            0x3F, 0x2F, 0xF7
+    };
+
+    private static Machine load(int... program) {
+        Machine m = new Machine(48);
+        for (int i = 0; i < program.length; i++) m.getMemory().writeByte(i, program[i]);
+        return m;
+    }
+
+    @Test
+    void runUntilHaltStopsAtBudget() {
+        Machine m = load(ENDLESS);
+        RunResult r = m.runUntilHalt(10_000, null);
+        assertEquals(StopReason.BUDGET_EXHAUSTED, r.reason());
+        assertEquals(10_000, r.instructions());
+    }
+
+    @Test
+    void runUntilHaltReportsHalt() {
+        Machine m = load(0x01, 0x00, 0x07, 0x4F, 0x00, 0x00);    // LDA #7 / RSUB
+        RunResult r = m.runUntilHalt(100, Instant.now().plusSeconds(60));
+        assertTrue(r.halted());
+        assertEquals(2, r.instructions());
+    }
+
+    @Test
+    void cancelStopsAtNextPoll() {
+        Machine m = load(ENDLESS);
+        m.cancel();
+        assertEquals(StopReason.CANCELLED, m.runCycles(1_000).reason());
+        assertEquals(StopReason.BUDGET_EXHAUSTED, m.runCycles(1_000).reason());
+    }
+
+    @Test
+    void faultReportsInstructionAddress() {
+        Machine m = load(0x01, 0x00, 0x01, 0x25, 0x00, 0x00);    // LDA #1 / DIV #0
+        RunResult r = m.runUntilHalt(100, null);
+        assertEquals(StopReason.FAULT, r.reason());
+        assertEquals(3, r.pc());
+        assertEquals(1, r.instructions());
+        assertInstanceOf(ArithmeticException.class, r.fault());
+    }
+
+    @Test
+    void runTurboPropagatesFaults() {
+        Machine m = load(0x01, 0x00, 0x01, 0x25, 0x00, 0x00);    // LDA #1 / DIV #0
+        assertThrows(ArithmeticException.class, () -> m.runTurbo(100));
+    }
+
+    @Test
+    void protectedWriteStopsWithProtection() {
+        Machine m = load(ENDLESS);
+        m.getMemory().setStorageKey(0, 2);
+        m.getMemory().setAccessKey(1);
+        RunResult r = m.runUntilHalt(100, null);
+        assertEquals(StopReason.PROTECTION, r.reason());
+        assertEquals(3, r.pc());                                     // STA COUNT
+        assertEquals(0, m.getMemory().readWord24(0x0C));
+    }
+
+    @Test
+    void sskIsPrivileged() {
+        Machine m = load(0x01, 0x00, 0x02, 0xED, 0x00, 0x00);      // LDA #2 / SSK #0
+        m.getMemory().setAccessKey(1);
+        m.runCycle();
+        assertEquals(StopReason.PROTECTION, m.runCycle().reason());
+
+        m = load(0x01, 0x00, 0x02, 0xED, 0x00, 0x00);
+        m.runCycles(2);
+        assertEquals(2, m.getMemory().getStorageKey(0));
+    }
+
+    @Test
+    void runUntilStopsWhenConditionHolds() {
+        Machine m = load(ENDLESS);
+        RunResult r = m.runUntil(x -> x.getControlUnit().getRegisterSet().get(RegisterSet.A) == 5);
+        assertEquals(StopReason.BREAKPOINT, r.reason());
+        assertEquals(13, r.instructions());                        // 5 × ADD + 4 × (STA, J)
+    }
+
+    @Test
+    void runToReturnStopsAtLinkRegister() {
+        // JSUB SUB / LDA #1 / RSUB ; SUB: ADD #2 / ADD #2 / RSUB
+        Machine m = load(0x4B, 0x20, 0x06, 0x01, 0x00, 0x01, 0x4F, 0x00, 0x00,
+                0x19, 0x00, 0x02, 0x19, 0x00, 0x02, 0x4F, 0x00, 0x00);
+        m.runCycles(1);
+        RunResult r = m.runToReturn(100);
+        assertEquals(StopReason.BREAKPOINT, r.reason());
+        assertEquals(3, r.pc());
+        assertEquals(3, r.instructions());
+        assertEquals(4, m.getControlUnit().getRegisterSet().get(RegisterSet.A));
+    }
+
+    @Test
+    void runUntilStopsAtBreakpoint() {
+        Machine m = load(ENDLESS);
+        m.getControlUnit().getBreakpoints().add(3);
+        assertEquals(1, m.runUntil(x -> false).instructions());
+        assertEquals(3, m.runCycles(3).instructions());
+    }
+
+    @Test
+    void restoreReturnsToSnapshotState() {
+        Machine m = load(ENDLESS);
+        m.getControlUnit().getRegisterSet().set(RegisterSet.T, 0x123);
+        MachineSnapshot s = m.snapshot();
+
+        m.runUntilHalt(1_000, null);
+        assertNotEquals(0, m.getMemory().readByte(0x0E));
+        m.restore(s);
+
+        assertEquals(0, m.getControlUnit().getIntValuePC());
+        assertEquals(0, m.getControlUnit().getRegisterSet().get(RegisterSet.A));
+        assertEquals(0x123, m.getControlUnit().getRegisterSet().get(RegisterSet.T));
+        assertEquals(0, m.getMemory().readByte(0x0E));
+        assertEquals(m.runUntilHalt(1_000, null).pc(), load(ENDLESS).runUntilHalt(1_000, null).pc());
+    }
+}
@@ -0,0 +1,113 @@
+package sicxesimulator.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationServerTest {
+
+    private static final String PROGRAM = String.join("\n",
+            "SAMP01  START   0",
+            "FIRST   LDA     FIVE",
+            "        ADD     FOUR",
+            "        STA     RESULT",
+            "        RSUB",
+            "FIVE    WORD    5",
+            "FOUR    WORD    4",
+            "RESULT  RESW    1",
+            "        END     FIRST");
+
+    private static SimulationServer server() throws IOException {
+        SimulationServer s = new SimulationServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                new SimulationServer.Limits(1, 4096, 1_000, Duration.ofSeconds(5), 64 * 1024));
+        s.start();
+        return s;
+    }
+
+    private static Object[] call(SimulationServer s, String method, String path, Object body) throws IOException {
+        URL url = URI.create("http://127.0.0.1:" + s.getAddress().getPort() + path).toURL();
+        HttpURLConnection c = (HttpURLConnection) url.openConnection();
+        c.setRequestMethod(method);
+        if (body != null) {
+            c.setDoOutput(true);
+            try (OutputStream out = c.getOutputStream()) {
+                out.write((body instanceof String str ? str : Json.write(body)).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = c.getResponseCode();
+        try (InputStream in = status < 400 ? c.getInputStream() : c.getErrorStream()) {
+            return new Object[]{status, Json.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8))};
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runAssemblesLoadsAndExecutesOnPooledMachine() throws IOException {
+        try (SimulationServer s = server()) {
+            for (int i = 0; i < 3; i++) {
+                Object[] r = call(s, "POST", "/run", Map.of("source", PROGRAM));
+                assertEquals(200, r[0]);
+                Map<String, Object> body = (Map<String, Object>) r[1];
+                assertEquals("HALTED", body.get("reason"));
+                assertEquals(9L, ((Map<String, Object>) body.get("registers")).get("A"));
+            }
+            assertEquals(1, s.getPool().created());
+            assertEquals(0, s.getPool().inUse());
+            assertEquals(3, s.getLatency("/run").count());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void instructionQuotaCapsRequestedBudget() throws IOException {
+        try (SimulationServer s = server()) {
+            String loop = "LOOP    START   0\nL1      J       L1\n        END     L1";
+            Object[] r = call(s, "POST", "/run", Map.of("source", loop, "maxInstructions", 1_000_000));
+            Map<String, Object> body = (Map<String, Object>) r[1];
+            assertEquals("BUDGET_EXHAUSTED", body.get("reason"));
+            assertEquals(1_000L, body.get("instructions"));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void errorsAndStatsAreReportedAsJson() throws IOException {
+        try (SimulationServer s = server()) {
+            assertEquals(400, call(s, "POST", "/run", "{\"source\": ")[0]);
+            assertEquals(405, call(s, "GET", "/assemble", null)[0]);
+
+            Object[] asm = call(s, "POST", "/assemble", Map.of("source", List.of(PROGRAM.split("\n"))));
+            assertEquals(200, asm[0]);
+            assertEquals("SAMP01", ((Map<String, Object>) asm[1]).get("name"));
+
+            Map<String, Object> stats = (Map<String, Object>) call(s, "GET", "/stats", null)[1];
+            Map<String, Object> run = (Map<String, Object>) ((Map<String, Object>) stats.get("endpoints")).get("/run");
+            assertEquals(1L, run.get("count"));
+            assertTrue((Long) run.get("p99Micros") >= (Long) run.get("p50Micros"));
+        }
+    }
+
+    @Test
+    void histogramPercentilesStayWithinBucketError() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 1_000; i++) h.record(i * 1_000L);
+        assertEquals(1_000, h.count());
+        assertEquals(1_000_000, h.max());
+        assertEquals(500_000, h.percentile(50), 500_000 * 0.07);
+        assertEquals(990_000, h.percentile(99), 990_000 * 0.07);
+        assertEquals(1_000_000, h.percentile(100));
+    }
+}
@@ -0,0 +1,63 @@
+package sicxesimulator.software.batch;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.hardware.cpu.control.TurboEngine;
+import sicxesimulator.hardware.cpu.register.RegisterSet;
+import sicxesimulator.hardware.system.StopReason;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchFarmTest {
+
+    /* loop: RD #0 / COMP #0 / JEQ fim / ADD #1 / WD #0 / J loop ; fim: RSUB */
+    private static final byte[] ECHO_PLUS_ONE = {
+            (byte) 0xD9, 0x00, 0x00,
+            0x29, 0x00, 0x00,
+            0x33, 0x20, 0x09,
+            0x19, 0x00, 0x01,
+            (byte) 0xDD, 0x00, 0x00,
+            0x3F, 0x2F, (byte) 0xEE,
+            0x4F, 0x00, 0x00
+    };
+
+    private static List<BatchJob> jobs(int n) {
+        List<BatchJob> jobs = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            jobs.add(new BatchJob("job-" + i, ("abc" + i).getBytes(StandardCharsets.ISO_8859_1), 10_000));
+        }
+        return jobs;
+    }
+
+    @Test
+    void eachJobGetsItsOwnInputAndOutput() {
+        try (BatchFarm farm = new BatchFarm(new ProgramImage("ECHO", 0, ECHO_PLUS_ONE, 0), 4)) {
+            BatchReport report = farm.run(jobs(200));
+
+            assertEquals(200, report.results().size());
+            assertEquals(200, report.count(StopReason.HALTED));
+            BatchResult r = report.results().get(42);
+            assertEquals("job-42", r.job().name());
+            assertEquals("bcd53", r.outputText());
+            assertEquals(0, r.registers()[RegisterSet.A]);
+            assertEquals(report.totalInstructions(),
+                    report.results().stream().mapToLong(x -> x.run().instructions()).sum());
+        }
+    }
+
+    @Test
+    void budgetIsPerJob() {
+        try (BatchFarm farm = new BatchFarm(new ProgramImage("ECHO", 0, ECHO_PLUS_ONE, 0), 2)) {
+            farm.setTurboEngine(TurboEngine.BASIC_BLOCKS);
+            BatchReport report = farm.run(List.of(new BatchJob("curto", new byte[]{'x', 'y'}, 7)));
+
+            BatchResult r = report.results().get(0);
+            assertEquals(StopReason.BUDGET_EXHAUSTED, r.run().reason());
+            assertEquals(7, r.run().instructions());
+            assertEquals("y", r.outputText());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package sicxesimulator.software.batch;
+
+import org.junit.jupiter.api.Test;
+import sicxesimulator.hardware.system.StopReason;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockstepEngineTest {
+
+    /* loop: RD #0 / COMP #0 / JEQ fim / ADD #1 / WD #0 / J loop ; fim: RSUB */
+    private static final byte[] ECHO_PLUS_ONE = {
+            (byte) 0xD9, 0x00, 0x00,
+            0x29, 0x00, 0x00,
+            0x33, 0x20, 0x09,
+            0x19, 0x00, 0x01,
+            (byte) 0xDD, 0x00, 0x00,
+            0x3F, 0x2F, (byte) 0xEE,
+            0x4F, 0x00, 0x00
+    };
+
+    /* RD #0 / STA TMP / LDA #12 / DIV TMP / STA 0 (sobre o código) / SVC ; TMP em 0x15 */
+    private static final byte[] DIVIDE_THEN_PATCH = {
+            (byte) 0xD9, 0x00, 0x00,
+            0x0F, 0x20, 0x0F,
+            0x01, 0x00, 0x0C,
+            0x27, 0x20, 0x09,
+            0x0F, 0x00, 0x00,
+            (byte) 0xB3, 0x00, 0x00,
+            0x00, 0x00, 0x00,
+            0x00, 0x00, 0x00
+    };
+
+    /* RD #0 / STA 1F / LDA #0 / ADD 1F / ADD @23 / STA @23 / WD #0 / RSUB ; ponteiros 23 → 28 → 2C → 5 */
+    private static final byte[] UNALIGNED_WORDS = {
+            (byte) 0xD9, 0x00, 0x00,
+            0x0F, 0x00, 0x1F,
+            0x01, 0x00, 0x00,
+            0x1B, 0x00, 0x1F,
+            0x1A, 0x00, 0x23,
+            0x0E, 0x00, 0x23,
+            (byte) 0xDD, 0x00, 0x00,
+            0x4F, 0x00, 0x00,
+            0x00, 0x00, 0x00,
+            0x00, 0x00, 0x00,
+            0x00, 0x00, 0x00,
+            0x00, 0x00, 0x00,
+            0x00, 0x28, 0x00,
+            0x00, 0x00, 0x00,
+            0x00, 0x2C, 0x00,
+            0x00, 0x05
+    };
+
+    private static List<BatchJob> jobs(int n, long budget) {
+        List<BatchJob> jobs = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            byte[] input = ("x".repeat(i % 7) + i).getBytes(StandardCharsets.ISO_8859_1);
+            input[0] = (byte) (i % 5);
+            jobs.add(new BatchJob("job-" + i, input, budget));
+        }
+        return jobs;
+    }
+
+    private static void assertSameAsFarm(byte[] program, List<BatchJob> jobs) {
+        ProgramImage image = new ProgramImage("P", 0, program, 0);
+        BatchReport expected;
+        try (BatchFarm farm = new BatchFarm(image, 1)) {
+            expected = farm.run(jobs);
+        }
+        BatchReport actual = new LockstepEngine(image).run(jobs);
+
+        assertEquals(expected.totalInstructions(), actual.totalInstructions());
+        for (int i = 0; i < jobs.size(); i++) {
+            BatchResult e = expected.results().get(i), a = actual.results().get(i);
+            assertEquals(e.run().reason(), a.run().reason(), e.job().name());
+            assertEquals(e.run().instructions(), a.run().instructions(), e.job().name());
+            assertEquals(e.run().pc(), a.run().pc(), e.job().name());
+            assertTrue(Arrays.equals(e.registers(), a.registers()), e.job().name());
+            assertEquals(e.outputText(), a.outputText(), e.job().name());
+        }
+    }
+
+    @Test
+    void divergentLoopsMatchIndependentMachines() {
+        assertSameAsFarm(ECHO_PLUS_ONE, jobs(100, 10_000));
+    }
+
+    @Test
+    void budgetsAreEnforcedPerLane() {
+        assertSameAsFarm(ECHO_PLUS_ONE, jobs(40, 23));
+    }
+
+    @Test
+    void faultsAndSelfModifyingCodeMatchIndependentMachines() {
+        List<BatchJob> jobs = jobs(20, 1_000);
+        assertSameAsFarm(DIVIDE_THEN_PATCH, jobs);
+
+        BatchReport report = new LockstepEngine(new ProgramImage("P", 0, DIVIDE_THEN_PATCH, 0)).run(jobs);
+        assertEquals(4, report.count(StopReason.FAULT));                // entrada 0: divisão por zero
+    }
+
+    @Test
+    void unalignedWordsMatchIndependentMachines() {
+        assertSameAsFarm(UNALIGNED_WORDS, jobs(20, 1_000));
+    }
+}
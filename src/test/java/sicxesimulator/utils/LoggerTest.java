@@ -2,6 +2,7 @@ package sicxesimulator.utils;
 
 import org.junit.jupiter.api.Test;
 import sicxesimulator.common.utils.Logger;
+import sicxesimulator.hardware.memory.Memory;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -17,4 +18,16 @@ class LoggerTest {
         File logFile = new File("logging/detailed.log.0");
         assertTrue(logFile.exists(), "O arquivo de log não foi criado.");
     }
+
+    @Test
+    void memoryDumpsAreKeptPerConsumer() {
+        Memory memory = new Memory(Memory.PAGE_SIZE * 2);
+        try (Logger.MemoryDump first = new Logger.MemoryDump();
+             Logger.MemoryDump second = new Logger.MemoryDump()) {
+            first.pages(memory);
+            memory.writeWord24(3, 0x0A0B0C);
+            assertEquals("000003   | 0A0B0C" + System.lineSeparator(), second.pages(memory)[0]);
+            assertEquals(second.pages(memory)[0], first.pages(memory)[0]);   // a época de uma não consome a da outra
+        }
+    }
 }